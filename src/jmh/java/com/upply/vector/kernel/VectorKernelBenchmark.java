@@ -0,0 +1,107 @@
+package com.upply.vector.kernel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores one 384-d query against a block of job vectors with each kernel.
+ *
+ * <p>Run with {@code ./mvnw -Pjmh test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorKernelBenchmark {
+
+    @Param({"384"})
+    private int dimensions;
+
+    @Param({"10000"})
+    private int count;
+
+    private float[] query;
+    private float[] block;
+    private byte[] byteQuery;
+    private byte[] byteBlock;
+    private float[] scores;
+    private int[] byteScores;
+
+    private VectorKernel scalar;
+    private VectorKernel simd;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        query = new float[dimensions];
+        block = new float[dimensions * count];
+        for (int i = 0; i < query.length; i++) {
+            query[i] = (float) random.nextGaussian();
+        }
+        for (int i = 0; i < block.length; i++) {
+            block[i] = (float) random.nextGaussian();
+        }
+        byteQuery = new byte[dimensions];
+        byteBlock = new byte[dimensions * count];
+        random.nextBytes(byteQuery);
+        random.nextBytes(byteBlock);
+        scores = new float[count];
+        byteScores = new int[count];
+
+        scalar = VectorKernels.scalar();
+        simd = VectorKernels.simd();
+        if (simd == null) {
+            throw new IllegalStateException("jdk.incubator.vector is not available");
+        }
+    }
+
+    @Benchmark
+    public float[] dotBatchScalar() {
+        scalar.dotBatch(query, block, count, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] dotBatchSimd() {
+        simd.dotBatch(query, block, count, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] cosineBatchScalar() {
+        scalar.cosineBatch(query, block, count, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] cosineBatchSimd() {
+        simd.cosineBatch(query, block, count, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public int[] int8DotBatchScalar() {
+        scalar.dotBatch(byteQuery, byteBlock, count, byteScores);
+        return byteScores;
+    }
+
+    @Benchmark
+    public int[] int8DotBatchSimd() {
+        simd.dotBatch(byteQuery, byteBlock, count, byteScores);
+        return byteScores;
+    }
+}
@@ -0,0 +1,105 @@
+package com.upply.ai;
+
+import com.upply.exception.custom.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the concurrent calls made through one {@code ChatClient}. Callers beyond
+ * {@code maxConcurrent} wait in FIFO order, up to {@code maxQueue} of them and for at
+ * most {@code maxWait}. Anyone else is turned away with a {@link TooManyRequestsException}
+ * instead of piling onto a provider that is already at its limit.
+ */
+public class Bulkhead {
+    private final String name;
+    private final Semaphore permits;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        // a caller that would have queued gave up after maxWait; by then a slot has likely freed
+        this.retryAfter = Duration.ofSeconds(Math.max(1, (maxWait.toMillis() + 999) / 1000));
+
+        Gauge.builder("upply.llm.bulkhead.queue", waiting, AtomicInteger::get)
+                .description("Calls waiting for a bulkhead permit")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("upply.llm.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Calls holding a bulkhead permit")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("upply.llm.bulkhead.wait")
+                .description("Time spent waiting for a bulkhead permit")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("upply.llm.bulkhead.rejected")
+                .description("Calls turned away by a full bulkhead")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit, waiting in the queue if needed. Release it by closing the permit.
+     *
+     * @throws TooManyRequestsException if the queue is full or the wait runs out
+     */
+    public Permit acquire() {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return new Permit();
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            throw reject();
+        }
+        long started = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw reject();
+            }
+            return new Permit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, e);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private TooManyRequestsException reject() {
+        rejected.increment();
+        return new TooManyRequestsException("The AI service is busy, please retry shortly", retryAfter);
+    }
+
+    public final class Permit implements AutoCloseable {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
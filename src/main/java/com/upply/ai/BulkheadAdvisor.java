@@ -0,0 +1,36 @@
+package com.upply.ai;
+
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.core.Ordered;
+
+/**
+ * Holds a {@link Bulkhead} permit for the whole of a blocking {@code ChatClient} call.
+ * Registered as a default advisor so every caller of the client shares its limit.
+ */
+public class BulkheadAdvisor implements CallAdvisor {
+    private final Bulkhead bulkhead;
+
+    public BulkheadAdvisor(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        try (Bulkhead.Permit ignored = bulkhead.acquire()) {
+            return chain.nextCall(request);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "bulkhead";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
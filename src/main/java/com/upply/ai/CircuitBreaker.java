@@ -0,0 +1,64 @@
+package com.upply.ai;
+
+/**
+ * Consecutive-failure breaker for one provider. After {@code failureThreshold} failures in
+ * a row the provider is skipped for {@code openMillis}; then a single trial call is let
+ * through, which closes the breaker on success or reopens it on failure.
+ */
+class CircuitBreaker {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false;
+            case OPEN -> {
+                if (System.currentTimeMillis() - openedAt < openMillis) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    /** @return true if this failure opened the breaker */
+    synchronized boolean onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    /** A trial call that was cancelled proved nothing; let the next one try again. */
+    synchronized void onCancelled() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis() - openMillis;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
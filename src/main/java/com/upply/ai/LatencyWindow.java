@@ -0,0 +1,39 @@
+package com.upply.ai;
+
+import java.util.Arrays;
+
+/**
+ * The latest {@code capacity} latencies of one provider for one operation, used to pick
+ * the hedge delay. A percentile sorts a copy of at most {@code capacity} samples, which is
+ * negligible next to the model call it times.
+ */
+class LatencyWindow {
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    LatencyWindow(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    /** Nearest-rank percentile, or -1 while the window is empty. */
+    synchronized long percentile(double quantile) {
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(quantile * count);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,237 @@
+package com.upply.ai;
+
+import com.upply.exception.custom.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Sends a prompt to the first healthy provider and, if it has not answered within its
+ * recent p95 latency for the same operation, hedges to the next one. The first success
+ * wins and the other call is cancelled; a failure fails over immediately.
+ *
+ * <p>Latency is tracked per provider and operation, since a resume parse and a summary
+ * take very different times. Circuit breakers are per provider: a provider that keeps
+ * failing is skipped by every operation until its open period ends. A provider whose
+ * bulkhead is full is not failing, so it is skipped for this call only. Answers served
+ * by a {@link ResponseCacheAdvisor} say nothing about the provider and are not sampled.
+ */
+@Service
+@Slf4j
+public class LlmGateway implements DisposableBean {
+    private static final double HEDGE_QUANTILE = 0.95;
+
+    private final long timeoutNanos;
+    private final long minHedgeDelayNanos;
+    private final long maxHedgeDelayNanos;
+    private final int windowSize;
+    private final int minSamples;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public LlmGateway(
+            @Value("${app.llm.timeout-ms}") long timeoutMillis,
+            @Value("${app.llm.hedge.min-delay-ms}") long minHedgeDelayMillis,
+            @Value("${app.llm.hedge.max-delay-ms}") long maxHedgeDelayMillis,
+            @Value("${app.llm.hedge.window-size}") int windowSize,
+            @Value("${app.llm.hedge.min-samples}") int minSamples,
+            @Value("${app.llm.circuit-breaker.failure-threshold}") int failureThreshold,
+            @Value("${app.llm.circuit-breaker.open-ms}") long openMillis,
+            MeterRegistry meterRegistry) {
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.minHedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(minHedgeDelayMillis);
+        this.maxHedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxHedgeDelayMillis);
+        this.windowSize = windowSize;
+        this.minSamples = minSamples;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code request} against the routes in order of preference, hedging and failing
+     * over as described above.
+     *
+     * @throws LlmUnavailableException if every provider is open, failed or timed out
+     * @throws TooManyRequestsException if no provider answered and at least one was at capacity
+     */
+    public <T> T call(String operation, List<LlmRoute> routes, Function<ChatClient, T> request) {
+        Deque<LlmRoute> pending = new ArrayDeque<>();
+        for (LlmRoute route : routes) {
+            if (breaker(route.provider()).tryAcquire()) {
+                pending.add(route);
+            }
+        }
+        if (pending.isEmpty()) {
+            throw new LlmUnavailableException("All AI providers are unavailable for " + operation);
+        }
+
+        CompletionService<Attempt<T>> race = new ExecutorCompletionService<>(executor);
+        Map<Future<Attempt<T>>, LlmRoute> running = new HashMap<>();
+        long deadline = System.nanoTime() + timeoutNanos;
+        Throwable lastError = null;
+        TooManyRequestsException rejected = null;
+        try {
+            LlmRoute current = start(race, running, pending.removeFirst(), request);
+            while (!running.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                long wait = pending.isEmpty() ? remaining : Math.min(remaining, hedgeDelayNanos(operation, current));
+                Future<Attempt<T>> done = wait > 0 ? race.poll(wait, TimeUnit.NANOSECONDS) : null;
+                if (done == null) {
+                    if (pending.isEmpty() || deadline - System.nanoTime() <= 0) {
+                        running.forEach((future, route) -> {
+                            future.cancel(true);
+                            failed(operation, route, "timeout", timeoutNanos);
+                        });
+                        running.clear();
+                        throw new LlmUnavailableException(operation + " timed out on every AI provider");
+                    }
+                    log.debug("{} slow on {}, hedging to {}", operation, current.provider(), pending.getFirst().provider());
+                    Counter.builder("upply.llm.hedged")
+                            .description("LLM calls that were also sent to a second provider")
+                            .tag("operation", operation)
+                            .register(meterRegistry)
+                            .increment();
+                    current = start(race, running, pending.removeFirst(), request);
+                    continue;
+                }
+                LlmRoute route = running.remove(done);
+                Attempt<T> attempt = done.get();
+                if (attempt.error() == null) {
+                    if (attempt.cached()) {
+                        breaker(route.provider()).onCancelled();
+                        timer(operation, route, "cached").record(attempt.nanos(), TimeUnit.NANOSECONDS);
+                    } else {
+                        succeeded(operation, route, attempt.nanos());
+                    }
+                    return attempt.value();
+                }
+                if (attempt.error() instanceof TooManyRequestsException busy) {
+                    log.debug("{} rejected by the {} bulkhead", operation, route.provider());
+                    breaker(route.provider()).onCancelled();
+                    timer(operation, route, "rejected").record(attempt.nanos(), TimeUnit.NANOSECONDS);
+                    rejected = busy;
+                } else {
+                    log.warn("{} failed on {}: {}", operation, route.provider(), attempt.error().getMessage());
+                    failed(operation, route, "failure", attempt.nanos());
+                    lastError = attempt.error();
+                }
+                if (!pending.isEmpty()) {
+                    current = start(race, running, pending.removeFirst(), request);
+                }
+            }
+            if (rejected != null) {
+                throw rejected;
+            }
+            throw new LlmUnavailableException("All AI providers failed for " + operation, lastError);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmUnavailableException(operation + " was interrupted", e);
+        } catch (ExecutionException e) {
+            // attempts capture their own errors
+            throw new IllegalStateException(e);
+        } finally {
+            // losers and unused routes: a cancelled trial call says nothing about provider health
+            running.forEach((future, route) -> {
+                future.cancel(true);
+                breaker(route.provider()).onCancelled();
+            });
+            pending.forEach(route -> breaker(route.provider()).onCancelled());
+        }
+    }
+
+    private <T> LlmRoute start(CompletionService<Attempt<T>> race,
+                               Map<Future<Attempt<T>>, LlmRoute> running,
+                               LlmRoute route,
+                               Function<ChatClient, T> request) {
+        running.put(race.submit(() -> {
+            long started = System.nanoTime();
+            try (ResponseCacheAdvisor.CallScope scope = ResponseCacheAdvisor.openScope()) {
+                T value = request.apply(route.client());
+                // the caller's entity conversion has run, so the answer parsed and may be cached
+                scope.markConverted();
+                return new Attempt<>(value, null, System.nanoTime() - started, scope.servedFromCache());
+            } catch (RuntimeException e) {
+                return new Attempt<>(null, e, System.nanoTime() - started, false);
+            }
+        }), route);
+        return route;
+    }
+
+    private long hedgeDelayNanos(String operation, LlmRoute route) {
+        LatencyWindow window = latency(operation, route.provider());
+        if (window.count() < minSamples) {
+            return maxHedgeDelayNanos;
+        }
+        long p95 = TimeUnit.MILLISECONDS.toNanos(window.percentile(HEDGE_QUANTILE));
+        return Math.clamp(p95, minHedgeDelayNanos, maxHedgeDelayNanos);
+    }
+
+    private void succeeded(String operation, LlmRoute route, long nanos) {
+        latency(operation, route.provider()).record(TimeUnit.NANOSECONDS.toMillis(nanos));
+        breaker(route.provider()).onSuccess();
+        timer(operation, route, "success").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void failed(String operation, LlmRoute route, String outcome, long nanos) {
+        if (breaker(route.provider()).onFailure()) {
+            log.warn("Circuit opened for AI provider {} for {} ms", route.provider(), openMillis);
+            Counter.builder("upply.llm.circuit.opened")
+                    .description("Times a provider's circuit breaker opened")
+                    .tag("provider", route.provider())
+                    .register(meterRegistry)
+                    .increment();
+        }
+        timer(operation, route, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String operation, LlmRoute route, String outcome) {
+        return Timer.builder("upply.llm.request")
+                .description("LLM calls by operation, provider and outcome")
+                .tag("operation", operation)
+                .tag("provider", route.provider())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private LatencyWindow latency(String operation, String provider) {
+        return latencies.computeIfAbsent(operation + ":" + provider, key -> new LatencyWindow(windowSize));
+    }
+
+    private CircuitBreaker breaker(String provider) {
+        return breakers.computeIfAbsent(provider, key -> new CircuitBreaker(failureThreshold, openMillis));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private record Attempt<T>(T value, RuntimeException error, long nanos, boolean cached) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.upply.ai;
+
+import org.springframework.ai.chat.client.ChatClient;
+
+/**
+ * One provider a prompt can be sent to. Routes are listed in order of preference;
+ * the provider name keys the shared latency and circuit breaker state.
+ */
+public record LlmRoute(String provider, ChatClient client) {
+    public static final String GEMINI = "gemini";
+    public static final String GROQ = "groq";
+
+    public static LlmRoute gemini(ChatClient client) {
+        return new LlmRoute(GEMINI, client);
+    }
+
+    public static LlmRoute groq(ChatClient client) {
+        return new LlmRoute(GROQ, client);
+    }
+}
@@ -0,0 +1,188 @@
+package com.upply.ai;
+
+import com.upply.vector.ContentHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClientAttributes;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Exact-match response cache for low-temperature {@code ChatClient}s. The key hashes
+ * everything that decides the answer: the system and user messages, the model options
+ * and the structured output format requested by {@code entity(...)}. The raw model text
+ * is stored in Redis, so a hit is converted to the caller's type exactly like a fresh
+ * answer. That conversion runs after the advisor chain returns, so a fresh answer is held
+ * back in the {@link CallScope} the {@link LlmGateway} opens around each attempt and only
+ * written when the caller marks it converted; text the caller could not parse is never
+ * cached. A call made outside a scope is still answered from the cache but never fills it.
+ * Runs before the {@link BulkheadAdvisor} so hits never wait for a permit.
+ */
+@Slf4j
+public class ResponseCacheAdvisor implements CallAdvisor {
+    private static final String KEY_PREFIX = "llm-response:";
+    // a cut-off answer would be replayed until it expires
+    private static final Set<String> TRUNCATED = Set.of("length", "max_tokens");
+    private static final ThreadLocal<CallScope> SCOPE = new ThreadLocal<>();
+
+    private final StringRedisTemplate redisTemplate;
+    private final String name;
+    private final Duration ttl;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCacheAdvisor(StringRedisTemplate redisTemplate, String name, Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.name = name;
+        this.ttl = ttl;
+        this.hits = counter(meterRegistry, name, "hit");
+        this.misses = counter(meterRegistry, name, "miss");
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        CallScope scope = SCOPE.get();
+        String key = KEY_PREFIX + name + ":" + fingerprint(request);
+        String cached = read(key);
+        if (cached != null) {
+            hits.increment();
+            if (scope != null) {
+                scope.servedFromCache = true;
+            }
+            ChatResponse response = new ChatResponse(List.of(new Generation(new AssistantMessage(cached))));
+            return new ChatClientResponse(response, new HashMap<>(request.context()));
+        }
+        misses.increment();
+        ChatClientResponse response = chain.nextCall(request);
+        if (scope != null && cacheable(response)) {
+            scope.pending = new PendingWrite(this, key, response.chatResponse().getResult().getOutput().getText());
+        }
+        return response;
+    }
+
+    /**
+     * Opens the scope the calls made on this thread report to, until it is closed.
+     */
+    static CallScope openScope() {
+        CallScope scope = new CallScope();
+        SCOPE.set(scope);
+        return scope;
+    }
+
+    /** Whitespace-only differences in the prompt map to the same key, as in {@link ContentHash}. */
+    static String fingerprint(ChatClientRequest request) {
+        Prompt prompt = request.prompt();
+        StringJoiner material = new StringJoiner("\u0000");
+        for (Message message : prompt.getInstructions()) {
+            material.add(message.getMessageType().name()).add(String.valueOf(message.getText()).strip());
+        }
+        ChatOptions options = prompt.getOptions();
+        if (options != null) {
+            material.add(String.valueOf(options.getModel()))
+                    .add(String.valueOf(options.getTemperature()))
+                    .add(String.valueOf(options.getMaxTokens()))
+                    .add(String.valueOf(options.getTopP()))
+                    .add(String.valueOf(options.getTopK()));
+        }
+        material.add(String.valueOf(request.context().get(ChatClientAttributes.OUTPUT_FORMAT.getKey())));
+        return ContentHash.sha256(material.toString());
+    }
+
+    private static boolean cacheable(ChatClientResponse response) {
+        ChatResponse chatResponse = response.chatResponse();
+        if (chatResponse == null || chatResponse.getResult() == null) {
+            return false;
+        }
+        Generation result = chatResponse.getResult();
+        String text = result.getOutput().getText();
+        String finishReason = result.getMetadata().getFinishReason();
+        return text != null && !text.isBlank()
+                && (finishReason == null || !TRUNCATED.contains(finishReason.toLowerCase()));
+    }
+
+    private String read(String key) {
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.warn("LLM response cache read failed for {}, calling the model", key, e);
+            return null;
+        }
+    }
+
+    private void write(String key, String text) {
+        try {
+            redisTemplate.opsForValue().set(key, text, ttl);
+        } catch (Exception e) {
+            log.warn("LLM response cache write failed for {}", key, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "response-cache";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private record PendingWrite(ResponseCacheAdvisor advisor, String key, String text) {
+    }
+
+    /**
+     * One caller's use of the cached clients on a thread. Closing it writes the answer held
+     * back by the last call if the caller marked it converted, and leaves nothing behind on
+     * the thread.
+     */
+    static final class CallScope implements AutoCloseable {
+        private PendingWrite pending;
+        private boolean servedFromCache;
+        private boolean converted;
+
+        private CallScope() {
+        }
+
+        void markConverted() {
+            converted = true;
+        }
+
+        boolean servedFromCache() {
+            return servedFromCache;
+        }
+
+        @Override
+        public void close() {
+            SCOPE.remove();
+            if (converted && pending != null) {
+                pending.advisor().write(pending.key(), pending.text());
+            }
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("upply.llm.cache")
+                .description("LLM calls by response cache outcome")
+                .tag("client", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -2,8 +2,10 @@ package com.upply.application;
 
 import com.upply.application.dto.ApplicationRequest;
 import com.upply.application.dto.ApplicationResponse;
+import com.upply.application.dto.ResumeLinkResponse;
 import com.upply.application.enums.ApplicationStatus;
 import com.upply.common.PageResponse;
+import com.upply.profile.resume.ResumeFileStreamer;
 import com.upply.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,6 +14,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -22,6 +25,7 @@ import java.io.IOException;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
+    private final ResumeFileStreamer resumeFileStreamer;
 
     @PostMapping
     @Operation(
@@ -75,22 +79,18 @@ public class ApplicationController {
             summary = "View application resume",
             description = "Returns the resume PDF file associated with a job application for inline viewing in the browser."
     )
-    public ResponseEntity<byte[]> viewUserResume(
+    public ResponseEntity<StreamingResponseBody> viewUserResume(
             @Parameter(
                     description = "The ID of the application whose resume to view",
                     required = true,
                     example = "1"
             )
-            @PathVariable Long applicationId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDisposition(
-                ContentDisposition.builder("inline")
-                        .build()
-        );
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(applicationService.getApplicationResume(applicationId));
+            @PathVariable Long applicationId,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders requestHeaders) {
+        return resumeFileStreamer.stream(
+                applicationService.getApplicationResumeBlobName(applicationId),
+                ContentDisposition.builder("inline").build(),
+                requestHeaders);
     }
 
     @GetMapping("/{applicationId}/resume/download")
@@ -98,26 +98,42 @@ public class ApplicationController {
             summary = "Download application resume",
             description = "Downloads the resume PDF file associated with a job application as an attachment."
     )
-    public ResponseEntity<byte[]> downloadUserResume(
+    public ResponseEntity<StreamingResponseBody> downloadUserResume(
             @Parameter(
                     description = "The ID of the application whose resume to download",
                     required = true,
                     example = "1"
             )
-            @PathVariable Long applicationId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDisposition(
+            @PathVariable Long applicationId,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders requestHeaders) {
+        return resumeFileStreamer.stream(
+                applicationService.getApplicationResumeBlobName(applicationId),
                 ContentDisposition.builder("attachment")
                         .filename(applicationService.getResumeName(applicationId))
-                        .build()
-        );
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(applicationService.getApplicationResume(applicationId));
+                        .build(),
+                requestHeaders);
     }
 
 
+    @GetMapping("/{applicationId}/resume/link")
+    @Operation(
+            summary = "Get application resume link",
+            description = "Returns a short-lived signed URL to fetch the resume PDF directly from storage."
+    )
+    public ResponseEntity<ResumeLinkResponse> getResumeLink(
+            @Parameter(
+                    description = "The ID of the application whose resume to link",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long applicationId,
+            @Parameter(description = "Whether the link should download the file instead of opening it inline")
+            @RequestParam(defaultValue = "false") boolean download) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(applicationService.getApplicationResumeLink(applicationId, download));
+    }
+
     @PatchMapping("/{applicationId}/status")
     @Operation(
             summary = "Update application status",
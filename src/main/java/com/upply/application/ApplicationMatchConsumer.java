@@ -5,9 +5,9 @@ import com.upply.exception.custom.ResourceNotFoundException;
 import com.upply.job.Job;
 import com.upply.job.JobMatchingService;
 import com.upply.job.JobRepository;
-import com.upply.profile.resume.AzureStorageService;
 import com.upply.profile.resume.Resume;
 import com.upply.profile.resume.chunks.ResumeVectorService;
+import com.upply.profile.resume.text.ResumeTextService;
 import com.upply.user.User;
 import com.upply.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +28,7 @@ public class ApplicationMatchConsumer {
     private final ApplicationRepository applicationRepository;
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
-    private final AzureStorageService azureStorageService;
+    private final ResumeTextService resumeTextService;
     private final ApplicationSummaryService applicationSummaryService;
     private final ResumeVectorService resumeVectorService;
 
@@ -53,12 +53,10 @@ public class ApplicationMatchConsumer {
         Resume resume = application.getResume();
 
         String resumeTxt = resume != null && resume.getBlobName() != null
-                ? applicationSummaryService.extractText(azureStorageService.downloadFile(resume.getBlobName()))
+                ? applicationSummaryService.resumeText(resumeTextService.getText(resume))
                 : "Resume not available.";
 
-        Long applicationId = application.getId();
         Long applicationApplicantId = application.getApplicant().getId();
-        Long applicationJobId = application.getJob().getId();
         Long resumeId = resume.getId();
 
         calcMatch(application, user, job, resumeTxt);
@@ -67,7 +65,7 @@ public class ApplicationMatchConsumer {
             @Override
             public void afterCommit() {
                 try {
-                    storeResumeEmbedding(applicationId, applicationApplicantId, applicationJobId, resumeId, resumeTxt);
+                    resumeVectorService.storeResumeEmbedding(resumeId, applicationApplicantId, resumeTxt);
                 } catch (Exception e) {
                     log.warn("Failed to store resume embedding for applicationId: {}, continuing",
                             event.getApplicationId(), e);
@@ -95,8 +93,4 @@ public class ApplicationMatchConsumer {
         }
     }
 
-    private void storeResumeEmbedding(Long applicationId, Long applicationApplicantId, Long applicationJobId, Long resumeId, String resumeTxt) {
-        resumeVectorService.storeResumeEmbedding(applicationId, applicationApplicantId, applicationJobId, resumeId, resumeTxt);
-    }
-
 }
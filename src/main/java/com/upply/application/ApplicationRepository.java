@@ -1,5 +1,7 @@
 package com.upply.application;
 
+import com.upply.application.dto.ApplicantResumeFile;
+import com.upply.application.dto.JobApplicantResume;
 import com.upply.application.enums.ApplicationStatus;
 import com.upply.job.Job;
 import com.upply.user.User;
@@ -34,4 +36,10 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
 
     @Query("select a from Application a where a.job.postedBy.id = ?#{principal.getId()} and a.job.id = :jobId")
     List<Application> findAllByJobIdForRecruiter(Long jobId);
+
+    @Query("select new com.upply.application.dto.JobApplicantResume(a.id, a.applicant.id, a.resume.id) from Application a where a.job.id = :jobId and a.resume is not null")
+    List<JobApplicantResume> findApplicantResumesByJobId(Long jobId);
+
+    @Query("select new com.upply.application.dto.ApplicantResumeFile(a.id, a.applicant.firstName, a.applicant.lastName, a.resume.blobName, a.resume.fileName) from Application a where a.job.postedBy.id = ?#{principal.getId()} and a.job.id = :jobId and a.resume is not null order by a.matchingRatio desc nulls last, a.id")
+    List<ApplicantResumeFile> findResumeFilesByJobIdForRecruiter(Long jobId);
 }
@@ -4,6 +4,7 @@ import com.upply.application.dto.ApplicationMapper;
 import com.upply.application.dto.ApplicationMatchEvent;
 import com.upply.application.dto.ApplicationRequest;
 import com.upply.application.dto.ApplicationResponse;
+import com.upply.application.dto.ResumeLinkResponse;
 import com.upply.application.enums.ApplicationStatus;
 import com.upply.common.NotificationEventType;
 import com.upply.common.PageResponse;
@@ -15,7 +16,7 @@ import com.upply.job.JobRepository;
 import com.upply.job.enums.JobSource;
 import com.upply.notification.dto.DispatchPayload;
 import com.upply.notification.dto.NotificationEvent;
-import com.upply.profile.resume.AzureStorageService;
+import com.upply.profile.resume.BlobStore;
 import com.upply.profile.resume.Resume;
 import com.upply.profile.resume.ResumeRepository;
 import com.upply.user.User;
@@ -23,16 +24,20 @@ import com.upply.user.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -50,9 +55,12 @@ public class ApplicationService {
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
     private final ResumeRepository resumeRepository;
-    private final AzureStorageService azureStorageService;
     private final KafkaTemplate<String, ApplicationMatchEvent> kafkaApplicationTemplate;
     private final KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate;
+    private final BlobStore blobStore;
+
+    @Value("${app.resume-links.ttl-seconds}")
+    private long resumeLinkTtlSeconds;
 
     @Transactional
     public ApplicationResponse createJobApplication(ApplicationRequest applicationRequest)
@@ -192,10 +200,28 @@ public class ApplicationService {
         return applicationMapper.toApplicationResponse(application);
     }
 
-    public byte[] getApplicationResume(Long applicationId) {
+    public String getApplicationResumeBlobName(Long applicationId) {
+        Application application = applicationRepository.getApplicationByIdForRecruiter(applicationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Application Not Found"));
+        return application.getResume().getBlobName();
+    }
+
+    /**
+     * Short-lived link to download an application's resume straight from storage, for the
+     * same recruiters {@link #getApplicationResumeBlobName} serves.
+     */
+    public ResumeLinkResponse getApplicationResumeLink(Long applicationId, boolean download) {
         Application application = applicationRepository.getApplicationByIdForRecruiter(applicationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Application Not Found"));
-        return azureStorageService.downloadFile(application.getResume().getBlobName());
+        Resume resume = application.getResume();
+        String disposition = (download ? ContentDisposition.attachment() : ContentDisposition.inline())
+                .filename(resume.getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString();
+        Instant expiresAt = Instant.now().plusSeconds(resumeLinkTtlSeconds);
+        String url = blobStore.signedDownloadUrl(resume.getBlobName(), disposition, expiresAt)
+                .orElseThrow(() -> new BusinessLogicException("Direct resume links are not available, use the resume view endpoint"));
+        return new ResumeLinkResponse(url, expiresAt);
     }
 
     private static final Map<ApplicationStatus, List<ApplicationStatus>> ALLOWED_TRANSITIONS = Map.of(
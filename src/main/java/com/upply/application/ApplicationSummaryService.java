@@ -1,47 +1,42 @@
 package com.upply.application;
 
+import com.upply.ai.LlmGateway;
+import com.upply.ai.LlmRoute;
 import com.upply.job.Job;
+import com.upply.profile.resume.text.ExtractedResumeText;
 import com.upply.profile.skill.Skill;
 import com.upply.user.User;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class ApplicationSummaryService {
-    private final ChatClient groqChatClient;
-    private final ChatClient geminiChatClient;
+    private final List<LlmRoute> routes;
+    private final LlmGateway llmGateway;
 
 
     public ApplicationSummaryService(
             @Qualifier("applicationSummaryGroqChatClient") ChatClient groqChatClient,
-            @Qualifier("applicationSummaryGeminiChatClient") ChatClient geminiChatclient
+            @Qualifier("applicationSummaryGeminiChatClient") ChatClient geminiChatclient,
+            LlmGateway llmGateway
     ) {
-        this.groqChatClient = groqChatClient;
-        this.geminiChatClient = geminiChatclient;
+        this.routes = List.of(LlmRoute.gemini(geminiChatclient), LlmRoute.groq(groqChatClient));
+        this.llmGateway = llmGateway;
     }
 
 
     public String callAi(double score, Job job, String resumeTxt) {
-        try {
-            return geminiChatClient.prompt()
-                    .user(buildPrompt(score, job, resumeTxt))
-                    .call()
-                    .content();
-        } catch (Exception e) {
-            return groqChatClient.prompt()
-                    .user(buildPrompt(score, job, resumeTxt))
-                    .call()
-                    .content();
-        }
+        String prompt = buildPrompt(score, job, resumeTxt);
+        return llmGateway.call("application-summary", routes, client -> client.prompt()
+                .user(prompt)
+                .call()
+                .content());
     }
 
     private String buildPrompt(double score, Job job, String resumeTxt) {
@@ -71,15 +66,13 @@ public class ApplicationSummaryService {
         );
     }
 
-    public String extractText(byte[] bytes) {
-        try (PDDocument doc = Loader.loadPDF(bytes)) {
-            if (doc.isEncrypted()) return "Resume is encrypted.";
-            String text = new PDFTextStripper().getText(doc).strip();
-            return text.isEmpty() ? "Resume text could not be extracted." : text;
-        } catch (IOException e) {
-            log.warn("PDF extraction failed", e);
-            return "Resume text unavailable.";
-        }
+    public String resumeText(ExtractedResumeText extracted) {
+        return switch (extracted.status()) {
+            case EXTRACTED -> extracted.text();
+            case ENCRYPTED -> "Resume is encrypted.";
+            case EMPTY -> "Resume text could not be extracted.";
+            case UNREADABLE, TIMED_OUT -> "Resume text unavailable.";
+        };
     }
     private String truncate(String text, int max) {
         if (text == null || text.isBlank()) return "";
@@ -0,0 +1,14 @@
+package com.upply.application.dto;
+
+public record ApplicantResumeFile(
+        Long applicationId,
+
+        String applicantFirstName,
+
+        String applicantLastName,
+
+        String blobName,
+
+        String fileName
+) {
+}
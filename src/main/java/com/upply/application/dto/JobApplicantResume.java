@@ -0,0 +1,11 @@
+package com.upply.application.dto;
+
+/**
+ * Which resume an applicant submitted to a job.
+ */
+public record JobApplicantResume(
+        Long applicationId,
+        Long applicantId,
+        Long resumeId
+) {
+}
@@ -0,0 +1,10 @@
+package com.upply.application.dto;
+
+import java.time.Instant;
+
+public record ResumeLinkResponse(
+        String url,
+
+        Instant expiresAt
+) {
+}
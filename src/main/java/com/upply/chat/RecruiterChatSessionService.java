@@ -1,6 +1,9 @@
 package com.upply.chat;
 
 
+import com.upply.ai.Bulkhead;
+import com.upply.application.ApplicationRepository;
+import com.upply.application.dto.JobApplicantResume;
 import com.upply.chat.dto.ChatMessageResponse;
 import com.upply.chat.dto.CreateSessionRequest;
 import com.upply.chat.dto.RecruiterChatMapper;
@@ -16,12 +19,16 @@ import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,10 +41,13 @@ public class RecruiterChatSessionService {
     private final VectorStore vectorStore;
     private final ChatClient geminiChatClient;
     private final ChatClient groqChatClient;
+    private final Bulkhead geminiBulkhead;
+    private final Bulkhead groqBulkhead;
     private final ChatMemory chatMemory;
     private final RecruiterChatSessionRepository sessionRepository;
     private final RecruiterChatMapper recruiterChatMapper;
     private final JobRepository jobRepository;
+    private final ApplicationRepository applicationRepository;
 
     private static final int TOP_K = 50;
     private static final double SIMILARITY_THRESHOLD = 0.5;
@@ -46,17 +56,23 @@ public class RecruiterChatSessionService {
     public RecruiterChatSessionService(@Qualifier("resumeVectorStore") VectorStore vectorStore,
                                        @Qualifier("recruiterRagGeminiChatClient") ChatClient geminiChatClient,
                                        @Qualifier("recruiterRagGroqChatClient") ChatClient groqChatClient,
+                                       @Qualifier("recruiterRagGeminiBulkhead") Bulkhead geminiBulkhead,
+                                       @Qualifier("recruiterRagGroqBulkhead") Bulkhead groqBulkhead,
                                        ChatMemory chatMemory,
                                        RecruiterChatSessionRepository sessionRepository,
                                        RecruiterChatMapper recruiterChatMapper,
-                                       JobRepository jobRepository) {
+                                       JobRepository jobRepository,
+                                       ApplicationRepository applicationRepository) {
         this.vectorStore = vectorStore;
         this.geminiChatClient = geminiChatClient;
         this.groqChatClient = groqChatClient;
+        this.geminiBulkhead = geminiBulkhead;
+        this.groqBulkhead = groqBulkhead;
         this.chatMemory = chatMemory;
         this.sessionRepository = sessionRepository;
         this.jobRepository = jobRepository;
         this.recruiterChatMapper = recruiterChatMapper;
+        this.applicationRepository = applicationRepository;
     }
 
     public SessionResponse createSession(Authentication connectedUser, CreateSessionRequest request) {
@@ -115,7 +131,12 @@ public class RecruiterChatSessionService {
         String candidateCtx = buildCandidateContext(jobId, prompt);
         String jobCtx = buildJobContext(jobId);
 
-        return callAiStream(geminiChatClient, sessionId, prompt, jobCtx, candidateCtx)
+        // taken here, on the request thread, so a full bulkhead is a 429 rather than an SSE error event
+        Bulkhead.Permit geminiPermit = geminiBulkhead.acquire();
+
+        return Flux.using(() -> geminiPermit,
+                        permit -> callAiStream(geminiChatClient, sessionId, prompt, jobCtx, candidateCtx),
+                        Bulkhead.Permit::close)
                 .doOnComplete(() -> log.info(
                         "AI_STREAM_SUCCESS provider=gemini sessionId={} jobId={}",
                         sessionId, jobId
@@ -130,7 +151,11 @@ public class RecruiterChatSessionService {
                                 e
                         );
 
-                        return callAiStream(groqChatClient, sessionId, prompt, jobCtx, candidateCtx)
+                        return Flux.using(groqBulkhead::acquire,
+                                        permit -> callAiStream(groqChatClient, sessionId, prompt, jobCtx, candidateCtx),
+                                        Bulkhead.Permit::close)
+                                // waiting for a permit blocks, keep it off the event loop
+                                .subscribeOn(Schedulers.boundedElastic())
                                 .doOnSubscribe(s -> log.info(
                                         "AI_FALLBACK_EXEC provider=groq sessionId={} jobId={}",
                                         sessionId, jobId
@@ -157,12 +182,21 @@ public class RecruiterChatSessionService {
     private String buildCandidateContext(Long jobId, String prompt) {
         log.info("Searching for candidates with jobId: {}", jobId);
 
+        // chunks are shared per resume, so the job's candidates are the resumes that applied to it
+        Map<String, Long> applicationIdsByResume = applicationRepository.findApplicantResumesByJobId(jobId).stream()
+                .collect(Collectors.toMap(
+                        applicant -> String.valueOf(applicant.resumeId()),
+                        JobApplicantResume::applicationId,
+                        (first, second) -> first));
+
+        if (applicationIdsByResume.isEmpty()) return NO_CANDIDATES;
+
         List<Document> docs = vectorStore.similaritySearch(
                 SearchRequest.builder()
                         .query(prompt)
                         .topK(TOP_K)
                         .similarityThreshold(SIMILARITY_THRESHOLD)
-                        .filterExpression("jobId == '" + jobId + "'")
+                        .filterExpression(candidateFilter(jobId, applicationIdsByResume.keySet()))
                         .build()
         );
 
@@ -177,7 +211,7 @@ public class RecruiterChatSessionService {
                 ))
                 .values().stream()
                 .map(this::bestDocPerApplicant)
-                .map(this::formatCandidate)
+                .map(doc -> formatCandidate(doc, applicationIdsByResume))
                 .collect(Collectors.joining("\n---\n"));
     }
 
@@ -185,8 +219,23 @@ public class RecruiterChatSessionService {
         return docs.stream().findFirst().orElseThrow();
     }
 
-    private String formatCandidate(Document doc) {
+    /**
+     * Chunks of the resumes that applied, plus chunks still stamped with this job id from
+     * before chunks were shared per resume.
+     */
+    private Filter.Expression candidateFilter(Long jobId, Collection<String> resumeIds) {
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+        return b.or(
+                b.in("resumeId", resumeIds.toArray()),
+                b.eq("jobId", String.valueOf(jobId))
+        ).build();
+    }
+
+    private String formatCandidate(Document doc, Map<String, Long> applicationIdsByResume) {
         Map<String, Object> meta = doc.getMetadata();
+        Object applicationId = meta.get("resumeId") != null
+                ? applicationIdsByResume.get(meta.get("resumeId").toString())
+                : meta.get("applicationId");
         return """
                 Candidate ID: %s
                 Application ID: %s
@@ -194,7 +243,7 @@ public class RecruiterChatSessionService {
                 %s
                 """.formatted(
                 meta.get("userId"),
-                meta.get("applicationId"),
+                applicationId,
                 meta.get("chunkType"),
                 doc.getText()
         );
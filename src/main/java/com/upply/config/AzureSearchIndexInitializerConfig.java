@@ -2,40 +2,65 @@ package com.upply.config;
 
 import com.azure.search.documents.indexes.SearchIndexClient;
 import com.azure.search.documents.indexes.models.*;
+import com.upply.vector.LocalVectorStore;
 import com.upply.vector.index.IndexSchema;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Configuration
 @Profile("!test")
 @RequiredArgsConstructor
 @Slf4j
 public class AzureSearchIndexInitializerConfig {
-    private final SearchIndexClient searchIndexClient;
+    private final ObjectProvider<SearchIndexClient> searchIndexClientProvider;
     private final List<IndexSchema> schemas;
+    private final List<VectorStore> vectorStores;
+    private SearchIndexClient searchIndexClient;
 
 
     @PostConstruct
     public void initializeIndexes() {
-        log.info("Initializing {} Azure Search indexes...", schemas.size());
-        schemas.forEach(this::ensureIndex);
+        // indexes served by an in-process store never reach Azure
+        Set<String> localIndexes = vectorStores.stream()
+                .filter(LocalVectorStore.class::isInstance)
+                .map(VectorStore::getName)
+                .collect(Collectors.toSet());
+        List<IndexSchema> azureSchemas = schemas.stream()
+                .filter(schema -> !localIndexes.contains(schema.indexName()))
+                .toList();
+        if (azureSchemas.isEmpty()) {
+            log.info("No Azure Search indexes configured, skipping initialization");
+            return;
+        }
+        searchIndexClient = searchIndexClientProvider.getObject();
+        log.info("Initializing {} Azure Search indexes...", azureSchemas.size());
+        azureSchemas.forEach(this::ensureIndex);
         log.info("All indexes initialized successfully");
     }
 
     private void ensureIndex(IndexSchema schema) {
         String indexName = schema.indexName();
 
+        SearchIndex existing;
         try {
-            searchIndexClient.getIndex(indexName);
-            log.info("Index '{}' already exists, skipping creation", indexName);
-            return;
+            existing = searchIndexClient.getIndex(indexName);
         } catch (Exception e) {
             log.info("Index '{}' not found, creating...", indexName);
+            existing = null;
+        }
+        if (existing != null) {
+            addMissingFields(existing, schema);
+            return;
         }
 
         try {
@@ -48,6 +73,33 @@ public class AzureSearchIndexInitializerConfig {
         }
     }
 
+    /**
+     * Azure lets existing indexes gain fields but not change or drop them, so new schema
+     * fields are added in place and everything else is left alone.
+     */
+    private void addMissingFields(SearchIndex existing, IndexSchema schema) {
+        Set<String> existingNames = existing.getFields().stream()
+                .map(SearchField::getName)
+                .collect(Collectors.toSet());
+        List<SearchField> missing = schema.fields().stream()
+                .filter(field -> !existingNames.contains(field.getName()))
+                .toList();
+        if (missing.isEmpty()) {
+            log.info("Index '{}' already exists, skipping creation", schema.indexName());
+            return;
+        }
+        try {
+            List<SearchField> fields = new ArrayList<>(existing.getFields());
+            fields.addAll(missing);
+            searchIndexClient.createOrUpdateIndex(existing.setFields(fields));
+            log.info("Index '{}' gained fields {}", schema.indexName(),
+                    missing.stream().map(SearchField::getName).toList());
+        } catch (Exception e) {
+            log.error("Failed to add fields to index '{}'", schema.indexName(), e);
+            throw new RuntimeException("Failed to update Azure Search index: " + schema.indexName(), e);
+        }
+    }
+
     private SearchIndex buildIndex(IndexSchema schema) {
         return new SearchIndex(schema.indexName())
                 .setFields(schema.fields())
@@ -1,7 +1,13 @@
 package com.upply.config;
 
+import com.upply.ai.Bulkhead;
+import com.upply.ai.BulkheadAdvisor;
+import com.upply.ai.LlmRoute;
+import com.upply.ai.ResponseCacheAdvisor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
 import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
@@ -9,31 +15,90 @@ import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.google.genai.GoogleGenAiChatOptions;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @Profile("!test")
 public class GenAiConfig {
     private final ChatClient.Builder geminiBuilder;
     private final ChatClient.Builder groqBuilder;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.llm.cache.ttl-hours}")
+    private long responseCacheTtlHours;
+    @Value("${app.llm.bulkhead.max-queue}")
+    private int bulkheadMaxQueue;
+    @Value("${app.llm.bulkhead.max-wait-ms}")
+    private long bulkheadMaxWaitMs;
+    @Value("${app.llm.bulkhead.max-concurrent.resume-analysis}")
+    private int resumeAnalysisConcurrency;
+    @Value("${app.llm.bulkhead.max-concurrent.resume-parser}")
+    private int resumeParserConcurrency;
+    @Value("${app.llm.bulkhead.max-concurrent.application-summary}")
+    private int applicationSummaryConcurrency;
+    @Value("${app.llm.bulkhead.max-concurrent.job-import}")
+    private int jobImportConcurrency;
+    @Value("${app.llm.bulkhead.max-concurrent.recruiter-rag}")
+    private int recruiterRagConcurrency;
 
     public GenAiConfig(
             @Qualifier("googleGenAiChatModel") ChatModel geminiModel,
-            @Qualifier("openAiChatModel") ChatModel groqModel) {
+            @Qualifier("openAiChatModel") ChatModel groqModel,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
         this.geminiBuilder = ChatClient.builder(geminiModel);
         this.groqBuilder   = ChatClient.builder(groqModel);
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
-    private ChatClient geminiBuild(Resource prompt, double temperature, int maxTokens) {
+    /**
+     * Each client gets its own permits, so a spike on one feature or provider cannot
+     * starve the others.
+     */
+    private Bulkhead bulkhead(String feature, String provider, int maxConcurrent) {
+        return new Bulkhead(feature + "." + provider, maxConcurrent, bulkheadMaxQueue,
+                Duration.ofMillis(bulkheadMaxWaitMs), meterRegistry);
+    }
+
+    /**
+     * Only near-deterministic clients cache responses; at higher temperatures a repeat
+     * prompt is expected to give a different answer.
+     */
+    private List<Advisor> advisors(String feature, String provider, Bulkhead bulkhead, boolean cacheResponses) {
+        List<Advisor> advisors = new ArrayList<>();
+        if (cacheResponses) {
+            advisors.add(new ResponseCacheAdvisor(redisTemplate, feature + "." + provider,
+                    Duration.ofHours(responseCacheTtlHours), meterRegistry));
+        }
+        advisors.add(new BulkheadAdvisor(bulkhead));
+        return advisors;
+    }
+
+    private ChatClient geminiBuild(Resource prompt, double temperature, int maxTokens,
+                                  String feature, int maxConcurrent, boolean cacheResponses) {
+        return geminiBuild(prompt, temperature, maxTokens, feature,
+                bulkhead(feature, LlmRoute.GEMINI, maxConcurrent), cacheResponses);
+    }
+
+    private ChatClient geminiBuild(Resource prompt, double temperature, int maxTokens,
+                                  String feature, Bulkhead bulkhead, boolean cacheResponses) {
         try {
             return geminiBuilder.clone()
                     .defaultSystem(prompt.getContentAsString(StandardCharsets.UTF_8))
+                    .defaultAdvisors(advisors(feature, LlmRoute.GEMINI, bulkhead, cacheResponses))
                     .defaultOptions(GoogleGenAiChatOptions.builder()
                             .model("gemini-3.1-flash-lite-preview")
                             .temperature(temperature)
@@ -45,10 +110,13 @@ public class GenAiConfig {
         }
     }
 
-    private ChatClient groqBuild(Resource prompt, double temperature, int maxTokens) {
+    private ChatClient groqBuild(Resource prompt, double temperature, int maxTokens,
+                                String feature, int maxConcurrent, boolean cacheResponses) {
         try {
             return groqBuilder.clone()
                     .defaultSystem(prompt.getContentAsString(StandardCharsets.UTF_8))
+                    .defaultAdvisors(advisors(feature, LlmRoute.GROQ,
+                            bulkhead(feature, LlmRoute.GROQ, maxConcurrent), cacheResponses))
                     .defaultOptions(OpenAiChatOptions.builder()
                             .model("llama-3.3-70b-versatile")
                             .temperature(temperature)
@@ -62,42 +130,52 @@ public class GenAiConfig {
 
     @Bean
     public ChatClient resumeAnalysisGeminiChatClient(@Qualifier("resumeAnalysisPrompt") Resource prompt) {
-        return geminiBuild(prompt, 0.2, 1024);
+        return geminiBuild(prompt, 0.2, 1024, "resume-analysis", resumeAnalysisConcurrency, false);
     }
 
     @Bean
     public ChatClient resumeAnalysisGroqChatClient(@Qualifier("resumeAnalysisPrompt") Resource prompt) {
-        return groqBuild(prompt, 0.2, 1024);
+        return groqBuild(prompt, 0.2, 1024, "resume-analysis", resumeAnalysisConcurrency, false);
+    }
+
+    @Bean
+    public ChatClient resumeParserGeminiChatClient(@Qualifier("resumeParserPrompt") Resource prompt,
+                                                   @Qualifier("resumeParserGeminiBulkhead") Bulkhead bulkhead) {
+        return geminiBuild(prompt, 0.0, 3072, "resume-parser", bulkhead, true);
     }
 
+    /**
+     * Shared by the client's advisor and the streaming preview, which bypasses call
+     * advisors and so takes its permit itself.
+     */
     @Bean
-    public ChatClient resumeParserGeminiChatClient(@Qualifier("resumeParserPrompt") Resource prompt) {
-        return geminiBuild(prompt, 0.0, 3072);
+    public Bulkhead resumeParserGeminiBulkhead() {
+        return bulkhead("resume-parser", LlmRoute.GEMINI, resumeParserConcurrency);
     }
 
     @Bean
     public ChatClient resumeParserGroqChatClient(@Qualifier("resumeParserPrompt") Resource prompt) {
-        return groqBuild(prompt, 0.0, 3072);
+        return groqBuild(prompt, 0.0, 3072, "resume-parser", resumeParserConcurrency, true);
     }
 
     @Bean
     public ChatClient applicationSummaryGeminiChatClient(@Qualifier("applicationSummaryPrompt") Resource prompt) {
-        return geminiBuild(prompt, 0.1, 3072);
+        return geminiBuild(prompt, 0.1, 3072, "application-summary", applicationSummaryConcurrency, true);
     }
 
     @Bean
     public ChatClient applicationSummaryGroqChatClient(@Qualifier("applicationSummaryPrompt") Resource prompt) {
-        return groqBuild(prompt, 0.1, 3072);
+        return groqBuild(prompt, 0.1, 3072, "application-summary", applicationSummaryConcurrency, true);
     }
 
     @Bean
     public ChatClient jobImportGeminiChatClient(@Qualifier("jobImportPrompt") Resource prompt) {
-        return geminiBuild(prompt, 0.0, 2048);
+        return geminiBuild(prompt, 0.0, 2048, "job-import", jobImportConcurrency, true);
     }
 
     @Bean
     public ChatClient jobImportGroqChatClient(@Qualifier("jobImportPrompt") Resource prompt) {
-        return groqBuild(prompt, 0.0, 2048);
+        return groqBuild(prompt, 0.0, 2048, "job-import", jobImportConcurrency, true);
     }
 
     @Bean
@@ -139,6 +217,20 @@ public class GenAiConfig {
         }
     }
 
+    /**
+     * The recruiter chat streams, so its permit is taken by the service before the
+     * response starts rather than by an advisor at subscription time.
+     */
+    @Bean
+    public Bulkhead recruiterRagGeminiBulkhead() {
+        return bulkhead("recruiter-rag", LlmRoute.GEMINI, recruiterRagConcurrency);
+    }
+
+    @Bean
+    public Bulkhead recruiterRagGroqBulkhead() {
+        return bulkhead("recruiter-rag", LlmRoute.GROQ, recruiterRagConcurrency);
+    }
+
     @Bean
     public ChatMemory chatMemory(JdbcChatMemoryRepository jdbcChatMemoryRepository) {
         return MessageWindowChatMemory.builder()
@@ -12,6 +12,7 @@ public class KafkaConfig {
     public static final String NOTIFICATION_DISPATCH = "notification-dispatch";
     public static final String UserSkillsEmbeddingTopic = "user-skills-embedding";
     public static final String JOB_POSTING_TOPIC = "job-posting-topic";
+    public static final String JOB_FAN_OUT_TOPIC = "job-fan-out";
 
     @Bean
     public NewTopic applicationMatchTopic() {
@@ -53,4 +54,12 @@ public class KafkaConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic jobFanOutTopic() {
+        return TopicBuilder.name(JOB_FAN_OUT_TOPIC)
+                .partitions(2)
+                .replicas(2)
+                .build();
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.upply.config;
+
+import com.azure.search.documents.SearchClient;
+import com.upply.vector.AzureSimilarityScanner;
+import com.upply.vector.SimilarityScanner;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Optional;
+
+@Configuration
+@Profile("!test")
+public class SimilarityScanConfig {
+
+    @Value("${app.reverse-matching.max-candidates}")
+    private int maxCandidates;
+
+    @Bean
+    public SimilarityScanner userSkillsSimilarityScanner(@Qualifier("userSkillsVectorStore") VectorStore vectorStore) {
+        return scanner(vectorStore);
+    }
+
+    /**
+     * The in-process store scans itself; Azure-backed stores are paged through their
+     * native search client. Any other store cannot serve reverse matching, so startup
+     * fails instead of silently notifying nobody.
+     */
+    private SimilarityScanner scanner(VectorStore vectorStore) {
+        if (vectorStore instanceof SimilarityScanner scanner) {
+            return scanner;
+        }
+        Optional<SearchClient> searchClient = vectorStore.getNativeClient();
+        return searchClient
+                .map(client -> (SimilarityScanner) new AzureSimilarityScanner(client, maxCandidates))
+                .orElseThrow(() -> new IllegalStateException(
+                        "Vector store '" + vectorStore.getName() + "' cannot be scanned for reverse matching"));
+    }
+}
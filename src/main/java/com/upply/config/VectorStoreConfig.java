@@ -4,73 +4,155 @@ import com.azure.core.credential.AzureKeyCredential;
 import com.azure.search.documents.indexes.SearchIndexClient;
 import com.azure.search.documents.indexes.SearchIndexClientBuilder;
 import com.upply.common.IndexName;
-import com.upply.profile.resume.AzureStorageService;
+import com.upply.vector.CachingEmbeddingModel;
+import com.upply.vector.hnsw.HnswVectorStore;
+import com.upply.vector.quantized.QuantizedDocumentStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.azure.AzureVectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.RedisTemplate;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @Profile("!test")
 public class VectorStoreConfig {
 
+    private static final String HNSW_PROVIDER = "hnsw";
+    private static final String QUANTIZED_PROVIDER = "quantized";
+    private static final List<String> JOBS_FILTER_FIELDS =
+            List.of("jobId", "title", "type", "seniority", "model", "location", "status");
+    private static final List<String> RESUME_FILTER_FIELDS =
+            List.of("resumeId", "applicationId", "jobId", "chunkType", "userId");
+    private static final List<String> USER_SKILLS_FILTER_FIELDS = List.of("userId");
+
     @Value("${azure.search.endpoint}")
     private String searchEndpoint;
     @Value("${azure.search.key}")
     private String searchKey;
+    @Value("${app.embedding-cache.namespace}")
+    private String embeddingCacheNamespace;
+    @Value("${app.embedding-cache.max-entries}")
+    private int embeddingCacheMaxEntries;
+    @Value("${app.embedding-cache.ttl-hours}")
+    private long embeddingCacheTtlHours;
+    @Value("${app.vector-store.jobs:azure}")
+    private String jobsProvider;
+    @Value("${app.vector-store.resume:azure}")
+    private String resumeProvider;
+    @Value("${app.vector-store.user-skills:azure}")
+    private String userSkillsProvider;
+    @Value("${app.vector-store.hnsw.snapshot-dir}")
+    private String hnswSnapshotDir;
+    @Value("${app.vector-store.hnsw.m}")
+    private int hnswM;
+    @Value("${app.vector-store.hnsw.ef-construction}")
+    private int hnswEfConstruction;
+    @Value("${app.vector-store.hnsw.ef-search}")
+    private int hnswEfSearch;
+    @Value("${app.vector-store.quantized.dir}")
+    private String quantizedDir;
+    @Value("${app.vector-store.quantized.rescore-oversample}")
+    private int quantizedRescoreOversample;
+    @Value("${app.vector-store.quantized.binary-prefilter}")
+    private boolean quantizedBinaryPrefilter;
 
     @Bean
+    @Lazy
     public SearchIndexClient searchIndexClient(){
         return new SearchIndexClientBuilder()
                 .endpoint(searchEndpoint)
                 .credential(new AzureKeyCredential(searchKey))
                 .buildClient();
     }
+
+    /**
+     * Wraps the ONNX transformers model so repeated texts are never re-embedded.
+     * Marked primary so every vector store and matching service picks it up.
+     */
     @Bean
-    public VectorStore jobsVectorStore(SearchIndexClient searchIndexClient,
-                                   EmbeddingModel embeddingModel) {
-        return AzureVectorStore.builder(searchIndexClient, embeddingModel)
-                .indexName(IndexName.JOBS_INDEX)
-                .initializeSchema(false)
-                .filterMetadataFields(List.of(
-                        AzureVectorStore.MetadataField.text("jobId"),
-                        AzureVectorStore.MetadataField.text("title"),
-                        AzureVectorStore.MetadataField.text("type"),
-                        AzureVectorStore.MetadataField.text("seniority"),
-                        AzureVectorStore.MetadataField.text("model"),
-                        AzureVectorStore.MetadataField.text("location"),
-                        AzureVectorStore.MetadataField.text("status")
-                ))
-                .build();
+    @Primary
+    public EmbeddingModel cachingEmbeddingModel(@Qualifier("embeddingModel") EmbeddingModel embeddingModel,
+                                                @Qualifier("vectorRedisTemplate") RedisTemplate<String, byte[]> vectorRedisTemplate,
+                                                MeterRegistry meterRegistry) {
+        return new CachingEmbeddingModel(
+                embeddingModel,
+                vectorRedisTemplate,
+                meterRegistry,
+                embeddingCacheNamespace,
+                embeddingCacheMaxEntries,
+                Duration.ofHours(embeddingCacheTtlHours));
     }
+
     @Bean
-    public VectorStore resumeVectorStore(SearchIndexClient searchIndexClient,
-                                         EmbeddingModel embeddingModel){
-        return AzureVectorStore.builder(searchIndexClient,embeddingModel)
-                .indexName(IndexName.RESUME_INDEX)
-                .initializeSchema(false)
-                .filterMetadataFields(List.of(
-                        AzureVectorStore.MetadataField.text("applicationId"),
-                        AzureVectorStore.MetadataField.text("jobId"),
-                        AzureVectorStore.MetadataField.text("chunkType"),
-                        AzureVectorStore.MetadataField.text("userId")
-                )).build();
+    public VectorStore jobsVectorStore(ObjectProvider<SearchIndexClient> searchIndexClient,
+                                       EmbeddingModel embeddingModel) {
+        return vectorStore(jobsProvider, IndexName.JOBS_INDEX, JOBS_FILTER_FIELDS,
+                searchIndexClient, embeddingModel);
     }
 
     @Bean
-    public VectorStore userSkillsVectorStore(SearchIndexClient searchIndexClient,
-                                             EmbeddingModel embeddingModel){
-        return AzureVectorStore.builder(searchIndexClient,embeddingModel)
-                .indexName(IndexName.USER_SKILLS_INDEX)
+    public VectorStore resumeVectorStore(ObjectProvider<SearchIndexClient> searchIndexClient,
+                                         EmbeddingModel embeddingModel) {
+        return vectorStore(resumeProvider, IndexName.RESUME_INDEX, RESUME_FILTER_FIELDS,
+                searchIndexClient, embeddingModel);
+    }
+
+    @Bean
+    public VectorStore userSkillsVectorStore(ObjectProvider<SearchIndexClient> searchIndexClient,
+                                             EmbeddingModel embeddingModel) {
+        return vectorStore(userSkillsProvider, IndexName.USER_SKILLS_INDEX, USER_SKILLS_FILTER_FIELDS,
+                searchIndexClient, embeddingModel);
+    }
+
+    /**
+     * Builds the store for one index: "azure" (default) talks to Azure AI Search,
+     * "hnsw" keeps the index in-process and snapshots it under the configured directory,
+     * "quantized" scans int8 codes memory-mapped under its own directory.
+     */
+    private VectorStore vectorStore(String provider,
+                                    String indexName,
+                                    List<String> filterFields,
+                                    ObjectProvider<SearchIndexClient> searchIndexClient,
+                                    EmbeddingModel embeddingModel) {
+        if (HNSW_PROVIDER.equalsIgnoreCase(provider)) {
+            return new HnswVectorStore(
+                    indexName,
+                    embeddingModel,
+                    Set.copyOf(filterFields),
+                    Path.of(hnswSnapshotDir, indexName + ".hnsw"),
+                    hnswM,
+                    hnswEfConstruction,
+                    hnswEfSearch);
+        }
+        if (QUANTIZED_PROVIDER.equalsIgnoreCase(provider)) {
+            return new QuantizedDocumentStore(
+                    indexName,
+                    embeddingModel,
+                    Set.copyOf(filterFields),
+                    Path.of(quantizedDir),
+                    quantizedRescoreOversample,
+                    quantizedBinaryPrefilter);
+        }
+        return AzureVectorStore.builder(searchIndexClient.getObject(), embeddingModel)
+                .indexName(indexName)
                 .initializeSchema(false)
-                .filterMetadataFields(List.of(
-                        AzureVectorStore.MetadataField.text("userId")
-                )).build();
+                .filterMetadataFields(filterFields.stream()
+                        .map(AzureVectorStore.MetadataField::text)
+                        .toList())
+                .build();
     }
 
 }
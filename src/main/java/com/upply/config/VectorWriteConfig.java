@@ -0,0 +1,79 @@
+package com.upply.config;
+
+import com.azure.search.documents.SearchClient;
+import com.upply.common.IndexName;
+import com.upply.vector.AzureMetadataWriter;
+import com.upply.vector.VectorMetadataWriter;
+import com.upply.vector.VectorWriteBuffer;
+import com.upply.vector.index.IndexSchema;
+import com.upply.vector.index.JobsIndexSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Configuration
+public class VectorWriteConfig {
+
+    @Value("${app.vector-write.capacity}")
+    private int capacity;
+    @Value("${app.vector-write.batch-size}")
+    private int batchSize;
+    @Value("${app.vector-write.max-attempts}")
+    private int maxAttempts;
+    @Value("${app.vector-write.retry-backoff-ms}")
+    private long retryBackoffMs;
+    @Value("${app.vector-write.linger-ms}")
+    private long lingerMs;
+    @Value("${app.vector-write.max-enqueue-wait-ms}")
+    private long maxEnqueueWaitMs;
+
+    @Bean
+    public VectorWriteBuffer jobsVectorWriteBuffer(@Qualifier("jobsVectorStore") VectorStore vectorStore,
+                                                   JobsIndexSchema jobsIndexSchema,
+                                                   MeterRegistry meterRegistry) {
+        return buffer(IndexName.JOBS_INDEX, vectorStore, metadataWriter(vectorStore, jobsIndexSchema), meterRegistry);
+    }
+
+    @Bean
+    public VectorWriteBuffer userSkillsVectorWriteBuffer(@Qualifier("userSkillsVectorStore") VectorStore vectorStore,
+                                                         MeterRegistry meterRegistry) {
+        return buffer(IndexName.USER_SKILLS_INDEX, vectorStore, null, meterRegistry);
+    }
+
+    /**
+     * The in-process store updates metadata itself; Azure-backed stores get a merge writer
+     * over their native search client.
+     */
+    private VectorMetadataWriter metadataWriter(VectorStore vectorStore, IndexSchema schema) {
+        if (vectorStore instanceof VectorMetadataWriter writer) {
+            return writer;
+        }
+        Optional<SearchClient> searchClient = vectorStore.getNativeClient();
+        return searchClient
+                .map(client -> (VectorMetadataWriter) new AzureMetadataWriter(client, schema))
+                .orElse(null);
+    }
+
+    private VectorWriteBuffer buffer(String name,
+                                     VectorStore vectorStore,
+                                     VectorMetadataWriter metadataWriter,
+                                     MeterRegistry meterRegistry) {
+        return new VectorWriteBuffer(
+                name,
+                vectorStore,
+                metadataWriter,
+                meterRegistry,
+                capacity,
+                batchSize,
+                maxAttempts,
+                Duration.ofMillis(retryBackoffMs),
+                Duration.ofMillis(lingerMs),
+                Duration.ofMillis(maxEnqueueWaitMs));
+    }
+}
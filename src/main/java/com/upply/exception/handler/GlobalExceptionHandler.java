@@ -3,6 +3,7 @@ package com.upply.exception.handler;
 import com.upply.exception.custom.BusinessLogicException;
 import com.upply.exception.custom.OperationNotPermittedException;
 import com.upply.exception.custom.ResourceNotFoundException;
+import com.upply.exception.custom.TooManyRequestsException;
 import jakarta.mail.MessagingException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
@@ -10,6 +11,7 @@ import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -194,6 +196,17 @@ public class GlobalExceptionHandler {
                 String.format("HTTP method '%s' is not supported for this endpoint", ex.getMethod()), request);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ExceptionResponse> handleTooManyRequestsException(
+            TooManyRequestsException ex, HttpServletRequest request) {
+
+        log.warn("Request rejected under load: {} | {} {}", ex.getMessage(), request.getMethod(), request.getRequestURI());
+        ResponseEntity<ExceptionResponse> response = buildResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(response.getBody());
+    }
+
     // ── Messaging Exceptions ────────────────────────────────────────────
 
     @ExceptionHandler(MessagingException.class)
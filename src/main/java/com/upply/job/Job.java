@@ -79,4 +79,9 @@ public class Job {
     private String organizationName;
 
     private String applicationLink;
+
+    // hash of the text the index holds; unchanged hash means metadata-only index updates.
+    // Written only by JobRepository.updateEmbeddingContentHash once the index confirmed it.
+    @Column(length = 64, updatable = false)
+    private String embeddingContentHash;
 }
@@ -1,5 +1,6 @@
 package com.upply.job;
 
+import com.upply.application.dto.ApplicantResumeFile;
 import com.upply.application.dto.ApplicationResponse;
 import com.upply.application.enums.ApplicationStatus;
 import com.upply.common.PageResponse;
@@ -12,10 +13,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -26,6 +31,7 @@ import java.util.List;
 public class JobController {
 
     private final JobService jobService;
+    private final ResumeArchiveService resumeArchiveService;
 
     @PostMapping
     @Operation(
@@ -236,6 +242,40 @@ public class JobController {
         return ResponseEntity.accepted().body(jobService.startExportTask(id, connectedUser));
     }
 
+    @GetMapping("/{id}/applications/resumes")
+    @Operation(
+            summary = "Download all applicant resumes",
+            description = "Streams a ZIP archive with the resume PDF of every application for a specific job, ordered by matching ratio."
+    )
+    public ResponseEntity<StreamingResponseBody> downloadAllResumes(
+            @Parameter(
+                    description = "The ID of the job",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long id,
+            Authentication connectedUser,
+            NativeWebRequest webRequest
+    ) {
+        List<ApplicantResumeFile> files = jobService.getApplicantResumeFiles(id, connectedUser);
+        // the stream starts async processing on this request, which picks up the timeout
+        if (webRequest instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(resumeArchiveService.timeoutMs());
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDisposition(
+                ContentDisposition.builder("attachment")
+                        .filename("job_" + jobService.getJobTitle(id) + "_resumes.zip", StandardCharsets.UTF_8)
+                        .build()
+        );
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(out -> resumeArchiveService.writeZip(files, out));
+    }
+
     @GetMapping("/{id}/applications/export/{taskId}/status")
     @Operation(
             summary = "Poll export task status",
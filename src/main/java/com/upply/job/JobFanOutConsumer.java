@@ -0,0 +1,127 @@
+package com.upply.job;
+
+import com.upply.common.NotificationEventType;
+import com.upply.config.KafkaConfig;
+import com.upply.job.dto.JobFanOutEvent;
+import com.upply.job.enums.JobStatus;
+import com.upply.notification.dto.DispatchPayload;
+import com.upply.notification.dto.NotificationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.upply.config.KafkaConfig.NOTIFICATION_EVENTS;
+
+/**
+ * Fans a newly posted job out to every matching user: merges it into their matched feeds
+ * and sends each one a notification.
+ *
+ * <p>Runs on its own topic, published after the posting transaction commits, so the scan
+ * holds no database transaction. Users are claimed in a Redis set per job before they are
+ * notified; a redelivered event walks the matches again but only notifies users it has not
+ * claimed yet, so each user hears about a job at most once.
+ */
+@Service
+@Slf4j
+public class JobFanOutConsumer {
+    private static final String NOTIFIED_KEY = "job-fan-out:notified:";
+    private static final String FRONTEND_BASE_URL = "https://www.upply.tech/jobs";
+
+    private final JobRepository jobRepository;
+    private final ReverseMatchingService reverseMatchingService;
+    private final MatchedJobFeedService matchedJobFeedService;
+    private final StringRedisTemplate redisTemplate;
+    private final KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate;
+
+    @Value("${app.reverse-matching.notified-ttl-hours}")
+    private long notifiedTtlHours;
+
+    public JobFanOutConsumer(JobRepository jobRepository,
+                             ReverseMatchingService reverseMatchingService,
+                             MatchedJobFeedService matchedJobFeedService,
+                             StringRedisTemplate redisTemplate,
+                             KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate) {
+        this.jobRepository = jobRepository;
+        this.reverseMatchingService = reverseMatchingService;
+        this.matchedJobFeedService = matchedJobFeedService;
+        this.redisTemplate = redisTemplate;
+        this.notificationKafkaTemplate = notificationKafkaTemplate;
+    }
+
+    @KafkaListener(topics = KafkaConfig.JOB_FAN_OUT_TOPIC,
+            groupId = "job-fan-out-group")
+    public void consumeJobFanOutEvent(JobFanOutEvent event) {
+        Job job = jobRepository.findById(event.getJobId()).orElse(null);
+        if (job == null || job.getStatus() != JobStatus.OPEN) {
+            log.info("Skipping fan-out for job {}, it is missing or no longer open", event.getJobId());
+            return;
+        }
+
+        String jobUrl = FRONTEND_BASE_URL + "?id=" + job.getId();
+        String jobCompany = job.getOrganizationName() != null ? job.getOrganizationName() : "Upply";
+
+        long matched = reverseMatchingService.forEachMatchingPage(job, userScores -> {
+            matchedJobFeedService.addJob(job, userScores);
+            claim(job.getId(), List.copyOf(userScores.keySet()))
+                    .forEach(userId -> notifyMatchingUser(job, userId, jobUrl, jobCompany));
+        });
+        log.info("Fan-out for jobId {} done, {} matching users", job.getId(), matched);
+    }
+
+    /**
+     * Adds the users to the job's notified set in one round trip and returns those that
+     * were not in it yet.
+     */
+    List<Long> claim(Long jobId, List<Long> userIds) {
+        String key = NOTIFIED_KEY + jobId;
+        List<Object> added = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            userIds.forEach(userId -> stringConnection.sAdd(key, String.valueOf(userId)));
+            return null;
+        });
+        redisTemplate.expire(key, Duration.ofHours(notifiedTtlHours));
+
+        List<Long> claimed = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            if (added.get(i) instanceof Long count && count > 0) {
+                claimed.add(userIds.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    private void notifyMatchingUser(Job job, Long userId, String jobUrl, String jobCompany) {
+        NotificationEvent notificationEvent = new NotificationEvent(
+                UUID.randomUUID().toString(),
+                NotificationEventType.NEW_MATCHED_JOBS,
+                userId,
+                List.of(DispatchPayload.Channel.EMAIL, DispatchPayload.Channel.PUSH),
+                Map.of(
+                        "jobId", job.getId(),
+                        "jobTitle", job.getTitle(),
+                        "jobCompany", jobCompany,
+                        "jobUrl", jobUrl
+                )
+        );
+
+        notificationKafkaTemplate.send(NOTIFICATION_EVENTS,
+                        String.valueOf(userId), notificationEvent)
+                .exceptionally(ex -> {
+                    log.error("Failed to publish matched jobs notification for user {}",
+                            userId, ex);
+                    return null;
+                });
+        log.debug("Published notification for user {} for job {}", userId, job.getId());
+    }
+}
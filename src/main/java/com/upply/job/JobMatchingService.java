@@ -1,16 +1,23 @@
 package com.upply.job;
 
+import com.upply.job.enums.JobStatus;
 import com.upply.user.User;
 import com.upply.user.UserRepository;
+import com.upply.vector.ContentHash;
+import com.upply.vector.DocumentVectorCache;
+import com.upply.vector.VectorMath;
+import com.upply.vector.VectorWriteBuffer;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -19,21 +26,33 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 public class JobMatchingService {
+    // minimum score for a job to count as a match for a user
+    public static final double MATCH_THRESHOLD = 0.6;
+
     private final VectorStore jobsVectorStore;
     private final VectorStore userSkillsVectorStore;
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
+    private final EmbeddingModel embeddingModel;
+    private final DocumentVectorCache documentVectorCache;
+    private final VectorWriteBuffer jobsVectorWriteBuffer;
 
     public JobMatchingService(
             @Qualifier("jobsVectorStore") VectorStore jobsVectorStore,
             @Qualifier("userSkillsVectorStore") VectorStore userSkillsVectorStore,
             JobRepository jobRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            EmbeddingModel embeddingModel,
+            DocumentVectorCache documentVectorCache,
+            @Qualifier("jobsVectorWriteBuffer") VectorWriteBuffer jobsVectorWriteBuffer
     ) {
         this.jobsVectorStore = jobsVectorStore;
         this.userSkillsVectorStore = userSkillsVectorStore;
         this.jobRepository = jobRepository;
         this.userRepository = userRepository;
+        this.embeddingModel = embeddingModel;
+        this.documentVectorCache = documentVectorCache;
+        this.jobsVectorWriteBuffer = jobsVectorWriteBuffer;
     }
 
 
@@ -43,7 +62,10 @@ public class JobMatchingService {
 
         content.append("Job Title: ").append(job.getTitle()).append(". ");
 
-        List<String> skillList = jobRepository.findJobSkillNames(job.getId());
+        // sorted so the content hash does not depend on query order
+        List<String> skillList = jobRepository.findJobSkillNames(job.getId()).stream()
+                .sorted()
+                .toList();
 
         String skillNames = String.join(", ", skillList);
 
@@ -65,27 +87,50 @@ public class JobMatchingService {
         return profile.toString();
     }
 
+    private Map<String, Object> buildJobMetadata(Job job) {
+        return Map.of(
+                "jobId", String.valueOf(job.getId()),
+                "title", job.getTitle(),
+                "type", job.getType() != null ? job.getType().name() : "",
+                "seniority", job.getSeniority() != null ? job.getSeniority().name() : "",
+                "model", job.getModel() != null ? job.getModel().name() : "",
+                "location", job.getLocation() != null ? job.getLocation() : "",
+                "status", job.getStatus() != null ? job.getStatus().name() : ""
+        );
+    }
+
+    /**
+     * Queues the job document for indexing once the current transaction commits;
+     * embedding and the upload happen on the write buffer's thread. When the embedded
+     * text (title and skills) is unchanged only the metadata is merged into the index.
+     * The content hash is recorded and the cached job vector evicted only after the index
+     * accepted the upsert, so a score computed in between cannot re-cache the old vector.
+     * Closed jobs are not indexed.
+     */
     public void storeJobEmbedding(Job job) {
+        if (job.getStatus() == JobStatus.CLOSED) {
+            log.info("Job ID: {} is closed, not indexing it", job.getId());
+            return;
+        }
 
         try {
             String jobContent = buildJobContent(job);
-
-            Document document = new Document(
-                    String.valueOf(job.getId()),
-                    jobContent,
-                    Map.of(
-                            "jobId", String.valueOf(job.getId()),
-                            "title", job.getTitle(),
-                            "type", job.getType() != null ? job.getType().name() : "",
-                            "seniority", job.getSeniority() != null ? job.getSeniority().name() : "",
-                            "model", job.getModel() != null ? job.getModel().name() : "",
-                            "location", job.getLocation() != null ? job.getLocation() : "",
-                            "status", job.getStatus() != null ? job.getStatus().name() : ""
-                    )
-            );
-
-            jobsVectorStore.add(List.of(document));
-            log.info("Stored embedding for job ID: {}", job.getId());
+            String contentHash = ContentHash.sha256(jobContent);
+            Map<String, Object> metadata = buildJobMetadata(job);
+
+            if (contentHash.equals(job.getEmbeddingContentHash()) && jobsVectorWriteBuffer.supportsMetadataUpdates()) {
+                jobsVectorWriteBuffer.updateMetadata(String.valueOf(job.getId()), metadata);
+                log.info("Queued metadata update for job ID: {}", job.getId());
+                return;
+            }
+
+            Long jobId = job.getId();
+            jobsVectorWriteBuffer.upsert(new Document(String.valueOf(jobId), jobContent, metadata), () -> {
+                jobRepository.updateEmbeddingContentHash(jobId, contentHash);
+                // content changed, next score re-embeds it
+                documentVectorCache.evictJobVector(jobId);
+            });
+            log.info("Queued embedding for job ID: {}", job.getId());
         } catch (Exception e) {
             log.error("Error storing embedding for job ID: {}", job.getId(), e);
             throw new RuntimeException("Failed to store embedding", e);
@@ -96,8 +141,11 @@ public class JobMatchingService {
     public void deleteJobEmbedding(Long jobId) {
 
         try {
-            jobsVectorStore.delete(List.of(String.valueOf(jobId)));
-            log.info("Deleted embedding for job ID: {}", jobId);
+            jobsVectorWriteBuffer.delete(String.valueOf(jobId));
+            // nothing is indexed any more, the next store has to upsert the whole document
+            jobRepository.updateEmbeddingContentHash(jobId, null);
+            documentVectorCache.evictJobVector(jobId);
+            log.info("Queued embedding delete for job ID: {}", jobId);
         } catch (Exception e) {
             log.error("Error deleting embedding for job ID: {}", jobId, e);
         }
@@ -122,7 +170,7 @@ public class JobMatchingService {
                     .query(userProfile) // The text to search for
                     .topK(topK) // Number of results
                     .filterExpression("status == 'OPEN'")
-                    .similarityThreshold(0.6) // Minimum similarity score (0.0 to 1.0)
+                    .similarityThreshold(MATCH_THRESHOLD) // Minimum similarity score (0.0 to 1.0)
                     .build();
 
             List<Document> similarDocuments = jobsVectorStore.similaritySearch(searchRequest);
@@ -167,6 +215,36 @@ public class JobMatchingService {
     }
 
     public double calculateMatchScore(User user, Job job) {
+        try {
+            float[] userVector = getUserVector(user);
+            float[] jobVector = getJobVector(job);
+            return roundScore(VectorMath.toSearchScore(VectorMath.cosine(userVector, jobVector)));
+        } catch (Exception e) {
+            log.warn("Local match scoring failed for user {} and job {}, falling back to vector search",
+                    user.getId(), job.getId(), e);
+        }
+        return searchMatchScore(user, job);
+    }
+
+    private float[] getUserVector(User user) {
+        return documentVectorCache.getUserVector(user.getId())
+                .orElseGet(() -> {
+                    float[] vector = embeddingModel.embed(buildUserProfile(user));
+                    documentVectorCache.putUserVector(user.getId(), vector);
+                    return vector;
+                });
+    }
+
+    float[] getJobVector(Job job) {
+        return documentVectorCache.getJobVector(job.getId())
+                .orElseGet(() -> {
+                    float[] vector = embeddingModel.embed(buildJobContent(job));
+                    documentVectorCache.putJobVector(job.getId(), vector);
+                    return vector;
+                });
+    }
+
+    private double searchMatchScore(User user, Job job) {
         try {
             String userProfile = buildUserProfile(user);
 
@@ -179,7 +257,7 @@ public class JobMatchingService {
 
             List<Document> results = jobsVectorStore.similaritySearch(searchRequest);
             return results.stream()
-                    .mapToDouble(doc -> doc.getScore() == null ? 0.0 : (Math.round((doc.getScore() * 100.0)) / 100.0))
+                    .mapToDouble(doc -> doc.getScore() == null ? 0.0 : roundScore(doc.getScore()))
                     .findFirst()
                     .orElse(0.0);
 
@@ -189,7 +267,19 @@ public class JobMatchingService {
         }
     }
 
+    private double roundScore(double score) {
+        return Math.round(score * 100.0) / 100.0;
+    }
+
     public List<User> findMatchingUsers(Job job, int topK) {
+        return userRepository.findAllById(List.copyOf(findMatchingUserScores(job, topK).keySet()));
+    }
+
+    /**
+     * Users whose skill profile is closest to the job, best first, keyed by user id
+     * with the same similarity score {@link #findSimilarJobs} would give that pair.
+     */
+    public Map<Long, Double> findMatchingUserScores(Job job, int topK) {
         try {
             String jobContent = buildJobContent(job);
 
@@ -201,11 +291,11 @@ public class JobMatchingService {
 
             List<Document> similarDocuments = userSkillsVectorStore.similaritySearch(searchRequest);
 
-            List<Long> userIds = similarDocuments.stream()
-                    .map(doc -> Long.valueOf(doc.getId()))
-                    .toList();
-
-            return userRepository.findAllById(userIds);
+            Map<Long, Double> scores = new LinkedHashMap<>();
+            similarDocuments.forEach(doc -> scores.put(
+                    Long.valueOf(doc.getId()),
+                    doc.getScore() == null ? 0.0 : doc.getScore()));
+            return scores;
         } catch (Exception e) {
             log.error("Error finding matching users for job ID: {}", job.getId(), e);
             throw new RuntimeException("Failed to find matching users", e);
@@ -1,5 +1,8 @@
 package com.upply.job;
 
+import com.upply.ai.LlmGateway;
+import com.upply.ai.LlmRoute;
+import com.upply.ai.LlmUnavailableException;
 import com.upply.common.NormalizeSkillName;
 import com.upply.exception.custom.BusinessLogicException;
 import com.upply.job.dto.ParsedJobResponse;
@@ -21,40 +24,31 @@ import java.util.Set;
 @Slf4j
 public class JobParserService {
 
-    private final ChatClient geminiChatClient;
-    private final ChatClient groqChatClient;
+    private final List<LlmRoute> routes;
+    private final LlmGateway llmGateway;
     private final SkillRepository skillRepository;
 
     public JobParserService(
             @Qualifier("jobImportGeminiChatClient") ChatClient geminiChatClient,
             @Qualifier("jobImportGroqChatClient")   ChatClient groqChatClient,
+            LlmGateway llmGateway,
             SkillRepository skillRepository) {
-        this.geminiChatClient = geminiChatClient;
-        this.groqChatClient   = groqChatClient;
-        this.skillRepository  = skillRepository;
+        this.routes          = List.of(LlmRoute.gemini(geminiChatClient), LlmRoute.groq(groqChatClient));
+        this.llmGateway      = llmGateway;
+        this.skillRepository = skillRepository;
     }
 
     public ParsedJobResponse parse(String rawText) {
         String prompt = buildPrompt(rawText);
         try {
-            log.debug("Attempting job parse with Gemini");
-            return geminiChatClient.prompt()
+            return llmGateway.call("job-import", routes, client -> client.prompt()
                     .user(prompt)
                     .call()
-                    .entity(ParsedJobResponse.class);
-        } catch (Exception geminiEx) {
-            log.warn("Gemini job parse failed, falling back to Groq: {}", geminiEx.getMessage());
-            try {
-                return groqChatClient.prompt()
-                        .user(prompt)
-                        .call()
-                        .entity(ParsedJobResponse.class);
-            } catch (Exception groqEx) {
-                log.error("Groq job parse also failed: {}", groqEx.getMessage());
-                throw new BusinessLogicException(
-                        "Failed to parse job description — both AI providers unavailable: "
-                        + groqEx.getMessage());
-            }
+                    .entity(ParsedJobResponse.class));
+        } catch (LlmUnavailableException e) {
+            log.error("Job parse failed on every AI provider: {}", e.getMessage());
+            throw new BusinessLogicException(
+                    "Failed to parse job description — both AI providers unavailable: " + e.getMessage());
         }
     }
 
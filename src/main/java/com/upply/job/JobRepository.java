@@ -5,10 +5,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -25,6 +28,17 @@ public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificatio
     """)
     List<String> findJobSkillNames(@Param("jobId") Long jobId);
 
+    @Query("select j.id from Job j where j.status = :status")
+    List<Long> findIdsByStatus(@Param("status") JobStatus status);
+
+    @Query("select distinct j from Job j left join fetch j.skills where j.id in :ids")
+    List<Job> findAllWithSkillsByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("select distinct j from User u join u.userBookmarkedJobs j where u.id = ?#{principal.getId()}")
     Set<Job> findUserBookMarks();
+
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.embeddingContentHash = :embeddingContentHash where j.id = :jobId")
+    void updateEmbeddingContentHash(@Param("jobId") Long jobId, @Param("embeddingContentHash") String embeddingContentHash);
 }
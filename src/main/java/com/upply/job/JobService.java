@@ -2,6 +2,7 @@ package com.upply.job;
 
 import com.upply.application.Application;
 import com.upply.application.ApplicationRepository;
+import com.upply.application.dto.ApplicantResumeFile;
 import com.upply.application.dto.ApplicationMapper;
 import com.upply.application.dto.ApplicationResponse;
 import com.upply.application.enums.ApplicationStatus;
@@ -13,6 +14,9 @@ import com.upply.exception.custom.OperationNotPermittedException;
 import com.upply.exception.custom.ResourceNotFoundException;
 import com.upply.job.dto.*;
 import com.upply.job.enums.*;
+import com.upply.job.search.JobSearchDocument;
+import com.upply.job.search.JobSearchIndex;
+import com.upply.job.search.JobSearchService;
 import com.upply.notification.dto.DispatchPayload;
 import com.upply.notification.dto.NotificationEvent;
 import com.upply.job.dto.ParsedJobResponse;
@@ -30,7 +34,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
@@ -56,6 +59,9 @@ public class JobService {
     private final SkillRepository skillRepository;
     private final ApplicationRepository applicationRepository;
     private final JobMatchingService jobMatchingService;
+    private final MatchedJobFeedService matchedJobFeedService;
+    private final JobSearchService jobSearchService;
+    private final JobSearchIndex jobSearchIndex;
     private final ApplicationExcelExportService applicationExcelExportService;
     private final ExportTaskMapper exportTaskMapper;
     private final KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate;
@@ -91,6 +97,8 @@ public class JobService {
         job.setOrganizationName(user.getOrganization().getName());
 
         Job savedJob = jobRepository.save(job);
+        JobSearchDocument searchDocument = JobSearchDocument.from(savedJob);
+        afterCommit(() -> jobSearchIndex.index(searchDocument));
 
         PostJobEvent postJobEvent = new PostJobEvent(
                 job.getId(),
@@ -165,36 +173,14 @@ public class JobService {
 
     public PageResponse<JobListResponse> searchJobs(int pageNumber, int size, JobFilter filter) {
 
-        Pageable pageable = PageRequest.of(pageNumber, size, Sort.by("createdDate").descending());
-        Specification<Job> spec = JobSpecification.withFilters(filter);
-
-        Page<Job> jobs = jobRepository.findAll(spec, pageable);
-
-        List<JobListResponse> jobResponses = jobs.stream()
-                .map(jobMapper::toJobListResponse)
-                .toList();
-
-        return new PageResponse<>(
-                jobResponses,
-                jobs.getNumber(),
-                jobs.getSize(),
-                jobs.getTotalElements(),
-                jobs.getTotalPages(),
-                jobs.isFirst(),
-                jobs.isLast());
+        return jobSearchService.search(pageNumber, size, filter);
     }
 
     public List<MatchedJobListResponse> getMatchedJobs(Authentication connectedUser) {
 
         User user = (User) connectedUser.getPrincipal();
 
-        List<JobMatchingService.JobWithScore> matchedJobsWithScores = jobMatchingService.findSimilarJobs(user, 50);
-
-        return matchedJobsWithScores.stream()
-                .map(jobWithScore -> jobMapper.toMatchedJobListResponse(
-                        jobWithScore.getJob(),
-                        jobWithScore.getScore()))
-                .toList();
+        return matchedJobFeedService.getFeed(user);
     }
 
     @Transactional
@@ -245,6 +231,9 @@ public class JobService {
 
         // Update job embedding
         jobMatchingService.storeJobEmbedding(savedJob);
+        JobSearchDocument searchDocument = JobSearchDocument.from(savedJob);
+        afterCommit(() -> jobSearchIndex.index(searchDocument));
+        updateFeedsAfterCommit(() -> matchedJobFeedService.refreshJob(savedJob));
 
         return jobMapper.toJobResponse(savedJob);
     }
@@ -272,6 +261,8 @@ public class JobService {
 
         // Delete embedding from vector store
         jobMatchingService.deleteJobEmbedding(savedJob.getId());
+        afterCommit(() -> jobSearchIndex.remove(savedJob.getId()));
+        updateFeedsAfterCommit(() -> matchedJobFeedService.removeJob(savedJob.getId()));
 
         return jobMapper.toJobResponse(savedJob);
     }
@@ -302,6 +293,8 @@ public class JobService {
 
         // Update embedding with PAUSED status (for filtering)
         jobMatchingService.storeJobEmbedding(savedJob);
+        afterCommit(() -> jobSearchIndex.remove(savedJob.getId()));
+        updateFeedsAfterCommit(() -> matchedJobFeedService.removeJob(savedJob.getId()));
 
         return jobMapper.toJobResponse(savedJob);
     }
@@ -332,6 +325,9 @@ public class JobService {
 
         // Update embedding with OPEN status (for filtering)
         jobMatchingService.storeJobEmbedding(savedJob);
+        JobSearchDocument searchDocument = JobSearchDocument.from(savedJob);
+        afterCommit(() -> jobSearchIndex.index(searchDocument));
+        updateFeedsAfterCommit(() -> matchedJobFeedService.publishJob(savedJob));
 
         NotificationEvent notificationEvent = new NotificationEvent(
                 UUID.randomUUID().toString(),
@@ -435,6 +431,17 @@ public class JobService {
         return exportTaskMapper.toExportTaskResponse(task);
     }
 
+    public List<ApplicantResumeFile> getApplicantResumeFiles(Long jobId, Authentication connectedUser) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job with ID " + jobId + " not found"));
+        User user = ((User) connectedUser.getPrincipal());
+
+        if (!Objects.equals(job.getPostedBy().getId(), user.getId())) {
+            throw new OperationNotPermittedException("You are not permitted to export resumes of this job");
+        }
+        return applicationRepository.findResumeFilesByJobIdForRecruiter(jobId);
+    }
+
     private void processExport(ExportTask task, List<Application> applications) {
         try {
             byte[] data = applicationExcelExportService.generateExcel(applications);
@@ -501,4 +508,25 @@ public class JobService {
                 entry -> entry.getValue().getExpireAt().isBefore(Instant.now())
         );
     }
+
+    /**
+     * Hands a matched-feed update to the feed service's executor once the transaction
+     * commits, so the request never waits on Redis or a reverse-matching scan.
+     */
+    private void updateFeedsAfterCommit(Runnable update) {
+        afterCommit(() -> matchedJobFeedService.submit(update));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
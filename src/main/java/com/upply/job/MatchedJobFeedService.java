@@ -0,0 +1,321 @@
+package com.upply.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.job.dto.JobMapper;
+import com.upply.job.dto.MatchedJobListResponse;
+import com.upply.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Materialized "matched jobs" feed per user, kept in Redis.
+ *
+ * <p>Each user has a sorted set of job ids scored by match score, and job cards are shared
+ * in one hash, so the home screen is served by a single script call. Feeds are built on
+ * first read, patched when jobs open, pause or close, rebuilt when the user's skills change,
+ * and served stale while a background rebuild runs once they pass {@code stale-after}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchedJobFeedService implements DisposableBean {
+    private static final String FEED_KEY = "matched-feed:user:";
+    private static final String BUILT_SUFFIX = ":built";
+    private static final String LOCK_SUFFIX = ":lock";
+    private static final String JOB_USERS_KEY = "matched-feed:job:";
+    private static final String CARDS_KEY = "matched-feed:cards";
+
+    // returns nil when the feed was never built, else [builtAt, score1, card1, score2, card2, ...]
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_FEED = new DefaultRedisScript<>("""
+            local builtAt = redis.call('GET', KEYS[1])
+            if not builtAt then return nil end
+            local entries = redis.call('ZREVRANGE', KEYS[2], 0, -1, 'WITHSCORES')
+            local result = {builtAt}
+            for i = 1, #entries, 2 do
+              local card = redis.call('HGET', KEYS[3], entries[i])
+              if card then
+                table.insert(result, entries[i + 1])
+                table.insert(result, card)
+              end
+            end
+            return result
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JobMatchingService jobMatchingService;
+    private final ReverseMatchingService reverseMatchingService;
+    private final JobMapper jobMapper;
+    private final ObjectMapper objectMapper;
+    // feed patches after job changes and stale-feed rebuilds, off the request thread
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.matched-feed.size}")
+    private int feedSize;
+    @Value("${app.matched-feed.stale-after-seconds}")
+    private long staleAfterSeconds;
+    @Value("${app.matched-feed.ttl-hours}")
+    private long ttlHours;
+
+    public List<MatchedJobListResponse> getFeed(User user) {
+        List<?> raw;
+        try {
+            raw = redisTemplate.execute(READ_FEED, List.of(builtKey(user.getId()), feedKey(user.getId()), CARDS_KEY));
+        } catch (Exception e) {
+            log.warn("Matched feed read failed for user {}, computing it directly", user.getId(), e);
+            return computeFeed(user);
+        }
+        if (raw == null || raw.isEmpty()) {
+            return rebuild(user);
+        }
+
+        List<MatchedJobListResponse> feed = parseFeed(raw);
+        long builtAt = Long.parseLong(String.valueOf(raw.get(0)));
+        if (System.currentTimeMillis() - builtAt > Duration.ofSeconds(staleAfterSeconds).toMillis()) {
+            revalidate(user);
+        }
+        return feed;
+    }
+
+    /**
+     * Recomputes the user's feed from the vector store and replaces the stored one.
+     */
+    public List<MatchedJobListResponse> rebuild(User user) {
+        List<JobMatchingService.JobWithScore> matches = jobMatchingService.findSimilarJobs(user, feedSize);
+        List<MatchedJobListResponse> feed = matches.stream()
+                .map(match -> jobMapper.toMatchedJobListResponse(match.getJob(), match.getScore()))
+                .toList();
+        try {
+            writeFeed(user.getId(), matches);
+        } catch (Exception e) {
+            log.warn("Failed to store matched feed for user {}", user.getId(), e);
+        }
+        return feed;
+    }
+
+    /**
+     * Rebuilds the feed after a skill change, unless the user never opened it.
+     */
+    public void rebuildIfPresent(User user) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(builtKey(user.getId())))) {
+            rebuild(user);
+        }
+    }
+
+    /**
+     * Scores an OPEN job against every matching user and merges it into their feeds.
+     */
+    public void publishJob(Job job) {
+        try {
+            reverseMatchingService.forEachMatchingPage(job, userScores -> addJob(job, userScores));
+        } catch (Exception e) {
+            log.warn("Failed to publish job {} to matched feeds", job.getId(), e);
+        }
+    }
+
+    /**
+     * Merges a job into the feeds of users that already have one.
+     *
+     * @param userScores match score per user id, as from {@link ReverseMatchingService#forEachMatchingPage}
+     */
+    public void addJob(Job job, Map<Long, Double> userScores) {
+        try {
+            String jobId = String.valueOf(job.getId());
+            List<Long> candidates = userScores.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= JobMatchingService.MATCH_THRESHOLD)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (candidates.isEmpty()) {
+                return;
+            }
+            // one round trip to find which of the page's users have a feed at all
+            List<Object> built = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                candidates.forEach(userId -> stringConnection.exists(builtKey(userId)));
+                return null;
+            });
+            List<Long> receiving = new ArrayList<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                if (Boolean.TRUE.equals(built.get(i))) {
+                    receiving.add(candidates.get(i));
+                }
+            }
+            if (receiving.isEmpty()) {
+                // the cards hash has no TTL, so only jobs some feed shows get a card
+                return;
+            }
+            String card = toCard(job);
+            String jobUsersKey = jobUsersKey(job.getId());
+            // and one more for the card and every receiving feed's writes
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.hSet(CARDS_KEY, jobId, card);
+                for (Long userId : receiving) {
+                    String feedKey = feedKey(userId);
+                    stringConnection.zAdd(feedKey, userScores.get(userId), jobId);
+                    stringConnection.zRemRange(feedKey, 0, -(feedSize + 1));
+                    stringConnection.sAdd(jobUsersKey, String.valueOf(userId));
+                }
+                stringConnection.expire(jobUsersKey, Duration.ofHours(ttlHours).toSeconds());
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to merge job {} into matched feeds", job.getId(), e);
+        }
+    }
+
+    /**
+     * Drops a paused or closed job from every feed that lists it.
+     */
+    public void removeJob(Long jobId) {
+        try {
+            String member = String.valueOf(jobId);
+            Set<String> userIds = redisTemplate.opsForSet().members(jobUsersKey(jobId));
+            if (userIds != null) {
+                userIds.forEach(userId -> redisTemplate.opsForZSet().remove(FEED_KEY + userId, member));
+            }
+            redisTemplate.delete(jobUsersKey(jobId));
+            redisTemplate.opsForHash().delete(CARDS_KEY, member);
+        } catch (Exception e) {
+            log.warn("Failed to remove job {} from matched feeds", jobId, e);
+        }
+    }
+
+    /**
+     * Refreshes the shared card after a job edit, if any feed references it.
+     */
+    public void refreshJob(Job job) {
+        try {
+            String jobId = String.valueOf(job.getId());
+            if (redisTemplate.opsForHash().hasKey(CARDS_KEY, jobId)) {
+                redisTemplate.opsForHash().put(CARDS_KEY, jobId, toCard(job));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh matched feed card for job {}", job.getId(), e);
+        }
+    }
+
+    /**
+     * Runs a feed update in the background; the public updates log their own failures.
+     */
+    public void submit(Runnable update) {
+        try {
+            executor.execute(update);
+        } catch (RejectedExecutionException e) {
+            log.warn("Matched feed update dropped, the service is shutting down");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private List<MatchedJobListResponse> computeFeed(User user) {
+        return jobMatchingService.findSimilarJobs(user, feedSize).stream()
+                .map(match -> jobMapper.toMatchedJobListResponse(match.getJob(), match.getScore()))
+                .toList();
+    }
+
+    private void revalidate(User user) {
+        Boolean locked = redisTemplate.opsForValue()
+                .setIfAbsent(feedKey(user.getId()) + LOCK_SUFFIX, "1", Duration.ofMinutes(1));
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        submit(() -> {
+            try {
+                rebuild(user);
+            } catch (Exception e) {
+                log.warn("Background rebuild of matched feed failed for user {}", user.getId(), e);
+            } finally {
+                redisTemplate.delete(feedKey(user.getId()) + LOCK_SUFFIX);
+            }
+        });
+    }
+
+    private void writeFeed(Long userId, List<JobMatchingService.JobWithScore> matches) {
+        String feedKey = feedKey(userId);
+        Duration ttl = Duration.ofHours(ttlHours);
+        if (matches.isEmpty()) {
+            redisTemplate.delete(feedKey);
+        } else {
+            Set<ZSetOperations.TypedTuple<String>> entries = new HashSet<>();
+            for (JobMatchingService.JobWithScore match : matches) {
+                String jobId = String.valueOf(match.getJob().getId());
+                redisTemplate.opsForHash().put(CARDS_KEY, jobId, toCard(match.getJob()));
+                redisTemplate.opsForSet().add(jobUsersKey(match.getJob().getId()), String.valueOf(userId));
+                redisTemplate.expire(jobUsersKey(match.getJob().getId()), ttl);
+                entries.add(new DefaultTypedTuple<>(jobId, match.getScore()));
+            }
+            // build aside and swap in so readers never see a half-written feed
+            String staging = feedKey + ":" + UUID.randomUUID();
+            redisTemplate.opsForZSet().add(staging, entries);
+            redisTemplate.rename(staging, feedKey);
+            redisTemplate.expire(feedKey, ttl);
+        }
+        redisTemplate.opsForValue().set(builtKey(userId), String.valueOf(System.currentTimeMillis()), ttl);
+    }
+
+    private List<MatchedJobListResponse> parseFeed(List<?> raw) {
+        List<MatchedJobListResponse> feed = new ArrayList<>((raw.size() - 1) / 2);
+        for (int i = 1; i + 1 < raw.size(); i += 2) {
+            double score = Double.parseDouble(String.valueOf(raw.get(i)));
+            try {
+                MatchedJobListResponse card = objectMapper.readValue(String.valueOf(raw.get(i + 1)),
+                        MatchedJobListResponse.class);
+                card.setMatchScore(score);
+                card.setMatchPercentage((int) Math.round(score * 100));
+                feed.add(card);
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable matched feed card", e);
+            }
+        }
+        return feed;
+    }
+
+    private String toCard(Job job) {
+        MatchedJobListResponse card = jobMapper.toMatchedJobListResponse(job, 0.0);
+        card.setMatchScore(null);
+        card.setMatchPercentage(null);
+        try {
+            return objectMapper.writeValueAsString(card);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize job card " + job.getId(), e);
+        }
+    }
+
+    private static String feedKey(Long userId) {
+        return FEED_KEY + userId;
+    }
+
+    private static String builtKey(Long userId) {
+        return FEED_KEY + userId + BUILT_SUFFIX;
+    }
+
+    private static String jobUsersKey(Long jobId) {
+        return JOB_USERS_KEY + jobId + ":users";
+    }
+}
@@ -3,9 +3,12 @@ package com.upply.job;
 import com.upply.common.NotificationEventType;
 import com.upply.config.KafkaConfig;
 import com.upply.exception.custom.BusinessLogicException;
+import com.upply.job.dto.JobFanOutEvent;
 import com.upply.job.dto.ParsedJobResponse;
 import com.upply.job.dto.PostJobEvent;
 import com.upply.job.enums.*;
+import com.upply.job.search.JobSearchDocument;
+import com.upply.job.search.JobSearchIndex;
 import com.upply.notification.dto.DispatchPayload;
 import com.upply.notification.dto.NotificationEvent;
 import com.upply.profile.skill.Skill;
@@ -15,6 +18,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
@@ -33,9 +38,11 @@ public class PostJobConsumer {
     private final JobService jobService;
     private final JobParserService jobParserService;
     private final JobMatchingService jobMatchingService;
+    private final JobSearchIndex jobSearchIndex;
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
     private final KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate;
+    private final KafkaTemplate<String, JobFanOutEvent> jobFanOutKafkaTemplate;
 
     @KafkaListener(topics = KafkaConfig.JOB_POSTING_TOPIC,
             groupId = "post-job-group")
@@ -91,14 +98,22 @@ public class PostJobConsumer {
         Job savedJob = jobRepository.save(job);
         log.info("Saved job with id: {} for userId: {}", savedJob.getId(), event.getUserId());
 
+        JobSearchDocument searchDocument = JobSearchDocument.from(savedJob);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                jobSearchIndex.index(searchDocument);
+            }
+        });
+
         try {
             jobMatchingService.storeJobEmbedding(savedJob);
             log.info("Successfully stored embedding for jobId: {}", savedJob.getId());
-            notifyMatchingUsers(savedJob);
         } catch (Exception e) {
             log.error("Failed to store embedding for jobId: {}, error: {}", savedJob.getId(), e.getMessage());
             throw new BusinessLogicException("Failed to store embedding, job not saved: " + e.getMessage());
         }
+        publishFanOut(savedJob.getId());
     }
 
     private static final String FRONTEND_BASE_URL = "https://www.upply.tech/jobs";
@@ -114,7 +129,7 @@ public class PostJobConsumer {
         log.info("Successfully stored embedding for jobId: {}", job.getId());
 
         notifyJobPostedSuccessfully(job);
-        notifyMatchingUsers(job);
+        publishFanOut(job.getId());
     }
 
     private void notifyJobPostedSuccessfully(Job job) {
@@ -143,39 +158,22 @@ public class PostJobConsumer {
         log.info("Successfully published job posted notification for jobId: {}", job.getId());
     }
 
-    private void notifyMatchingUsers(Job job) {
-        List<User> matchingUsers = jobMatchingService.findMatchingUsers(job, 20);
-        log.info("Found {} matching users for jobId: {}", matchingUsers.size(), job.getId());
-
-        String jobUrl = FRONTEND_BASE_URL + "?id=" + job.getId();
-        String jobCompany = job.getOrganizationName() != null ? job.getOrganizationName() : "Upply";
-
-        for (User user : matchingUsers) {
-            if (!user.isAccountActivated() || user.getEmail() == null) {
-                continue;
+    /**
+     * Hands matching and notifying users to {@link JobFanOutConsumer} once the job is
+     * committed, so the scan runs outside this transaction and a failed page is retried
+     * without redelivering the posting itself.
+     */
+    private void publishFanOut(Long jobId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                jobFanOutKafkaTemplate.send(KafkaConfig.JOB_FAN_OUT_TOPIC,
+                                String.valueOf(jobId), new JobFanOutEvent(jobId))
+                        .exceptionally(ex -> {
+                            log.error("Failed to publish fan-out for job {}", jobId, ex);
+                            return null;
+                        });
             }
-
-            NotificationEvent notificationEvent = new NotificationEvent(
-                    UUID.randomUUID().toString(),
-                    NotificationEventType.NEW_MATCHED_JOBS,
-                    user.getId(),
-                    List.of(DispatchPayload.Channel.EMAIL, DispatchPayload.Channel.PUSH),
-                    Map.of(
-                            "jobId", job.getId(),
-                            "jobTitle", job.getTitle(),
-                            "jobCompany", jobCompany,
-                            "jobUrl", jobUrl
-                    )
-            );
-
-            notificationKafkaTemplate.send(NOTIFICATION_EVENTS,
-                            String.valueOf(user.getId()), notificationEvent)
-                    .exceptionally(ex -> {
-                        log.error("Failed to publish matched jobs notification for user {}",
-                                user.getId(), ex);
-                        return null;
-                    });
-            log.debug("Published notification for user {} for job {}", user.getId(), job.getId());
-        }
+        });
     }
 }
@@ -0,0 +1,120 @@
+package com.upply.job;
+
+import com.upply.application.dto.ApplicantResumeFile;
+import com.upply.profile.resume.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the resumes of a job's applicants as one ZIP, in the given order. Up to
+ * {@code parallelism} blobs are downloaded ahead on virtual threads into temp files, so
+ * heap and disk use stay bounded by the window, not by the number of applicants.
+ */
+@Service
+@Slf4j
+public class ResumeArchiveService {
+    private final BlobStore blobStore;
+    private final int parallelism;
+    private final long timeoutMs;
+
+    public ResumeArchiveService(BlobStore blobStore,
+                                @Value("${app.resume-archive.parallelism}") int parallelism,
+                                @Value("${app.resume-archive.timeout-ms}") long timeoutMs) {
+        this.blobStore = blobStore;
+        this.parallelism = parallelism;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /** How long a streamed archive may take, in place of the default async request timeout. */
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    public void writeZip(List<ApplicantResumeFile> files, OutputStream out) throws IOException {
+        Path workDir = Files.createTempDirectory("resume-archive-");
+        Deque<Future<Path>> window = new ArrayDeque<>();
+        List<String> failures = new ArrayList<>();
+        try (ExecutorService downloads = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+                // PDFs are compressed already
+                zip.setLevel(Deflater.BEST_SPEED);
+                Iterator<ApplicantResumeFile> pending = files.iterator();
+                for (int index = 0; index < files.size(); index++) {
+                    while (window.size() < parallelism && pending.hasNext()) {
+                        ApplicantResumeFile file = pending.next();
+                        Path target = workDir.resolve(file.applicationId() + ".pdf");
+                        window.add(downloads.submit(() -> {
+                            blobStore.downloadToFile(file.blobName(), target);
+                            return target;
+                        }));
+                    }
+                    ApplicantResumeFile file = files.get(index);
+                    Path downloaded = await(window.removeFirst(), file, failures);
+                    if (downloaded != null) {
+                        zip.putNextEntry(new ZipEntry(entryName(index, file)));
+                        Files.copy(downloaded, zip);
+                        zip.closeEntry();
+                        Files.delete(downloaded);
+                    }
+                }
+                if (!failures.isEmpty()) {
+                    zip.putNextEntry(new ZipEntry("MISSING.txt"));
+                    zip.write(String.join("\n", failures).getBytes(StandardCharsets.UTF_8));
+                    zip.closeEntry();
+                }
+                zip.finish();
+            } finally {
+                // the client may have gone away; stop fetching what nobody will read
+                window.forEach(download -> download.cancel(true));
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(workDir);
+        }
+    }
+
+    private static Path await(Future<Path> download, ApplicantResumeFile file, List<String> failures)
+            throws IOException {
+        try {
+            return download.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Resume archive interrupted");
+        } catch (ExecutionException e) {
+            log.warn("Skipping resume of application {} in archive", file.applicationId(), e.getCause());
+            failures.add("Application " + file.applicationId() + ": resume could not be read");
+            return null;
+        }
+    }
+
+    static String entryName(int index, ApplicantResumeFile file) {
+        String applicant = (nullToEmpty(file.applicantFirstName()) + " " + nullToEmpty(file.applicantLastName())).strip();
+        String name = applicant.isEmpty() ? "application-" + file.applicationId() : applicant;
+        return "%03d_%s.pdf".formatted(index + 1, name.replaceAll("[^\\p{L}\\p{N} ._-]", "_"));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
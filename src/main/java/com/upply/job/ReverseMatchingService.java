@@ -0,0 +1,74 @@
+package com.upply.job;
+
+import com.upply.user.UserRepository;
+import com.upply.vector.SimilarityScanner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Finds every user whose skill profile matches a job.
+ *
+ * <p>The user-skills index is scanned against the job vector page by page, with no top-k
+ * cap, and each page is narrowed to users that can be notified (activated, unlocked, with
+ * an email) by an id-only query before it is handed on. Only one page is held at a time,
+ * so fan-out stays memory-bounded however many users match.
+ */
+@Slf4j
+@Service
+public class ReverseMatchingService {
+
+    private final SimilarityScanner userSkillsSimilarityScanner;
+    private final JobMatchingService jobMatchingService;
+    private final UserRepository userRepository;
+
+    @Value("${app.reverse-matching.threshold}")
+    private double threshold;
+    @Value("${app.reverse-matching.page-size}")
+    private int pageSize;
+
+    public ReverseMatchingService(
+            @Qualifier("userSkillsSimilarityScanner") SimilarityScanner userSkillsSimilarityScanner,
+            JobMatchingService jobMatchingService,
+            UserRepository userRepository
+    ) {
+        this.userSkillsSimilarityScanner = userSkillsSimilarityScanner;
+        this.jobMatchingService = jobMatchingService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Streams reachable matching users to the consumer, one page at a time.
+     *
+     * @param pageConsumer receives the match score per user id of each non-empty page
+     * @return the number of reachable users delivered
+     */
+    public long forEachMatchingPage(Job job, Consumer<Map<Long, Double>> pageConsumer) {
+        float[] jobVector = jobMatchingService.getJobVector(job);
+        AtomicLong reachable = new AtomicLong();
+
+        long matched = userSkillsSimilarityScanner.scan(jobVector, threshold, pageSize, page -> {
+            Map<Long, Double> scores = new LinkedHashMap<>();
+            page.forEach(match -> scores.put(Long.valueOf(match.id()), match.score()));
+
+            Set<Long> reachableIds = new HashSet<>(userRepository.findReachableUserIds(scores.keySet()));
+            scores.keySet().retainAll(reachableIds);
+            if (!scores.isEmpty()) {
+                reachable.addAndGet(scores.size());
+                pageConsumer.accept(scores);
+            }
+        });
+
+        log.info("Reverse matching for job {}: {} users at or above {}, {} reachable",
+                job.getId(), matched, threshold, reachable.get());
+        return reachable.get();
+    }
+}
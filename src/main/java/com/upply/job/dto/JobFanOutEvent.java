@@ -0,0 +1,12 @@
+package com.upply.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobFanOutEvent {
+    private Long jobId;
+}
@@ -0,0 +1,48 @@
+package com.upply.job.search;
+
+import com.upply.job.Job;
+import com.upply.job.enums.JobModel;
+import com.upply.job.enums.JobSeniority;
+import com.upply.job.enums.JobStatus;
+import com.upply.job.enums.JobType;
+import com.upply.profile.skill.Skill;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The fields of a job the search index needs, copied while the entity is still attached
+ * so the index can be updated after the transaction commits.
+ */
+public record JobSearchDocument(
+        Long jobId,
+        String title,
+        String description,
+        List<String> skills,
+        JobType type,
+        JobSeniority seniority,
+        JobModel model,
+        String location,
+        JobStatus status,
+        Instant createdDate
+) {
+
+    public static JobSearchDocument from(Job job) {
+        List<String> skills = job.getSkills() == null ? List.of() : job.getSkills().stream()
+                .map(Skill::getName)
+                .toList();
+
+        return new JobSearchDocument(
+                job.getId(),
+                job.getTitle(),
+                job.getDescription(),
+                skills,
+                job.getType(),
+                job.getSeniority(),
+                job.getModel(),
+                job.getLocation(),
+                job.getStatus(),
+                job.getCreatedDate()
+        );
+    }
+}
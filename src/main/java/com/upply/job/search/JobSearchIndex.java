@@ -0,0 +1,331 @@
+package com.upply.job.search;
+
+import com.upply.job.dto.JobFilter;
+import com.upply.job.enums.JobModel;
+import com.upply.job.enums.JobSeniority;
+import com.upply.job.enums.JobStatus;
+import com.upply.job.enums.JobType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory inverted index over open jobs.
+ *
+ * <p>Title, skills and description are indexed into one postings map with per-field
+ * weights and ranked with BM25. Type, seniority, model and location terms each have a
+ * bitmap of job ordinals, so filters are bitmap intersections rather than table scans.
+ * Jobs that are not {@link JobStatus#OPEN} are never kept. Keywords match whole terms,
+ * so {@code java} does not match {@code javascript} and {@code c} does not match {@code c++}.
+ */
+@Component
+@Slf4j
+public class JobSearchIndex {
+    static final float TITLE_WEIGHT = 3f;
+    static final float SKILL_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // changes made while a rebuild loads its jobs, replayed onto the fresh segment; null otherwise
+    private List<Consumer<Segment>> changedDuringRebuild;
+    private volatile boolean ready;
+
+    /**
+     * @return whether a full {@link #rebuild} has completed since startup
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the job; a job that is no longer open is removed instead.
+     */
+    public void index(JobSearchDocument document) {
+        apply(target -> target.put(document));
+    }
+
+    public void remove(Long jobId) {
+        apply(target -> target.remove(jobId));
+    }
+
+    /**
+     * Replaces the whole index with the given jobs.
+     */
+    public void rebuild(Collection<JobSearchDocument> documents) {
+        rebuild(() -> documents);
+    }
+
+    /**
+     * Replaces the whole index with the jobs from {@code loader}. Changes indexed while the
+     * loader runs are replayed onto the new index before it is swapped in, so they are not
+     * lost to a load that read the jobs before them.
+     */
+    public synchronized void rebuild(Supplier<? extends Collection<JobSearchDocument>> loader) {
+        List<Consumer<Segment>> changed = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        try {
+            loader.get().stream()
+                    .filter(document -> document.status() == JobStatus.OPEN)
+                    .forEach(fresh::add);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changed.forEach(change -> change.accept(fresh));
+            segment = fresh;
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job search index rebuilt with {} open jobs, {} changes replayed",
+                fresh.ordinals.size(), changed.size());
+    }
+
+    /**
+     * Job ids matching the filter whose text contains any keyword term as a whole term, by BM25 score.
+     */
+    public List<Long> rank(String keyword, JobFilter filter, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(JobTextAnalyzer.terms(keyword));
+
+        lock.readLock().lock();
+        try {
+            BitSet allowed = segment.matching(filter);
+            int documentCount = segment.ordinals.size();
+            double averageLength = documentCount == 0 ? 1.0 : segment.totalLength / documentCount;
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Map<Integer, Float> postings = segment.postings.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (documentCount - postings.size() + 0.5) / (postings.size() + 0.5));
+                postings.forEach((ordinal, frequency) -> {
+                    if (allowed.get(ordinal)) {
+                        double norm = K1 * (1 - B + B * segment.entries.get(ordinal).length() / averageLength);
+                        scores.merge(ordinal, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                    }
+                });
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                            .thenComparing(entry -> -segment.entries.get(entry.getKey()).createdMillis()))
+                    .limit(limit)
+                    .map(entry -> segment.entries.get(entry.getKey()).jobId())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every job id matching the filter, newest first.
+     */
+    public List<Long> newest(JobFilter filter) {
+        lock.readLock().lock();
+        try {
+            return segment.matching(filter).stream()
+                    .mapToObj(segment.entries::get)
+                    .sorted(Comparator.comparingLong(Entry::createdMillis).reversed()
+                            .thenComparing(Entry::jobId, Comparator.reverseOrder()))
+                    .map(Entry::jobId)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The given job ids, in order, that are indexed and match the filter.
+     */
+    public List<Long> retain(List<Long> jobIds, JobFilter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet allowed = segment.matching(filter);
+            return jobIds.stream()
+                    .filter(jobId -> {
+                        Integer ordinal = segment.ordinals.get(jobId);
+                        return ordinal != null && allowed.get(ordinal);
+                    })
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record Entry(Long jobId, Set<String> terms, Set<String> locationTerms,
+                         JobType type, JobSeniority seniority, JobModel model,
+                         float length, long createdMillis) {
+    }
+
+    private static final class Segment {
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final BitSet live = new BitSet();
+        private final Map<String, Map<Integer, Float>> postings = new HashMap<>();
+        private final Map<JobType, BitSet> types = new EnumMap<>(JobType.class);
+        private final Map<JobSeniority, BitSet> seniorities = new EnumMap<>(JobSeniority.class);
+        private final Map<JobModel, BitSet> models = new EnumMap<>(JobModel.class);
+        private final Map<String, BitSet> locations = new HashMap<>();
+        private double totalLength;
+
+        /** Adds or replaces the job; a job that is no longer open is removed instead. */
+        void put(JobSearchDocument document) {
+            remove(document.jobId());
+            if (document.status() == JobStatus.OPEN) {
+                add(document);
+            }
+        }
+
+        void add(JobSearchDocument document) {
+            Map<String, Float> frequencies = new HashMap<>();
+            addTerms(frequencies, document.title(), TITLE_WEIGHT);
+            document.skills().forEach(skill -> addTerms(frequencies, skill, SKILL_WEIGHT));
+            addTerms(frequencies, document.description(), DESCRIPTION_WEIGHT);
+            float length = (float) frequencies.values().stream().mapToDouble(Float::doubleValue).sum();
+
+            int ordinal = freeOrdinals.isEmpty() ? entries.size() : freeOrdinals.pop();
+            Entry entry = new Entry(
+                    document.jobId(),
+                    frequencies.keySet(),
+                    new LinkedHashSet<>(JobTextAnalyzer.terms(document.location())),
+                    document.type(),
+                    document.seniority(),
+                    document.model(),
+                    length,
+                    document.createdDate() == null ? 0L : document.createdDate().toEpochMilli());
+            if (ordinal == entries.size()) {
+                entries.add(entry);
+            } else {
+                entries.set(ordinal, entry);
+            }
+            ordinals.put(document.jobId(), ordinal);
+            live.set(ordinal);
+            totalLength += length;
+
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(ordinal, frequency));
+            if (entry.type() != null) {
+                types.computeIfAbsent(entry.type(), key -> new BitSet()).set(ordinal);
+            }
+            if (entry.seniority() != null) {
+                seniorities.computeIfAbsent(entry.seniority(), key -> new BitSet()).set(ordinal);
+            }
+            if (entry.model() != null) {
+                models.computeIfAbsent(entry.model(), key -> new BitSet()).set(ordinal);
+            }
+            entry.locationTerms().forEach(term -> locations.computeIfAbsent(term, key -> new BitSet()).set(ordinal));
+        }
+
+        void remove(Long jobId) {
+            Integer ordinal = ordinals.remove(jobId);
+            if (ordinal == null) {
+                return;
+            }
+            Entry entry = entries.get(ordinal);
+            entry.terms().forEach(term -> {
+                Map<Integer, Float> termPostings = postings.get(term);
+                termPostings.remove(ordinal);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            });
+            clear(types.get(entry.type()), ordinal);
+            clear(seniorities.get(entry.seniority()), ordinal);
+            clear(models.get(entry.model()), ordinal);
+            entry.locationTerms().forEach(term -> clear(locations.get(term), ordinal));
+            totalLength -= entry.length();
+            live.clear(ordinal);
+            entries.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        }
+
+        BitSet matching(JobFilter filter) {
+            BitSet result = (BitSet) live.clone();
+            if (filter == null) {
+                return result;
+            }
+            if (filter.getType() != null) {
+                result.and(types.getOrDefault(filter.getType(), new BitSet()));
+            }
+            if (filter.getSeniority() != null) {
+                result.and(seniorities.getOrDefault(filter.getSeniority(), new BitSet()));
+            }
+            if (filter.getModel() != null) {
+                result.and(models.getOrDefault(filter.getModel(), new BitSet()));
+            }
+            for (String term : JobTextAnalyzer.terms(filter.getLocation())) {
+                result.and(locations.getOrDefault(term, new BitSet()));
+            }
+            return result;
+        }
+
+        private static void addTerms(Map<String, Float> frequencies, String text, float weight) {
+            JobTextAnalyzer.terms(text).forEach(term -> frequencies.merge(term, weight, Float::sum));
+        }
+
+        private static void clear(BitSet bits, int ordinal) {
+            if (bits != null) {
+                bits.clear(ordinal);
+            }
+        }
+    }
+}
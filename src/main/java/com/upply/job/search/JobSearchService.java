@@ -0,0 +1,195 @@
+package com.upply.job.search;
+
+import com.upply.common.PageResponse;
+import com.upply.job.Job;
+import com.upply.job.JobRepository;
+import com.upply.job.JobSpecification;
+import com.upply.job.dto.JobFilter;
+import com.upply.job.dto.JobListResponse;
+import com.upply.job.dto.JobMapper;
+import com.upply.job.enums.JobStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Job search over {@link JobSearchIndex}. Keyword searches fuse the BM25 ranking with a
+ * vector similarity ranking of the jobs index by reciprocal rank fusion; filter-only
+ * searches list matching jobs newest first. Until the index has been built the search
+ * falls back to the database.
+ */
+@Service
+@Slf4j
+public class JobSearchService {
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final JobSearchIndex jobSearchIndex;
+    private final JobRepository jobRepository;
+    private final JobMapper jobMapper;
+    private final VectorStore jobsVectorStore;
+
+    // how many hits each ranking contributes to the fusion
+    @Value("${app.job-search.candidates}")
+    private int candidates;
+
+    @Value("${app.job-search.rrf-k}")
+    private int rrfK;
+
+    @Value("${app.job-search.vector-threshold}")
+    private double vectorThreshold;
+
+    public JobSearchService(
+            JobSearchIndex jobSearchIndex,
+            JobRepository jobRepository,
+            JobMapper jobMapper,
+            @Qualifier("jobsVectorStore") VectorStore jobsVectorStore
+    ) {
+        this.jobSearchIndex = jobSearchIndex;
+        this.jobRepository = jobRepository;
+        this.jobMapper = jobMapper;
+        this.jobsVectorStore = jobsVectorStore;
+    }
+
+    public PageResponse<JobListResponse> search(int pageNumber, int size, JobFilter filter) {
+        if (!jobSearchIndex.isReady()) {
+            return searchDatabase(pageNumber, size, filter);
+        }
+
+        List<Long> jobIds = filter.getKeyword() == null || filter.getKeyword().isBlank()
+                ? jobSearchIndex.newest(filter)
+                : fuse(jobSearchIndex.rank(filter.getKeyword(), filter, candidates), vectorRanking(filter));
+
+        int from = Math.min(pageNumber * size, jobIds.size());
+        int to = Math.min(from + size, jobIds.size());
+        List<Long> pageIds = jobIds.subList(from, to);
+
+        Map<Long, Job> jobs = jobRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        List<JobListResponse> content = pageIds.stream()
+                .map(jobs::get)
+                .filter(Objects::nonNull)
+                .map(jobMapper::toJobListResponse)
+                .toList();
+
+        int totalPages = size == 0 ? 0 : (jobIds.size() + size - 1) / size;
+        return new PageResponse<>(
+                content,
+                pageNumber,
+                size,
+                (long) jobIds.size(),
+                totalPages,
+                pageNumber == 0,
+                pageNumber + 1 >= totalPages);
+    }
+
+    /**
+     * Loads every open job into a fresh index. Runs at startup and then periodically,
+     * which also picks up jobs changed through other instances.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.job-search.rebuild-interval-ms}",
+            initialDelayString = "${app.job-search.rebuild-interval-ms}")
+    public void rebuildIndex() {
+        try {
+            jobSearchIndex.rebuild(this::loadOpenJobs);
+        } catch (Exception e) {
+            log.error("Failed to rebuild job search index", e);
+        }
+    }
+
+    private List<JobSearchDocument> loadOpenJobs() {
+        List<Long> ids = jobRepository.findIdsByStatus(JobStatus.OPEN);
+        List<JobSearchDocument> documents = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += REBUILD_BATCH_SIZE) {
+            List<Long> batch = ids.subList(start, Math.min(start + REBUILD_BATCH_SIZE, ids.size()));
+            jobRepository.findAllWithSkillsByIdIn(batch).stream()
+                    .map(JobSearchDocument::from)
+                    .forEach(documents::add);
+        }
+        return documents;
+    }
+
+    private List<Long> vectorRanking(JobFilter filter) {
+        try {
+            SearchRequest searchRequest = SearchRequest.builder()
+                    .query(filter.getKeyword())
+                    .topK(candidates)
+                    .similarityThreshold(vectorThreshold)
+                    .filterExpression("status == 'OPEN'")
+                    .build();
+
+            List<Long> jobIds = jobsVectorStore.similaritySearch(searchRequest).stream()
+                    .map(Document::getId)
+                    .map(Long::valueOf)
+                    .toList();
+            return jobSearchIndex.retain(jobIds, filter);
+        } catch (Exception e) {
+            log.warn("Vector ranking failed for keyword search, using BM25 only", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Reciprocal rank fusion: each ranking adds {@code 1 / (k + rank)} to a job's score.
+     */
+    List<Long> fuse(List<Long> lexical, List<Long> semantic) {
+        Map<Long, Double> scores = new HashMap<>();
+        addRanks(scores, lexical);
+        addRanks(scores, semantic);
+
+        Map<Long, Double> ordered = new LinkedHashMap<>();
+        lexical.forEach(jobId -> ordered.put(jobId, scores.get(jobId)));
+        semantic.forEach(jobId -> ordered.putIfAbsent(jobId, scores.get(jobId)));
+
+        // stable sort keeps the BM25 order between equal scores
+        return ordered.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void addRanks(Map<Long, Double> scores, List<Long> ranking) {
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            scores.merge(ranking.get(rank), 1.0 / (rrfK + rank + 1), Double::sum);
+        }
+    }
+
+    private PageResponse<JobListResponse> searchDatabase(int pageNumber, int size, JobFilter filter) {
+        Pageable pageable = PageRequest.of(pageNumber, size, Sort.by("createdDate").descending());
+
+        Page<Job> jobs = jobRepository.findAll(JobSpecification.withFilters(filter), pageable);
+
+        List<JobListResponse> jobResponses = jobs.stream()
+                .map(jobMapper::toJobListResponse)
+                .toList();
+
+        return new PageResponse<>(
+                jobResponses,
+                jobs.getNumber(),
+                jobs.getSize(),
+                jobs.getTotalElements(),
+                jobs.getTotalPages(),
+                jobs.isFirst(),
+                jobs.isLast());
+    }
+}
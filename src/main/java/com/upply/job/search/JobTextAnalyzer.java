@@ -0,0 +1,37 @@
+package com.upply.job.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits job text into lower-case terms. Trailing {@code +} and {@code #} are kept so
+ * {@code C++} and {@code C#} stay distinct from {@code C}.
+ */
+final class JobTextAnalyzer {
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+[+#]*");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "our", "the", "to", "we", "will", "with", "you", "your");
+
+    private JobTextAnalyzer() {
+    }
+
+    static List<String> terms(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String term = matcher.group();
+            if (!STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
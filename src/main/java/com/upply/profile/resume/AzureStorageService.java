@@ -1,20 +1,36 @@
 package com.upply.profile.resume;
-import com.azure.core.util.BinaryData;
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import com.azure.storage.blob.sas.BlobSasPermission;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.upply.exception.custom.ResourceNotFoundException;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
 
 @Service
+@ConditionalOnProperty(name = "app.blob-store.type", havingValue = "azure", matchIfMissing = true)
 @Slf4j
-public class AzureStorageService {
+public class AzureStorageService implements BlobStore {
 
     @Value("${azure.storage.connection-String}")
     private String connectionString;
@@ -22,6 +38,12 @@ public class AzureStorageService {
     @Value("${azure.storage.container-name}")
     private String containerName;
 
+    @Value("${azure.storage.upload.block-size-bytes}")
+    private long uploadBlockSize;
+
+    @Value("${azure.storage.upload.max-concurrency}")
+    private int uploadMaxConcurrency;
+
     private BlobServiceClient blobServiceClient;
     private BlobContainerClient containerClient;
 
@@ -41,18 +63,18 @@ public class AzureStorageService {
         }
     }
 
-    /**
-     * Upload file to azure blob storage
-     * @param userId User id used as dir name
-     * @param fileData File content as an array of bytes
-     * @return blob name of an uploaded file
-     */
-    public String uploadFile(Long userId, byte[] fileData){
+    @Override
+    public String uploadFile(Long userId, InputStream content){
         try{
-            String blobName = fileBlobName(userId);
+            String blobName = BlobStore.newBlobName(userId);
 
             BlobClient blobClient = containerClient.getBlobClient(blobName);
-            blobClient.upload(BinaryData.fromBytes(fileData),true);
+            blobClient.uploadWithResponse(new BlobParallelUploadOptions(content)
+                    .setParallelTransferOptions(new ParallelTransferOptions()
+                            .setBlockSizeLong(uploadBlockSize)
+                            .setMaxSingleUploadSizeLong(uploadBlockSize)
+                            .setMaxConcurrency(uploadMaxConcurrency))
+                    .setHeaders(new BlobHttpHeaders().setContentType("application/pdf")), null, Context.NONE);
             log.info("File Uploaded: {}", blobName);
             return blobName;
         }catch (Exception e) {
@@ -61,30 +83,67 @@ public class AzureStorageService {
         }
     }
 
-    /**
-     * Download file to azure blob storage
-     * @param blobName file UUID name
-     * @return File data as bytes
-     */
-    public byte[] downloadFile(String blobName){
+    @Override
+    public void downloadToFile(String blobName, Path target){
         try {
-            BlobClient blobClient = containerClient.getBlobClient(blobName);
-            if(!blobClient.exists()){
-                log.error("file doesn't exit: {}" + blobName);
-                throw new RuntimeException("File Not Found:{} " + blobName);
-            }
-            BinaryData data = blobClient.downloadContent();
-            return data.toBytes();
+            containerClient.getBlobClient(blobName).downloadToFile(target.toString(), true);
         } catch (Exception e) {
             log.error("Error downloading file for blobName: {}", blobName);
             throw new RuntimeException(e);
         }
     }
 
-    private String fileBlobName(Long userId){
-        String fileUUID = UUID.randomUUID().toString();
-        String userIdString = String.valueOf(userId);
-        return userIdString + "/" + fileUUID;
+    @Override
+    public StoredBlob getBlob(String blobName){
+        try {
+            BlobProperties properties = containerClient.getBlobClient(blobName).getProperties();
+            return new StoredBlob(blobName, properties.getETag(), properties.getBlobSize());
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                throw new ResourceNotFoundException("File Not Found: " + blobName);
+            }
+            log.error("Error reading properties for blobName: {}", blobName);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public InputStream openStream(StoredBlob blob, long offset, long count){
+        try {
+            return containerClient.getBlobClient(blob.name()).openInputStream(new BlobInputStreamOptions()
+                    .setRange(new BlobRange(offset, count))
+                    .setRequestConditions(new BlobRequestConditions().setIfMatch(blob.eTag())));
+        } catch (Exception e) {
+            log.error("Error opening stream for blobName: {}", blob.name());
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void deleteFile(String blobName){
+        try {
+            containerClient.getBlobClient(blobName).deleteIfExists();
+            log.info("File Deleted: {}", blobName);
+        } catch (Exception e) {
+            log.error("Error deleting file for blobName: {}", blobName, e);
+        }
+    }
+
+    @Override
+    public Optional<String> signedDownloadUrl(String blobName, String contentDisposition, Instant expiresAt){
+        try {
+            BlobClient blobClient = containerClient.getBlobClient(blobName);
+            // signed with the account key from the connection string; works the same against Azurite
+            BlobServiceSasSignatureValues values = new BlobServiceSasSignatureValues(
+                    expiresAt.atOffset(ZoneOffset.UTC), new BlobSasPermission().setReadPermission(true))
+                    .setContentType("application/pdf")
+                    .setContentDisposition(contentDisposition);
+            return Optional.of(blobClient.getBlobUrl() + "?" + blobClient.generateSas(values));
+        } catch (Exception e) {
+            log.error("Error signing download url for blobName: {}", blobName, e);
+            // a client without the account key cannot sign, the same as a store that never can
+            return Optional.empty();
+        }
     }
 
 }
@@ -0,0 +1,63 @@
+package com.upply.profile.resume;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage for uploaded files, addressed by {@code userId/uuid} blob names.
+ * {@code app.blob-store.type} selects the implementation: {@code azure} or {@code local}.
+ */
+public interface BlobStore {
+
+    /**
+     * Store a file as it is read
+     * @param userId User id used as dir name
+     * @param content File content, read to the end but not closed
+     * @return blob name of an uploaded file
+     */
+    String uploadFile(Long userId, InputStream content);
+
+    /**
+     * Download file straight to disk without buffering it in heap
+     * @param blobName file UUID name
+     * @param target file to write, overwritten if it exists
+     */
+    void downloadToFile(String blobName, Path target);
+
+    /**
+     * Look up a blob without reading it
+     * @param blobName file UUID name
+     * @return ETag and size of the blob
+     */
+    StoredBlob getBlob(String blobName);
+
+    /**
+     * Open a byte range of a blob
+     * @param blob blob returned by {@link #getBlob}; reads fail if it changed since
+     * @param offset first byte to read
+     * @param count number of bytes to read
+     */
+    InputStream openStream(StoredBlob blob, long offset, long count);
+
+    /**
+     * Signed read-only URL clients can download the blob from without going through us
+     * @param blobName file UUID name
+     * @param contentDisposition Content-Disposition header storage answers with
+     * @param expiresAt when the URL stops working
+     * @return the URL, or empty if this store cannot sign URLs
+     */
+    Optional<String> signedDownloadUrl(String blobName, String contentDisposition, Instant expiresAt);
+
+    /**
+     * Delete a blob nothing references; best effort, failures are logged rather than thrown
+     * @param blobName file UUID name, a missing blob is ignored
+     */
+    void deleteFile(String blobName);
+
+    static String newBlobName(Long userId) {
+        return userId + "/" + UUID.randomUUID();
+    }
+}
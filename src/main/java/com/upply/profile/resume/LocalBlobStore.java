@@ -0,0 +1,200 @@
+package com.upply.profile.resume;
+
+import com.upply.exception.custom.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Blob store on the local filesystem for on-prem and test deployments. A blob
+ * {@code userId/uuid} lives at {@code root/userId/uu/uuid}, sharded by the first two
+ * characters of the uuid. Writes and copies go through {@link FileChannel} transfers,
+ * and reads are served from memory-mapped regions. The ETag is derived from the file
+ * size and modification time.
+ */
+@Service
+@ConditionalOnProperty(name = "app.blob-store.type", havingValue = "local")
+@Slf4j
+public class LocalBlobStore implements BlobStore {
+    private static final long TRANSFER_CHUNK = 1 << 20;
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${app.blob-store.local.root}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create blob store root " + this.root, e);
+        }
+        log.info("Local blob store at {}", this.root);
+    }
+
+    @Override
+    public String uploadFile(Long userId, InputStream content) {
+        String blobName = BlobStore.newBlobName(userId);
+        Path target = path(blobName);
+        Path partial = null;
+        try {
+            Files.createDirectories(target.getParent());
+            partial = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+            ReadableByteChannel source = Channels.newChannel(content);
+            try (FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+                for (long position = 0, read; (read = out.transferFrom(source, position, TRANSFER_CHUNK)) > 0; ) {
+                    position += read;
+                }
+            }
+            // readers never see a half-written blob
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            log.info("File Uploaded: {}", blobName);
+            return blobName;
+        } catch (IOException e) {
+            deleteQuietly(partial);
+            throw new UncheckedIOException("Failed to upload file", e);
+        }
+    }
+
+    @Override
+    public void downloadToFile(String blobName, Path target) {
+        try (FileChannel in = FileChannel.open(existing(blobName));
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            for (long position = 0; position < size; ) {
+                position += in.transferTo(position, size - position, out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to download " + blobName, e);
+        }
+    }
+
+    @Override
+    public StoredBlob getBlob(String blobName) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(existing(blobName), BasicFileAttributes.class);
+            return new StoredBlob(blobName, eTag(attributes), attributes.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + blobName, e);
+        }
+    }
+
+    @Override
+    public InputStream openStream(StoredBlob blob, long offset, long count) {
+        if (!getBlob(blob.name()).eTag().equals(blob.eTag())) {
+            throw new IllegalStateException("Blob " + blob.name() + " changed since it was read");
+        }
+        try (FileChannel channel = FileChannel.open(existing(blob.name()))) {
+            // the mapping outlives the channel
+            return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, offset, count));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + blob.name(), e);
+        }
+    }
+
+    @Override
+    public Optional<String> signedDownloadUrl(String blobName, String contentDisposition, Instant expiresAt) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void deleteFile(String blobName) {
+        try {
+            Files.deleteIfExists(path(blobName));
+            log.info("File Deleted: {}", blobName);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error deleting file for blobName: {}", blobName, e);
+        }
+    }
+
+    Path path(String blobName) {
+        int slash = blobName.indexOf('/');
+        if (slash <= 0 || slash != blobName.lastIndexOf('/') || blobName.length() - slash < 3) {
+            throw new IllegalArgumentException("Invalid blob name: " + blobName);
+        }
+        String owner = blobName.substring(0, slash);
+        String file = blobName.substring(slash + 1);
+        Path path = root.resolve(owner).resolve(file.substring(0, 2)).resolve(file).normalize();
+        if (!path.startsWith(root) || path.getNameCount() != root.getNameCount() + 3) {
+            throw new IllegalArgumentException("Invalid blob name: " + blobName);
+        }
+        return path;
+    }
+
+    private Path existing(String blobName) {
+        Path path = path(blobName);
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("File Not Found: " + blobName);
+        }
+        return path;
+    }
+
+    private static String eTag(BasicFileAttributes attributes) {
+        return "\"" + Long.toHexString(attributes.size()) + "-"
+                + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete partial upload {}", file, e);
+        }
+    }
+
+    private static final class MappedInputStream extends InputStream {
+        private final MappedByteBuffer buffer;
+
+        MappedInputStream(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -21,6 +21,9 @@ import static java.lang.Boolean.FALSE;
 @Table(name = "resumes",
         indexes = {
         @Index(name = "idx_user_created_at", columnList = "user_id, is_deleted, created_at DESC")
+        },
+        uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_content_hash", columnNames = {"user_id", "content_hash"})
         }
 )
 @Entity
@@ -30,6 +33,9 @@ public class Resume {
     private Long id;
     private String blobName;
     private String fileName;
+    // SHA-256 of the uploaded PDF, used to spot a user uploading the same file again
+    @Column(length = 64)
+    private String contentHash;
     @CreatedDate
     private Instant createdAt;
     Boolean isDeleted = false;
@@ -37,4 +43,9 @@ public class Resume {
     @JoinColumn(name = "user_id")
     private User user;
 
+    // hash and count of the chunks last embedded; an unchanged hash means nothing to re-embed
+    @Column(length = 64)
+    private String chunksContentHash;
+    private Integer chunkCount;
+
 }
@@ -0,0 +1,105 @@
+package com.upply.profile.resume;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Streams resume PDFs from blob storage to the client without buffering them. Responses
+ * carry the blob ETag, so a repeat view with {@code If-None-Match} gets a 304, and a single
+ * {@code Range} is served as a 206 so PDF viewers can fetch pages as they need them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResumeFileStreamer {
+
+    private final BlobStore blobStore;
+
+    public ResponseEntity<StreamingResponseBody> stream(
+            String blobName, ContentDisposition disposition, HttpHeaders requestHeaders) {
+        StoredBlob blob = blobStore.getBlob(blobName);
+        String eTag = quoted(blob.eTag());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(requestHeaders.getIfNoneMatch(), eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDisposition(disposition);
+
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        List<HttpRange> ranges;
+        try {
+            ranges = ifRange == null || ifRange.equals(eTag)
+                    ? requestHeaders.getRange()
+                    : List.of();
+        } catch (IllegalArgumentException e) {
+            return unsatisfiable(headers, blob);
+        }
+        // multipart/byteranges is not worth it for PDFs; viewers ask for one range at a time
+        if (ranges.size() != 1) {
+            headers.setContentLength(blob.size());
+            return ResponseEntity.ok().headers(headers).body(body(blob, 0, blob.size()));
+        }
+
+        long start;
+        long end;
+        try {
+            start = ranges.get(0).getRangeStart(blob.size());
+            end = ranges.get(0).getRangeEnd(blob.size());
+        } catch (IllegalArgumentException e) {
+            return unsatisfiable(headers, blob);
+        }
+        if (start >= blob.size()) {
+            return unsatisfiable(headers, blob);
+        }
+        long count = end - start + 1;
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + blob.size());
+        headers.setContentLength(count);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(body(blob, start, count));
+    }
+
+    private StreamingResponseBody body(StoredBlob blob, long offset, long count) {
+        return out -> {
+            if (count == 0) {
+                return;
+            }
+            try (InputStream in = blobStore.openStream(blob, offset, count)) {
+                in.transferTo(out);
+            }
+        };
+    }
+
+    private static ResponseEntity<StreamingResponseBody> unsatisfiable(HttpHeaders headers, StoredBlob blob) {
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + blob.size());
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String eTag) {
+        String opaque = weakless(eTag);
+        return ifNoneMatch.stream().anyMatch(candidate -> candidate.equals("*") || weakless(candidate).equals(opaque));
+    }
+
+    private static String weakless(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static String quoted(String eTag) {
+        return eTag.startsWith("\"") ? eTag : "\"" + eTag + "\"";
+    }
+}
@@ -1,7 +1,9 @@
 package com.upply.profile.resume;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +18,12 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
 
     @Query("select r from Resume r where r.user.id = ?#{principal.getId()} and r.isDeleted = false  order by r.createdAt desc  fetch first 1 ROWS only")
     Optional<Resume> getLastSubmittedResume();
+
+    @Query("select r from Resume r where r.user.id = :userId and r.contentHash = :contentHash order by r.id desc fetch first 1 ROWS only")
+    Optional<Resume> findUserResumeByContentHash(Long userId, String contentHash);
+
+    @Transactional
+    @Modifying
+    @Query("update Resume r set r.chunksContentHash = :chunksContentHash, r.chunkCount = :chunkCount where r.id = :resumeId")
+    void updateChunksState(Long resumeId, String chunksContentHash, int chunkCount);
 }
@@ -0,0 +1,7 @@
+package com.upply.profile.resume;
+
+/**
+ * A stored file as of one version: {@code eTag} changes whenever the content does.
+ */
+public record StoredBlob(String name, String eTag, long size) {
+}
@@ -0,0 +1,52 @@
+package com.upply.profile.resume.analysis;
+
+import com.upply.profile.resume.enums.ResumeAnalysisStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Latest analysis of a resume against a job. A completed result is reused while the job
+ * version (hash of the job fields in the prompt) and the analyzer version still match.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "resume_analyses",
+        uniqueConstraints = @UniqueConstraint(name = "uk_resume_analysis_resume_job", columnNames = {"resumeId", "jobId"})
+)
+public class ResumeAnalysis {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long resumeId;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(length = 64, nullable = false)
+    private String jobVersion;
+
+    @Column(length = 64, nullable = false)
+    private String analyzerVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ResumeAnalysisStatus status;
+
+    @Lob
+    @Column(length = 16_777_215)
+    private String resultJson;
+
+    @Column(length = 500)
+    private String error;
+
+    private Instant updatedAt;
+}
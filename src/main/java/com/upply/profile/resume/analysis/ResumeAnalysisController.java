@@ -1,15 +1,20 @@
 package com.upply.profile.resume.analysis;
 
-import com.upply.profile.resume.dto.ResumeAnalysisResponse;
+import com.upply.profile.resume.dto.ResumeAnalysisStatusResponse;
+import com.upply.profile.resume.enums.ResumeAnalysisStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RequiredArgsConstructor
 @RestController
@@ -19,12 +24,62 @@ public class ResumeAnalysisController {
     private final ResumeAnalysisService resumeAnalysisService;
 
 
+    @PostMapping("/{resumeId}/job/{jobId}")
+    @Operation(
+            summary = "Request resume feedback for specific job",
+            description = "Starts analyzing how well the specified resume matches a given job posting, or retries a failed analysis. Returns 200 with the result when a current analysis already exists, otherwise 202 with the analysis progress; follow it through the GET or events endpoint."
+    )
+    public ResponseEntity<ResumeAnalysisStatusResponse> requestResumeFeedbackForJob(
+            @Parameter(
+                    description = "The ID of the resume to analyze",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long resumeId,
+            @Parameter(
+                    description = "The ID of the job to compare against",
+                    required = true,
+                    example = "10"
+            )
+            @PathVariable Long jobId
+    ){
+        ResumeAnalysisStatusResponse response = resumeAnalysisService.submit(jobId, resumeId);
+        return ResponseEntity
+                .status(response.status() == ResumeAnalysisStatus.COMPLETED ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                .body(response);
+    }
+
     @GetMapping("/{resumeId}/job/{jobId}")
     @Operation(
             summary = "Get resume feedback for specific job",
-            description = "Analyzes how well the specified resume matches a given job posting and returns targeted feedback and match insights."
+            description = "Returns the progress of the latest analysis of the resume against the job without starting one: the feedback and match insights once it has completed, or the error once it has failed. Use the POST endpoint to start or retry an analysis."
+    )
+    public ResponseEntity<ResumeAnalysisStatusResponse> getResumeFeedbackForJob(
+            @Parameter(
+                    description = "The ID of the resume to analyze",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long resumeId,
+            @Parameter(
+                    description = "The ID of the job to compare against",
+                    required = true,
+                    example = "10"
+            )
+            @PathVariable Long jobId
+    ){
+        return ResponseEntity.ok(resumeAnalysisService.getStatus(jobId, resumeId));
+    }
+
+    @GetMapping(
+            value = "/{resumeId}/job/{jobId}/events",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    @Operation(
+            summary = "Stream resume feedback progress",
+            description = "Streams a status event for every step of the analysis using Server-Sent Events. The last event carries the result or the error."
     )
-    public ResponseEntity<ResumeAnalysisResponse> getResumeFeedbackForJob(
+    public SseEmitter streamResumeFeedbackForJob(
             @Parameter(
                     description = "The ID of the resume to analyze",
                     required = true,
@@ -38,6 +93,6 @@ public class ResumeAnalysisController {
             )
             @PathVariable Long jobId
     ){
-        return ResponseEntity.ok(resumeAnalysisService.analysisResumeForJob(jobId,resumeId));
+        return resumeAnalysisService.subscribe(jobId, resumeId);
     }
 }
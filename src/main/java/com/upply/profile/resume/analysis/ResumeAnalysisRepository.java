@@ -0,0 +1,37 @@
+package com.upply.profile.resume.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface ResumeAnalysisRepository extends JpaRepository<ResumeAnalysis, Long> {
+
+    Optional<ResumeAnalysis> findByResumeIdAndJobId(Long resumeId, Long jobId);
+
+    /**
+     * Resets the row to QUEUED for a new run, only if it still has the {@code updatedAt}
+     * the caller read; returns 0 when another instance claimed or updated it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE ResumeAnalysis a
+        SET a.status = com.upply.profile.resume.enums.ResumeAnalysisStatus.QUEUED,
+            a.jobVersion = :jobVersion,
+            a.analyzerVersion = :analyzerVersion,
+            a.resultJson = NULL,
+            a.error = NULL,
+            a.updatedAt = :now
+        WHERE a.id = :id AND a.updatedAt = :seenUpdatedAt
+    """)
+    int claim(@Param("id") Long id,
+              @Param("seenUpdatedAt") Instant seenUpdatedAt,
+              @Param("jobVersion") String jobVersion,
+              @Param("analyzerVersion") String analyzerVersion,
+              @Param("now") Instant now);
+}
@@ -1,96 +1,319 @@
 package com.upply.profile.resume.analysis;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.ai.LlmGateway;
+import com.upply.ai.LlmRoute;
 import com.upply.exception.custom.ResourceNotFoundException;
 import com.upply.job.Job;
 import com.upply.job.JobRepository;
-import com.upply.profile.resume.AzureStorageService;
+import com.upply.profile.resume.Resume;
 import com.upply.profile.resume.ResumeRepository;
 import com.upply.profile.resume.dto.ResumeAnalysisResponse;
+import com.upply.profile.resume.dto.ResumeAnalysisStatusResponse;
+import com.upply.profile.resume.enums.ResumeAnalysisStatus;
 import com.upply.profile.resume.enums.ResumeSection;
 import com.upply.profile.resume.enums.ResumeSectionGroups;
+import com.upply.profile.resume.text.ExtractedResumeText;
+import com.upply.profile.resume.text.ResumeTextService;
 import com.upply.profile.skill.Skill;
-import com.upply.user.UserRepository;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import com.upply.vector.ContentHash;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static org.springframework.util.StringUtils.truncate;
 
+/**
+ * Job-specific resume analysis, run in the background. A request only loads the resume
+ * and job in a short read transaction and queues the work on a virtual thread; text
+ * extraction and the model call then run without holding a connection. Progress is kept
+ * in memory for SSE subscribers and in {@link ResumeAnalysis} for polling, and a
+ * completed result is reused while the job and the analyzer prompts are unchanged.
+ *
+ * <p>The row also coordinates instances: a run is only queued after claiming the row with
+ * a conditional update, and an unfinished row that has not moved for
+ * {@code app.resume-analysis.stale-after-ms} belongs to a run that died with its instance,
+ * so it is treated as absent.
+ */
 @Service
-@Transactional
-public class ResumeAnalysisService {
-    private final ChatClient groqChatClient;
-    private final ChatClient geminiChatClient;
-    private final UserRepository userRepository;
+@Slf4j
+public class ResumeAnalysisService implements DisposableBean {
+    // bump for changes the prompts do not show, e.g. a new ResumeAnalysisResponse field
+    private static final int SCHEMA_VERSION = 1;
+
+    static final String JOB_PROMPT = """
+            Analyze this candidate's resume against the job posting below.
+            Return the full job-specific feedback JSON including:
+            jobMatchScore, matchedSkills, missingSkills, and topTip.
+
+            Sections to score: %s
+
+            %s
+
+            %s
+            """;
+
+    private final List<LlmRoute> routes;
+    private final LlmGateway llmGateway;
     private final ResumeRepository resumeRepository;
     private final JobRepository jobRepository;
-    private final AzureStorageService azureStorageService;
+    private final ResumeTextService resumeTextService;
+    private final ResumeAnalysisRepository resumeAnalysisRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final String analyzerVersion;
+    private final long sseTimeoutMs;
+    private final Duration staleAfter;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<RunKey, Run> runs = new ConcurrentHashMap<>();
 
     public ResumeAnalysisService(
             @Qualifier("resumeAnalysisGroqChatClient") ChatClient groqchatClient,
             @Qualifier("resumeAnalysisGeminiChatClient") ChatClient geminiChatClient,
-            UserRepository userRepository,
+            LlmGateway llmGateway,
             ResumeRepository resumeRepository,
             JobRepository jobRepository,
-            AzureStorageService azureStorageService) {
-        this.groqChatClient = groqchatClient;
-        this.geminiChatClient = geminiChatClient;
-        this.userRepository = userRepository;
+            ResumeTextService resumeTextService,
+            ResumeAnalysisRepository resumeAnalysisRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("resumeAnalysisPrompt") Resource analysisPrompt,
+            @Value("${app.resume-analysis.sse-timeout-ms}") long sseTimeoutMs,
+            @Value("${app.resume-analysis.stale-after-ms}") long staleAfterMs) {
+        this.routes = List.of(LlmRoute.gemini(geminiChatClient), LlmRoute.groq(groqchatClient));
+        this.llmGateway = llmGateway;
         this.resumeRepository = resumeRepository;
         this.jobRepository = jobRepository;
-        this.azureStorageService = azureStorageService;
+        this.resumeTextService = resumeTextService;
+        this.resumeAnalysisRepository = resumeAnalysisRepository;
+        this.objectMapper = objectMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.analyzerVersion = analyzerVersion(analysisPrompt);
+        this.sseTimeoutMs = sseTimeoutMs;
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
     }
 
     /**
      * Job-Specific analysis - resume compared against a specific job.
      * Sections:RELEVANCE, SKILLS_ALIGNMENT, EXPERIENCE_LEVEL, IMPACT, CULTURE_FIT
+     * Returns the stored result when it is still current, the running analysis when there
+     * is one on any instance, and otherwise queues a new one.
      * */
-    public ResumeAnalysisResponse analysisResumeForJob(Long jobId, Long resumeId) {
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new ResourceNotFoundException("Job with ID " + jobId + " not found"));
-        UserProfileContext ctx = buildUserContext(resumeId);
+    public ResumeAnalysisStatusResponse submit(Long jobId, Long resumeId) {
+        Target target = load(jobId, resumeId);
+        Optional<ResumeAnalysisStatusResponse> current = current(target);
+        if (current.isPresent() && current.get().status() != ResumeAnalysisStatus.FAILED) {
+            return current.get();
+        }
+
+        RunKey key = new RunKey(resumeId, jobId);
+        Run started = new Run(queued(target));
+        Run run = runs.putIfAbsent(key, started);
+        if (run != null) {
+            return run.state();
+        }
+        if (!claim(target)) {
+            runs.remove(key, started);
+            return current(target).orElseGet(() -> queued(target));
+        }
+        // read before submitting, a fast run may already be past QUEUED when submit returns
+        ResumeAnalysisStatusResponse queued = started.state();
+        executor.submit(() -> analyze(key, target, started));
+        return queued;
+    }
+
+    /**
+     * Progress or result of the latest analysis for the current job version. Never starts
+     * a run, so a failed analysis stays FAILED until {@link #submit} retries it.
+     */
+    public ResumeAnalysisStatusResponse getStatus(Long jobId, Long resumeId) {
+        Target target = load(jobId, resumeId);
+        return current(target)
+                .orElseThrow(() -> new ResourceNotFoundException("No analysis found for this resume and job"));
+    }
+
+    /**
+     * Streams {@code status} events until the analysis finishes. The current state is sent
+     * first, so a subscriber that arrives after completion still gets the result.
+     */
+    public SseEmitter subscribe(Long jobId, Long resumeId) {
+        Target target = load(jobId, resumeId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Run run = runs.get(new RunKey(resumeId, jobId));
+        if (run != null) {
+            run.subscribe(emitter);
+            return emitter;
+        }
+        ResumeAnalysisStatusResponse state = current(target)
+                .orElseThrow(() -> new ResourceNotFoundException("No analysis found for this resume and job"));
+        send(emitter, state);
+        emitter.complete();
+        return emitter;
+    }
+
+    private void analyze(RunKey key, Target target, Run run) {
         try {
-            return geminiChatClient.prompt()
-                    .user(buildJobPrompt(ctx, job))
+            update(target, run, ResumeAnalysisStatus.EXTRACTING);
+            String resumeText = resumeText(resumeTextService.getText(target.resume()));
+
+            update(target, run, ResumeAnalysisStatus.ANALYZING);
+            String prompt = JOB_PROMPT.formatted(
+                    sectionNames(ResumeSectionGroups.JOB_SPECIFIC_SECTIONS),
+                    formatProfile(resumeText),
+                    target.jobPosting());
+            ResumeAnalysisResponse result = llmGateway.call("resume-analysis", routes, client -> client.prompt()
+                    .user(prompt)
                     .call()
-                    .entity(ResumeAnalysisResponse.class);
+                    .entity(ResumeAnalysisResponse.class));
+
+            save(target, ResumeAnalysisStatus.COMPLETED, objectMapper.writeValueAsString(result), null);
+            run.update(response(target, ResumeAnalysisStatus.COMPLETED, result, null));
         } catch (Exception e) {
-            return groqChatClient.prompt()
-                    .user(buildJobPrompt(ctx, job))
-                    .call()
-                    .entity(ResumeAnalysisResponse.class);
+            log.warn("Analysis of resume {} for job {} failed", key.resumeId(), key.jobId(), e);
+            String error = "Analysis failed: " + truncate(String.valueOf(e.getMessage()), 400);
+            save(target, ResumeAnalysisStatus.FAILED, null, error);
+            run.update(response(target, ResumeAnalysisStatus.FAILED, null, error));
+        } finally {
+            runs.remove(key, run);
+        }
+    }
+
+    private Target load(Long jobId, Long resumeId) {
+        return readTransaction.execute(status -> {
+            Job job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Job with ID " + jobId + " not found"));
+            Resume resume = resumeRepository.getResumeById(resumeId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "No Resume Found"
+                    ));
+            // built here: the background task has no session for the lazy skills and description
+            String jobPosting = jobPosting(job);
+            return new Target(resume, jobId, jobPosting, ContentHash.sha256(jobPosting));
+        });
+    }
+
+    /**
+     * The in-flight state on this instance, else the stored row if it matches the current
+     * versions and, when unfinished, is not stale.
+     */
+    private Optional<ResumeAnalysisStatusResponse> current(Target target) {
+        Run run = runs.get(new RunKey(target.resume().getId(), target.jobId()));
+        if (run != null) {
+            return Optional.of(run.state());
+        }
+        Instant staleBefore = Instant.now().minus(staleAfter);
+        return resumeAnalysisRepository.findByResumeIdAndJobId(target.resume().getId(), target.jobId())
+                .filter(stored -> target.jobVersion().equals(stored.getJobVersion())
+                        && analyzerVersion.equals(stored.getAnalyzerVersion()))
+                .filter(stored -> stored.getStatus().isFinished()
+                        || (stored.getUpdatedAt() != null && stored.getUpdatedAt().isAfter(staleBefore)))
+                .flatMap(stored -> toResponse(target, stored));
+    }
+
+    /**
+     * Marks the row QUEUED for a run on this instance. Fails when another instance inserted
+     * or claimed the row since it was read.
+     */
+    private boolean claim(Target target) {
+        Instant now = Instant.now();
+        Optional<ResumeAnalysis> seen = resumeAnalysisRepository
+                .findByResumeIdAndJobId(target.resume().getId(), target.jobId());
+        if (seen.isPresent()) {
+            return resumeAnalysisRepository.claim(seen.get().getId(), seen.get().getUpdatedAt(),
+                    target.jobVersion(), analyzerVersion, now) == 1;
+        }
+        try {
+            resumeAnalysisRepository.saveAndFlush(ResumeAnalysis.builder()
+                    .resumeId(target.resume().getId())
+                    .jobId(target.jobId())
+                    .jobVersion(target.jobVersion())
+                    .analyzerVersion(analyzerVersion)
+                    .status(ResumeAnalysisStatus.QUEUED)
+                    .updatedAt(now)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // uk_resume_analysis_resume_job: another instance inserted it first
+            return false;
+        }
+    }
+
+    private Optional<ResumeAnalysisStatusResponse> toResponse(Target target, ResumeAnalysis stored) {
+        if (stored.getStatus() != ResumeAnalysisStatus.COMPLETED) {
+            return Optional.of(response(target, stored.getStatus(), null, stored.getError()));
+        }
+        try {
+            ResumeAnalysisResponse result = objectMapper.readValue(stored.getResultJson(), ResumeAnalysisResponse.class);
+            return Optional.of(response(target, ResumeAnalysisStatus.COMPLETED, result, null));
+        } catch (JsonProcessingException e) {
+            log.warn("Stored analysis {} is unreadable, analyzing again", stored.getId(), e);
+            return Optional.empty();
+        }
+    }
+
+    private void update(Target target, Run run, ResumeAnalysisStatus status) {
+        save(target, status, null, null);
+        run.update(response(target, status, null, null));
+    }
+
+    private void save(Target target, ResumeAnalysisStatus status, String resultJson, String error) {
+        try {
+            ResumeAnalysis entity = resumeAnalysisRepository
+                    .findByResumeIdAndJobId(target.resume().getId(), target.jobId())
+                    .orElseGet(() -> ResumeAnalysis.builder()
+                            .resumeId(target.resume().getId())
+                            .jobId(target.jobId())
+                            .build());
+            entity.setJobVersion(target.jobVersion());
+            entity.setAnalyzerVersion(analyzerVersion);
+            entity.setStatus(status);
+            entity.setResultJson(resultJson);
+            entity.setError(error);
+            entity.setUpdatedAt(Instant.now());
+            resumeAnalysisRepository.save(entity);
+        } catch (Exception e) {
+            // progress still reaches subscribers; only polling from other instances misses it
+            log.warn("Failed to store analysis state {} of resume {} for job {}",
+                    status, target.resume().getId(), target.jobId(), e);
         }
     }
 
-    private UserProfileContext buildUserContext(Long resumeId) {
-        String resumeText = resumeRepository.getResumeById(resumeId)
-                .map(resume -> extractTextFromPdf(
-                        azureStorageService.downloadFile(resume.getBlobName())
-                ))
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "No Resume Found"
-                ));
-        return new UserProfileContext(resumeText);
+    private static ResumeAnalysisStatusResponse queued(Target target) {
+        return response(target, ResumeAnalysisStatus.QUEUED, null, null);
     }
 
-    private String buildJobPrompt(UserProfileContext ctx, Job job) {
+    private static ResumeAnalysisStatusResponse response(Target target, ResumeAnalysisStatus status,
+                                                         ResumeAnalysisResponse result, String error) {
+        return new ResumeAnalysisStatusResponse(target.resume().getId(), target.jobId(), status, result, error);
+    }
+
+    private String jobPosting(Job job) {
         return """
-                Analyze this candidate's resume against the job posting below.
-                Return the full job-specific feedback JSON including:
-                jobMatchScore, matchedSkills, missingSkills, and topTip.
-                
-                Sections to score: %s
-                
-                %s
-                
                 == JOB POSTING ==
                 Title          : %s
                 Company        : %s
@@ -98,14 +321,12 @@ public class ResumeAnalysisService {
                 Work Model     : %s
                 Location       : %s
                 Required Skills: %s
-                
+
                 Description:
                 \"\"\"
                 %s
                 \"\"\"
                 """.formatted(
-                sectionNames(ResumeSectionGroups.JOB_SPECIFIC_SECTIONS),
-                formatProfile(ctx),
                 job.getTitle(),
                 "our org name is : ", //hardcoded string
                 //job.getOrganization().getName(), TODO: add ORG and delete the hard coded string
@@ -114,37 +335,33 @@ public class ResumeAnalysisService {
                 job.getLocation() != null ? job.getLocation() : "N/A",
                 job.getSkills().stream()
                         .map(Skill::getName)
+                        .sorted()
                         .collect(Collectors.joining(", ")),
                 truncate(job.getDescription() != null ? job.getDescription() : "", 1500)
         );
     }
 
 
-    private String formatProfile(UserProfileContext ctx) {
+    private String formatProfile(String resumeText) {
         return """
-                == CANDIDATE PROFILE == 
+                == CANDIDATE PROFILE ==
                 Resume Text:
                 \"\"\"
                 %s
                 \"\"\"
                 """.formatted(
-                ctx.resumeText()
+                resumeText
         );
     }
 
-    private String extractTextFromPdf(byte[] pdfFile) {
-        try (PDDocument document = Loader.loadPDF(pdfFile)) {
-            if (document.isEncrypted()) {
-                return "Resume is encrypted and can't be processed - Start analysis based on profile data only";
-            }
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document).strip();
-
-            return text.isEmpty() ? "Resume text could not be extracted- Start analysis based on profile data only" : text;
-        } catch (IOException e) {
-            // I don't want fail whole request
-            return "Resume text unavailable, Start analysis based on profile data only.";
-        }
+    private String resumeText(ExtractedResumeText extracted) {
+        // I don't want fail whole request
+        return switch (extracted.status()) {
+            case EXTRACTED -> extracted.text();
+            case ENCRYPTED -> "Resume is encrypted and can't be processed - Start analysis based on profile data only";
+            case EMPTY -> "Resume text could not be extracted- Start analysis based on profile data only";
+            case UNREADABLE, TIMED_OUT -> "Resume text unavailable, Start analysis based on profile data only.";
+        };
     }
 
     private String sectionNames(Set<ResumeSection> sections) {
@@ -153,6 +370,76 @@ public class ResumeAnalysisService {
                 .collect(Collectors.joining(", "));
     }
 
-    private record UserProfileContext(String resumeText) {
+    private static void send(SseEmitter emitter, ResumeAnalysisStatusResponse state) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(state));
+        } catch (IOException | IllegalStateException e) {
+            // the client went away; the analysis carries on for the next poll
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static String analyzerVersion(Resource analysisPrompt) {
+        String systemPrompt;
+        try {
+            systemPrompt = analysisPrompt.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read resume analysis prompt", e);
+        }
+        return ContentHash.sha256(SCHEMA_VERSION + "\n" + systemPrompt + "\n" + JOB_PROMPT);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private record RunKey(Long resumeId, Long jobId) {
+    }
+
+    private record Target(Resume resume, Long jobId, String jobPosting, String jobVersion) {
+    }
+
+    /** In-memory progress of one analysis and the SSE clients following it. */
+    private static final class Run {
+        private final List<SseEmitter> emitters = new ArrayList<>();
+        private ResumeAnalysisStatusResponse state;
+
+        Run(ResumeAnalysisStatusResponse state) {
+            this.state = state;
+        }
+
+        synchronized ResumeAnalysisStatusResponse state() {
+            return state;
+        }
+
+        synchronized void subscribe(SseEmitter emitter) {
+            send(emitter, state);
+            if (state.status().isFinished()) {
+                emitter.complete();
+                return;
+            }
+            emitters.add(emitter);
+            emitter.onCompletion(() -> remove(emitter));
+            emitter.onTimeout(() -> remove(emitter));
+            emitter.onError(e -> remove(emitter));
+        }
+
+        synchronized void update(ResumeAnalysisStatusResponse next) {
+            state = next;
+            for (SseEmitter emitter : List.copyOf(emitters)) {
+                send(emitter, next);
+                if (next.status().isFinished()) {
+                    emitter.complete();
+                }
+            }
+            if (next.status().isFinished()) {
+                emitters.clear();
+            }
+        }
+
+        private synchronized void remove(SseEmitter emitter) {
+            emitters.remove(emitter);
+        }
     }
 }
@@ -1,7 +1,11 @@
 package com.upply.profile.resume.chunks;
 
+import com.upply.exception.custom.ResourceNotFoundException;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeRepository;
 import com.upply.profile.resume.dto.ParsedResumeResponse;
 import com.upply.profile.resume.parse.ResumeParserService;
+import com.upply.vector.ContentHash;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.VectorStore;
@@ -12,25 +16,45 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @Slf4j
 public class ResumeVectorService {
     private final VectorStore vectorStore;
     private final ResumeParserService resumeParserService;
+    private final ResumeRepository resumeRepository;
 
     public ResumeVectorService(@Qualifier("resumeVectorStore") VectorStore vectorStore,
-                               ResumeParserService resumeParserService) {
+                               ResumeParserService resumeParserService,
+                               ResumeRepository resumeRepository) {
         this.vectorStore = vectorStore;
         this.resumeParserService = resumeParserService;
+        this.resumeRepository = resumeRepository;
     }
 
-    public void storeResumeEmbedding(Long applicationId, Long applicationApplicantId, Long applicationJobId, Long resumeId, String resumeTxt) {
+    /**
+     * Embeds the chunks of a resume once per resume version; every application with the
+     * same resume shares them. Nothing is re-embedded while the chunk content is unchanged.
+     */
+    public void storeResumeEmbedding(Long resumeId, Long userId, String resumeTxt) {
 
         try {
-            ParsedResumeResponse parsed = resumeParserService.callAi(resumeTxt);
+            Resume resume = resumeRepository.findById(resumeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Resume with ID " + resumeId + " not found"));
+
+            ParsedResumeResponse parsed = resumeParserService.parse(resumeId, resumeTxt);
 
             List<Chunk> chunks = buildResumeChunks(parsed);
+            String chunksContentHash = ContentHash.sha256(chunks.stream()
+                    .map(chunk -> chunk.type + ": " + chunk.content)
+                    .collect(Collectors.joining("\n")));
+
+            if (chunksContentHash.equals(resume.getChunksContentHash())) {
+                log.info("Chunks for resume ID: {} are up to date, skipping embedding", resumeId);
+                return;
+            }
 
             List<Document> documents = new ArrayList<>();
 
@@ -38,12 +62,11 @@ public class ResumeVectorService {
                 Chunk chunk = chunks.get(i);
 
                 Document doc = new Document(
-                        resumeId + "-" + i,
+                        chunkId(resumeId, i),
                         chunk.content,
                         Map.of(
-                                "applicationId", String.valueOf(applicationId),
-                                "userId", String.valueOf(applicationApplicantId),
-                                "jobId", String.valueOf(applicationJobId),
+                                "resumeId", String.valueOf(resumeId),
+                                "userId", String.valueOf(userId),
                                 "chunkType", chunk.type,
                                 "chunkIndex", String.valueOf(i)
                         )
@@ -54,14 +77,28 @@ public class ResumeVectorService {
 
             vectorStore.add(documents);
 
-            log.info("Stored {} chunks for application ID: {}", documents.size(), applicationId);
+            // a shorter resume version leaves trailing chunks of the previous one behind
+            int previousCount = resume.getChunkCount() == null ? 0 : resume.getChunkCount();
+            if (previousCount > documents.size()) {
+                vectorStore.delete(IntStream.range(documents.size(), previousCount)
+                        .mapToObj(i -> chunkId(resumeId, i))
+                        .toList());
+            }
+
+            resumeRepository.updateChunksState(resumeId, chunksContentHash, documents.size());
+
+            log.info("Stored {} chunks for resume ID: {}", documents.size(), resumeId);
 
         } catch (Exception e) {
-            log.error("Error storing resume embedding for application ID: {}", applicationId, e);
+            log.error("Error storing resume embedding for resume ID: {}", resumeId, e);
             throw new RuntimeException("Failed to store resume embeddings", e);
         }
     }
 
+    private static String chunkId(Long resumeId, int index) {
+        return resumeId + "-" + index;
+    }
+
     private List<Chunk> buildResumeChunks(ParsedResumeResponse parsed) {
         List<Chunk> chunks = new ArrayList<>();
 
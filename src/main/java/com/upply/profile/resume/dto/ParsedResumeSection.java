@@ -0,0 +1,25 @@
+package com.upply.profile.resume.dto;
+
+/**
+ * One part of a resume parse preview, sent as soon as the model has finished writing it.
+ * {@code name} is the SSE event name and {@code data} its payload.
+ */
+public record ParsedResumeSection(
+        String name,
+        Object data
+) {
+    public static final String PERSONAL = "personal";
+    public static final String SKILLS = "skills";
+    public static final String EXPERIENCE = "experience";
+    public static final String PROJECT = "project";
+    public static final String SOCIAL_LINKS = "socialLinks";
+    // the whole ParsedResumeResponse, including the extraction quality fields
+    public static final String COMPLETE = "complete";
+
+    public record Personal(
+            String university,
+            String firstName,
+            String lastName
+    ) {
+    }
+}
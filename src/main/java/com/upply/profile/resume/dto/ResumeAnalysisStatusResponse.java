@@ -0,0 +1,14 @@
+package com.upply.profile.resume.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.upply.profile.resume.enums.ResumeAnalysisStatus;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResumeAnalysisStatusResponse(
+        Long resumeId,
+        Long jobId,
+        ResumeAnalysisStatus status,
+        ResumeAnalysisResponse result,
+        String error
+) {
+}
@@ -0,0 +1,13 @@
+package com.upply.profile.resume.enums;
+
+public enum ResumeAnalysisStatus {
+    QUEUED,
+    EXTRACTING,
+    ANALYZING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
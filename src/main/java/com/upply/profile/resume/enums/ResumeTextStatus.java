@@ -0,0 +1,9 @@
+package com.upply.profile.resume.enums;
+
+public enum ResumeTextStatus {
+    EXTRACTED,
+    EMPTY,
+    ENCRYPTED,
+    UNREADABLE,
+    TIMED_OUT
+}
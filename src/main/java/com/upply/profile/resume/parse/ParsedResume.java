@@ -0,0 +1,36 @@
+package com.upply.profile.resume.parse;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * LLM parse of a resume, stored as JSON so the model is called once per resume text
+ * and parser version.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "parsed_resumes")
+public class ParsedResume {
+
+    @Id
+    private Long resumeId;
+
+    // hash of the resume text that was sent to the model
+    @Column(length = 64, nullable = false)
+    private String textHash;
+
+    @Column(length = 64, nullable = false)
+    private String parserVersion;
+
+    @Lob
+    @Column(length = 16_777_215)
+    private String parsedJson;
+
+    private Instant parsedAt;
+}
@@ -0,0 +1,6 @@
+package com.upply.profile.resume.parse;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ParsedResumeRepository extends JpaRepository<ParsedResume, Long> {
+}
@@ -0,0 +1,93 @@
+package com.upply.profile.resume.parse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.profile.resume.dto.ParsedResumeResponse;
+import com.upply.vector.ContentHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Parsed resumes keyed by resume id and the hash of the text that was parsed. An entry
+ * only counts while its parser version matches the current one, which is derived from the
+ * system prompt and the user prompt template, so editing either invalidates every entry.
+ */
+@Service
+@Slf4j
+public class ParsedResumeStore {
+    // bump for changes the prompts do not show, e.g. a new ParsedResumeResponse field
+    private static final int SCHEMA_VERSION = 1;
+
+    private final ParsedResumeRepository parsedResumeRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate separateTransaction;
+    private final String parserVersion;
+
+    public ParsedResumeStore(
+            ParsedResumeRepository parsedResumeRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("resumeParserPrompt") Resource parserPrompt
+    ) {
+        this.parsedResumeRepository = parsedResumeRepository;
+        this.objectMapper = objectMapper;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.parserVersion = parserVersion(parserPrompt);
+    }
+
+    public Optional<ParsedResumeResponse> find(Long resumeId, String resumeText) {
+        String textHash = ContentHash.sha256(resumeText);
+        return parsedResumeRepository.findById(resumeId)
+                .filter(stored -> textHash.equals(stored.getTextHash())
+                        && parserVersion.equals(stored.getParserVersion()))
+                .flatMap(stored -> {
+                    try {
+                        return Optional.of(objectMapper.readValue(stored.getParsedJson(), ParsedResumeResponse.class));
+                    } catch (JsonProcessingException e) {
+                        log.warn("Stored parse of resume {} is unreadable, parsing again", resumeId, e);
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    public void save(Long resumeId, String resumeText, ParsedResumeResponse parsed) {
+        try {
+            ParsedResume entity = ParsedResume.builder()
+                    .resumeId(resumeId)
+                    .textHash(ContentHash.sha256(resumeText))
+                    .parserVersion(parserVersion)
+                    .parsedJson(objectMapper.writeValueAsString(parsed))
+                    .parsedAt(Instant.now())
+                    .build();
+            // own transaction so a failed write never rolls back the caller
+            separateTransaction.executeWithoutResult(status -> parsedResumeRepository.save(entity));
+        } catch (Exception e) {
+            log.warn("Failed to store parsed resume {}", resumeId, e);
+        }
+    }
+
+    String parserVersion() {
+        return parserVersion;
+    }
+
+    private static String parserVersion(Resource parserPrompt) {
+        String systemPrompt;
+        try {
+            systemPrompt = parserPrompt.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read resume parser prompt", e);
+        }
+        return ContentHash.sha256(SCHEMA_VERSION + "\n" + systemPrompt + "\n" + ResumeParserService.USER_PROMPT);
+    }
+}
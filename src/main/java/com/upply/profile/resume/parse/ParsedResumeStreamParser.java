@@ -0,0 +1,200 @@
+package com.upply.profile.resume.parse;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.upply.profile.experience.dto.ExperienceRequest;
+import com.upply.profile.project.dto.ProjectRequest;
+import com.upply.profile.resume.dto.ParsedResumeResponse;
+import com.upply.profile.resume.dto.ParsedResumeSection;
+import com.upply.profile.socialLink.dto.SocialLinkRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Incremental reader for a streamed {@link ParsedResumeResponse} JSON. Chunks are fed to
+ * Jackson's non-blocking parser as they arrive, and every section whose value has been
+ * closed is returned straight away: the personal fields once all three were seen, each
+ * experience and project object, and the skills and social link arrays. Anything before
+ * the opening brace or after the closing one, such as a markdown fence, is ignored.
+ * One instance reads one response.
+ */
+final class ParsedResumeStreamParser {
+    private static final Set<String> PERSONAL_FIELDS = Set.of("university", "firstName", "lastName");
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    // the whole document, for the final ParsedResumeResponse
+    private final TokenBuffer document;
+    private final Map<String, String> personal = new HashMap<>();
+
+    private boolean started;
+    private boolean finished;
+    private boolean personalSent;
+    private int depth;
+    private String field;
+    private TokenBuffer section;
+    private int sectionEndDepth;
+
+    ParsedResumeStreamParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.document = new TokenBuffer(parser);
+    }
+
+    /** Feeds the next chunk of model output and returns the sections it completed. */
+    List<ParsedResumeSection> feed(String chunk) {
+        if (finished || chunk == null || chunk.isEmpty()) {
+            return List.of();
+        }
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return List.of();
+            }
+            chunk = chunk.substring(start);
+            started = true;
+        }
+        List<ParsedResumeSection> completed = new ArrayList<>();
+        try {
+            byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                document.copyCurrentEvent(parser);
+                handle(token, completed);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return completed;
+    }
+
+    /** The complete parse; fails when the stream stopped before the JSON was closed. */
+    ParsedResumeResponse finish() {
+        feeder.endOfInput();
+        if (!finished) {
+            throw new IllegalStateException("Resume parse stream ended before the JSON was complete");
+        }
+        try {
+            return objectMapper.readValue(document.asParser(objectMapper), ParsedResumeResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The events a streamed parse of {@code parsed} would have produced, for stored parses. */
+    static List<ParsedResumeSection> sections(ParsedResumeResponse parsed) {
+        List<ParsedResumeSection> sections = new ArrayList<>();
+        sections.add(new ParsedResumeSection(ParsedResumeSection.PERSONAL,
+                new ParsedResumeSection.Personal(parsed.university(), parsed.firstName(), parsed.lastName())));
+        parsed.experiences().forEach(e -> sections.add(new ParsedResumeSection(ParsedResumeSection.EXPERIENCE, e)));
+        parsed.projects().forEach(p -> sections.add(new ParsedResumeSection(ParsedResumeSection.PROJECT, p)));
+        sections.add(new ParsedResumeSection(ParsedResumeSection.SKILLS, parsed.skills()));
+        sections.add(new ParsedResumeSection(ParsedResumeSection.SOCIAL_LINKS, parsed.socialLinks()));
+        sections.add(new ParsedResumeSection(ParsedResumeSection.COMPLETE, parsed));
+        return sections;
+    }
+
+    private void handle(JsonToken token, List<ParsedResumeSection> completed) throws IOException {
+        if (section != null) {
+            section.copyCurrentEvent(parser);
+        }
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                depth++;
+                if (section == null && opensSection(token)) {
+                    section = new TokenBuffer(parser);
+                    section.copyCurrentEvent(parser);
+                    sectionEndDepth = depth - 1;
+                }
+            }
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                if (section != null && depth == sectionEndDepth) {
+                    completed.add(closeSection());
+                }
+                if (depth == 0) {
+                    finished = true;
+                    sendPersonal(completed);
+                }
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    field = parser.currentName();
+                }
+            }
+            default -> {
+                if (depth == 1 && PERSONAL_FIELDS.contains(field)) {
+                    personal.put(field, token == JsonToken.VALUE_NULL ? null : parser.getText());
+                    if (personal.size() == PERSONAL_FIELDS.size()) {
+                        sendPersonal(completed);
+                    }
+                }
+            }
+        }
+    }
+
+    // experiences and projects are sent per element, the flat lists once they are closed
+    private boolean opensSection(JsonToken token) {
+        return switch (String.valueOf(field)) {
+            case "experiences", "projects" -> token == JsonToken.START_OBJECT && depth == 3;
+            case "skills", "socialLinks" -> token == JsonToken.START_ARRAY && depth == 2;
+            default -> false;
+        };
+    }
+
+    private ParsedResumeSection closeSection() throws IOException {
+        TokenBuffer value = section;
+        section = null;
+        return switch (field) {
+            case "experiences" -> new ParsedResumeSection(ParsedResumeSection.EXPERIENCE,
+                    read(value, objectMapper.constructType(ExperienceRequest.class)));
+            case "projects" -> new ParsedResumeSection(ParsedResumeSection.PROJECT,
+                    read(value, objectMapper.constructType(ProjectRequest.class)));
+            case "skills" -> {
+                List<String> skills = read(value, listOf(String.class));
+                yield new ParsedResumeSection(ParsedResumeSection.SKILLS,
+                        skills.stream().filter(s -> s != null && !s.isBlank()).toList());
+            }
+            default -> {
+                List<SocialLinkRequest> socialLinks = read(value, listOf(SocialLinkRequest.class));
+                yield new ParsedResumeSection(ParsedResumeSection.SOCIAL_LINKS,
+                        socialLinks.stream().filter(Objects::nonNull).toList());
+            }
+        };
+    }
+
+    private void sendPersonal(List<ParsedResumeSection> completed) {
+        if (!personalSent) {
+            personalSent = true;
+            completed.add(new ParsedResumeSection(ParsedResumeSection.PERSONAL, new ParsedResumeSection.Personal(
+                    personal.get("university"), personal.get("firstName"), personal.get("lastName"))));
+        }
+    }
+
+    private JavaType listOf(Class<?> elementType) {
+        return objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    private <T> T read(TokenBuffer value, JavaType type) throws IOException {
+        return objectMapper.readValue(value.asParser(objectMapper), type);
+    }
+}
@@ -2,13 +2,17 @@ package com.upply.profile.resume.parse;
 
 import com.upply.profile.resume.dto.ParseConfirmRequest;
 import com.upply.profile.resume.dto.ParsedResumeResponse;
+import com.upply.profile.resume.dto.ParsedResumeSection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/user/me/resume/parse")
@@ -33,6 +37,35 @@ public class ResumeParserController {
         return ResponseEntity.ok(resumeParserService.preview(resumeId));
     }
 
+    @GetMapping(
+            value = "/{resumeId}/preview/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    @Operation(
+            summary = "Stream parsed resume data",
+            description = "Same data as the preview, streamed with Server-Sent Events as the AI produces it. Sends a 'personal' event, one 'experience' and 'project' event per entry, 'skills' and 'socialLinks' events, and finally a 'complete' event with the full parsed resume. An 'error' event ends a failed stream."
+    )
+    public Flux<ServerSentEvent<Object>> streamParsePreview(
+            @Parameter(
+                    description = "The ID of the resume to parse",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long resumeId
+    ){
+        return resumeParserService.streamPreview(resumeId)
+                .map(section -> ServerSentEvent.builder(section.data())
+                        .event(section.name())
+                        .build()
+                )
+                .onErrorResume(ex -> Flux.just(
+                        ServerSentEvent.<Object>builder()
+                                .event("error")
+                                .data("An error occurred while parsing the resume")
+                                .build()
+                ));
+    }
+
     @PostMapping("/{resumeId}/confirm")
     @Operation(
             summary = "Confirm and apply parsed resume data",
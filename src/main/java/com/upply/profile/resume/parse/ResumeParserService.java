@@ -1,5 +1,9 @@
 package com.upply.profile.resume.parse;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.ai.Bulkhead;
+import com.upply.ai.LlmGateway;
+import com.upply.ai.LlmRoute;
 import com.upply.common.NormalizeSkillName;
 import com.upply.config.KafkaConfig;
 import com.upply.exception.custom.ResourceNotFoundException;
@@ -11,11 +15,13 @@ import com.upply.profile.project.Project;
 import com.upply.profile.project.ProjectRepository;
 import com.upply.profile.project.dto.ProjectMapper;
 import com.upply.profile.project.dto.ProjectRequest;
-import com.upply.profile.resume.AzureStorageService;
 import com.upply.profile.resume.Resume;
 import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.text.ExtractedResumeText;
+import com.upply.profile.resume.text.ResumeTextService;
 import com.upply.profile.resume.dto.ParseConfirmRequest;
 import com.upply.profile.resume.dto.ParsedResumeResponse;
+import com.upply.profile.resume.dto.ParsedResumeSection;
 import com.upply.profile.skill.Skill;
 import com.upply.profile.skill.SkillRepository;
 import com.upply.profile.socialLink.SocialLink;
@@ -27,27 +33,40 @@ import com.upply.user.UserRepository;
 import com.upply.user.dto.SkillEvent;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.converter.BeanOutputConverter;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionSynchronizationAdapter;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @Slf4j
 public class ResumeParserService {
+    static final String USER_PROMPT = """
+            Extract all structured data from this resume and return JSON.
+            
+            Resume:
+            \"\"\"
+            %s
+            \"\"\"
+            """;
+
+    private final List<LlmRoute> routes;
     private final ChatClient geminiChatClient;
-    private final ChatClient groqChatClient;
+    private final Bulkhead geminiBulkhead;
+    private final LlmGateway llmGateway;
     private final UserRepository userRepository;
     private final ResumeRepository resumeRepository;
-    private final AzureStorageService azureStorageService;
+    private final ResumeTextService resumeTextService;
+    private final ParsedResumeStore parsedResumeStore;
     private final SkillRepository skillRepository;
     private final ExperienceRepository experienceRepository;
     private final ProjectRepository projectRepository;
@@ -57,14 +76,20 @@ public class ResumeParserService {
     private final ProjectMapper projectMapper;
     private final SocialLinkMapper socialLinkMapper;
     private final KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate;
+    private final ObjectMapper objectMapper;
+    // what entity(ParsedResumeResponse.class) appends, the stream has to ask for it itself
+    private final String outputFormat = new BeanOutputConverter<>(ParsedResumeResponse.class).getFormat();
 
 
     public ResumeParserService(
             @Qualifier("resumeParserGroqChatClient") ChatClient groqChatClient,
             @Qualifier("resumeParserGeminiChatClient") ChatClient geminiChatClient,
+            @Qualifier("resumeParserGeminiBulkhead") Bulkhead geminiBulkhead,
+            LlmGateway llmGateway,
             UserRepository userRepository,
             ResumeRepository resumeRepository,
-            AzureStorageService azureStorageService,
+            ResumeTextService resumeTextService,
+            ParsedResumeStore parsedResumeStore,
             SkillRepository skillRepository,
             ExperienceRepository experienceRepository,
             ProjectRepository projectRepository,
@@ -72,12 +97,16 @@ public class ResumeParserService {
             ExperienceMapper experienceMapper,
             ProjectMapper projectMapper,
             SocialLinkMapper socialLinkMapper,
-            KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate) {
-        this.groqChatClient = groqChatClient;
+            KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate,
+            ObjectMapper objectMapper) {
+        this.routes = List.of(LlmRoute.gemini(geminiChatClient), LlmRoute.groq(groqChatClient));
         this.geminiChatClient = geminiChatClient;
+        this.geminiBulkhead = geminiBulkhead;
+        this.llmGateway = llmGateway;
         this.userRepository = userRepository;
         this.resumeRepository = resumeRepository;
-        this.azureStorageService = azureStorageService;
+        this.resumeTextService = resumeTextService;
+        this.parsedResumeStore = parsedResumeStore;
         this.skillRepository = skillRepository;
         this.experienceRepository = experienceRepository;
         this.projectRepository = projectRepository;
@@ -86,18 +115,66 @@ public class ResumeParserService {
         this.projectMapper = projectMapper;
         this.socialLinkMapper = socialLinkMapper;
         this.skillEventKafkaTemplate = skillEventKafkaTemplate;
+        this.objectMapper = objectMapper;
     }
 
     public ParsedResumeResponse preview(Long resumeId) {
-        return callAi(extractText(resumeId));
+        return parse(resumeId, extractText(resumeId));
+    }
+
+    /**
+     * The preview as {@link ParsedResumeSection}s, each sent once the model has closed it,
+     * ending with the complete parse. A stored parse is replayed at once. If the stream
+     * fails before anything was sent, the blocking {@link #parse} takes over, so the
+     * caller still gets every section.
+     */
+    public Flux<ParsedResumeSection> streamPreview(Long resumeId) {
+        String resumeText = extractText(resumeId);
+        Optional<ParsedResumeResponse> stored = parsedResumeStore.find(resumeId, resumeText);
+        if (stored.isPresent()) {
+            return Flux.fromIterable(ParsedResumeStreamParser.sections(stored.get()));
+        }
+
+        // taken here, on the request thread, so a full bulkhead is a 429 rather than an SSE error event
+        Bulkhead.Permit geminiPermit = geminiBulkhead.acquire();
+        AtomicBoolean sent = new AtomicBoolean();
+
+        return Flux.using(() -> geminiPermit,
+                        permit -> streamAi(resumeId, resumeText),
+                        Bulkhead.Permit::close)
+                .doOnNext(section -> sent.set(true))
+                .onErrorResume(e -> {
+                    if (sent.get()) {
+                        return Flux.error(e);
+                    }
+                    log.warn("Streaming parse of resume {} failed, parsing without streaming", resumeId, e);
+                    return Mono.fromCallable(() -> parse(resumeId, resumeText))
+                            .flatMapIterable(ParsedResumeStreamParser::sections)
+                            // the gateway blocks, keep it off the event loop
+                            .subscribeOn(Schedulers.boundedElastic());
+                });
+    }
+
+    private Flux<ParsedResumeSection> streamAi(Long resumeId, String resumeText) {
+        ParsedResumeStreamParser sections = new ParsedResumeStreamParser(objectMapper);
+        return geminiChatClient.prompt()
+                .user(userPrompt(resumeText) + System.lineSeparator() + outputFormat)
+                .stream()
+                .content()
+                .concatMapIterable(sections::feed)
+                .concatWith(Mono.fromCallable(() -> {
+                            ParsedResumeResponse parsed = sections.finish();
+                            parsedResumeStore.save(resumeId, resumeText, parsed);
+                            return new ParsedResumeSection(ParsedResumeSection.COMPLETE, parsed);
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()));
     }
 
     @Transactional
     public void confirm(Long resumeId, ParseConfirmRequest request) {
         User user = userRepository.getCurrentUser()
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        //TODO Don't hit the model again use preview response
-        ParsedResumeResponse parsed = callAi(extractText(resumeId));
+        ParsedResumeResponse parsed = parse(resumeId, extractText(resumeId));
 
         if (request.applyPersonal()) applyPersonal(user, parsed);
         if (request.applyExperiences()) applyExperiences(user, parsed.experiences());
@@ -110,27 +187,25 @@ public class ResumeParserService {
     }
 
 
+    /**
+     * Parse of the resume text, from the store when this text was already parsed by the
+     * current parser version, otherwise from the model.
+     */
+    public ParsedResumeResponse parse(Long resumeId, String resumeText) {
+        return parsedResumeStore.find(resumeId, resumeText)
+                .orElseGet(() -> {
+                    ParsedResumeResponse parsed = callAi(resumeText);
+                    parsedResumeStore.save(resumeId, resumeText, parsed);
+                    return parsed;
+                });
+    }
+
     public ParsedResumeResponse callAi(String rawText) {
-        String prompt = """
-                Extract all structured data from this resume and return JSON.
-                
-                Resume:
-                \"\"\"
-                %s
-                \"\"\"
-                """.formatted(truncate(rawText, 12000));
-        try {
-            log.debug("Attempting resume parse with Gemini");
-            return geminiChatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .entity(ParsedResumeResponse.class);
-        } catch (Exception e) {
-            return groqChatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .entity(ParsedResumeResponse.class);
-        }
+        String prompt = userPrompt(rawText);
+        return llmGateway.call("resume-parse", routes, client -> client.prompt()
+                .user(prompt)
+                .call()
+                .entity(ParsedResumeResponse.class));
     }
 
 
@@ -219,16 +294,15 @@ public class ResumeParserService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Resume with ID " + resumeId + " not found"));
 
-        byte[] bytes = azureStorageService.downloadFile(resume.getBlobName());
-
-        try (PDDocument doc = Loader.loadPDF(bytes)) {
-            if (doc.isEncrypted()) return "";
-            String text = new PDFTextStripper().getText(doc).strip();
-            return text.isEmpty() ? "" : text;
-        } catch (IOException e) {
-            log.warn("PDF extraction failed for resume {}", resumeId, e);
-            return "";
+        ExtractedResumeText extracted = resumeTextService.getText(resume);
+        if (!extracted.isExtracted()) {
+            log.warn("No text available for resume {}: {}", resumeId, extracted.status());
         }
+        return extracted.text();
+    }
+
+    private String userPrompt(String rawText) {
+        return USER_PROMPT.formatted(truncate(rawText, 12000));
     }
 
     private String truncate(String text, int max) {
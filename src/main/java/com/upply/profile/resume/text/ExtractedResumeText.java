@@ -0,0 +1,17 @@
+package com.upply.profile.resume.text;
+
+import com.upply.profile.resume.enums.ResumeTextStatus;
+
+/**
+ * Plain text of a resume PDF; {@code text} is empty unless the status is {@code EXTRACTED}.
+ */
+public record ExtractedResumeText(ResumeTextStatus status, String text) {
+
+    public static ExtractedResumeText of(ResumeTextStatus status) {
+        return new ExtractedResumeText(status, "");
+    }
+
+    public boolean isExtracted() {
+        return status == ResumeTextStatus.EXTRACTED;
+    }
+}
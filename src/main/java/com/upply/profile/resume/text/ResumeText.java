@@ -0,0 +1,39 @@
+package com.upply.profile.resume.text;
+
+import com.upply.profile.resume.enums.ResumeTextStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Text extracted from a resume PDF, gzip-compressed, keyed by the resume id.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "resume_texts")
+public class ResumeText {
+
+    @Id
+    private Long resumeId;
+
+    // SHA-256 of the PDF the text was extracted from
+    @Column(length = 64, nullable = false)
+    private String contentHash;
+
+    private int formatVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ResumeTextStatus status;
+
+    @Lob
+    @Column(length = 16_777_215)
+    private byte[] compressedText;
+
+    private Instant extractedAt;
+}
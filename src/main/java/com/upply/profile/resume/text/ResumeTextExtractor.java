@@ -0,0 +1,192 @@
+package com.upply.profile.resume.text;
+
+import com.upply.profile.resume.enums.ResumeTextStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts resume text within a fixed budget. PDFBox keeps at most
+ * {@code max-main-memory-bytes} of decoded streams in heap and spills the rest to temp
+ * files; text stops at {@code max-pages} and {@code max-chars}, and extraction gives up
+ * with {@link ResumeTextStatus#TIMED_OUT} once {@code timeout-ms} has passed or the
+ * calling thread is interrupted.
+ */
+@Component
+@Slf4j
+public class ResumeTextExtractor {
+    // bump when the extracted text changes shape; stored text from older versions is re-extracted on read
+    public static final int FORMAT_VERSION = 1;
+
+    private final MemoryUsageSetting memoryUsage;
+    private final int maxPages;
+    private final int maxChars;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary pdfBytes;
+    private final DistributionSummary extractedChars;
+
+    public ResumeTextExtractor(
+            @Value("${app.resume-text.max-main-memory-bytes}") long maxMainMemoryBytes,
+            @Value("${app.resume-text.max-pages}") int maxPages,
+            @Value("${app.resume-text.max-chars}") int maxChars,
+            @Value("${app.resume-text.timeout-ms}") long timeoutMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.memoryUsage = MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+        this.maxPages = maxPages;
+        this.maxChars = maxChars;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.meterRegistry = meterRegistry;
+        this.pdfBytes = DistributionSummary.builder("upply.resume.text.pdf.size")
+                .description("Size of resume PDFs passed to text extraction")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.extractedChars = DistributionSummary.builder("upply.resume.text.extracted.size")
+                .description("Characters of text extracted per resume")
+                .baseUnit("chars")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Extracts from a PDF on disk; PDFBox reads it through a buffered file instead of
+     * loading the whole file into heap.
+     */
+    public ExtractedResumeText extract(Path pdf) {
+        long size;
+        try {
+            size = Files.size(pdf);
+        } catch (IOException e) {
+            log.warn("PDF extraction failed", e);
+            return ExtractedResumeText.of(ResumeTextStatus.UNREADABLE);
+        }
+        return extract(size, () -> Loader.loadPDF(pdf.toFile(), "", null, null, memoryUsage.streamCache));
+    }
+
+    private ExtractedResumeText extract(long size, DocumentLoader loader) {
+        long start = System.nanoTime();
+        ExtractedResumeText extracted = extract(loader, start + timeout.toNanos());
+        Timer.builder("upply.resume.text.extraction")
+                .description("Resume text extraction time by outcome")
+                .tag("status", extracted.status().name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        pdfBytes.record(size);
+        extractedChars.record(extracted.text().length());
+        return extracted;
+    }
+
+    private ExtractedResumeText extract(DocumentLoader loader, long deadline) {
+        try (PDDocument document = loader.load()) {
+            if (document.isEncrypted()) {
+                return ExtractedResumeText.of(ResumeTextStatus.ENCRYPTED);
+            }
+            BoundedWriter text = new BoundedWriter(maxChars);
+            try {
+                new BudgetedStripper(maxPages, deadline).writeText(document, text);
+            } catch (CharBudgetReached e) {
+                log.info("Resume text truncated at {} chars", maxChars);
+            }
+            String stripped = text.toString().strip();
+            return stripped.isEmpty()
+                    ? ExtractedResumeText.of(ResumeTextStatus.EMPTY)
+                    : new ExtractedResumeText(ResumeTextStatus.EXTRACTED, stripped);
+        } catch (DeadlineExceeded e) {
+            log.warn("PDF extraction stopped after {} ms", timeout.toMillis());
+            return ExtractedResumeText.of(ResumeTextStatus.TIMED_OUT);
+        } catch (IOException e) {
+            log.warn("PDF extraction failed", e);
+            return ExtractedResumeText.of(ResumeTextStatus.UNREADABLE);
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocumentLoader {
+        PDDocument load() throws IOException;
+    }
+
+    /**
+     * Stops at the page budget and checks the deadline between pages and words, since
+     * PDFBox itself has no way to cancel an extraction.
+     */
+    private static final class BudgetedStripper extends PDFTextStripper {
+        private final long deadline;
+
+        BudgetedStripper(int maxPages, long deadline) {
+            this.deadline = deadline;
+            setEndPage(maxPages);
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            checkDeadline();
+            super.startPage(page);
+        }
+
+        @Override
+        protected void writeString(String text, List<TextPosition> textPositions) throws IOException {
+            checkDeadline();
+            super.writeString(text, textPositions);
+        }
+
+        private void checkDeadline() throws DeadlineExceeded {
+            if (System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted()) {
+                throw new DeadlineExceeded();
+            }
+        }
+    }
+
+    private static final class BoundedWriter extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private final int maxChars;
+
+        BoundedWriter(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws CharBudgetReached {
+            int room = maxChars - text.length();
+            text.append(chars, offset, Math.min(length, room));
+            if (length > room) {
+                throw new CharBudgetReached();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    private static final class CharBudgetReached extends IOException {
+    }
+
+    private static final class DeadlineExceeded extends IOException {
+    }
+}
@@ -0,0 +1,184 @@
+package com.upply.profile.resume.text;
+
+import com.upply.profile.resume.BlobStore;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.enums.ResumeTextStatus;
+import com.upply.vector.ContentHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Resume text extracted once, at upload, and read by every consumer instead of
+ * downloading and parsing the PDF again. Resumes stored before this existed, or by an
+ * older {@link ResumeTextExtractor#FORMAT_VERSION}, are extracted on first read from a
+ * temp file the blob is streamed into, so the PDF never sits in heap as a whole.
+ */
+@Service
+@Slf4j
+public class ResumeTextService {
+    private final ResumeTextRepository resumeTextRepository;
+    private final ResumeTextExtractor resumeTextExtractor;
+    private final BlobStore blobStore;
+    private final TransactionTemplate separateTransaction;
+
+    public ResumeTextService(
+            ResumeTextRepository resumeTextRepository,
+            ResumeTextExtractor resumeTextExtractor,
+            BlobStore blobStore,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.resumeTextRepository = resumeTextRepository;
+        this.resumeTextExtractor = resumeTextExtractor;
+        this.blobStore = blobStore;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Stores the text of a resume saved in the caller's transaction once that commits, so
+     * the extraction does not hold its connection; runs straight away without one. A
+     * failure is only logged, the first read extracts again.
+     * @param pdf the uploaded PDF, opened when the extraction runs
+     */
+    public void storeAfterCommit(Resume resume, String contentHash, InputStreamSource pdf) {
+        Runnable store = () -> {
+            try (InputStream content = pdf.getInputStream()) {
+                store(resume, contentHash, content);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to extract text of uploaded resume {}", resume.getId(), e);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                store.run();
+            }
+        });
+    }
+
+    /**
+     * Extracts and saves the text of a resume that was just uploaded, in its own transaction.
+     * @param contentHash SHA-256 of the PDF, computed while it was uploaded
+     * @param pdf the uploaded PDF, spooled to a temp file for extraction; not closed
+     */
+    public ExtractedResumeText store(Resume resume, String contentHash, InputStream pdf) {
+        ExtractedResumeText extracted = withTempFile(resume.getId(), file -> {
+            Files.copy(pdf, file, StandardCopyOption.REPLACE_EXISTING);
+            return resumeTextExtractor.extract(file);
+        });
+        // a timeout may be load, not the file; leave it for the next read to retry
+        if (extracted.status() != ResumeTextStatus.TIMED_OUT) {
+            save(resume.getId(), contentHash, extracted);
+        }
+        return extracted;
+    }
+
+    public ExtractedResumeText getText(Resume resume) {
+        ResumeText stored = resumeTextRepository.findById(resume.getId())
+                .filter(text -> text.getFormatVersion() == ResumeTextExtractor.FORMAT_VERSION)
+                .orElse(null);
+        if (stored != null) {
+            return new ExtractedResumeText(stored.getStatus(), decompress(stored.getCompressedText()));
+        }
+
+        return withTempFile(resume.getId(), pdf -> {
+            blobStore.downloadToFile(resume.getBlobName(), pdf);
+            ExtractedResumeText extracted = resumeTextExtractor.extract(pdf);
+            if (extracted.status() != ResumeTextStatus.TIMED_OUT) {
+                save(resume.getId(), ContentHash.sha256(pdf), extracted);
+            }
+            return extracted;
+        });
+    }
+
+    private static <T> T withTempFile(Long resumeId, TempFileAction<T> action) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("resume-" + resumeId + "-", ".pdf");
+            return action.apply(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool resume " + resumeId + " to a temp file", e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TempFileAction<T> {
+        T apply(Path file) throws IOException;
+    }
+
+    private void save(Long resumeId, String contentHash, ExtractedResumeText extracted) {
+        try {
+            // own transaction so a concurrent insert of the same row cannot roll back the caller
+            separateTransaction.executeWithoutResult(status ->
+                    resumeTextRepository.save(toEntity(resumeId, contentHash, extracted)));
+            log.info("Extracted and stored text for resume {}", resumeId);
+        } catch (Exception e) {
+            log.warn("Failed to store extracted text for resume {}", resumeId, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp file {}", file, e);
+        }
+    }
+
+    private ResumeText toEntity(Long resumeId, String contentHash, ExtractedResumeText extracted) {
+        return ResumeText.builder()
+                .resumeId(resumeId)
+                .contentHash(contentHash)
+                .formatVersion(ResumeTextExtractor.FORMAT_VERSION)
+                .status(extracted.status())
+                .compressedText(compress(extracted.text()))
+                .extractedAt(Instant.now())
+                .build();
+    }
+
+    static byte[] compress(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String decompress(byte[] compressed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
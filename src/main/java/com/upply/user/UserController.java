@@ -5,6 +5,7 @@ import com.upply.profile.experience.dto.ExperienceRequest;
 import com.upply.profile.experience.dto.ExperienceResponse;
 import com.upply.profile.project.dto.ProjectRequest;
 import com.upply.profile.project.dto.ProjectResponse;
+import com.upply.profile.resume.ResumeFileStreamer;
 import com.upply.profile.resume.dto.ResumeResponse;
 import com.upply.profile.skill.dto.SkillRequest;
 import com.upply.profile.skill.dto.SkillResponse;
@@ -20,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -32,6 +34,7 @@ import java.util.Set;
 public class UserController {
 
     private final UserService userService;
+    private final ResumeFileStreamer resumeFileStreamer;
 
     @GetMapping
     @Operation(
@@ -348,22 +351,18 @@ public class UserController {
             summary = "View user resume",
             description = "Returns the resume PDF file for inline viewing in the browser by resume ID."
     )
-    public ResponseEntity<byte[]> viewUserResume(
+    public ResponseEntity<StreamingResponseBody> viewUserResume(
             @Parameter(
                     description = "The ID of the resume to view",
                     required = true,
                     example = "1"
             )
-            @PathVariable Long resumeId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDisposition(
-                ContentDisposition.builder("inline")
-                        .build()
-        );
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(userService.getResumeFileById(resumeId));
+            @PathVariable Long resumeId,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders requestHeaders) {
+        return resumeFileStreamer.stream(
+                userService.getResumeBlobName(resumeId),
+                ContentDisposition.builder("inline").build(),
+                requestHeaders);
     }
 
     @GetMapping("/resume/download/{resumeId}")
@@ -371,23 +370,20 @@ public class UserController {
             summary = "Download user resume",
             description = "Downloads the resume PDF file as an attachment by resume ID."
     )
-    public ResponseEntity<byte[]> downloadUSerResume(
+    public ResponseEntity<StreamingResponseBody> downloadUSerResume(
             @Parameter(
                     description = "The ID of the resume to download",
                     required = true,
                     example = "1"
             )
-            @PathVariable Long resumeId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDisposition(
+            @PathVariable Long resumeId,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders requestHeaders) {
+        return resumeFileStreamer.stream(
+                userService.getResumeBlobName(resumeId),
                 ContentDisposition.builder("attachment")
                         .filename(userService.getFileName(resumeId))
-                        .build()
-        );
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(userService.getResumeFileById(resumeId));
+                        .build(),
+                requestHeaders);
     }
 
     @DeleteMapping("/resume/{resumeId}")
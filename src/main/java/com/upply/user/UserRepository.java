@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +24,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
         WHERE u.id = :userId
     """)
     List<String> findUserSkillNames(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT u.id
+        FROM User u
+        WHERE u.id IN :ids
+          AND u.accountActivated = true
+          AND u.accountLocked = false
+          AND u.email IS NOT NULL
+    """)
+    List<Long> findReachableUserIds(@Param("ids") Collection<Long> ids);
 }
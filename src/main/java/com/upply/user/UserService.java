@@ -2,6 +2,7 @@ package com.upply.user;
 
 import com.upply.common.NormalizeSkillName;
 import com.upply.config.KafkaConfig;
+import com.upply.exception.custom.BusinessLogicException;
 import com.upply.exception.custom.OperationNotPermittedException;
 import com.upply.job.Job;
 import com.upply.job.JobRepository;
@@ -15,9 +16,10 @@ import com.upply.profile.project.*;
 import com.upply.profile.project.dto.ProjectMapper;
 import com.upply.profile.project.dto.ProjectRequest;
 import com.upply.profile.project.dto.ProjectResponse;
-import com.upply.profile.resume.AzureStorageService;
+import com.upply.profile.resume.BlobStore;
 import com.upply.profile.resume.Resume;
 import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.text.ResumeTextService;
 import com.upply.profile.resume.dto.ResumeMapper;
 import com.upply.profile.resume.dto.ResumeResponse;
 import com.upply.profile.skill.*;
@@ -32,9 +34,11 @@ import com.upply.user.dto.SkillEvent;
 import com.upply.user.dto.UserMapper;
 import com.upply.user.dto.UserRequest;
 import com.upply.user.dto.UserResponse;
+import com.upply.vector.ContentHash;
 import com.upply.exception.custom.ResourceNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,8 +46,16 @@ import org.springframework.transaction.support.TransactionSynchronizationAdapter
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -51,6 +63,8 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    private static final byte[] PDF_SIGNATURE = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
     private final UserRepository userRepository;
     private final SkillRepository skillRepository;
     private final ExperienceRepository experienceRepository;
@@ -63,9 +77,10 @@ public class UserService {
     private final ProjectMapper projectMapper;
     private final SocialLinkMapper socialLinkMapper;
     private final JobMapper jobMapper;
-    private final AzureStorageService azureStorageService;
+    private final BlobStore blobStore;
     private final ResumeRepository resumeRepository;
     private final ResumeMapper resumeMapper;
+    private final ResumeTextService resumeTextService;
     private final KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate;
 
     public UserResponse getUser() {
@@ -301,23 +316,53 @@ public class UserService {
         validateFile(resumeFile);
         User user = userRepository.getCurrentUser()
                 .orElseThrow(() -> new ResourceNotFoundException("User Not Found"));
-        String blobName = azureStorageService.uploadFile(user.getId(), resumeFile.getBytes());
         String fileName = resumeFile.getOriginalFilename();
+        // hashing the part is a local disk read, cheaper than uploading a file we already have
+        String contentHash;
+        try (DigestInputStream content = ContentHash.digesting(pdfStream(resumeFile))) {
+            content.transferTo(OutputStream.nullOutputStream());
+            contentHash = ContentHash.sha256(content);
+        }
+
+        Optional<Resume> existing = resumeRepository.findUserResumeByContentHash(user.getId(), contentHash);
+        if (existing.isPresent()) {
+            // same file again: keep its blob, text, parse and embeddings, which are all keyed by resume id,
+            // and its original name
+            Resume resume = existing.get();
+            resume.setIsDeleted(false);
+            // re-uploading counts as submitting it again, so it becomes the latest resume
+            resume.setCreatedAt(Instant.now());
+            resumeRepository.save(resume);
+            return resumeMapper.toResumeResponse(resume);
+        }
+
+        String blobName;
+        try (InputStream content = resumeFile.getInputStream()) {
+            blobName = blobStore.uploadFile(user.getId(), content);
+        }
 
         Resume resume = new Resume();
 
         resume.setBlobName(blobName);
         resume.setFileName(fileName);
+        resume.setContentHash(contentHash);
         resume.setUser(user);
 
-        resumeRepository.save(resume);
+        try {
+            resumeRepository.saveAndFlush(resume);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent upload of the same file won the (user_id, content_hash) constraint
+            blobStore.deleteFile(blobName);
+            throw new BusinessLogicException("This resume is already being uploaded");
+        }
+        resumeTextService.storeAfterCommit(resume, contentHash, resumeFile);
         return resumeMapper.toResumeResponse(resume);
     }
 
-    public byte[] getResumeFileById(Long resumeId) {
-        Resume resume = resumeRepository.getResumeById(resumeId)
-                .orElseThrow(() -> new ResourceNotFoundException("There is no resume with this id"));
-        return azureStorageService.downloadFile(resume.getBlobName());
+    public String getResumeBlobName(Long resumeId) {
+        return resumeRepository.getResumeById(resumeId)
+                .orElseThrow(() -> new ResourceNotFoundException("There is no resume with this id"))
+                .getBlobName();
     }
 
     public List<ResumeResponse> getAllUserResumes() {
@@ -363,15 +408,27 @@ public class UserService {
             throw new OperationNotPermittedException("Only PDF files are allowed");
         }
 
-        if (!"application/pdf".equals(file.getContentType())) {
-            throw new OperationNotPermittedException("Only PDF files are allowed");
-        }
-
         if (file.getSize() > MAX_FILE_SIZE) {
             throw new OperationNotPermittedException("File size exceeds the 5MB limit");
         }
     }
 
+    /**
+     * Opens the upload positioned at its first byte, after checking it starts with the PDF
+     * signature; the client-supplied content type is not trusted.
+     */
+    private static InputStream pdfStream(MultipartFile file) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(file.getInputStream());
+        in.mark(PDF_SIGNATURE.length);
+        byte[] head = in.readNBytes(PDF_SIGNATURE.length);
+        in.reset();
+        if (!Arrays.equals(head, PDF_SIGNATURE)) {
+            in.close();
+            throw new OperationNotPermittedException("Only PDF files are allowed");
+        }
+        return in;
+    }
+
     // mobile device token
 
     public void saveDeviceToken(String deviceToken) {
@@ -1,11 +1,13 @@
 package com.upply.user;
 
 import com.upply.config.KafkaConfig;
+import com.upply.job.MatchedJobFeedService;
 import com.upply.profile.skill.SkillRepository;
 import com.upply.user.dto.SkillEvent;
+import com.upply.vector.DocumentVectorCache;
+import com.upply.vector.VectorWriteBuffer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
-import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
@@ -19,13 +21,18 @@ public class UserSkillEventConsumer {
     private final UserService userService;
     private UserRepository userRepository;
     private final SkillRepository skillRepository;
-    private final VectorStore skillVectorStore;
+    private final VectorWriteBuffer skillVectorWriteBuffer;
+    private final DocumentVectorCache documentVectorCache;
+    private final MatchedJobFeedService matchedJobFeedService;
 
-    public UserSkillEventConsumer(UserService userService, UserRepository userRepository, SkillRepository skillRepository,@Qualifier("userSkillsVectorStore") VectorStore skillVectorStore) {
+    public UserSkillEventConsumer(UserService userService, UserRepository userRepository, SkillRepository skillRepository,@Qualifier("userSkillsVectorWriteBuffer") VectorWriteBuffer skillVectorWriteBuffer,
+                                  DocumentVectorCache documentVectorCache, MatchedJobFeedService matchedJobFeedService) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.skillRepository = skillRepository;
-        this.skillVectorStore = skillVectorStore;
+        this.skillVectorWriteBuffer = skillVectorWriteBuffer;
+        this.documentVectorCache = documentVectorCache;
+        this.matchedJobFeedService = matchedJobFeedService;
     }
 
     @KafkaListener(topics = KafkaConfig.UserSkillsEmbeddingTopic,
@@ -34,7 +41,10 @@ public class UserSkillEventConsumer {
         log.info("Received Skill Event: {}", event);
         userRepository.findById(event.getUserId())
                 .ifPresentOrElse(
-                        user -> storeUserSkillsEmbedding(user.getId(), buildUserContext(user)),
+                        user -> {
+                            storeUserSkillsEmbedding(user.getId(), buildUserContext(user));
+                            matchedJobFeedService.rebuildIfPresent(user);
+                        },
                         ()-> log.warn(("Skipping skill embedding event for missing user: {}\", event.getUserId()"))
                 );
     }
@@ -55,6 +65,7 @@ public class UserSkillEventConsumer {
                         "userId", userId.toString()
                 )
         );
-        skillVectorStore.add(List.of(document));
+        skillVectorWriteBuffer.upsert(document);
+        documentVectorCache.evictUserVector(userId);
     }
 }
@@ -0,0 +1,63 @@
+package com.upply.vector;
+
+import com.azure.search.documents.SearchClient;
+import com.azure.search.documents.SearchDocument;
+import com.azure.search.documents.indexes.models.SearchField;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.vector.index.IndexSchema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Merges metadata into existing Azure AI Search documents.
+ *
+ * <p>Sends only the serialized {@code metadata} field plus the {@code meta_*} filter fields
+ * declared by the index schema, so the stored content and embedding are left untouched.
+ */
+public class AzureMetadataWriter implements VectorMetadataWriter {
+    private static final String METADATA_FIELD = "metadata";
+    private static final String FILTER_FIELD_PREFIX = "meta_";
+
+    private final SearchClient searchClient;
+    private final Set<String> filterFields;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public AzureMetadataWriter(SearchClient searchClient, IndexSchema schema) {
+        this.searchClient = searchClient;
+        this.filterFields = schema.fields().stream()
+                .map(SearchField::getName)
+                .filter(name -> name.startsWith(FILTER_FIELD_PREFIX))
+                .map(name -> name.substring(FILTER_FIELD_PREFIX.length()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public void updateMetadata(Map<String, Map<String, Object>> metadataById) {
+        List<SearchDocument> documents = new ArrayList<>(metadataById.size());
+        metadataById.forEach((id, metadata) -> {
+            SearchDocument document = new SearchDocument();
+            document.put("id", id);
+            document.put(METADATA_FIELD, toJson(metadata));
+            metadata.forEach((key, value) -> {
+                if (filterFields.contains(key)) {
+                    document.put(FILTER_FIELD_PREFIX + key, value);
+                }
+            });
+            documents.add(document);
+        });
+        searchClient.mergeDocuments(documents);
+    }
+
+    private String toJson(Map<String, Object> metadata) {
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Metadata is not serializable", e);
+        }
+    }
+}
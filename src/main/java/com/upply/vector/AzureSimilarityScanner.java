@@ -0,0 +1,75 @@
+package com.upply.vector;
+
+import com.azure.core.util.Context;
+import com.azure.search.documents.SearchClient;
+import com.azure.search.documents.SearchDocument;
+import com.azure.search.documents.models.SearchOptions;
+import com.azure.search.documents.models.SearchResult;
+import com.azure.search.documents.models.VectorSearchOptions;
+import com.azure.search.documents.models.VectorizedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Scans an Azure AI Search index with vector queries, one page per request.
+ *
+ * <p>Page {@code n} asks for the {@code (n + 1) * pageSize} nearest neighbours and skips
+ * the first {@code n * pageSize}, so each request ranks only as many candidates as the
+ * pages read so far need rather than the whole cap up front. Results come back best first,
+ * and the scan stops at the first score below the threshold, at a short page, or once
+ * {@code maxCandidates} have been read. Only document ids are selected.
+ */
+public class AzureSimilarityScanner implements SimilarityScanner {
+    private static final String EMBEDDING_FIELD = "embedding";
+    private static final String ID_FIELD = "id";
+
+    private final SearchClient searchClient;
+    private final int maxCandidates;
+
+    public AzureSimilarityScanner(SearchClient searchClient, int maxCandidates) {
+        this.searchClient = searchClient;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public long scan(float[] query, double threshold, int pageSize, Consumer<List<ScoredId>> pageConsumer) {
+        List<Float> vector = new ArrayList<>(query.length);
+        for (float value : query) {
+            vector.add(value);
+        }
+
+        long delivered = 0;
+        for (int skip = 0; skip < maxCandidates; skip += pageSize) {
+            int top = Math.min(pageSize, maxCandidates - skip);
+            List<ScoredId> page = new ArrayList<>(top);
+            boolean belowThreshold = false;
+            for (SearchResult result : searchClient.search(null, pageOptions(vector, skip, top), Context.NONE)) {
+                if (result.getScore() < threshold) {
+                    belowThreshold = true;
+                    break;
+                }
+                page.add(new ScoredId(String.valueOf(result.getDocument(SearchDocument.class).get(ID_FIELD)), result.getScore()));
+            }
+            if (!page.isEmpty()) {
+                pageConsumer.accept(List.copyOf(page));
+                delivered += page.size();
+            }
+            if (belowThreshold || page.size() < top) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private static SearchOptions pageOptions(List<Float> vector, int skip, int top) {
+        return new SearchOptions()
+                .setVectorSearchOptions(new VectorSearchOptions().setQueries(new VectorizedQuery(vector)
+                        .setKNearestNeighborsCount(skip + top)
+                        .setFields(EMBEDDING_FIELD)))
+                .setSelect(ID_FIELD)
+                .setSkip(skip)
+                .setTop(top);
+    }
+}
@@ -0,0 +1,155 @@
+package com.upply.vector;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * {@link EmbeddingModel} decorator that caches vectors by a SHA-256 of the normalized text.
+ *
+ * <p>Lookups go through a bounded in-heap LRU first, then Redis; only texts missing from
+ * both reach the delegate (ONNX inference). Every vector store funnels through
+ * {@link #call(EmbeddingRequest)}, so indexing and query paths share the same cache.
+ */
+@Slf4j
+public class CachingEmbeddingModel implements EmbeddingModel {
+    private static final String KEY_PREFIX = "embedding:";
+
+    private final EmbeddingModel delegate;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final String namespace;
+    private final Duration ttl;
+    private final Map<String, float[]> localCache;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public CachingEmbeddingModel(EmbeddingModel delegate,
+                                 RedisTemplate<String, byte[]> redisTemplate,
+                                 MeterRegistry meterRegistry,
+                                 String namespace,
+                                 int maxLocalEntries,
+                                 Duration ttl) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.namespace = namespace;
+        this.ttl = ttl;
+        this.localCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > maxLocalEntries;
+            }
+        });
+        this.localHits = counter(meterRegistry, "local_hit");
+        this.redisHits = counter(meterRegistry, "redis_hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        float[][] vectors = new float[texts.size()][];
+
+        // identical texts within one batch are embedded once
+        Map<String, List<Integer>> missing = new LinkedHashMap<>();
+        Map<String, String> missingTexts = new HashMap<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            String key = cacheKey(texts.get(i));
+            float[] cached = lookup(key);
+            if (cached != null) {
+                vectors[i] = cached;
+            } else {
+                missing.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+                missingTexts.putIfAbsent(key, texts.get(i));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<String> keys = new ArrayList<>(missing.keySet());
+            List<String> batch = keys.stream().map(missingTexts::get).toList();
+
+            List<Embedding> results = delegate.call(new EmbeddingRequest(batch, request.getOptions())).getResults();
+
+            for (int j = 0; j < keys.size(); j++) {
+                float[] vector = results.get(j).getOutput();
+                store(keys.get(j), vector);
+                for (int index : missing.get(keys.get(j))) {
+                    vectors[index] = vector;
+                }
+            }
+            misses.increment(keys.size());
+        }
+
+        List<Embedding> embeddings = new ArrayList<>(vectors.length);
+        for (int i = 0; i < vectors.length; i++) {
+            embeddings.add(new Embedding(vectors[i], i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(getEmbeddingContent(document));
+    }
+
+    @Override
+    public String getEmbeddingContent(Document document) {
+        return delegate.getEmbeddingContent(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    private float[] lookup(String key) {
+        float[] local = localCache.get(key);
+        if (local != null) {
+            localHits.increment();
+            return local;
+        }
+        try {
+            byte[] bytes = redisTemplate.opsForValue().get(key);
+            if (bytes != null) {
+                float[] vector = VectorCodec.decode(bytes);
+                localCache.put(key, vector);
+                redisHits.increment();
+                return vector;
+            }
+        } catch (Exception e) {
+            log.warn("Embedding cache read failed for {}, embedding locally", key, e);
+        }
+        return null;
+    }
+
+    private void store(String key, float[] vector) {
+        localCache.put(key, vector);
+        try {
+            redisTemplate.opsForValue().set(key, VectorCodec.encode(vector), ttl);
+        } catch (Exception e) {
+            log.warn("Embedding cache write failed for {}", key, e);
+        }
+    }
+
+    private String cacheKey(String text) {
+        return KEY_PREFIX + namespace + ":" + ContentHash.sha256(text);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("upply.embedding.cache")
+                .description("Embedding lookups by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.upply.vector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Stable fingerprint of text that is about to be embedded. Whitespace is collapsed first
+ * so formatting-only differences map to the same hash. Raw bytes and files are hashed as they are.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static String sha256(String text) {
+        String normalized = text == null ? "" : text.strip().replaceAll("\\s+", " ");
+        return sha256(normalized.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String sha256(byte[] data) {
+        return HexFormat.of().formatHex(sha256Digest().digest(data));
+    }
+
+    public static String sha256(Path file) {
+        MessageDigest digest = sha256Digest();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Wraps a stream so the bytes read through it can be hashed afterwards with
+     * {@link #sha256(DigestInputStream)}, without a second pass.
+     */
+    public static DigestInputStream digesting(InputStream in) {
+        return new DigestInputStream(in, sha256Digest());
+    }
+
+    public static String sha256(DigestInputStream in) {
+        return HexFormat.of().formatHex(in.getMessageDigest().digest());
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.upply.vector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Stores the embedding of each job and user profile by id, so a match score can be
+ * computed locally from two vectors instead of a filtered similarity search.
+ *
+ * <p>Redis errors never propagate: a failed read is treated as a miss and callers
+ * fall back to re-embedding or to the search service.
+ */
+@Component
+@Slf4j
+public class DocumentVectorCache {
+    private static final String JOB_KEY_PREFIX = "vector:job:";
+    private static final String USER_KEY_PREFIX = "vector:user:";
+    private static final Duration TTL = Duration.ofDays(1);
+
+    private final RedisTemplate<String, byte[]> vectorRedisTemplate;
+
+    public DocumentVectorCache(@Qualifier("vectorRedisTemplate") RedisTemplate<String, byte[]> vectorRedisTemplate) {
+        this.vectorRedisTemplate = vectorRedisTemplate;
+    }
+
+    public Optional<float[]> getJobVector(Long jobId) {
+        return get(JOB_KEY_PREFIX + jobId);
+    }
+
+    public void putJobVector(Long jobId, float[] vector) {
+        put(JOB_KEY_PREFIX + jobId, vector);
+    }
+
+    public void evictJobVector(Long jobId) {
+        evict(JOB_KEY_PREFIX + jobId);
+    }
+
+    public Optional<float[]> getUserVector(Long userId) {
+        return get(USER_KEY_PREFIX + userId);
+    }
+
+    public void putUserVector(Long userId, float[] vector) {
+        put(USER_KEY_PREFIX + userId, vector);
+    }
+
+    public void evictUserVector(Long userId) {
+        evict(USER_KEY_PREFIX + userId);
+    }
+
+    private Optional<float[]> get(String key) {
+        try {
+            byte[] bytes = vectorRedisTemplate.opsForValue().get(key);
+            return bytes == null ? Optional.empty() : Optional.of(VectorCodec.decode(bytes));
+        } catch (Exception e) {
+            log.warn("Failed to read cached vector {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    private void put(String key, float[] vector) {
+        try {
+            vectorRedisTemplate.opsForValue().set(key, VectorCodec.encode(vector), TTL);
+        } catch (Exception e) {
+            log.warn("Failed to cache vector {}", key, e);
+        }
+    }
+
+    private void evict(String key) {
+        try {
+            vectorRedisTemplate.delete(key);
+        } catch (Exception e) {
+            log.warn("Failed to evict cached vector {}", key, e);
+        }
+    }
+}
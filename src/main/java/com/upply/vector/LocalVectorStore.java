@@ -0,0 +1,14 @@
+package com.upply.vector;
+
+import org.springframework.ai.vectorstore.VectorStore;
+
+/**
+ * A {@link VectorStore} held in-process and persisted to local files instead of Azure AI Search.
+ */
+public interface LocalVectorStore extends VectorStore {
+
+    /**
+     * Persists the store if documents changed since the last time it was written.
+     */
+    void snapshotIfDirty();
+}
@@ -0,0 +1,134 @@
+package com.upply.vector;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Evaluates Spring AI filter expressions against a document's metadata map.
+ *
+ * <p>Only declared filter fields may be referenced, mirroring the
+ * {@code filterMetadataFields} restriction of the Azure-backed stores.
+ */
+public final class MetadataFilter {
+
+    private final Set<String> filterableFields;
+
+    public MetadataFilter(Set<String> filterableFields) {
+        this.filterableFields = Set.copyOf(filterableFields);
+    }
+
+    public void validate(Filter.Operand operand) {
+        if (operand instanceof Filter.Expression expression) {
+            validate(expression.left());
+            if (expression.right() != null) {
+                validate(expression.right());
+            }
+        } else if (operand instanceof Filter.Group group) {
+            validate(group.content());
+        } else if (operand instanceof Filter.Key key) {
+            String name = unquote(key.key());
+            if (!filterableFields.contains(name)) {
+                throw new IllegalArgumentException("Not allowed filter identifier name: " + name);
+            }
+        }
+    }
+
+    public boolean matches(Filter.Operand operand, Map<String, Object> metadata) {
+        if (operand instanceof Filter.Group group) {
+            return matches(group.content(), metadata);
+        }
+        if (!(operand instanceof Filter.Expression expression)) {
+            throw new IllegalArgumentException("Unsupported filter operand: " + operand);
+        }
+        return switch (expression.type()) {
+            case AND -> matches(expression.left(), metadata) && matches(expression.right(), metadata);
+            case OR -> matches(expression.left(), metadata) || matches(expression.right(), metadata);
+            case NOT -> !matches(expression.left(), metadata);
+            case ISNULL -> value(expression, metadata) == null;
+            case ISNOTNULL -> value(expression, metadata) != null;
+            case EQ -> equal(value(expression, metadata), literal(expression));
+            case NE -> !equal(value(expression, metadata), literal(expression));
+            case GT -> compare(value(expression, metadata), literal(expression), c -> c > 0);
+            case GTE -> compare(value(expression, metadata), literal(expression), c -> c >= 0);
+            case LT -> compare(value(expression, metadata), literal(expression), c -> c < 0);
+            case LTE -> compare(value(expression, metadata), literal(expression), c -> c <= 0);
+            case IN -> contains(literal(expression), value(expression, metadata));
+            case NIN -> !contains(literal(expression), value(expression, metadata));
+        };
+    }
+
+    private Object value(Filter.Expression expression, Map<String, Object> metadata) {
+        if (!(expression.left() instanceof Filter.Key key)) {
+            throw new IllegalArgumentException("Filter comparison must start with a key: " + expression);
+        }
+        return metadata.get(unquote(key.key()));
+    }
+
+    private Object literal(Filter.Expression expression) {
+        if (!(expression.right() instanceof Filter.Value value)) {
+            throw new IllegalArgumentException("Filter comparison must end with a value: " + expression);
+        }
+        return value.value();
+    }
+
+    private boolean equal(Object actual, Object expected) {
+        if (actual == null || expected == null) {
+            return actual == expected;
+        }
+        if (actual instanceof Number || expected instanceof Number) {
+            Double left = toDouble(actual);
+            Double right = toDouble(expected);
+            if (left != null && right != null) {
+                return left.doubleValue() == right.doubleValue();
+            }
+        }
+        return Objects.equals(String.valueOf(actual), String.valueOf(expected));
+    }
+
+    private boolean compare(Object actual, Object expected, IntPredicate outcome) {
+        if (actual == null || expected == null) {
+            return false;
+        }
+        Double left = toDouble(actual);
+        Double right = toDouble(expected);
+        if (left != null && right != null) {
+            return outcome.test(Double.compare(left, right));
+        }
+        return outcome.test(String.valueOf(actual).compareTo(String.valueOf(expected)));
+    }
+
+    private boolean contains(Object values, Object actual) {
+        Collection<?> candidates = values instanceof Collection<?> collection ? collection : List.of(values);
+        for (Object candidate : candidates) {
+            if (equal(actual, candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return Double.valueOf(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String unquote(String key) {
+        if (key.length() > 1 && (key.startsWith("'") && key.endsWith("'")
+                || key.startsWith("\"") && key.endsWith("\""))) {
+            return key.substring(1, key.length() - 1);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,23 @@
+package com.upply.vector;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams every document scoring at or above a threshold against a query vector.
+ *
+ * <p>Unlike a top-k similarity search there is no cap on the number of results: matches
+ * are handed to the consumer page by page as ids and scores only, so callers can walk a
+ * large index while holding a single page in memory. Scores use the same scale as
+ * {@link org.springframework.ai.vectorstore.VectorStore#similaritySearch}.
+ */
+public interface SimilarityScanner {
+
+    /**
+     * @return the number of matches delivered
+     */
+    long scan(float[] query, double threshold, int pageSize, Consumer<List<ScoredId>> pageConsumer);
+
+    record ScoredId(String id, double score) {
+    }
+}
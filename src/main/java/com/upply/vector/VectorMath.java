@@ -0,0 +1,66 @@
+package com.upply.vector;
+
+import com.upply.vector.kernel.VectorKernels;
+
+/**
+ * Similarity primitives over raw embedding vectors.
+ *
+ * <p>Vectors are compared in-process instead of round-tripping to the search
+ * service when both sides are already known (e.g. scoring one application).
+ * The arithmetic runs on {@link VectorKernels#get()}.
+ */
+public final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    public static double dot(float[] a, float[] b) {
+        checkDimensions(a, b);
+        return VectorKernels.get().dot(a, 0, b, 0, a.length);
+    }
+
+    public static double cosine(float[] a, float[] b) {
+        checkDimensions(a, b);
+        return VectorKernels.get().cosine(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Scores one query against many vectors stored back to back in {@code block}
+     * (row {@code i} starts at {@code i * query.length}).
+     *
+     * @return the cosine similarity per row
+     */
+    public static float[] cosineBatch(float[] query, float[] block) {
+        if (query.length == 0 || block.length % query.length != 0) {
+            throw new IllegalArgumentException(
+                    "Block of " + block.length + " floats is not a whole number of " + query.length + "-d vectors");
+        }
+        int count = block.length / query.length;
+        float[] scores = new float[count];
+        VectorKernels.get().cosineBatch(query, block, count, scores);
+        return scores;
+    }
+
+    /**
+     * Converts a cosine similarity into the relevance score Azure AI Search reports
+     * for a cosine HNSW index ({@code 1 / (1 + cosineDistance)}), so locally computed
+     * scores stay comparable with the ones already persisted from vector searches.
+     */
+    public static double toSearchScore(double cosine) {
+        return 1.0 / (2.0 - cosine);
+    }
+
+    /**
+     * Inverse of {@link #toSearchScore(double)}; scores at or below zero map to the lowest cosine.
+     */
+    public static double fromSearchScore(double score) {
+        return score <= 0.0 ? -1.0 : 2.0 - 1.0 / score;
+    }
+
+    private static void checkDimensions(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException(
+                    "Vector dimensions differ: " + a.length + " != " + b.length);
+        }
+    }
+}
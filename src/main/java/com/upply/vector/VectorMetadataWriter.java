@@ -0,0 +1,14 @@
+package com.upply.vector;
+
+import java.util.Map;
+
+/**
+ * Partial update of stored documents' metadata without touching their text or embedding.
+ */
+public interface VectorMetadataWriter {
+
+    /**
+     * Replaces the metadata of each document, keyed by document id.
+     */
+    void updateMetadata(Map<String, Map<String, Object>> metadataById);
+}
@@ -0,0 +1,332 @@
+package com.upply.vector;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer in front of a {@link VectorStore}.
+ *
+ * <p>Upserts and deletes are queued after the surrounding transaction commits (or
+ * immediately outside a transaction) and applied by a background writer in batches
+ * of one {@code add(List)} and one {@code delete(List)} call, plus one partial
+ * metadata update when a {@link VectorMetadataWriter} is available. Pending writes are
+ * coalesced per document id so only the latest operation for a document is sent.
+ * The queue is bounded: when the store falls behind, producers wait at most
+ * {@code maxEnqueueWait} for room and then drop the write, so a slow search service
+ * never holds up the request that committed it.
+ */
+@Slf4j
+public class VectorWriteBuffer implements DisposableBean {
+
+    private final String name;
+    private final VectorStore vectorStore;
+    private final VectorMetadataWriter metadataWriter;
+    private final int capacity;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration linger;
+    private final Duration maxEnqueueWait;
+
+    private final LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Timer flushTimer;
+    private final Timer lagTimer;
+    private final Counter failedWrites;
+    private final Counter droppedWrites;
+
+    public VectorWriteBuffer(String name,
+                             VectorStore vectorStore,
+                             VectorMetadataWriter metadataWriter,
+                             MeterRegistry meterRegistry,
+                             int capacity,
+                             int batchSize,
+                             int maxAttempts,
+                             Duration retryBackoff,
+                             Duration linger,
+                             Duration maxEnqueueWait) {
+        this.name = name;
+        this.vectorStore = vectorStore;
+        this.metadataWriter = metadataWriter;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.linger = linger;
+        this.maxEnqueueWait = maxEnqueueWait;
+        this.flushTimer = Timer.builder("upply.vector.write.flush")
+                .description("Time to apply one batch to the vector store")
+                .tag("store", name)
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("upply.vector.write.lag")
+                .description("Time from enqueue until the write reached the vector store")
+                .tag("store", name)
+                .register(meterRegistry);
+        this.failedWrites = Counter.builder("upply.vector.write.failed")
+                .tag("store", name)
+                .register(meterRegistry);
+        this.droppedWrites = Counter.builder("upply.vector.write.dropped")
+                .description("Writes dropped because the queue stayed full")
+                .tag("store", name)
+                .register(meterRegistry);
+        meterRegistry.gauge("upply.vector.write.pending",
+                List.of(Tag.of("store", name)), pending, LinkedHashMap::size);
+        this.writer = Thread.ofVirtual()
+                .name("vector-writer-" + name)
+                .start(this::drainLoop);
+    }
+
+    public void upsert(Document document) {
+        upsert(List.of(document));
+    }
+
+    /**
+     * Upserts the document and runs {@code onApplied} on the writer thread once the store
+     * accepted it. It does not run if the write is given up on or superseded by a newer
+     * upsert or a delete of the same document before it was sent.
+     */
+    public void upsert(Document document, Runnable onApplied) {
+        submit(List.of(new PendingWrite(WriteType.UPSERT, document.getId(), document, null, onApplied, System.nanoTime())));
+    }
+
+    public void upsert(List<Document> documents) {
+        submit(documents.stream()
+                .map(document -> new PendingWrite(WriteType.UPSERT, document.getId(), document, null, null, System.nanoTime()))
+                .toList());
+    }
+
+    public void delete(String id) {
+        submit(List.of(new PendingWrite(WriteType.DELETE, id, null, null, null, System.nanoTime())));
+    }
+
+    public boolean supportsMetadataUpdates() {
+        return metadataWriter != null;
+    }
+
+    /**
+     * Replaces a stored document's metadata without re-embedding it.
+     */
+    public void updateMetadata(String id, Map<String, Object> metadata) {
+        if (metadataWriter == null) {
+            throw new UnsupportedOperationException("Vector store '" + name + "' does not support metadata updates");
+        }
+        submit(List.of(new PendingWrite(WriteType.METADATA, id, null, Map.copyOf(metadata), null, System.nanoTime())));
+    }
+
+    /**
+     * Flushes everything still queued before the context shuts down.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        writer.join(Duration.ofSeconds(30));
+        List<PendingWrite> remaining;
+        while (!(remaining = nextBatch(false)).isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    private void submit(List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(writes);
+                }
+            });
+        } else {
+            enqueue(writes);
+        }
+    }
+
+    /**
+     * Queues the writes, waiting at most {@code maxEnqueueWait} in total for room. Writes
+     * that still do not fit are dropped; their upsert callbacks never run, so the next
+     * store of the same content writes it again.
+     */
+    private void enqueue(List<PendingWrite> writes) {
+        List<String> dropped = new ArrayList<>();
+        lock.lock();
+        try {
+            long remaining = maxEnqueueWait.toNanos();
+            for (PendingWrite write : writes) {
+                // a newer write for the same document replaces the queued one and moves to the back
+                PendingWrite previous = pending.remove(write.id());
+                while (previous == null && pending.size() >= capacity && running && remaining > 0) {
+                    remaining = notFull.awaitNanos(remaining);
+                }
+                if (previous == null && pending.size() >= capacity) {
+                    dropped.add(write.id());
+                    continue;
+                }
+                pending.put(write.id(), previous == null ? write : write.after(previous));
+            }
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing {} vector writes for '{}'", writes.size(), name);
+        } finally {
+            lock.unlock();
+        }
+        if (!dropped.isEmpty()) {
+            droppedWrites.increment(dropped.size());
+            log.warn("Vector write queue for '{}' stayed full for {} ms, dropped writes for {}",
+                    name, maxEnqueueWait.toMillis(), dropped);
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            List<PendingWrite> batch = nextBatch(true);
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    private List<PendingWrite> nextBatch(boolean wait) {
+        lock.lock();
+        try {
+            if (wait) {
+                while (pending.isEmpty() && running) {
+                    notEmpty.await();
+                }
+                // give a burst of edits a moment to coalesce into the same batch
+                long remaining = linger.toNanos();
+                while (pending.size() < batchSize && running && remaining > 0) {
+                    remaining = notEmpty.awaitNanos(remaining);
+                }
+            }
+            List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<PendingWrite> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            notFull.signalAll();
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return List.of();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<Document> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        Map<String, Map<String, Object>> metadataUpdates = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            switch (write.type()) {
+                case UPSERT -> upserts.add(write.document());
+                case DELETE -> deletes.add(write.id());
+                case METADATA -> metadataUpdates.put(write.id(), write.metadata());
+            }
+        }
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                flushTimer.record(() -> {
+                    if (!deletes.isEmpty()) {
+                        vectorStore.delete(deletes);
+                    }
+                    if (!upserts.isEmpty()) {
+                        vectorStore.add(upserts);
+                    }
+                    if (!metadataUpdates.isEmpty()) {
+                        metadataWriter.updateMetadata(metadataUpdates);
+                    }
+                });
+                long now = System.nanoTime();
+                batch.forEach(write -> lagTimer.record(now - write.enqueuedAt(), TimeUnit.NANOSECONDS));
+                log.debug("Flushed {} upserts, {} deletes and {} metadata updates to '{}'",
+                        upserts.size(), deletes.size(), metadataUpdates.size(), name);
+                batch.forEach(this::applied);
+                return;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    failedWrites.increment(batch.size());
+                    log.error("Giving up on {} vector writes for '{}' after {} attempts: {}",
+                            batch.size(), name, attempt, batch.stream().map(PendingWrite::id).toList(), e);
+                    return;
+                }
+                log.warn("Vector write batch for '{}' failed (attempt {}/{}), retrying", name, attempt, maxAttempts, e);
+                try {
+                    Thread.sleep(retryBackoff.multipliedBy(1L << (attempt - 1)));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void applied(PendingWrite write) {
+        if (write.onApplied() == null) {
+            return;
+        }
+        try {
+            write.onApplied().run();
+        } catch (Exception e) {
+            log.warn("Callback after writing '{}' to '{}' failed", write.id(), name, e);
+        }
+    }
+
+    private enum WriteType {
+        UPSERT, DELETE, METADATA
+    }
+
+    private record PendingWrite(WriteType type, String id, Document document, Map<String, Object> metadata,
+                                Runnable onApplied, long enqueuedAt) {
+
+        /**
+         * Folds this write over one still queued for the same document. A metadata update
+         * rides along with a queued upsert and is dropped after a queued delete.
+         */
+        PendingWrite after(PendingWrite previous) {
+            if (type == WriteType.METADATA && previous.type() == WriteType.UPSERT) {
+                Document merged = previous.document().mutate().metadata(metadata).build();
+                return new PendingWrite(WriteType.UPSERT, id, merged, null, previous.onApplied(), previous.enqueuedAt());
+            }
+            if (type == WriteType.METADATA && previous.type() == WriteType.DELETE) {
+                return previous;
+            }
+            return new PendingWrite(type, id, document, metadata, onApplied, previous.enqueuedAt());
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package com.upply.vector.hnsw;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical navigable small world graph over unit-normalised vectors.
+ *
+ * <p>Vectors and the dense layer-0 adjacency lists live in direct buffers so a
+ * large index does not inflate the heap; the sparse upper layers stay on-heap.
+ * Removed nodes are tombstoned and keep routing traffic until the owner rebuilds.
+ * Each direct buffer is int-indexed and at most 2 GB, which caps the node count per
+ * dimension size; {@link #add} fails once that cap is reached.
+ * Not thread-safe: callers guard writes with their own lock.
+ */
+final class HnswGraph {
+
+    private static final int SNAPSHOT_MAGIC = 0x484E5357;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_LEVEL = 16;
+
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final int maxCapacity;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private int capacity;
+    private FloatBuffer vectors;
+    private IntBuffer baseLinks;
+    private int[][] upperLinks;
+    private int[] levels;
+    private final BitSet deleted = new BitSet();
+
+    private int size;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswGraph(int dimensions, int m, int efConstruction) {
+        if (dimensions <= 0 || m < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("Invalid HNSW parameters: dimensions=" + dimensions
+                    + ", m=" + m + ", efConstruction=" + efConstruction);
+        }
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.maxCapacity = maxCapacity(dimensions, maxM0);
+        if (maxCapacity < 1) {
+            throw new IllegalArgumentException("HNSW dimensions too large for a direct buffer: " + dimensions);
+        }
+        allocate(Math.min(INITIAL_CAPACITY, maxCapacity));
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int liveCount() {
+        return size - deletedCount;
+    }
+
+    int deletedCount() {
+        return deletedCount;
+    }
+
+    /**
+     * Most nodes a graph can hold before a vector or link buffer would pass 2 GB.
+     */
+    static int maxCapacity(int dimensions, int maxM0) {
+        long perVectorBuffer = Integer.MAX_VALUE / ((long) dimensions * Float.BYTES);
+        long perLinkBuffer = Integer.MAX_VALUE / ((long) (1 + maxM0) * Integer.BYTES);
+        return (int) Math.min(perVectorBuffer, perLinkBuffer);
+    }
+
+    boolean isDeleted(int node) {
+        return deleted.get(node);
+    }
+
+    /**
+     * Inserts a vector and returns its node id; ids are dense and assigned in insertion order.
+     */
+    int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException(
+                    "Vector dimensions differ: " + vector.length + " != " + dimensions);
+        }
+        float[] query = normalize(vector);
+        ensureCapacity(size + 1);
+        int node = size++;
+        vectors.put(vectorOffset(node), query);
+        int level = randomLevel();
+        levels[node] = level;
+        upperLinks[node] = level > 0 ? new int[level * (m + 1)] : null;
+        baseLinks.put(baseOffset(node), 0);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            List<Candidate> candidates = searchLayer(query, current, efConstruction, layer, null);
+            int maxLinks = layer == 0 ? maxM0 : m;
+            List<Candidate> neighbours = selectNeighbours(candidates, maxLinks);
+            setLinks(node, layer, neighbours);
+            for (Candidate neighbour : neighbours) {
+                link(neighbour.node(), node, layer, maxLinks);
+            }
+            current = candidates.get(0).node();
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+        return node;
+    }
+
+    void markDeleted(int node) {
+        if (!deleted.get(node)) {
+            deleted.set(node);
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Returns up to {@code k} live nodes accepted by {@code filter}, best match first.
+     * Rejected and deleted nodes are still traversed so selective filters do not strand the search.
+     */
+    List<Candidate> search(float[] vector, int k, int ef, IntPredicate filter) {
+        if (liveCount() == 0 || k <= 0) {
+            return List.of();
+        }
+        float[] query = normalize(vector);
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        IntPredicate accept = node -> !deleted.get(node) && (filter == null || filter.test(node));
+        List<Candidate> results = searchLayer(query, current, Math.max(ef, k), 0, accept);
+        return results.size() > k ? results.subList(0, k) : results;
+    }
+
+    /**
+     * Cosine similarity between a stored node and an arbitrary vector.
+     */
+    double similarity(int node, float[] vector) {
+        return dot(node, normalize(vector));
+    }
+
+    /**
+     * Same as {@link #similarity} for a query already passed through {@link #normalize},
+     * so exhaustive scans normalize once instead of per node.
+     */
+    double unitSimilarity(int node, float[] unitQuery) {
+        return dot(node, unitQuery);
+    }
+
+    float[] vector(int node) {
+        float[] copy = new float[dimensions];
+        vectors.get(vectorOffset(node), copy);
+        return copy;
+    }
+
+    /**
+     * Independent copy of the current state, so a snapshot can be written while the
+     * original keeps taking writes.
+     */
+    HnswGraph copy() {
+        HnswGraph copy = new HnswGraph(dimensions, m, efConstruction);
+        copy.ensureCapacity(size);
+        copy.vectors.put(0, vectors, 0, vectorOffset(size));
+        copy.baseLinks.put(0, baseLinks, 0, baseOffset(size));
+        for (int node = 0; node < size; node++) {
+            copy.upperLinks[node] = upperLinks[node] == null ? null : upperLinks[node].clone();
+        }
+        System.arraycopy(levels, 0, copy.levels, 0, size);
+        copy.deleted.or(deleted);
+        copy.size = size;
+        copy.deletedCount = deletedCount;
+        copy.entryPoint = entryPoint;
+        copy.maxLevel = maxLevel;
+        return copy;
+    }
+
+    long snapshotSize() {
+        long bytes = 9L * Integer.BYTES;
+        bytes += (long) size * dimensions * Float.BYTES;
+        bytes += (long) size * (1 + maxM0) * Integer.BYTES;
+        for (int node = 0; node < size; node++) {
+            bytes += 2L * Integer.BYTES + (long) levels[node] * (m + 1) * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the graph in the big-endian snapshot layout; {@code out} should be buffered.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(dimensions);
+        out.writeInt(m);
+        out.writeInt(efConstruction);
+        out.writeInt(size);
+        out.writeInt(entryPoint);
+        out.writeInt(maxLevel);
+        out.writeInt(deletedCount);
+        for (int i = 0, n = vectorOffset(size); i < n; i++) {
+            out.writeFloat(vectors.get(i));
+        }
+        for (int i = 0, n = baseOffset(size); i < n; i++) {
+            out.writeInt(baseLinks.get(i));
+        }
+        for (int node = 0; node < size; node++) {
+            out.writeInt(levels[node]);
+            out.writeInt(deleted.get(node) ? 1 : 0);
+            if (upperLinks[node] != null) {
+                for (int value : upperLinks[node]) {
+                    out.writeInt(value);
+                }
+            }
+        }
+    }
+
+    static HnswGraph readFrom(DataInput in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IllegalStateException("Not an HNSW snapshot or unsupported version");
+        }
+        HnswGraph graph = new HnswGraph(in.readInt(), in.readInt(), in.readInt());
+        int size = in.readInt();
+        graph.ensureCapacity(size);
+        graph.size = size;
+        graph.entryPoint = in.readInt();
+        graph.maxLevel = in.readInt();
+        graph.deletedCount = in.readInt();
+        for (int i = 0, n = graph.vectorOffset(size); i < n; i++) {
+            graph.vectors.put(i, in.readFloat());
+        }
+        for (int i = 0, n = graph.baseOffset(size); i < n; i++) {
+            graph.baseLinks.put(i, in.readInt());
+        }
+        for (int node = 0; node < size; node++) {
+            int level = in.readInt();
+            graph.levels[node] = level;
+            if (in.readInt() != 0) {
+                graph.deleted.set(node);
+            }
+            if (level > 0) {
+                int[] links = new int[level * (graph.m + 1)];
+                for (int i = 0; i < links.length; i++) {
+                    links[i] = in.readInt();
+                }
+                graph.upperLinks[node] = links;
+            }
+        }
+        return graph;
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        double best = dot(current, query);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbour : neighbours(current, layer)) {
+                double score = dot(neighbour, query);
+                if (score > best) {
+                    best = score;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first beam search on one layer; when {@code accept} is set only accepted nodes
+     * enter the result set but every node may be expanded.
+     */
+    private List<Candidate> searchLayer(float[] query, int start, int ef, int layer, IntPredicate accept) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(Candidate.BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(Candidate.WORST_FIRST);
+
+        Candidate first = new Candidate(start, dot(start, query));
+        visited.set(start);
+        frontier.add(first);
+        if (accept == null || accept.test(start)) {
+            results.add(first);
+        }
+
+        while (!frontier.isEmpty()) {
+            Candidate candidate = frontier.poll();
+            if (results.size() >= ef && candidate.score() < results.peek().score()) {
+                break;
+            }
+            for (int neighbour : neighbours(candidate.node(), layer)) {
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                double score = dot(neighbour, query);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Candidate next = new Candidate(neighbour, score);
+                    frontier.add(next);
+                    if (accept == null || accept.test(neighbour)) {
+                        results.add(next);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Candidate> ordered = new ArrayList<>(results);
+        ordered.sort(Candidate.BEST_FIRST);
+        return ordered;
+    }
+
+    /**
+     * Neighbour-selection heuristic from the HNSW paper: keep a candidate only if it is closer
+     * to the base than to any neighbour already kept, then top up with the closest rejects.
+     */
+    private List<Candidate> selectNeighbours(List<Candidate> candidates, int maxLinks) {
+        if (candidates.size() <= maxLinks) {
+            return candidates;
+        }
+        List<Candidate> selected = new ArrayList<>(maxLinks);
+        List<Candidate> rejected = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (selected.size() >= maxLinks) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate kept : selected) {
+                if (dot(candidate.node(), kept.node()) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : rejected).add(candidate);
+        }
+        for (int i = 0; i < rejected.size() && selected.size() < maxLinks; i++) {
+            selected.add(rejected.get(i));
+        }
+        return selected;
+    }
+
+    private void link(int from, int to, int layer, int maxLinks) {
+        int[] existing = neighbours(from, layer);
+        if (existing.length < maxLinks) {
+            int[] grown = new int[existing.length + 1];
+            System.arraycopy(existing, 0, grown, 0, existing.length);
+            grown[existing.length] = to;
+            writeLinks(from, layer, grown);
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>(existing.length + 1);
+        candidates.add(new Candidate(to, dot(from, to)));
+        for (int neighbour : existing) {
+            candidates.add(new Candidate(neighbour, dot(from, neighbour)));
+        }
+        candidates.sort(Candidate.BEST_FIRST);
+        setLinks(from, layer, selectNeighbours(candidates, maxLinks));
+    }
+
+    private void setLinks(int node, int layer, List<Candidate> neighbours) {
+        int[] ids = new int[neighbours.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = neighbours.get(i).node();
+        }
+        writeLinks(node, layer, ids);
+    }
+
+    private void writeLinks(int node, int layer, int[] ids) {
+        if (layer == 0) {
+            int offset = baseOffset(node);
+            baseLinks.put(offset, ids.length);
+            baseLinks.put(offset + 1, ids);
+        } else {
+            int[] links = upperLinks[node];
+            int offset = (layer - 1) * (m + 1);
+            links[offset] = ids.length;
+            System.arraycopy(ids, 0, links, offset + 1, ids.length);
+        }
+    }
+
+    private int[] neighbours(int node, int layer) {
+        if (layer == 0) {
+            int offset = baseOffset(node);
+            int[] ids = new int[baseLinks.get(offset)];
+            baseLinks.get(offset + 1, ids);
+            return ids;
+        }
+        int[] links = upperLinks[node];
+        int offset = (layer - 1) * (m + 1);
+        int[] ids = new int[links[offset]];
+        System.arraycopy(links, offset + 1, ids, 0, ids.length);
+        return ids;
+    }
+
+    private double dot(int node, float[] query) {
+        int base = vectorOffset(node);
+        double sum = 0.0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vectors.get(base + i) * query[i];
+        }
+        return sum;
+    }
+
+    private double dot(int a, int b) {
+        int baseA = vectorOffset(a);
+        int baseB = vectorOffset(b);
+        double sum = 0.0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vectors.get(baseA + i) * vectors.get(baseB + i);
+        }
+        return sum;
+    }
+
+    // long products so an offset past the int range fails instead of wrapping
+    private int vectorOffset(int node) {
+        return Math.toIntExact((long) node * dimensions);
+    }
+
+    private int baseOffset(int node) {
+        return Math.toIntExact((long) node * (1 + maxM0));
+    }
+
+    private int randomLevel() {
+        double level = -Math.log(1.0 - random.nextDouble()) * levelMultiplier;
+        return Math.min((int) level, MAX_LEVEL);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        if (required > maxCapacity) {
+            throw new IllegalStateException("HNSW graph cannot hold " + required + " nodes of "
+                    + dimensions + " dimensions, the limit is " + maxCapacity);
+        }
+        long newCapacity = capacity;
+        while (newCapacity < required) {
+            newCapacity *= 2;
+        }
+        FloatBuffer oldVectors = vectors;
+        IntBuffer oldLinks = baseLinks;
+        int[][] oldUpper = upperLinks;
+        int[] oldLevels = levels;
+        allocate((int) Math.min(newCapacity, maxCapacity));
+        vectors.put(0, oldVectors, 0, vectorOffset(size));
+        baseLinks.put(0, oldLinks, 0, baseOffset(size));
+        System.arraycopy(oldUpper, 0, upperLinks, 0, size);
+        System.arraycopy(oldLevels, 0, levels, 0, size);
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        vectors = ByteBuffer.allocateDirect(Math.toIntExact((long) newCapacity * dimensions * Float.BYTES))
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        baseLinks = ByteBuffer.allocateDirect(Math.toIntExact((long) newCapacity * (1 + maxM0) * Integer.BYTES))
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+        upperLinks = new int[newCapacity][];
+        levels = new int[newCapacity];
+    }
+
+    static float[] normalize(float[] vector) {
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0.0) {
+            return vector.clone();
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        float[] unit = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = vector[i] * scale;
+        }
+        return unit;
+    }
+
+    record Candidate(int node, double score) {
+        static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::score).reversed();
+        static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::score);
+    }
+}
@@ -0,0 +1,28 @@
+package com.upply.vector.hnsw;
+
+import com.upply.vector.LocalVectorStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically persists in-process vector stores so a crash loses at most one interval of writes.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class HnswSnapshotScheduler {
+    private final List<VectorStore> vectorStores;
+
+    @Scheduled(fixedDelayString = "${app.vector-store.hnsw.snapshot-interval-ms}")
+    public void snapshot() {
+        vectorStores.stream()
+                .filter(LocalVectorStore.class::isInstance)
+                .map(LocalVectorStore.class::cast)
+                .forEach(LocalVectorStore::snapshotIfDirty);
+    }
+}
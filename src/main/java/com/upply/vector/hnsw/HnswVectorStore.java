@@ -0,0 +1,391 @@
+package com.upply.vector.hnsw;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.vector.LocalVectorStore;
+import com.upply.vector.MetadataFilter;
+import com.upply.vector.SimilarityScanner;
+import com.upply.vector.VectorMath;
+import com.upply.vector.VectorMetadataWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link VectorStore} backed by an off-heap HNSW graph.
+ *
+ * <p>Drop-in alternative to the Azure-backed stores for single-node deployments and
+ * offline load tests. Scores use the same {@code 1 / (1 + cosineDistance)} scale as
+ * Azure AI Search so existing similarity thresholds keep their meaning. The graph and
+ * documents are persisted to a snapshot file and reloaded on startup.
+ */
+@Slf4j
+public class HnswVectorStore implements LocalVectorStore, VectorMetadataWriter, SimilarityScanner,
+        InitializingBean, DisposableBean {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<StoredDocument>> DOCUMENTS_TYPE = new TypeReference<>() {
+    };
+    // nodes examined per read-lock hold during a scan, so writers are not starved
+    private static final int SCAN_STRIDE = 4096;
+    private static final int SNAPSHOT_BUFFER_BYTES = 1 << 20;
+
+    private final String name;
+    private final EmbeddingModel embeddingModel;
+    private final MetadataFilter metadataFilter;
+    private final Path snapshotFile;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // one snapshot at a time, so the scheduler and shutdown do not share the temp file
+    private final Object snapshotMonitor = new Object();
+
+    private HnswGraph graph;
+    private final List<StoredDocument> documents = new ArrayList<>();
+    private final Map<String, Integer> nodesById = new HashMap<>();
+    private volatile boolean dirty;
+    // compaction renumbers nodes, so it waits while a scan is walking them by position
+    private final AtomicInteger activeScans = new AtomicInteger();
+
+    public HnswVectorStore(String name,
+                           EmbeddingModel embeddingModel,
+                           Set<String> filterableFields,
+                           Path snapshotFile,
+                           int m,
+                           int efConstruction,
+                           int efSearch) {
+        this.name = name;
+        this.embeddingModel = embeddingModel;
+        this.metadataFilter = new MetadataFilter(filterableFields);
+        this.snapshotFile = snapshotFile;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            load();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        snapshot();
+    }
+
+    @Override
+    public void add(List<Document> documentsToAdd) {
+        if (documentsToAdd == null || documentsToAdd.isEmpty()) {
+            return;
+        }
+        List<String> texts = documentsToAdd.stream()
+                .map(embeddingModel::getEmbeddingContent)
+                .toList();
+        List<float[]> vectors = embeddingModel.embed(texts);
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < documentsToAdd.size(); i++) {
+                Document document = documentsToAdd.get(i);
+                float[] vector = vectors.get(i);
+                if (graph == null) {
+                    graph = new HnswGraph(vector.length, m, efConstruction);
+                }
+                removeNode(document.getId());
+                int node = graph.add(vector);
+                documents.add(new StoredDocument(document.getId(), document.getText(),
+                        new HashMap<>(document.getMetadata())));
+                nodesById.put(document.getId(), node);
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        lock.writeLock().lock();
+        try {
+            idList.forEach(this::removeNode);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        metadataFilter.validate(filterExpression);
+        lock.writeLock().lock();
+        try {
+            List<String> matching = nodesById.entrySet().stream()
+                    .filter(entry -> metadataFilter.matches(filterExpression,
+                            documents.get(entry.getValue()).metadata()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            matching.forEach(this::removeNode);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateMetadata(Map<String, Map<String, Object>> metadataById) {
+        lock.writeLock().lock();
+        try {
+            metadataById.forEach((id, metadata) -> {
+                Integer node = nodesById.get(id);
+                if (node != null) {
+                    StoredDocument stored = documents.get(node);
+                    documents.set(node, new StoredDocument(id, stored.text(), new HashMap<>(metadata)));
+                }
+            });
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        Filter.Expression filter = request.getFilterExpression();
+        if (filter != null) {
+            metadataFilter.validate(filter);
+        }
+        float[] query = embeddingModel.embed(request.getQuery());
+
+        lock.readLock().lock();
+        try {
+            if (graph == null) {
+                return List.of();
+            }
+            List<HnswGraph.Candidate> candidates = graph.search(query, request.getTopK(),
+                    Math.max(efSearch, request.getTopK()),
+                    filter == null ? null : node -> metadataFilter.matches(filter, documents.get(node).metadata()));
+
+            List<Document> results = new ArrayList<>(candidates.size());
+            for (HnswGraph.Candidate candidate : candidates) {
+                double score = VectorMath.toSearchScore(candidate.score());
+                if (score < request.getSimilarityThreshold()) {
+                    continue;
+                }
+                StoredDocument stored = documents.get(candidate.node());
+                results.add(Document.builder()
+                        .id(stored.id())
+                        .text(stored.text())
+                        .metadata(new HashMap<>(stored.metadata()))
+                        .score(score)
+                        .build());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exhaustive scan over all live nodes; documents added while the scan runs are
+     * picked up if they land behind the cursor.
+     */
+    @Override
+    public long scan(float[] query, double threshold, int pageSize, Consumer<List<ScoredId>> pageConsumer) {
+        float[] unitQuery = HnswGraph.normalize(query);
+        activeScans.incrementAndGet();
+        try {
+            long delivered = 0;
+            int cursor = 0;
+            boolean exhausted = false;
+            List<ScoredId> page = new ArrayList<>(pageSize);
+            while (!exhausted) {
+                lock.readLock().lock();
+                try {
+                    int size = graph == null ? 0 : graph.size();
+                    int end = Math.min(size, cursor + SCAN_STRIDE);
+                    while (cursor < end && page.size() < pageSize) {
+                        int node = cursor++;
+                        if (graph.isDeleted(node)) {
+                            continue;
+                        }
+                        double score = VectorMath.toSearchScore(graph.unitSimilarity(node, unitQuery));
+                        if (score >= threshold) {
+                            page.add(new ScoredId(documents.get(node).id(), score));
+                        }
+                    }
+                    exhausted = cursor >= size;
+                } finally {
+                    lock.readLock().unlock();
+                }
+                if (page.size() == pageSize || (exhausted && !page.isEmpty())) {
+                    pageConsumer.accept(List.copyOf(page));
+                    delivered += page.size();
+                    page.clear();
+                }
+            }
+            return delivered;
+        } finally {
+            activeScans.decrementAndGet();
+        }
+    }
+
+    /**
+     * Writes the snapshot only when documents changed since the last one.
+     */
+    @Override
+    public void snapshotIfDirty() {
+        if (dirty) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Persists the graph and documents. The state is copied under the read lock, so
+     * writers only wait for the copy; serialization and the streamed file write run
+     * unlocked into a temporary sibling that is atomically moved into place.
+     */
+    public void snapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        synchronized (snapshotMonitor) {
+            compactIfWorthwhile();
+            HnswGraph graphCopy;
+            List<StoredDocument> documentsCopy;
+            int liveDocuments;
+            lock.readLock().lock();
+            try {
+                if (graph == null) {
+                    return;
+                }
+                graphCopy = graph.copy();
+                documentsCopy = List.copyOf(documents);
+                liveDocuments = nodesById.size();
+                // writes after this point mark the store dirty again
+                dirty = false;
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            try {
+                byte[] documentBytes = MAPPER.writeValueAsBytes(documentsCopy);
+                Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+                Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp), SNAPSHOT_BUFFER_BYTES))) {
+                    out.writeLong(graphCopy.snapshotSize());
+                    graphCopy.writeTo(out);
+                    out.writeInt(documentBytes.length);
+                    out.write(documentBytes);
+                }
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Snapshot of vector store '{}' written: {} documents", name, liveDocuments);
+            } catch (IOException e) {
+                dirty = true;
+                log.error("Failed to snapshot vector store '{}' to {}", name, snapshotFile, e);
+            }
+        }
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile), SNAPSHOT_BUFFER_BYTES))) {
+            in.readLong();
+            graph = HnswGraph.readFrom(in);
+            byte[] documentBytes = new byte[in.readInt()];
+            in.readFully(documentBytes);
+
+            documents.clear();
+            nodesById.clear();
+            documents.addAll(MAPPER.readValue(documentBytes, DOCUMENTS_TYPE));
+            for (int node = 0; node < documents.size(); node++) {
+                if (!graph.isDeleted(node)) {
+                    nodesById.put(documents.get(node).id(), node);
+                }
+            }
+            log.info("Vector store '{}' restored {} documents from {}", name, nodesById.size(), snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to restore vector store '{}' from {}, starting empty", name, snapshotFile, e);
+            graph = null;
+            documents.clear();
+            nodesById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactIfWorthwhile() {
+        lock.writeLock().lock();
+        try {
+            if (graph != null && activeScans.get() == 0 && graph.deletedCount() > graph.liveCount() / 4) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the graph from the stored vectors so tombstoned nodes stop costing memory and hops.
+     */
+    private void compact() {
+        HnswGraph rebuilt = new HnswGraph(graph.dimensions(), m, efConstruction);
+        List<StoredDocument> live = new ArrayList<>(nodesById.size());
+        Map<String, Integer> liveIds = new HashMap<>();
+        for (int node = 0; node < documents.size(); node++) {
+            if (graph.isDeleted(node)) {
+                continue;
+            }
+            StoredDocument document = documents.get(node);
+            liveIds.put(document.id(), rebuilt.add(graph.vector(node)));
+            live.add(document);
+        }
+        graph = rebuilt;
+        documents.clear();
+        documents.addAll(live);
+        nodesById.clear();
+        nodesById.putAll(liveIds);
+    }
+
+    private void removeNode(String id) {
+        Integer node = nodesById.remove(id);
+        if (node != null) {
+            graph.markDeleted(node);
+        }
+    }
+
+    private record StoredDocument(String id, String text, Map<String, Object> metadata) {
+    }
+}
@@ -45,6 +45,8 @@ public class ResumeIndexSchema implements IndexSchema {
                         .setVectorSearchDimensions(vectorDimensions())
                         .setVectorSearchProfileName(vectorProfile()),
                 new SearchField("metadata", SearchFieldDataType.STRING),
+                new SearchField("meta_resumeId", SearchFieldDataType.STRING).setFilterable(true),
+                // chunks embedded per application before they were shared per resume
                 new SearchField("meta_applicationId", SearchFieldDataType.STRING).setFilterable(true),
                 new SearchField("meta_jobId", SearchFieldDataType.STRING).setFilterable(true),
                 new SearchField("meta_userId", SearchFieldDataType.STRING).setFilterable(true),
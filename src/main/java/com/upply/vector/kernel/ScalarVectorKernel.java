@@ -0,0 +1,73 @@
+package com.upply.vector.kernel;
+
+/**
+ * Plain-loop kernel used when the Vector API module is not available.
+ */
+final class ScalarVectorKernel implements VectorKernel {
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float cosine(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float dot = 0f;
+        float normA = 0f;
+        float normB = 0f;
+        for (int i = 0; i < length; i++) {
+            float x = a[aOffset + i];
+            float y = b[bOffset + i];
+            dot += x * y;
+            normA += x * x;
+            normB += y * y;
+        }
+        return VectorKernels.cosine(dot, normA, normB);
+    }
+
+    @Override
+    public void dotBatch(float[] query, float[] block, int count, float[] out) {
+        int dimensions = query.length;
+        for (int row = 0; row < count; row++) {
+            out[row] = dot(query, 0, block, row * dimensions, dimensions);
+        }
+    }
+
+    @Override
+    public void cosineBatch(float[] query, float[] block, int count, float[] out) {
+        int dimensions = query.length;
+        float queryNorm = dot(query, 0, query, 0, dimensions);
+        for (int row = 0; row < count; row++) {
+            int offset = row * dimensions;
+            float dot = 0f;
+            float rowNorm = 0f;
+            for (int i = 0; i < dimensions; i++) {
+                float y = block[offset + i];
+                dot += query[i] * y;
+                rowNorm += y * y;
+            }
+            out[row] = VectorKernels.cosine(dot, queryNorm, rowNorm);
+        }
+    }
+
+    @Override
+    public int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void dotBatch(byte[] query, byte[] block, int count, int[] out) {
+        int dimensions = query.length;
+        for (int row = 0; row < count; row++) {
+            out[row] = dot(query, 0, block, row * dimensions, dimensions);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.upply.vector.kernel;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel on the incubating Vector API, using the widest float shape the CPU supports.
+ *
+ * <p>Batches score four rows per pass so each query lane is loaded once for all four.
+ * Only loaded by {@link VectorKernels} after it has checked that the module is present.
+ */
+final class SimdVectorKernel implements VectorKernel {
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    // int8 lanes are widened eight at a time into one 256-bit or two 128-bit int vectors
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_64;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED.vectorBitSize() >= 256
+            ? IntVector.SPECIES_256
+            : IntVector.SPECIES_128;
+    private static final int INT_PARTS = BYTES.length() / INTS.length();
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        for (int bound = FLOATS.loopBound(length); i < bound; i += FLOATS.length()) {
+            FloatVector x = FloatVector.fromArray(FLOATS, a, aOffset + i);
+            FloatVector y = FloatVector.fromArray(FLOATS, b, bOffset + i);
+            acc = x.fma(y, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float cosine(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector dotAcc = FloatVector.zero(FLOATS);
+        FloatVector normAAcc = FloatVector.zero(FLOATS);
+        FloatVector normBAcc = FloatVector.zero(FLOATS);
+        int i = 0;
+        for (int bound = FLOATS.loopBound(length); i < bound; i += FLOATS.length()) {
+            FloatVector x = FloatVector.fromArray(FLOATS, a, aOffset + i);
+            FloatVector y = FloatVector.fromArray(FLOATS, b, bOffset + i);
+            dotAcc = x.fma(y, dotAcc);
+            normAAcc = x.fma(x, normAAcc);
+            normBAcc = y.fma(y, normBAcc);
+        }
+        float dot = dotAcc.reduceLanes(VectorOperators.ADD);
+        float normA = normAAcc.reduceLanes(VectorOperators.ADD);
+        float normB = normBAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            float x = a[aOffset + i];
+            float y = b[bOffset + i];
+            dot += x * y;
+            normA += x * x;
+            normB += y * y;
+        }
+        return VectorKernels.cosine(dot, normA, normB);
+    }
+
+    @Override
+    public void dotBatch(float[] query, float[] block, int count, float[] out) {
+        int dimensions = query.length;
+        int bound = FLOATS.loopBound(dimensions);
+        int row = 0;
+        for (; row + 4 <= count; row += 4) {
+            int o0 = row * dimensions;
+            int o1 = o0 + dimensions;
+            int o2 = o1 + dimensions;
+            int o3 = o2 + dimensions;
+            FloatVector acc0 = FloatVector.zero(FLOATS);
+            FloatVector acc1 = FloatVector.zero(FLOATS);
+            FloatVector acc2 = FloatVector.zero(FLOATS);
+            FloatVector acc3 = FloatVector.zero(FLOATS);
+            int i = 0;
+            for (; i < bound; i += FLOATS.length()) {
+                FloatVector q = FloatVector.fromArray(FLOATS, query, i);
+                acc0 = q.fma(FloatVector.fromArray(FLOATS, block, o0 + i), acc0);
+                acc1 = q.fma(FloatVector.fromArray(FLOATS, block, o1 + i), acc1);
+                acc2 = q.fma(FloatVector.fromArray(FLOATS, block, o2 + i), acc2);
+                acc3 = q.fma(FloatVector.fromArray(FLOATS, block, o3 + i), acc3);
+            }
+            float s0 = acc0.reduceLanes(VectorOperators.ADD);
+            float s1 = acc1.reduceLanes(VectorOperators.ADD);
+            float s2 = acc2.reduceLanes(VectorOperators.ADD);
+            float s3 = acc3.reduceLanes(VectorOperators.ADD);
+            for (; i < dimensions; i++) {
+                float q = query[i];
+                s0 += q * block[o0 + i];
+                s1 += q * block[o1 + i];
+                s2 += q * block[o2 + i];
+                s3 += q * block[o3 + i];
+            }
+            out[row] = s0;
+            out[row + 1] = s1;
+            out[row + 2] = s2;
+            out[row + 3] = s3;
+        }
+        for (; row < count; row++) {
+            out[row] = dot(query, 0, block, row * dimensions, dimensions);
+        }
+    }
+
+    @Override
+    public void cosineBatch(float[] query, float[] block, int count, float[] out) {
+        int dimensions = query.length;
+        float queryNorm = dot(query, 0, query, 0, dimensions);
+        int bound = FLOATS.loopBound(dimensions);
+        for (int row = 0; row < count; row++) {
+            int offset = row * dimensions;
+            FloatVector dotAcc = FloatVector.zero(FLOATS);
+            FloatVector normAcc = FloatVector.zero(FLOATS);
+            int i = 0;
+            for (; i < bound; i += FLOATS.length()) {
+                FloatVector y = FloatVector.fromArray(FLOATS, block, offset + i);
+                dotAcc = FloatVector.fromArray(FLOATS, query, i).fma(y, dotAcc);
+                normAcc = y.fma(y, normAcc);
+            }
+            float dot = dotAcc.reduceLanes(VectorOperators.ADD);
+            float rowNorm = normAcc.reduceLanes(VectorOperators.ADD);
+            for (; i < dimensions; i++) {
+                float y = block[offset + i];
+                dot += query[i] * y;
+                rowNorm += y * y;
+            }
+            out[row] = VectorKernels.cosine(dot, queryNorm, rowNorm);
+        }
+    }
+
+    @Override
+    public int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        IntVector acc = IntVector.zero(INTS);
+        int i = 0;
+        for (int bound = BYTES.loopBound(length); i < bound; i += BYTES.length()) {
+            ByteVector x = ByteVector.fromArray(BYTES, a, aOffset + i);
+            ByteVector y = ByteVector.fromArray(BYTES, b, bOffset + i);
+            for (int part = 0; part < INT_PARTS; part++) {
+                IntVector wideX = (IntVector) x.convertShape(VectorOperators.B2I, INTS, part);
+                IntVector wideY = (IntVector) y.convertShape(VectorOperators.B2I, INTS, part);
+                acc = acc.add(wideX.mul(wideY));
+            }
+        }
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void dotBatch(byte[] query, byte[] block, int count, int[] out) {
+        int dimensions = query.length;
+        for (int row = 0; row < count; row++) {
+            out[row] = dot(query, 0, block, row * dimensions, dimensions);
+        }
+    }
+}
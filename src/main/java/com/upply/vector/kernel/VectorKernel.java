@@ -0,0 +1,33 @@
+package com.upply.vector.kernel;
+
+/**
+ * Dot-product and cosine primitives over float and int8 embeddings.
+ *
+ * <p>Batch methods take a block of {@code count} vectors laid out row after row in one
+ * array, each as long as the query, which is how local indexes and re-rankers keep their
+ * vectors. Float results are accumulated in single precision.
+ */
+public interface VectorKernel {
+
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    float cosine(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * Writes {@code query · row} for each of the first {@code count} rows of {@code block} into {@code out}.
+     */
+    void dotBatch(float[] query, float[] block, int count, float[] out);
+
+    /**
+     * Writes the cosine similarity between the query and each of the first {@code count} rows
+     * of {@code block} into {@code out}; zero vectors score 0.
+     */
+    void cosineBatch(float[] query, float[] block, int count, float[] out);
+
+    int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length);
+
+    /**
+     * Int8 counterpart of {@link #dotBatch(float[], float[], int, float[])}.
+     */
+    void dotBatch(byte[] query, byte[] block, int count, int[] out);
+}
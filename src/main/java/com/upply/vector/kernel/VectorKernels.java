@@ -0,0 +1,66 @@
+package com.upply.vector.kernel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the {@link VectorKernel} for this JVM.
+ *
+ * <p>The SIMD kernel is used when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}; otherwise, or with
+ * {@code -Dupply.vector.simd=false}, the scalar kernel is used.
+ */
+@Slf4j
+public final class VectorKernels {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final VectorKernel SCALAR = new ScalarVectorKernel();
+    private static final VectorKernel SIMD = loadSimd();
+    private static final VectorKernel PREFERRED = selectPreferred();
+
+    private VectorKernels() {
+    }
+
+    public static VectorKernel get() {
+        return PREFERRED;
+    }
+
+    public static VectorKernel scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * @return the SIMD kernel, or {@code null} when the Vector API is not available
+     */
+    public static VectorKernel simd() {
+        return SIMD;
+    }
+
+    static float cosine(float dot, float normA, float normB) {
+        if (normA == 0f || normB == 0f) {
+            return 0f;
+        }
+        return (float) (dot / (Math.sqrt(normA) * Math.sqrt(normB)));
+    }
+
+    private static VectorKernel loadSimd() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return new SimdVectorKernel();
+        } catch (LinkageError e) {
+            log.warn("Vector API present but unusable, falling back to scalar kernel", e);
+            return null;
+        }
+    }
+
+    private static VectorKernel selectPreferred() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty("upply.vector.simd", "true"));
+        if (enabled && SIMD != null) {
+            log.info("Using SIMD vector kernel");
+            return SIMD;
+        }
+        log.info("Using scalar vector kernel (start with --add-modules {} to enable SIMD)", VECTOR_MODULE);
+        return SCALAR;
+    }
+}
@@ -0,0 +1,76 @@
+package com.upply.vector.quantized;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size rows in off-heap memory, grown one chunk at a time.
+ *
+ * <p>With a file each chunk is a separate read-write mapping of the next region, so no
+ * single buffer gets near the 2 GB mapping limit and growing never remaps existing rows.
+ * Without a file chunks are plain direct buffers.
+ */
+final class MappedRows implements Closeable {
+
+    private final int rowBytes;
+    private final int rowsPerChunk;
+    private final FileChannel channel;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    MappedRows(Path file, int rowBytes, int rowsPerChunk) throws IOException {
+        this.rowBytes = rowBytes;
+        this.rowsPerChunk = rowsPerChunk;
+        this.channel = file == null ? null : FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    int rowBytes() {
+        return rowBytes;
+    }
+
+    void ensureCapacity(int rows) throws IOException {
+        while ((long) chunks.size() * rowsPerChunk < rows) {
+            long chunkBytes = (long) rowsPerChunk * rowBytes;
+            ByteBuffer chunk = channel == null
+                    ? ByteBuffer.allocateDirect((int) chunkBytes)
+                    : channel.map(FileChannel.MapMode.READ_WRITE, chunks.size() * chunkBytes, chunkBytes);
+            chunks.add(chunk.order(ByteOrder.nativeOrder()));
+        }
+    }
+
+    ByteBuffer chunk(int row) {
+        return chunks.get(row / rowsPerChunk);
+    }
+
+    int offset(int row) {
+        return (row % rowsPerChunk) * rowBytes;
+    }
+
+    void force() {
+        for (ByteBuffer chunk : chunks) {
+            if (chunk instanceof MappedByteBuffer mapped) {
+                mapped.force();
+            }
+        }
+    }
+
+    long allocatedBytes() {
+        return (long) chunks.size() * rowsPerChunk * rowBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunks.clear();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
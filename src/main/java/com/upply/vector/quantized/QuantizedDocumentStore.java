@@ -0,0 +1,277 @@
+package com.upply.vector.quantized;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.vector.LocalVectorStore;
+import com.upply.vector.MetadataFilter;
+import com.upply.vector.SimilarityScanner;
+import com.upply.vector.VectorMath;
+import com.upply.vector.VectorMetadataWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-process {@link VectorStore} over a {@link QuantizedVectorStore}.
+ *
+ * <p>Embeddings live in the store's int8, sign and float32 rows; document text and metadata
+ * stay on heap and are written next to them as {@code <name>.documents.json}. Scores use the
+ * same {@code 1 / (1 + cosineDistance)} scale as Azure AI Search. The rows are opened on the
+ * first write, or on startup when an earlier run left them behind.
+ */
+@Slf4j
+public class QuantizedDocumentStore implements LocalVectorStore, VectorMetadataWriter, SimilarityScanner,
+        InitializingBean, DisposableBean {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String name;
+    private final EmbeddingModel embeddingModel;
+    private final MetadataFilter metadataFilter;
+    private final Path directory;
+    private final Path documentsFile;
+    private final int rescoreOversample;
+    private final boolean binaryPrefilter;
+    private final Map<String, StoredDocument> documents = new ConcurrentHashMap<>();
+    // one writer of the files at a time, so the scheduler and shutdown do not share the temp file
+    private final Object snapshotMonitor = new Object();
+
+    private volatile QuantizedVectorStore vectors;
+    private volatile boolean dirty;
+
+    public QuantizedDocumentStore(String name,
+                                  EmbeddingModel embeddingModel,
+                                  Set<String> filterableFields,
+                                  Path directory,
+                                  int rescoreOversample,
+                                  boolean binaryPrefilter) {
+        this.name = name;
+        this.embeddingModel = embeddingModel;
+        this.metadataFilter = new MetadataFilter(filterableFields);
+        this.directory = directory;
+        this.documentsFile = directory.resolve(name + ".documents.json");
+        this.rescoreOversample = rescoreOversample;
+        this.binaryPrefilter = binaryPrefilter;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (Files.exists(documentsFile)) {
+            load();
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (vectors == null) {
+            return;
+        }
+        synchronized (snapshotMonitor) {
+            writeDocuments();
+            vectors.close();
+        }
+    }
+
+    @Override
+    public void add(List<Document> documentsToAdd) {
+        if (documentsToAdd == null || documentsToAdd.isEmpty()) {
+            return;
+        }
+        List<String> texts = documentsToAdd.stream()
+                .map(embeddingModel::getEmbeddingContent)
+                .toList();
+        List<float[]> embeddings = embeddingModel.embed(texts);
+
+        QuantizedVectorStore store = open(embeddings.get(0).length);
+        for (int i = 0; i < documentsToAdd.size(); i++) {
+            Document document = documentsToAdd.get(i);
+            // the document goes first, so a search that sees the vector can always resolve it
+            documents.put(document.getId(), new StoredDocument(document.getId(), document.getText(),
+                    new HashMap<>(document.getMetadata())));
+            store.put(document.getId(), embeddings.get(i));
+        }
+        dirty = true;
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        idList.forEach(this::remove);
+        dirty = true;
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        metadataFilter.validate(filterExpression);
+        documents.values().stream()
+                .filter(document -> metadataFilter.matches(filterExpression, document.metadata()))
+                .map(StoredDocument::id)
+                .toList()
+                .forEach(this::remove);
+        dirty = true;
+    }
+
+    @Override
+    public void updateMetadata(Map<String, Map<String, Object>> metadataById) {
+        metadataById.forEach((id, metadata) -> documents.computeIfPresent(id,
+                (key, stored) -> new StoredDocument(id, stored.text(), new HashMap<>(metadata))));
+        dirty = true;
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        Filter.Expression filter = request.getFilterExpression();
+        if (filter != null) {
+            metadataFilter.validate(filter);
+        }
+        QuantizedVectorStore store = vectors;
+        if (store == null) {
+            return List.of();
+        }
+        float[] query = embeddingModel.embed(request.getQuery());
+        Predicate<String> accepted = filter == null ? null : id -> {
+            StoredDocument document = documents.get(id);
+            return document != null && metadataFilter.matches(filter, document.metadata());
+        };
+
+        List<QuantizedVectorStore.Match> matches = store.search(query, request.getTopK(),
+                request.getTopK() * rescoreOversample, binaryPrefilter, accepted);
+        List<Document> results = new ArrayList<>(matches.size());
+        for (QuantizedVectorStore.Match match : matches) {
+            double score = VectorMath.toSearchScore(match.score());
+            StoredDocument stored = documents.get(match.id());
+            if (score < request.getSimilarityThreshold() || stored == null) {
+                continue;
+            }
+            results.add(Document.builder()
+                    .id(stored.id())
+                    .text(stored.text())
+                    .metadata(new HashMap<>(stored.metadata()))
+                    .score(score)
+                    .build());
+        }
+        return results;
+    }
+
+    /**
+     * Exact scan over the float rows; see {@link QuantizedVectorStore#scan}.
+     */
+    @Override
+    public long scan(float[] query, double threshold, int pageSize, Consumer<List<ScoredId>> pageConsumer) {
+        QuantizedVectorStore store = vectors;
+        if (store == null) {
+            return 0;
+        }
+        return store.scan(query, VectorMath.fromSearchScore(threshold), pageSize, page ->
+                pageConsumer.accept(page.stream()
+                        .map(match -> new ScoredId(match.id(), VectorMath.toSearchScore(match.score())))
+                        .toList()));
+    }
+
+    @Override
+    public void snapshotIfDirty() {
+        if (dirty) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Syncs the vector rows and writes the documents file through a temporary sibling that
+     * is atomically moved into place.
+     */
+    public void snapshot() {
+        QuantizedVectorStore store = vectors;
+        if (store == null) {
+            return;
+        }
+        synchronized (snapshotMonitor) {
+            // writes after this point mark the store dirty again
+            dirty = false;
+            store.flush();
+            try {
+                writeDocuments();
+                log.info("Snapshot of vector store '{}' written: {} documents", name, documents.size());
+            } catch (IOException e) {
+                dirty = true;
+                log.error("Failed to snapshot vector store '{}' to {}", name, documentsFile, e);
+            }
+        }
+    }
+
+    private QuantizedVectorStore open(int dimensions) {
+        QuantizedVectorStore store = vectors;
+        if (store != null) {
+            return store;
+        }
+        synchronized (snapshotMonitor) {
+            if (vectors == null) {
+                vectors = new QuantizedVectorStore(name, dimensions, directory);
+                // rows left by a run that stopped before its documents were written
+                vectors.ids().stream()
+                        .filter(id -> !documents.containsKey(id))
+                        .forEach(vectors::remove);
+            }
+            return vectors;
+        }
+    }
+
+    private void load() {
+        try {
+            Snapshot snapshot = MAPPER.readValue(documentsFile.toFile(), Snapshot.class);
+            snapshot.documents().forEach(document -> documents.put(document.id(), document));
+            QuantizedVectorStore store = open(snapshot.dimensions());
+            Set<String> stored = store.ids();
+            documents.keySet().removeIf(id -> !stored.contains(id));
+            log.info("Vector store '{}' restored {} documents from {}", name, documents.size(), directory);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to restore vector store '{}' from {}, starting empty", name, directory, e);
+            documents.clear();
+            if (vectors != null) {
+                vectors.ids().forEach(vectors::remove);
+            }
+        }
+    }
+
+    private void writeDocuments() throws IOException {
+        Snapshot snapshot = new Snapshot(vectors.dimensions(), List.copyOf(documents.values()));
+        Files.createDirectories(directory);
+        Path temp = documentsFile.resolveSibling(documentsFile.getFileName() + ".tmp");
+        MAPPER.writeValue(temp.toFile(), snapshot);
+        Files.move(temp, documentsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void remove(String id) {
+        QuantizedVectorStore store = vectors;
+        if (store != null) {
+            store.remove(id);
+        }
+        documents.remove(id);
+    }
+
+    private record StoredDocument(String id, String text, Map<String, Object> metadata) {
+    }
+
+    private record Snapshot(int dimensions, List<StoredDocument> documents) {
+    }
+}
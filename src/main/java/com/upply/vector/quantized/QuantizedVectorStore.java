@@ -0,0 +1,529 @@
+package com.upply.vector.quantized;
+
+import com.upply.vector.kernel.VectorKernel;
+import com.upply.vector.kernel.VectorKernels;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Compact off-heap store of embeddings keyed by document id ({@code "42"}, {@code "17-3"}).
+ *
+ * <p>Every vector is kept three ways, each in its own set of rows:
+ * <ul>
+ *     <li>int8 codes of the unit-normalized vector plus one float scale ({@code d + 4} bytes),</li>
+ *     <li>one sign bit per dimension for a Hamming pre-filter ({@code d / 8} bytes, padded to longs),</li>
+ *     <li>the original float32 vector ({@code 4d} bytes), read only to re-score final candidates.</li>
+ * </ul>
+ * Searches scan the codes (and optionally the sign bits), so those are what stays resident;
+ * the float rows are touched for a handful of candidates per query and otherwise stay in
+ * the page cache or on disk. Scores are exact cosine similarities.
+ *
+ * <p>With a directory the rows live in memory-mapped files and {@link #flush()} persists
+ * the id table next to them; without one they are held in direct buffers.
+ */
+@Slf4j
+public class QuantizedVectorStore implements Closeable {
+    public static final int DEFAULT_OVERSAMPLE = 4;
+    // sign-bit stage keeps this many times the int8 candidates
+    private static final int BINARY_OVERSAMPLE = 8;
+    private static final int SCAN_BLOCK = 256;
+    // slots examined per read-lock hold during a scan
+    private static final int SCAN_STRIDE = 4096;
+    private static final int DEFAULT_ROWS_PER_CHUNK = 65_536;
+
+    private final String name;
+    private final int dimensions;
+    private final int signWords;
+    private final Path idsFile;
+    private final MappedRows codes;
+    private final MappedRows signs;
+    private final MappedRows floats;
+    private final VectorKernel kernel = VectorKernels.get();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<String> ids = new ArrayList<>();
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    public QuantizedVectorStore(String name, int dimensions, Path directory) {
+        this(name, dimensions, directory, DEFAULT_ROWS_PER_CHUNK);
+    }
+
+    public QuantizedVectorStore(String name, int dimensions, Path directory, int rowsPerChunk) {
+        this.name = name;
+        this.dimensions = dimensions;
+        this.signWords = (dimensions + Long.SIZE - 1) / Long.SIZE;
+        try {
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            this.idsFile = directory == null ? null : directory.resolve(name + ".ids");
+            this.codes = new MappedRows(file(directory, ".q8"), Float.BYTES + dimensions, rowsPerChunk);
+            this.signs = new MappedRows(file(directory, ".sign"), signWords * Long.BYTES, rowsPerChunk);
+            this.floats = new MappedRows(file(directory, ".f32"), dimensions * Float.BYTES, rowsPerChunk);
+            if (idsFile != null && Files.exists(idsFile)) {
+                load();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open quantized vector store '" + name + "'", e);
+        }
+    }
+
+    public void put(String id, float[] vector) {
+        checkDimensions(vector);
+        float[] unit = normalize(vector);
+        byte[] code = new byte[dimensions];
+        float scale = quantize(unit, code);
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? ids.size() : freeSlots.pop();
+                ensureCapacity(slot + 1);
+                if (slot == ids.size()) {
+                    ids.add(id);
+                } else {
+                    ids.set(slot, id);
+                }
+                slotsById.put(id, slot);
+                live.set(slot);
+            }
+            writeRow(slot, vector, unit, code, scale);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                live.clear(slot);
+                ids.set(slot, null);
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the original, unquantized vector
+     */
+    public Optional<float[]> get(String id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            if (slot == null) {
+                return Optional.empty();
+            }
+            float[] vector = new float[dimensions];
+            readFloats(slot, vector);
+            return Optional.of(vector);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public Set<String> ids() {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(slotsById.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Match> search(float[] query, int k) {
+        return search(query, k, k * DEFAULT_OVERSAMPLE, false);
+    }
+
+    /**
+     * Approximate top-{@code k} by int8 dot product, then exact cosine over the best
+     * {@code rescoreCandidates}. With {@code binaryPrefilter} only the rows closest in
+     * Hamming distance over the sign bits are scored in int8.
+     */
+    public List<Match> search(float[] query, int k, int rescoreCandidates, boolean binaryPrefilter) {
+        return search(query, k, rescoreCandidates, binaryPrefilter, null);
+    }
+
+    /**
+     * Same as {@link #search(float[], int, int, boolean)}, restricted to the ids
+     * {@code filter} accepts; {@code null} accepts every id.
+     */
+    public List<Match> search(float[] query, int k, int rescoreCandidates, boolean binaryPrefilter,
+                              Predicate<String> filter) {
+        checkDimensions(query);
+        float[] unit = normalize(query);
+        byte[] queryCode = new byte[dimensions];
+        float queryScale = quantize(unit, queryCode);
+        int candidates = Math.max(k, rescoreCandidates);
+
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || live.isEmpty()) {
+                return List.of();
+            }
+            int[] slots;
+            if (binaryPrefilter) {
+                slots = nearestBySigns(signWords(unit), candidates * BINARY_OVERSAMPLE, filter);
+            } else {
+                slots = live.stream()
+                        .filter(slot -> filter == null || filter.test(ids.get(slot)))
+                        .toArray();
+            }
+            TopK approximate = new TopK(candidates);
+            scoreInt8(slots, queryCode, queryScale, approximate);
+
+            TopK exact = new TopK(k);
+            float[] row = new float[dimensions];
+            for (int slot : approximate.slots()) {
+                readFloats(slot, row);
+                exact.offer(slot, kernel.cosine(unit, 0, row, 0, dimensions));
+            }
+            return exact.descending().stream()
+                    .map(scored -> new Match(ids.get(scored.slot()), scored.score()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hands every vector with an exact cosine of at least {@code minCosine} to the consumer,
+     * page by page. Scores come from the float rows, and the read lock is released between
+     * strides so writers are not starved; vectors put while the scan runs are picked up if
+     * their slot is still ahead of the cursor.
+     *
+     * @return the number of matches delivered
+     */
+    public long scan(float[] query, double minCosine, int pageSize, Consumer<List<Match>> pageConsumer) {
+        checkDimensions(query);
+        float[] unit = normalize(query);
+        float[] row = new float[dimensions];
+        List<Match> page = new ArrayList<>(pageSize);
+        long delivered = 0;
+        int cursor = 0;
+        boolean exhausted = false;
+        while (!exhausted) {
+            lock.readLock().lock();
+            try {
+                int end = Math.min(ids.size(), cursor + SCAN_STRIDE);
+                while (cursor < end && page.size() < pageSize) {
+                    int slot = cursor++;
+                    if (!live.get(slot)) {
+                        continue;
+                    }
+                    readFloats(slot, row);
+                    double score = kernel.cosine(unit, 0, row, 0, dimensions);
+                    if (score >= minCosine) {
+                        page.add(new Match(ids.get(slot), score));
+                    }
+                }
+                exhausted = cursor >= ids.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (page.size() == pageSize || (exhausted && !page.isEmpty())) {
+                pageConsumer.accept(List.copyOf(page));
+                delivered += page.size();
+                page.clear();
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Bytes each representation takes for the vectors currently stored.
+     */
+    public Footprint footprint() {
+        long count = size();
+        return new Footprint(count,
+                count * codes.rowBytes(),
+                count * signs.rowBytes(),
+                count * floats.rowBytes());
+    }
+
+    /**
+     * Syncs the mapped rows and writes the id table; a no-op without a directory.
+     */
+    public void flush() {
+        if (idsFile == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            codes.force();
+            signs.force();
+            floats.force();
+            Path temp = idsFile.resolveSibling(idsFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(dimensions);
+                out.writeInt(ids.size());
+                for (String id : ids) {
+                    out.writeBoolean(id != null);
+                    if (id != null) {
+                        out.writeUTF(id);
+                    }
+                }
+            }
+            Files.move(temp, idsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to flush quantized vector store '{}'", name, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        lock.writeLock().lock();
+        try {
+            codes.close();
+            signs.close();
+            floats.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(idsFile))) {
+            int storedDimensions = in.readInt();
+            if (storedDimensions != dimensions) {
+                throw new IOException("Store '" + name + "' holds " + storedDimensions
+                        + "-d vectors, expected " + dimensions);
+            }
+            int rows = in.readInt();
+            ensureCapacity(rows);
+            for (int slot = 0; slot < rows; slot++) {
+                if (in.readBoolean()) {
+                    String id = in.readUTF();
+                    ids.add(id);
+                    slotsById.put(id, slot);
+                    live.set(slot);
+                } else {
+                    ids.add(null);
+                    freeSlots.push(slot);
+                }
+            }
+        }
+        log.info("Quantized vector store '{}' opened with {} vectors", name, slotsById.size());
+    }
+
+    private void scoreInt8(int[] slots, byte[] queryCode, float queryScale, TopK top) {
+        byte[] block = new byte[SCAN_BLOCK * dimensions];
+        float[] scales = new float[SCAN_BLOCK];
+        int[] dots = new int[SCAN_BLOCK];
+        for (int start = 0; start < slots.length; start += SCAN_BLOCK) {
+            int count = Math.min(SCAN_BLOCK, slots.length - start);
+            for (int i = 0; i < count; i++) {
+                int slot = slots[start + i];
+                ByteBuffer chunk = codes.chunk(slot);
+                int offset = codes.offset(slot);
+                scales[i] = chunk.getFloat(offset);
+                chunk.get(offset + Float.BYTES, block, i * dimensions, dimensions);
+            }
+            kernel.dotBatch(queryCode, block, count, dots);
+            for (int i = 0; i < count; i++) {
+                top.offer(slots[start + i], queryScale * scales[i] * dots[i]);
+            }
+        }
+    }
+
+    private int[] nearestBySigns(long[] querySigns, int keep, Predicate<String> filter) {
+        TopK nearest = new TopK(keep);
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            if (filter != null && !filter.test(ids.get(slot))) {
+                continue;
+            }
+            ByteBuffer chunk = signs.chunk(slot);
+            int offset = signs.offset(slot);
+            int distance = 0;
+            for (int word = 0; word < signWords; word++) {
+                distance += Long.bitCount(chunk.getLong(offset + word * Long.BYTES) ^ querySigns[word]);
+            }
+            nearest.offer(slot, -distance);
+        }
+        return nearest.slots();
+    }
+
+    private void writeRow(int slot, float[] vector, float[] unit, byte[] code, float scale) {
+        ByteBuffer codeChunk = codes.chunk(slot);
+        int codeOffset = codes.offset(slot);
+        codeChunk.putFloat(codeOffset, scale);
+        codeChunk.put(codeOffset + Float.BYTES, code);
+
+        ByteBuffer signChunk = signs.chunk(slot);
+        int signOffset = signs.offset(slot);
+        long[] words = signWords(unit);
+        for (int word = 0; word < signWords; word++) {
+            signChunk.putLong(signOffset + word * Long.BYTES, words[word]);
+        }
+
+        ByteBuffer floatChunk = floats.chunk(slot);
+        int floatOffset = floats.offset(slot);
+        for (int i = 0; i < dimensions; i++) {
+            floatChunk.putFloat(floatOffset + i * Float.BYTES, vector[i]);
+        }
+    }
+
+    private void readFloats(int slot, float[] into) {
+        ByteBuffer chunk = floats.chunk(slot);
+        int offset = floats.offset(slot);
+        chunk.slice(offset, floats.rowBytes()).order(chunk.order()).asFloatBuffer().get(into);
+    }
+
+    private void ensureCapacity(int rows) {
+        try {
+            codes.ensureCapacity(rows);
+            signs.ensureCapacity(rows);
+            floats.ensureCapacity(rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to grow quantized vector store '" + name + "'", e);
+        }
+    }
+
+    private long[] signWords(float[] unit) {
+        long[] words = new long[signWords];
+        for (int i = 0; i < dimensions; i++) {
+            if (unit[i] >= 0f) {
+                words[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Symmetric per-vector quantization to [-127, 127].
+     *
+     * @return the scale that maps a code back to its component
+     */
+    private static float quantize(float[] unit, byte[] code) {
+        float maxAbs = 0f;
+        for (float value : unit) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        if (maxAbs == 0f) {
+            return 0f;
+        }
+        float scale = maxAbs / 127f;
+        for (int i = 0; i < unit.length; i++) {
+            code[i] = (byte) Math.round(unit[i] / scale);
+        }
+        return scale;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] unit = vector.clone();
+        if (norm > 0.0) {
+            float inverse = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < unit.length; i++) {
+                unit[i] *= inverse;
+            }
+        }
+        return unit;
+    }
+
+    private void checkDimensions(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException(
+                    "Vector dimensions differ: " + vector.length + " != " + dimensions);
+        }
+    }
+
+    private Path file(Path directory, String extension) {
+        return directory == null ? null : directory.resolve(name + extension);
+    }
+
+    public record Match(String id, double score) {
+    }
+
+    /**
+     * @param searchBytes   int8 codes and scales, scanned by every search
+     * @param signBytes     sign bits, scanned when the binary pre-filter is on
+     * @param float32Bytes  originals, read for re-scoring only
+     */
+    public record Footprint(long vectors, long searchBytes, long signBytes, long float32Bytes) {
+    }
+
+    private record Scored(int slot, double score) {
+    }
+
+    /**
+     * Bounded min-heap keeping the highest scores seen.
+     */
+    private static final class TopK {
+        private final int capacity;
+        private final PriorityQueue<Scored> heap;
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(capacity + 1, Comparator.comparingDouble(Scored::score));
+        }
+
+        void offer(int slot, double score) {
+            if (heap.size() < capacity) {
+                heap.add(new Scored(slot, score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Scored(slot, score));
+            }
+        }
+
+        int[] slots() {
+            return heap.stream().mapToInt(Scored::slot).toArray();
+        }
+
+        List<Scored> descending() {
+            List<Scored> sorted = new ArrayList<>(heap);
+            sorted.sort(Comparator.comparingDouble(Scored::score).reversed());
+            return sorted;
+        }
+    }
+}
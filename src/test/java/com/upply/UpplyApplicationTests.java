@@ -3,7 +3,7 @@ package com.upply;
 import com.upply.application.dto.ApplicationMatchEvent;
 import com.upply.notification.dto.DispatchPayload;
 import com.upply.notification.dto.NotificationEvent;
-import com.upply.profile.resume.AzureStorageService;
+import com.upply.profile.resume.BlobStore;
 import com.upply.user.dto.SkillEvent;
 import org.junit.jupiter.api.Test;
 import org.springframework.ai.vectorstore.VectorStore;
@@ -29,7 +29,7 @@ class UpplyApplicationTests {
 	@Qualifier("userSkillsVectorStore")
 	private VectorStore userSkillsVectorStore;
 	@MockBean
-	private AzureStorageService azureStorageService;
+	private BlobStore blobStore;
 	@MockBean
 	private KafkaTemplate<String, ApplicationMatchEvent> kafkaTemplate;
 	@MockBean
@@ -0,0 +1,91 @@
+package com.upply.ai;
+
+import com.upply.exception.custom.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bulkhead unit tests")
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double queued() {
+        return meterRegistry.get("upply.llm.bulkhead.queue").gauge().value();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("acquire should queue a caller until a permit is released")
+    void acquire_AtCapacity_WaitsForRelease() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 5, Duration.ofSeconds(5), meterRegistry);
+        Bulkhead.Permit held = bulkhead.acquire();
+
+        Future<Bulkhead.Permit> waiter = executor.submit(bulkhead::acquire);
+        awaitTrue(() -> queued() == 1);
+        held.close();
+
+        assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(0, queued());
+        assertEquals(1, meterRegistry.get("upply.llm.bulkhead.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("acquire should reject with a retry hint when the queue is full")
+    void acquire_QueueFull_Rejected() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5), meterRegistry);
+        bulkhead.acquire();
+        executor.submit(bulkhead::acquire);
+        awaitTrue(() -> queued() == 1);
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class, bulkhead::acquire);
+
+        assertEquals(Duration.ofSeconds(5), e.getRetryAfter());
+        assertEquals(1, meterRegistry.get("upply.llm.bulkhead.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("acquire should give up after the maximum wait")
+    void acquire_WaitExpires_Rejected() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 5, Duration.ofMillis(50), meterRegistry);
+        bulkhead.acquire();
+
+        assertThrows(TooManyRequestsException.class, bulkhead::acquire);
+        assertEquals(0, queued());
+    }
+
+    @Test
+    @DisplayName("closing a permit twice should release it only once")
+    void permit_ClosedTwice_ReleasedOnce() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 0, Duration.ofMillis(10), meterRegistry);
+        Bulkhead.Permit permit = bulkhead.acquire();
+        permit.close();
+        permit.close();
+
+        bulkhead.acquire();
+        assertThrows(TooManyRequestsException.class, bulkhead::acquire);
+    }
+}
@@ -0,0 +1,178 @@
+package com.upply.ai;
+
+import com.upply.exception.custom.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("LlmGateway unit tests")
+class LlmGatewayTest {
+
+    private final ChatClient gemini = mock(ChatClient.class);
+    private final ChatClient groq = mock(ChatClient.class);
+    private final List<LlmRoute> routes = List.of(LlmRoute.gemini(gemini), LlmRoute.groq(groq));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LlmGateway gateway;
+
+    @AfterEach
+    void tearDown() {
+        gateway.destroy();
+    }
+
+    private LlmGateway gateway(long timeoutMillis, long hedgeDelayMillis, int failureThreshold, long openMillis) {
+        gateway = new LlmGateway(timeoutMillis, hedgeDelayMillis, hedgeDelayMillis, 100, 20,
+                failureThreshold, openMillis, meterRegistry);
+        return gateway;
+    }
+
+    private Function<ChatClient, String> answers(String geminiAnswer, String groqAnswer) {
+        return client -> {
+            String answer = client == gemini ? geminiAnswer : groqAnswer;
+            if (answer == null) {
+                throw new IllegalStateException("provider down");
+            }
+            return answer;
+        };
+    }
+
+    @Test
+    @DisplayName("call should return the preferred provider's answer without touching the other")
+    void call_PrimaryAnswers_SecondaryUnused() {
+        AtomicInteger groqCalls = new AtomicInteger();
+        LlmGateway gateway = gateway(5000, 1000, 5, 60000);
+
+        String result = gateway.call("summary", routes, client -> {
+            if (client == groq) {
+                groqCalls.incrementAndGet();
+            }
+            return client == gemini ? "gemini" : "groq";
+        });
+
+        assertEquals("gemini", result);
+        assertEquals(0, groqCalls.get());
+    }
+
+    @Test
+    @DisplayName("call should fail over to the next provider as soon as the first one fails")
+    void call_PrimaryFails_FailsOver() {
+        String result = gateway(5000, 1000, 5, 60000).call("summary", routes, answers(null, "groq"));
+
+        assertEquals("groq", result);
+    }
+
+    @Test
+    @DisplayName("call should hedge a slow provider and cancel it once the hedge answers")
+    void call_PrimarySlow_HedgesAndCancelsLoser() throws InterruptedException {
+        CountDownLatch primaryCancelled = new CountDownLatch(1);
+
+        String result = gateway(10000, 50, 5, 60000).call("summary", routes, client -> {
+            if (client == groq) {
+                return "groq";
+            }
+            try {
+                Thread.sleep(10000);
+                return "gemini";
+            } catch (InterruptedException e) {
+                primaryCancelled.countDown();
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals("groq", result);
+        assertTrue(primaryCancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.counter("upply.llm.hedged", "operation", "summary").count());
+    }
+
+    @Test
+    @DisplayName("call should skip a provider whose circuit is open")
+    void call_OpenCircuit_SkipsProvider() {
+        AtomicInteger geminiCalls = new AtomicInteger();
+        Function<ChatClient, String> request = client -> {
+            if (client == gemini) {
+                geminiCalls.incrementAndGet();
+                throw new IllegalStateException("provider down");
+            }
+            return "groq";
+        };
+        LlmGateway gateway = gateway(5000, 1000, 2, 60000);
+
+        gateway.call("summary", routes, request);
+        gateway.call("parse", routes, request);
+        gateway.call("summary", routes, request);
+
+        assertEquals(2, geminiCalls.get());
+        assertEquals(1, meterRegistry.counter("upply.llm.circuit.opened", "provider", "gemini").count());
+    }
+
+    @Test
+    @DisplayName("call should let one trial call through once the open period ends and close on success")
+    void call_OpenPeriodOver_TrialCallCloses() {
+        LlmGateway gateway = gateway(5000, 1000, 1, 0);
+        gateway.call("summary", routes, answers(null, "groq"));
+
+        assertEquals("gemini", gateway.call("summary", routes, answers("gemini", "groq")));
+    }
+
+    @Test
+    @DisplayName("call should throw when every provider fails")
+    void call_AllFail_Throws() {
+        LlmGateway gateway = gateway(5000, 1000, 5, 60000);
+
+        LlmUnavailableException e = assertThrows(LlmUnavailableException.class,
+                () -> gateway.call("summary", routes, answers(null, null)));
+        assertEquals("provider down", e.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("call should give up once the overall timeout passes")
+    void call_AllSlow_TimesOut() {
+        LlmGateway gateway = gateway(200, 50, 5, 60000);
+
+        assertThrows(LlmUnavailableException.class, () -> gateway.call("summary", routes, client -> {
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "late";
+        }));
+    }
+
+    @Test
+    @DisplayName("call should move on from a busy provider without counting it as a failure")
+    void call_BulkheadFull_FailsOverWithoutOpeningCircuit() {
+        LlmGateway gateway = gateway(5000, 1000, 1, 60000);
+        Function<ChatClient, String> request = client -> {
+            if (client == gemini) {
+                throw new TooManyRequestsException("busy", Duration.ofSeconds(1));
+            }
+            return "groq";
+        };
+
+        assertEquals("groq", gateway.call("summary", routes, request));
+        assertEquals("gemini", gateway.call("summary", routes, answers("gemini", "groq")));
+    }
+
+    @Test
+    @DisplayName("call should surface the rejection when no provider has capacity")
+    void call_AllBusy_ThrowsTooManyRequests() {
+        LlmGateway gateway = gateway(5000, 1000, 5, 60000);
+
+        assertThrows(TooManyRequestsException.class, () -> gateway.call("summary", routes, client -> {
+            throw new TooManyRequestsException("busy", Duration.ofSeconds(1));
+        }));
+    }
+}
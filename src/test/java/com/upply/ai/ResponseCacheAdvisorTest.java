@@ -0,0 +1,175 @@
+package com.upply.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.chat.client.ChatClientAttributes;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ResponseCacheAdvisor unit tests")
+class ResponseCacheAdvisorTest {
+
+    private static final Duration TTL = Duration.ofHours(72);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private CallAdvisorChain chain;
+
+    private ResponseCacheAdvisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        advisor = new ResponseCacheAdvisor(redisTemplate, "job-import.gemini", TTL, new SimpleMeterRegistry());
+    }
+
+    private static ChatClientRequest request(String user, String model, String format) {
+        Prompt prompt = new Prompt(List.of(new SystemMessage("Extract the job."), new UserMessage(user)),
+                ChatOptions.builder().model(model).temperature(0.0).maxTokens(2048).build());
+        return new ChatClientRequest(prompt, Map.of(ChatClientAttributes.OUTPUT_FORMAT.getKey(), format));
+    }
+
+    private static ChatClientResponse response(String text, String finishReason) {
+        ChatGenerationMetadata metadata = ChatGenerationMetadata.builder().finishReason(finishReason).build();
+        return new ChatClientResponse(new ChatResponse(List.of(new Generation(new AssistantMessage(text), metadata))), Map.of());
+    }
+
+    @Test
+    @DisplayName("adviseCall should call the model on a miss and cache its answer once converted")
+    void adviseCall_Miss_CallsModelAndCaches() {
+        ChatClientRequest request = request("Senior Java developer", "gemini", "json");
+        when(chain.nextCall(request)).thenReturn(response("{\"title\":\"Java\"}", "STOP"));
+
+        try (ResponseCacheAdvisor.CallScope scope = ResponseCacheAdvisor.openScope()) {
+            ChatClientResponse result = advisor.adviseCall(request, chain);
+
+            assertEquals("{\"title\":\"Java\"}", result.chatResponse().getResult().getOutput().getText());
+            verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+            assertFalse(scope.servedFromCache());
+            scope.markConverted();
+        }
+        verify(valueOperations).set(startsWith("llm-response:job-import.gemini:"), eq("{\"title\":\"Java\"}"), eq(TTL));
+    }
+
+    @Test
+    @DisplayName("adviseCall should answer from the cache without calling the model")
+    void adviseCall_Hit_SkipsModel() {
+        when(valueOperations.get(anyString())).thenReturn("{\"title\":\"Java\"}");
+
+        try (ResponseCacheAdvisor.CallScope scope = ResponseCacheAdvisor.openScope()) {
+            ChatClientResponse result = advisor.adviseCall(request("Senior Java developer", "gemini", "json"), chain);
+
+            assertEquals("{\"title\":\"Java\"}", result.chatResponse().getResult().getOutput().getText());
+            verify(chain, never()).nextCall(any());
+            assertTrue(scope.servedFromCache());
+        }
+    }
+
+    @Test
+    @DisplayName("adviseCall should not cache an answer cut off by the token limit")
+    void adviseCall_Truncated_NotCached() {
+        ChatClientRequest request = request("Senior Java developer", "gemini", "json");
+        when(chain.nextCall(request)).thenReturn(response("{\"title\":", "MAX_TOKENS"));
+
+        try (ResponseCacheAdvisor.CallScope scope = ResponseCacheAdvisor.openScope()) {
+            advisor.adviseCall(request, chain);
+            scope.markConverted();
+        }
+
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("adviseCall should not cache an answer the caller failed to convert")
+    void adviseCall_ConversionFailed_NotCached() {
+        ChatClientRequest request = request("Senior Java developer", "gemini", "json");
+        when(chain.nextCall(request)).thenReturn(response("Sure! Here is the job:", "STOP"));
+
+        try (ResponseCacheAdvisor.CallScope ignored = ResponseCacheAdvisor.openScope()) {
+            advisor.adviseCall(request, chain);
+        }
+        // the next scope on this thread starts clean
+        try (ResponseCacheAdvisor.CallScope scope = ResponseCacheAdvisor.openScope()) {
+            scope.markConverted();
+        }
+
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("adviseCall should not cache an answer or leave it on the thread when called outside a scope")
+    void adviseCall_NoScope_NotCached() {
+        ChatClientRequest request = request("Senior Java developer", "gemini", "json");
+        when(chain.nextCall(request)).thenReturn(response("{\"title\":\"Java\"}", "STOP"));
+
+        advisor.adviseCall(request, chain);
+        try (ResponseCacheAdvisor.CallScope scope = ResponseCacheAdvisor.openScope()) {
+            scope.markConverted();
+        }
+
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("adviseCall should still call the model when Redis is down")
+    void adviseCall_RedisDown_CallsModel() {
+        ChatClientRequest request = request("Senior Java developer", "gemini", "json");
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(chain.nextCall(request)).thenReturn(response("{}", "STOP"));
+
+        ResponseCacheAdvisor.CallScope scope = ResponseCacheAdvisor.openScope();
+        assertEquals("{}", advisor.adviseCall(request, chain).chatResponse().getResult().getOutput().getText());
+        scope.markConverted();
+        assertDoesNotThrow(scope::close);
+    }
+
+    @Test
+    @DisplayName("fingerprint should change with the prompt, model and output format only")
+    void fingerprint_DependsOnPromptOptionsAndFormat() {
+        String base = ResponseCacheAdvisor.fingerprint(request("Senior Java developer", "gemini", "json"));
+
+        assertEquals(base, ResponseCacheAdvisor.fingerprint(request("Senior  Java developer ", "gemini", "json")));
+        assertNotEquals(base, ResponseCacheAdvisor.fingerprint(request("Junior Java developer", "gemini", "json")));
+        assertNotEquals(base, ResponseCacheAdvisor.fingerprint(request("Senior Java developer", "llama", "json")));
+        assertNotEquals(base, ResponseCacheAdvisor.fingerprint(request("Senior Java developer", "gemini", "xml")));
+    }
+}
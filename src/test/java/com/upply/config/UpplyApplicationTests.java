@@ -3,10 +3,12 @@ package com.upply.config;
 
 import com.google.firebase.FirebaseApp;
 import com.upply.application.dto.ApplicationMatchEvent;
+import com.upply.job.dto.JobFanOutEvent;
 import com.upply.job.dto.PostJobEvent;
 import com.upply.notification.dto.DispatchPayload;
 import com.upply.notification.dto.NotificationEvent;
 import com.upply.user.dto.SkillEvent;
+import com.upply.vector.SimilarityScanner;
 import org.mockito.Mockito;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.memory.ChatMemory;
@@ -43,6 +45,11 @@ public class UpplyApplicationTests {
         return Mockito.mock(KafkaTemplate.class);
     }
 
+    @Bean
+    public KafkaTemplate<String, JobFanOutEvent> jobFanOutKafkaTemplate() {
+        return Mockito.mock(KafkaTemplate.class);
+    }
+
     @Bean
     public FirebaseApp firebaseApp(){
         return Mockito.mock(FirebaseApp.class);
@@ -108,6 +115,11 @@ public class UpplyApplicationTests {
         return Mockito.mock(VectorStore.class);
     }
 
+    @Bean
+    public SimilarityScanner userSkillsSimilarityScanner() {
+        return Mockito.mock(SimilarityScanner.class);
+    }
+
     @Bean
     public ChatClient recruiterRagGeminiChatClient() {
         return Mockito.mock(ChatClient.class);
@@ -11,11 +11,23 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(JobController.class)
@@ -28,6 +40,9 @@ class JobControllerTest {
     @MockitoBean
     private JobService jobService;
 
+    @MockitoBean
+    private ResumeArchiveService resumeArchiveService;
+
     // --- Security Layer Mocks ---
     @MockitoBean
     private JwtService jwtService;
@@ -82,4 +97,22 @@ class JobControllerTest {
         mockMvc.perform(get("/jobs/1/applications/INVALID_STATUS"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void downloadAllResumes_ShouldStreamZip_WithArchiveTimeout() throws Exception {
+        when(jobService.getApplicantResumeFiles(eq(1L), any())).thenReturn(List.of());
+        when(jobService.getJobTitle(1L)).thenReturn("Backend");
+        when(resumeArchiveService.timeoutMs()).thenReturn(1_800_000L);
+
+        MvcResult result = mockMvc.perform(get("/jobs/1/applications/resumes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(1_800_000L, result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"));
+        verify(resumeArchiveService).writeZip(anyList(), any(OutputStream.class));
+    }
+}
@@ -0,0 +1,107 @@
+package com.upply.job;
+
+import com.upply.job.dto.JobFanOutEvent;
+import com.upply.job.enums.JobStatus;
+import com.upply.notification.dto.NotificationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("JobFanOutConsumer unit tests")
+class JobFanOutConsumerTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private ReverseMatchingService reverseMatchingService;
+
+    @Mock
+    private MatchedJobFeedService matchedJobFeedService;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate;
+
+    private JobFanOutConsumer consumer;
+    private Job job;
+    private final Map<Long, Double> page = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        consumer = new JobFanOutConsumer(jobRepository, reverseMatchingService, matchedJobFeedService,
+                redisTemplate, notificationKafkaTemplate);
+        ReflectionTestUtils.setField(consumer, "notifiedTtlHours", 168L);
+
+        job = Job.builder().id(3L).title("Data Engineer").status(JobStatus.OPEN).build();
+        when(jobRepository.findById(3L)).thenReturn(Optional.of(job));
+        page.put(7L, 0.8);
+        page.put(8L, 0.7);
+        doAnswer(invocation -> {
+            Consumer<Map<Long, Double>> pageConsumer = invocation.getArgument(1);
+            pageConsumer.accept(page);
+            return 2L;
+        }).when(reverseMatchingService).forEachMatchingPage(eq(job), any());
+        when(notificationKafkaTemplate.send(anyString(), anyString(), any(NotificationEvent.class)))
+                .thenReturn(new CompletableFuture<>());
+    }
+
+    @Test
+    @DisplayName("consume should add the job to the feeds and notify every newly claimed user")
+    void consume_NewMatches_NotifiesEachUser() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(1L, 1L));
+
+        consumer.consumeJobFanOutEvent(new JobFanOutEvent(3L));
+
+        verify(matchedJobFeedService).addJob(job, page);
+        verify(notificationKafkaTemplate).send(eq("notification-events"), eq("7"), any(NotificationEvent.class));
+        verify(notificationKafkaTemplate).send(eq("notification-events"), eq("8"), any(NotificationEvent.class));
+    }
+
+    @Test
+    @DisplayName("consume should skip users a previous delivery already notified")
+    void consume_Redelivered_SkipsClaimedUsers() {
+        // user 7 was claimed before the earlier attempt failed
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(0L, 1L));
+
+        consumer.consumeJobFanOutEvent(new JobFanOutEvent(3L));
+
+        verify(notificationKafkaTemplate, never()).send(anyString(), eq("7"), any(NotificationEvent.class));
+        verify(notificationKafkaTemplate).send(eq("notification-events"), eq("8"), any(NotificationEvent.class));
+    }
+
+    @Test
+    @DisplayName("consume should do nothing for a job that is no longer open")
+    void consume_JobClosed_Skips() {
+        job.setStatus(JobStatus.CLOSED);
+
+        consumer.consumeJobFanOutEvent(new JobFanOutEvent(3L));
+
+        verifyNoInteractions(reverseMatchingService, notificationKafkaTemplate);
+    }
+}
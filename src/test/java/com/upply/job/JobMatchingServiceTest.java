@@ -2,21 +2,27 @@ package com.upply.job;
 
 import com.upply.user.User;
 import com.upply.user.UserRepository;
+import com.upply.vector.ContentHash;
+import com.upply.vector.DocumentVectorCache;
+import com.upply.vector.VectorWriteBuffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +45,15 @@ class JobMatchingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    @Mock
+    private DocumentVectorCache documentVectorCache;
+
+    @Mock
+    private VectorWriteBuffer jobsVectorWriteBuffer;
+
     private JobMatchingService jobMatchingService;
 
     private Job testJob;
@@ -46,7 +61,8 @@ class JobMatchingServiceTest {
 
     @BeforeEach
     void setUp() {
-        jobMatchingService = new JobMatchingService(jobsVectorStore, userSkillsVectorStore, jobRepository, userRepository);
+        jobMatchingService = new JobMatchingService(jobsVectorStore, userSkillsVectorStore, jobRepository, userRepository,
+                embeddingModel, documentVectorCache, jobsVectorWriteBuffer);
         
         testJob = mock(Job.class);
         testUser = mock(User.class);
@@ -63,49 +79,103 @@ class JobMatchingServiceTest {
 
     @AfterEach
     void tearDown() {
-        clearInvocations(jobsVectorStore, userSkillsVectorStore, jobRepository, userRepository);
+        clearInvocations(jobsVectorStore, userSkillsVectorStore, jobRepository, userRepository,
+                embeddingModel, documentVectorCache, jobsVectorWriteBuffer);
     }
 
     @Test
-    @DisplayName("storeJobEmbedding - success")
+    @DisplayName("storeJobEmbedding should store the job embedding")
     void storeJobEmbedding_Success() {
         when(jobRepository.findJobSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
 
         jobMatchingService.storeJobEmbedding(testJob);
 
-        verify(jobsVectorStore).add(anyList());
+        verify(jobsVectorWriteBuffer).upsert(any(Document.class), any(Runnable.class));
+        verify(jobsVectorStore, never()).add(anyList());
+    }
+
+    @Test
+    @DisplayName("storeJobEmbedding should only update metadata when title and skills are unchanged")
+    void storeJobEmbedding_UnchangedContentUpdatesMetadataOnly() {
+        when(jobRepository.findJobSkillNames(1L)).thenReturn(List.of("Spring Boot", "Java"));
+        when(jobsVectorWriteBuffer.supportsMetadataUpdates()).thenReturn(true);
+        when(testJob.getEmbeddingContentHash()).thenReturn(
+                ContentHash.sha256("Job Title: Software Engineer. Required Skills: Java, Spring Boot."));
+
+        jobMatchingService.storeJobEmbedding(testJob);
+
+        verify(jobsVectorWriteBuffer).updateMetadata(eq("1"), argThat(metadata -> "OPEN".equals(metadata.get("status"))));
+        verify(jobsVectorWriteBuffer, never()).upsert(any(Document.class), any(Runnable.class));
+        verify(documentVectorCache, never()).evictJobVector(anyLong());
+    }
+
+    @Test
+    @DisplayName("storeJobEmbedding should re-embed changed content and record its hash once written")
+    void storeJobEmbedding_ChangedContentRecordsHash() {
+        when(jobRepository.findJobSkillNames(1L)).thenReturn(List.of("Java"));
+        when(jobsVectorWriteBuffer.supportsMetadataUpdates()).thenReturn(true);
+        when(testJob.getEmbeddingContentHash()).thenReturn("stale");
+
+        jobMatchingService.storeJobEmbedding(testJob);
+
+        ArgumentCaptor<Runnable> onApplied = ArgumentCaptor.forClass(Runnable.class);
+        verify(jobsVectorWriteBuffer).upsert(any(Document.class), onApplied.capture());
+        verify(jobRepository, never()).updateEmbeddingContentHash(anyLong(), anyString());
+        verify(documentVectorCache, never()).evictJobVector(anyLong());
+
+        onApplied.getValue().run();
+
+        verify(jobRepository).updateEmbeddingContentHash(1L,
+                ContentHash.sha256("Job Title: Software Engineer. Required Skills: Java."));
+        verify(documentVectorCache).evictJobVector(1L);
+    }
+
+    @Test
+    @DisplayName("storeJobEmbedding should not index a closed job")
+    void storeJobEmbedding_ClosedJobSkipped() {
+        when(testJob.getStatus()).thenReturn(com.upply.job.enums.JobStatus.CLOSED);
+        when(jobsVectorWriteBuffer.supportsMetadataUpdates()).thenReturn(true);
+        when(jobRepository.findJobSkillNames(1L)).thenReturn(List.of("Java"));
+        when(testJob.getEmbeddingContentHash()).thenReturn(
+                ContentHash.sha256("Job Title: Software Engineer. Required Skills: Java."));
+
+        jobMatchingService.storeJobEmbedding(testJob);
+
+        verifyNoInteractions(jobsVectorWriteBuffer);
     }
 
     @Test
-    @DisplayName("storeJobEmbedding - throws runtime exception on error")
+    @DisplayName("storeJobEmbedding should throw runtime exception on error")
     void storeJobEmbedding_ThrowsRuntimeException() {
         when(jobRepository.findJobSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
-        doThrow(new RuntimeException("Vector store error")).when(jobsVectorStore).add(anyList());
+        doThrow(new RuntimeException("Vector store error")).when(jobsVectorWriteBuffer).upsert(any(Document.class), any(Runnable.class));
 
         assertThrows(RuntimeException.class, () -> jobMatchingService.storeJobEmbedding(testJob));
     }
 
     @Test
-    @DisplayName("deleteJobEmbedding - success")
+    @DisplayName("deleteJobEmbedding should delete the job embedding")
     void deleteJobEmbedding_Success() {
         Long jobId = 1L;
 
         jobMatchingService.deleteJobEmbedding(jobId);
 
-        verify(jobsVectorStore).delete(eq(List.of(String.valueOf(jobId))));
+        verify(jobsVectorWriteBuffer).delete(String.valueOf(jobId));
+        verify(jobRepository).updateEmbeddingContentHash(jobId, null);
+        verify(jobsVectorStore, never()).delete(anyList());
     }
 
     @Test
-    @DisplayName("deleteJobEmbedding - handles exception gracefully")
+    @DisplayName("deleteJobEmbedding should handle exception gracefully")
     void deleteJobEmbedding_HandlesException() {
         Long jobId = 1L;
-        doThrow(new RuntimeException("Delete error")).when(jobsVectorStore).delete(anyList());
+        doThrow(new RuntimeException("Delete error")).when(jobsVectorWriteBuffer).delete(anyString());
 
         assertDoesNotThrow(() -> jobMatchingService.deleteJobEmbedding(jobId));
     }
 
     @Test
-    @DisplayName("findSimilarJobs - returns matching jobs with scores")
+    @DisplayName("findSimilarJobs should return matching jobs with scores")
     void findSimilarJobs_ReturnsMatchingJobs() {
         when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
 
@@ -124,7 +194,7 @@ class JobMatchingServiceTest {
     }
 
     @Test
-    @DisplayName("findSimilarJobs - throws runtime exception on error")
+    @DisplayName("findSimilarJobs should throw runtime exception on error")
     void findSimilarJobs_ThrowsRuntimeException() {
         when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
         when(jobsVectorStore.similaritySearch(any(SearchRequest.class)))
@@ -134,7 +204,7 @@ class JobMatchingServiceTest {
     }
 
     @Test
-    @DisplayName("calculateMatchScore - returns score between 0 and 1")
+    @DisplayName("calculateMatchScore should return score between 0 and 1")
     void calculateMatchScore_ReturnsScore() {
         when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
 
@@ -151,7 +221,7 @@ class JobMatchingServiceTest {
     }
 
     @Test
-    @DisplayName("calculateMatchScore - returns 0 when no matching document found")
+    @DisplayName("calculateMatchScore should return 0 when no matching document found")
     void calculateMatchScore_ReturnsZeroWhenNotFound() {
         when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
 
@@ -164,7 +234,7 @@ class JobMatchingServiceTest {
     }
 
     @Test
-    @DisplayName("calculateMatchScore - handles exception and returns 0")
+    @DisplayName("calculateMatchScore should handle exception and return 0")
     void calculateMatchScore_HandlesException() {
         when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
         when(jobsVectorStore.similaritySearch(any(SearchRequest.class)))
@@ -176,7 +246,34 @@ class JobMatchingServiceTest {
     }
 
     @Test
-    @DisplayName("findMatchingUsers - returns matching users for job")
+    @DisplayName("calculateMatchScore should score cached vectors locally without vector search")
+    void calculateMatchScore_UsesCachedVectors() {
+        when(documentVectorCache.getUserVector(1L)).thenReturn(Optional.of(new float[]{1f, 0f}));
+        when(documentVectorCache.getJobVector(1L)).thenReturn(Optional.of(new float[]{1f, 0f}));
+
+        double score = jobMatchingService.calculateMatchScore(testUser, testJob);
+
+        assertEquals(1.0, score, 0.0);
+        verifyNoInteractions(jobsVectorStore, embeddingModel);
+    }
+
+    @Test
+    @DisplayName("calculateMatchScore should embed and cache missing vectors")
+    void calculateMatchScore_EmbedsAndCachesMissingVectors() {
+        when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java"));
+        when(jobRepository.findJobSkillNames(1L)).thenReturn(List.of("Java"));
+        when(embeddingModel.embed(anyString())).thenReturn(new float[]{1f, 0f}, new float[]{0f, 1f});
+
+        double score = jobMatchingService.calculateMatchScore(testUser, testJob);
+
+        assertEquals(0.5, score, 0.0);
+        verify(documentVectorCache).putUserVector(eq(1L), any(float[].class));
+        verify(documentVectorCache).putJobVector(eq(1L), any(float[].class));
+        verify(jobsVectorStore, never()).similaritySearch(any(SearchRequest.class));
+    }
+
+    @Test
+    @DisplayName("findMatchingUsers should return matching users for job")
     void findMatchingUsers_ReturnsMatchingUsers() {
         when(jobRepository.findJobSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
 
@@ -195,7 +292,7 @@ class JobMatchingServiceTest {
     }
 
     @Test
-    @DisplayName("findMatchingUsers - throws runtime exception on error")
+    @DisplayName("findMatchingUsers should throw runtime exception on error")
     void findMatchingUsers_ThrowsRuntimeException() {
         when(jobRepository.findJobSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
         when(userSkillsVectorStore.similaritySearch(any(SearchRequest.class)))
@@ -205,7 +302,7 @@ class JobMatchingServiceTest {
     }
 
     @Test
-    @DisplayName("JobWithScore - getter methods work correctly")
+    @DisplayName("JobWithScore getter methods should work correctly")
     void jobWithScore_GetterMethods() {
         JobMatchingService.JobWithScore jobWithScore = new JobMatchingService.JobWithScore(testJob, 0.85);
 
@@ -1,5 +1,7 @@
 package com.upply.job;
 
+import com.upply.ai.LlmGateway;
+import com.upply.ai.LlmUnavailableException;
 import com.upply.exception.custom.BusinessLogicException;
 import com.upply.job.dto.ParsedJobResponse;
 import com.upply.job.enums.JobModel;
@@ -23,7 +25,9 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +40,9 @@ class JobParserServiceTest {
     @Mock
     private ChatClient groqChatClient;
 
+    @Mock
+    private LlmGateway llmGateway;
+
     @Mock
     private SkillRepository skillRepository;
 
@@ -254,4 +261,13 @@ class JobParserServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("parse should report a bad request when no AI provider can answer")
+    void shouldThrowBusinessLogicExceptionWhenProvidersUnavailable() {
+        when(llmGateway.call(eq("job-import"), anyList(), any()))
+                .thenThrow(new LlmUnavailableException("All AI providers failed for job-import"));
+
+        assertThrows(BusinessLogicException.class, () -> jobParserService.parse("Senior Java developer"));
+    }
+}
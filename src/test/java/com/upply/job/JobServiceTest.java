@@ -20,6 +20,9 @@ import com.upply.job.ApplicationExcelExportService;
 import com.upply.job.dto.ExportTaskMapper;
 import com.upply.job.dto.MatchedJobListResponse;
 import com.upply.job.dto.JobListResponse;
+import com.upply.job.search.JobSearchIndex;
+import com.upply.job.search.JobSearchService;
+import com.upply.common.PageResponse;
 import com.upply.notification.dto.NotificationEvent;
 import com.upply.organization.Organization;
 import com.upply.profile.skill.Skill;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -40,9 +44,11 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -86,6 +92,15 @@ class JobServiceTest {
     @Mock
     private KafkaTemplate<String, PostJobEvent> postJobEventKafkaTemplate;
 
+    @Mock
+    private MatchedJobFeedService matchedJobFeedService;
+
+    @Mock
+    private JobSearchService jobSearchService;
+
+    @Mock
+    private JobSearchIndex jobSearchIndex;
+
     @InjectMocks
     private JobService jobService;
 
@@ -204,24 +219,20 @@ class JobServiceTest {
     @DisplayName("searchJobs should return jobs with filters")
     void shouldSearchJobsSuccessfully() {
         JobFilter filter = new JobFilter();
-        Page<Job> jobPage = new PageImpl<>(List.of(testJob));
-        
-        when(jobRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class), any(Pageable.class)))
-                .thenReturn(jobPage);
-        when(jobMapper.toJobListResponse(any(Job.class))).thenReturn(mock(JobListResponse.class));
+        PageResponse<JobListResponse> page = new PageResponse<>(
+                List.of(mock(JobListResponse.class)), 0, 10, 1L, 1, true, true);
+
+        when(jobSearchService.search(0, 10, filter)).thenReturn(page);
 
         var result = jobService.searchJobs(0, 10, filter);
 
-        assertNotNull(result);
+        assertSame(page, result);
     }
 
     @Test
     @DisplayName("getMatchedJobs should return matched jobs")
     void shouldGetMatchedJobsSuccessfully() {
-        JobMatchingService.JobWithScore jobWithScore = new JobMatchingService.JobWithScore(testJob, 0.85);
-        
-        when(jobMatchingService.findSimilarJobs(any(User.class), anyInt())).thenReturn(List.of(jobWithScore));
-        when(jobMapper.toMatchedJobListResponse(any(Job.class), anyDouble())).thenReturn(mock(MatchedJobListResponse.class));
+        when(matchedJobFeedService.getFeed(any(User.class))).thenReturn(List.of(mock(MatchedJobListResponse.class)));
 
         var result = jobService.getMatchedJobs(mockAuthentication);
 
@@ -284,6 +295,32 @@ class JobServiceTest {
         assertNotNull(result);
     }
 
+    @Test
+    @DisplayName("resumeJob should hand the feed update to the feed service's executor after commit")
+    void shouldPublishResumedJobToFeedsAfterCommit() {
+        when(testJob.getStatus()).thenReturn(JobStatus.PAUSED);
+        when(testJob.getType()).thenReturn(JobType.FULL_TIME);
+        when(testJob.getSeniority()).thenReturn(JobSeniority.MID);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(testJob));
+        when(jobRepository.save(any(Job.class))).thenReturn(testJob);
+        // both templates are KafkaTemplate mocks, so constructor injection may swap them
+        when(notificationKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(new CompletableFuture<>());
+        when(postJobEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(new CompletableFuture<>());
+
+        jobService.resumeJob(1L, mockAuthentication);
+        verify(matchedJobFeedService, never()).submit(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        ArgumentCaptor<Runnable> update = ArgumentCaptor.forClass(Runnable.class);
+        verify(matchedJobFeedService).submit(update.capture());
+        verify(matchedJobFeedService, never()).publishJob(any());
+
+        update.getValue().run();
+        verify(matchedJobFeedService).publishJob(testJob);
+    }
+
     @Test
     @DisplayName("updateJob should update job successfully")
     void shouldUpdateJobSuccessfully() {
@@ -0,0 +1,220 @@
+package com.upply.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.job.dto.JobMapper;
+import com.upply.job.dto.MatchedJobListResponse;
+import com.upply.profile.skill.dto.SkillMapper;
+import com.upply.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MatchedJobFeedService unit tests")
+class MatchedJobFeedServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private JobMatchingService jobMatchingService;
+
+    @Mock
+    private ReverseMatchingService reverseMatchingService;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private StringRedisConnection connection;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MatchedJobFeedService feedService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        feedService = new MatchedJobFeedService(redisTemplate, jobMatchingService, reverseMatchingService,
+                new JobMapper(new SkillMapper()), objectMapper);
+        ReflectionTestUtils.setField(feedService, "feedSize", 50);
+        ReflectionTestUtils.setField(feedService, "staleAfterSeconds", 900L);
+        ReflectionTestUtils.setField(feedService, "ttlHours", 168L);
+
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        user = new User();
+        user.setId(7L);
+    }
+
+    private Job job(long id, String title) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(title);
+        return job;
+    }
+
+    /**
+     * Runs every pipelined callback against the mocked connection, answering the feed
+     * existence check with {@code built}.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubPipelines(List<Object> built) {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return built;
+        });
+    }
+
+    @Test
+    @DisplayName("getFeed should build and store the feed on first read")
+    void getFeed_ColdFeedIsRebuilt() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenReturn(null);
+        when(jobMatchingService.findSimilarJobs(user, 50))
+                .thenReturn(List.of(new JobMatchingService.JobWithScore(job(1L, "Backend Engineer"), 0.82)));
+
+        List<MatchedJobListResponse> feed = feedService.getFeed(user);
+
+        assertEquals(1, feed.size());
+        assertEquals(82, feed.get(0).getMatchPercentage());
+        verify(hashOperations).put(eq("matched-feed:cards"), eq("1"), anyString());
+        verify(setOperations).add("matched-feed:job:1:users", "7");
+        verify(redisTemplate).rename(startsWith("matched-feed:user:7:"), eq("matched-feed:user:7"));
+        verify(valueOperations).set(eq("matched-feed:user:7:built"), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("getFeed should serve a fresh feed from Redis without a vector search")
+    void getFeed_WarmFeedSkipsVectorSearch() throws Exception {
+        MatchedJobListResponse card = new JobMapper(new SkillMapper()).toMatchedJobListResponse(job(1L, "Backend Engineer"), 0.0);
+        card.setMatchScore(null);
+        card.setMatchPercentage(null);
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenReturn(List.of(
+                String.valueOf(System.currentTimeMillis()), "0.75", objectMapper.writeValueAsString(card)));
+
+        List<MatchedJobListResponse> feed = feedService.getFeed(user);
+
+        assertEquals(1, feed.size());
+        assertEquals("Backend Engineer", feed.get(0).getTitle());
+        assertEquals(0.75, feed.get(0).getMatchScore());
+        assertEquals(75, feed.get(0).getMatchPercentage());
+        verify(jobMatchingService, never()).findSimilarJobs(any(), anyInt());
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("getFeed should fall back to a direct search when Redis is unavailable")
+    void getFeed_RedisFailureComputesDirectly() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenThrow(new RuntimeException("redis down"));
+        when(jobMatchingService.findSimilarJobs(user, 50))
+                .thenReturn(List.of(new JobMatchingService.JobWithScore(job(1L, "Backend Engineer"), 0.9)));
+
+        List<MatchedJobListResponse> feed = feedService.getFeed(user);
+
+        assertEquals(1, feed.size());
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("addJob should merge only into existing feeds above the match threshold")
+    void addJob_SkipsUsersWithoutFeedOrBelowThreshold() {
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        scores.put(7L, 0.8);
+        scores.put(8L, 0.9);
+        scores.put(9L, 0.4);
+        // existence is checked for users 7 and 8 only, 9 is below the threshold
+        stubPipelines(List.of(true, false));
+
+        feedService.addJob(job(3L, "Data Engineer"), scores);
+
+        verify(connection).zAdd("matched-feed:user:7", 0.8, "3");
+        verify(connection).zRemRange("matched-feed:user:7", 0, -51);
+        verify(connection, never()).zAdd(eq("matched-feed:user:8"), anyDouble(), anyString());
+        verify(connection, never()).zAdd(eq("matched-feed:user:9"), anyDouble(), anyString());
+        verify(connection).sAdd("matched-feed:job:3:users", "7");
+        verify(connection).hSet(eq("matched-feed:cards"), eq("3"), anyString());
+        verify(connection).expire("matched-feed:job:3:users", Duration.ofHours(168).toSeconds());
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("addJob should not store a card when no matching user has a feed")
+    void addJob_NoFeedReceivesIt_StoresNoCard() {
+        stubPipelines(List.of(false));
+
+        feedService.addJob(job(3L, "Data Engineer"), Map.of(8L, 0.9));
+        feedService.addJob(job(3L, "Data Engineer"), Map.of(9L, 0.4));
+
+        verify(connection, never()).hSet(anyString(), anyString(), anyString());
+        verify(connection, never()).zAdd(anyString(), anyDouble(), anyString());
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("publishJob should merge every page of matching users")
+    @SuppressWarnings("unchecked")
+    void publishJob_MergesEachMatchingPage() {
+        doAnswer(invocation -> {
+            Consumer<Map<Long, Double>> consumer = invocation.getArgument(1);
+            consumer.accept(Map.of(7L, 0.8));
+            consumer.accept(Map.of(8L, 0.7));
+            return 2L;
+        }).when(reverseMatchingService).forEachMatchingPage(any(Job.class), any());
+        stubPipelines(List.of(true));
+
+        feedService.publishJob(job(3L, "Data Engineer"));
+
+        verify(connection).zAdd("matched-feed:user:7", 0.8, "3");
+        verify(connection).zAdd("matched-feed:user:8", 0.7, "3");
+    }
+
+    @Test
+    @DisplayName("removeJob should remove the job from every feed that lists it")
+    void removeJob_RemovesFromListedFeeds() {
+        when(setOperations.members("matched-feed:job:3:users")).thenReturn(Set.of("7", "8"));
+
+        feedService.removeJob(3L);
+
+        verify(zSetOperations).remove("matched-feed:user:7", "3");
+        verify(zSetOperations).remove("matched-feed:user:8", "3");
+        verify(redisTemplate).delete("matched-feed:job:3:users");
+        verify(hashOperations).delete("matched-feed:cards", "3");
+    }
+}
@@ -0,0 +1,108 @@
+package com.upply.job;
+
+import com.upply.application.dto.ApplicantResumeFile;
+import com.upply.profile.resume.BlobStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ResumeArchiveService unit tests")
+class ResumeArchiveServiceTest {
+
+    @Mock
+    private BlobStore blobStore;
+
+    private static List<ApplicantResumeFile> files(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new ApplicantResumeFile((long) i, "Applicant", String.valueOf(i), "u/" + i, i + ".pdf"))
+                .toList();
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry; (entry = in.getNextEntry()) != null; ) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    @DisplayName("writeZip should write every resume in order while downloading a bounded number at once")
+    void writeZip_OrderedWithBoundedParallelism() throws IOException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+            Files.writeString(invocation.getArgument(1, Path.class), "pdf " + invocation.getArgument(0, String.class));
+            inFlight.decrementAndGet();
+            return null;
+        }).when(blobStore).downloadToFile(anyString(), any(Path.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new ResumeArchiveService(blobStore, 3, 60000).writeZip(files(20), out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        List<String> expectedNames = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            expectedNames.add("%03d_Applicant %d.pdf".formatted(i, i));
+        }
+        assertEquals(expectedNames, List.copyOf(entries.keySet()));
+        assertEquals("pdf u/7", entries.get("007_Applicant 7.pdf"));
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    @Test
+    @DisplayName("writeZip should skip unreadable resumes and list them in MISSING.txt")
+    void writeZip_UnreadableBlob_ListedAsMissing() throws IOException {
+        doAnswer(invocation -> Files.writeString(invocation.getArgument(1, Path.class), "pdf"))
+                .when(blobStore).downloadToFile(anyString(), any(Path.class));
+        doThrow(new RuntimeException("404")).when(blobStore).downloadToFile(eq("u/2"), any(Path.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new ResumeArchiveService(blobStore, 2, 60000).writeZip(files(3), out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(List.of("001_Applicant 1.pdf", "003_Applicant 3.pdf", "MISSING.txt"), List.copyOf(entries.keySet()));
+        assertEquals("Application 2: resume could not be read", entries.get("MISSING.txt"));
+    }
+
+    @Test
+    @DisplayName("entryName should replace characters that are unsafe in file names")
+    void entryName_SanitizesApplicantName() {
+        ApplicantResumeFile file = new ApplicantResumeFile(9L, "../Sara", "O'Neil", "u/9", "cv.pdf");
+
+        assertEquals("001_.._Sara O_Neil.pdf", ResumeArchiveService.entryName(0, file));
+    }
+}
@@ -0,0 +1,96 @@
+package com.upply.job;
+
+import com.upply.user.UserRepository;
+import com.upply.vector.SimilarityScanner;
+import com.upply.vector.SimilarityScanner.ScoredId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReverseMatchingService unit tests")
+class ReverseMatchingServiceTest {
+
+    @Mock
+    private SimilarityScanner scanner;
+
+    @Mock
+    private JobMatchingService jobMatchingService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ReverseMatchingService reverseMatchingService;
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        reverseMatchingService = new ReverseMatchingService(scanner, jobMatchingService, userRepository);
+        ReflectionTestUtils.setField(reverseMatchingService, "threshold", 0.6);
+        ReflectionTestUtils.setField(reverseMatchingService, "pageSize", 2);
+
+        job = new Job();
+        job.setId(3L);
+        when(jobMatchingService.getJobVector(job)).thenReturn(new float[]{1f, 0f});
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scannerReturns(List<List<ScoredId>> pages) {
+        when(scanner.scan(any(float[].class), eq(0.6), eq(2), any())).thenAnswer(invocation -> {
+            Consumer<List<ScoredId>> consumer = invocation.getArgument(3);
+            pages.forEach(consumer);
+            return (long) pages.stream().mapToInt(List::size).sum();
+        });
+    }
+
+    @Test
+    @DisplayName("forEachMatchingPage should stream each page with scores in scan order")
+    void forEachMatchingPage_StreamsPages() {
+        scannerReturns(List.of(
+                List.of(new ScoredId("1", 0.9), new ScoredId("2", 0.8)),
+                List.of(new ScoredId("3", 0.7))));
+        when(userRepository.findReachableUserIds(anyCollection()))
+                .thenAnswer(invocation -> List.copyOf((Collection<Long>) invocation.getArgument(0)));
+
+        List<Map<Long, Double>> pages = new ArrayList<>();
+        long delivered = reverseMatchingService.forEachMatchingPage(job, pages::add);
+
+        assertEquals(3, delivered);
+        assertEquals(2, pages.size());
+        assertEquals(List.of(1L, 2L), List.copyOf(pages.get(0).keySet()));
+        assertEquals(0.7, pages.get(1).get(3L));
+    }
+
+    @Test
+    @DisplayName("forEachMatchingPage should drop unreachable users before handing a page on")
+    void forEachMatchingPage_FiltersUnreachableUsers() {
+        scannerReturns(List.of(
+                List.of(new ScoredId("1", 0.9), new ScoredId("2", 0.8)),
+                List.of(new ScoredId("3", 0.7))));
+        when(userRepository.findReachableUserIds(anyCollection())).thenReturn(List.of(2L));
+
+        List<Map<Long, Double>> pages = new ArrayList<>();
+        long delivered = reverseMatchingService.forEachMatchingPage(job, pages::add);
+
+        assertEquals(1, delivered);
+        assertEquals(List.of(Map.of(2L, 0.8)), pages);
+        verify(userRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,127 @@
+package com.upply.job.search;
+
+import com.upply.job.dto.JobFilter;
+import com.upply.job.enums.JobModel;
+import com.upply.job.enums.JobSeniority;
+import com.upply.job.enums.JobStatus;
+import com.upply.job.enums.JobType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JobSearchIndex unit tests")
+class JobSearchIndexTest {
+
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new JobSearchIndex();
+        index.rebuild(List.of(
+                job(1L, "Senior Java Developer", "Build services with Spring", List.of("Java", "Spring"),
+                        JobType.FULL_TIME, JobModel.REMOTE, "Cairo, Egypt", 100),
+                job(2L, "Frontend Engineer", "React and TypeScript, some Java is a plus", List.of("React"),
+                        JobType.FULL_TIME, JobModel.ONSITE, "Alexandria, Egypt", 200),
+                job(3L, "C++ Engineer", "Low latency trading systems", List.of("C++"),
+                        JobType.PART_TIME, JobModel.REMOTE, "Berlin, Germany", 300),
+                job(4L, "Java Intern", "Learn Java", List.of("Java"),
+                        JobType.INTERNSHIP, JobModel.REMOTE, "Cairo, Egypt", 400)
+        ));
+    }
+
+    private JobSearchDocument job(Long id, String title, String description, List<String> skills,
+                                  JobType type, JobModel model, String location, long created) {
+        return new JobSearchDocument(id, title, description, skills, type, JobSeniority.MID, model,
+                location, JobStatus.OPEN, Instant.ofEpochSecond(created));
+    }
+
+    @Test
+    @DisplayName("rank should order title and skill matches above description-only matches")
+    void rank_WeightsTitleAboveDescription() {
+        List<Long> ranked = index.rank("java", new JobFilter(), 10);
+
+        assertEquals(3, ranked.size());
+        assertEquals(2L, ranked.get(2));
+        assertTrue(ranked.containsAll(List.of(1L, 4L)));
+    }
+
+    @Test
+    @DisplayName("rank should keep C++ distinct from C")
+    void rank_KeepsSymbolTerms() {
+        assertEquals(List.of(3L), index.rank("c++", new JobFilter(), 10));
+        assertTrue(index.rank("c", new JobFilter(), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("filters should intersect type, model and location postings")
+    void newest_IntersectsFilters() {
+        JobFilter filter = JobFilter.builder()
+                .model(JobModel.REMOTE)
+                .location("cairo")
+                .build();
+
+        assertEquals(List.of(4L, 1L), index.newest(filter));
+
+        filter.setType(JobType.FULL_TIME);
+        assertEquals(List.of(1L), index.newest(filter));
+        assertEquals(List.of(1L), index.rank("java", filter, 10));
+    }
+
+    @Test
+    @DisplayName("index should drop jobs that are no longer open and replace updated ones")
+    void index_UpdatesAndRemovesJobs() {
+        index.index(new JobSearchDocument(4L, "Java Intern", "Learn Java", List.of("Java"), JobType.INTERNSHIP,
+                JobSeniority.JUNIOR, JobModel.REMOTE, "Cairo", JobStatus.PAUSED, Instant.ofEpochSecond(400)));
+        index.index(job(2L, "Frontend Engineer", "React only", List.of("React"),
+                JobType.FULL_TIME, JobModel.ONSITE, "Alexandria, Egypt", 200));
+        index.remove(3L);
+
+        assertEquals(List.of(1L), index.rank("java", new JobFilter(), 10));
+        assertEquals(List.of(2L, 1L), index.newest(new JobFilter()));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("retain should keep indexed ids matching the filter in their given order")
+    void retain_FiltersVectorHits() {
+        JobFilter filter = JobFilter.builder().model(JobModel.REMOTE).build();
+
+        assertEquals(List.of(3L, 1L), index.retain(List.of(3L, 2L, 99L, 1L), filter));
+    }
+
+    @Test
+    @DisplayName("rebuild should keep changes indexed while it was loading the jobs")
+    void rebuild_ReplaysChangesMadeDuringLoad() {
+        index.rebuild(() -> {
+            // the load read job 1 and 3 before these changes landed
+            index.index(job(5L, "Kotlin Developer", "Android apps", List.of("Kotlin"),
+                    JobType.FULL_TIME, JobModel.REMOTE, "Cairo, Egypt", 500));
+            index.remove(3L);
+            return List.of(
+                    job(1L, "Senior Java Developer", "Build services with Spring", List.of("Java", "Spring"),
+                            JobType.FULL_TIME, JobModel.REMOTE, "Cairo, Egypt", 100),
+                    job(3L, "C++ Engineer", "Low latency trading systems", List.of("C++"),
+                            JobType.PART_TIME, JobModel.REMOTE, "Berlin, Germany", 300));
+        });
+
+        assertEquals(List.of(5L, 1L), index.newest(new JobFilter()));
+        assertEquals(List.of(5L), index.rank("kotlin", new JobFilter(), 10));
+        assertTrue(index.rank("c++", new JobFilter(), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("rebuild should keep the current index when loading fails")
+    void rebuild_LoadFails_KeepsIndex() {
+        assertThrows(IllegalStateException.class, () -> index.rebuild(() -> {
+            throw new IllegalStateException("database down");
+        }));
+        index.remove(4L);
+
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.upply.job.search;
+
+import com.upply.job.Job;
+import com.upply.job.JobRepository;
+import com.upply.job.dto.JobFilter;
+import com.upply.job.dto.JobListResponse;
+import com.upply.job.dto.JobMapper;
+import com.upply.job.enums.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("JobSearchService unit tests")
+class JobSearchServiceTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobMapper jobMapper;
+
+    @Mock
+    private VectorStore jobsVectorStore;
+
+    private JobSearchIndex jobSearchIndex;
+    private JobSearchService jobSearchService;
+
+    @BeforeEach
+    void setUp() {
+        jobSearchIndex = new JobSearchIndex();
+        jobSearchService = new JobSearchService(jobSearchIndex, jobRepository, jobMapper, jobsVectorStore);
+        ReflectionTestUtils.setField(jobSearchService, "candidates", 200);
+        ReflectionTestUtils.setField(jobSearchService, "rrfK", 60);
+        ReflectionTestUtils.setField(jobSearchService, "vectorThreshold", 0.6);
+
+        when(jobRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Job> jobs = new ArrayList<>();
+            ids.forEach(id -> jobs.add(Job.builder().id(id).build()));
+            return jobs;
+        });
+        when(jobMapper.toJobListResponse(any(Job.class))).thenAnswer(invocation ->
+                JobListResponse.builder().id(invocation.<Job>getArgument(0).getId()).build());
+    }
+
+    private Job job(Long id, String title) {
+        return Job.builder()
+                .id(id)
+                .title(title)
+                .description("")
+                .status(JobStatus.OPEN)
+                .skills(new HashSet<>())
+                .createdDate(Instant.ofEpochSecond(id))
+                .build();
+    }
+
+    private List<Long> ids(List<JobListResponse> content) {
+        return content.stream().map(JobListResponse::getId).toList();
+    }
+
+    @Test
+    @DisplayName("search should use the database until the index has been built")
+    void search_BeforeRebuild_FallsBackToDatabase() {
+        when(jobRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(job(1L, "Java Developer"))));
+
+        var result = jobSearchService.search(0, 10, JobFilter.builder().keyword("java").build());
+
+        assertEquals(List.of(1L), ids(result.getContent()));
+        verify(jobsVectorStore, never()).similaritySearch(any(SearchRequest.class));
+    }
+
+    @Test
+    @DisplayName("search should fuse BM25 and vector rankings")
+    void search_FusesLexicalAndVectorRankings() {
+        when(jobRepository.findIdsByStatus(JobStatus.OPEN)).thenReturn(List.of(1L, 2L, 3L));
+        when(jobRepository.findAllWithSkillsByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return List.of(job(1L, "Java Developer"), job(2L, "Backend Engineer"), job(3L, "Java Java Lead"))
+                    .stream().filter(job -> ids.contains(job.getId())).toList();
+        });
+        jobSearchService.rebuildIndex();
+
+        // BM25 ranks 3 then 1; the vector ranking adds 2 and puts 1 first
+        when(jobsVectorStore.similaritySearch(any(SearchRequest.class)))
+                .thenReturn(List.of(new Document("1", "", Map.of()),
+                        new Document("2", "", Map.of()),
+                        new Document("99", "", Map.of())));
+
+        var result = jobSearchService.search(0, 10, JobFilter.builder().keyword("java").build());
+
+        assertEquals(List.of(1L, 3L, 2L), ids(result.getContent()));
+        assertEquals(3L, result.getTotalElements());
+        verify(jobRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("search should page filter-only results newest first")
+    void search_WithoutKeyword_PagesNewestFirst() {
+        jobSearchIndex.rebuild(List.of(
+                JobSearchDocument.from(job(1L, "A")),
+                JobSearchDocument.from(job(2L, "B")),
+                JobSearchDocument.from(job(3L, "C"))));
+
+        var result = jobSearchService.search(1, 2, new JobFilter());
+
+        assertEquals(List.of(1L), ids(result.getContent()));
+        assertEquals(2, result.getTotalPages());
+        assertTrue(result.isLast());
+        verify(jobsVectorStore, never()).similaritySearch(any(SearchRequest.class));
+    }
+
+    @Test
+    @DisplayName("search should fall back to BM25 when the vector store fails")
+    void search_VectorFailure_UsesLexicalOnly() {
+        jobSearchIndex.rebuild(List.of(JobSearchDocument.from(job(1L, "Java Developer"))));
+        when(jobsVectorStore.similaritySearch(any(SearchRequest.class)))
+                .thenThrow(new RuntimeException("search unavailable"));
+
+        var result = jobSearchService.search(0, 10, JobFilter.builder().keyword("java").build());
+
+        assertEquals(List.of(1L), ids(result.getContent()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.upply.profile.resume;
+
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AzureStorageService unit tests")
+class AzureStorageServiceTest {
+
+    // the well-known Azurite account, as in .env.example; signing needs no running emulator
+    private static final String AZURITE = "DefaultEndpointsProtocol=http;AccountName=devstoreaccount1;"
+            + "AccountKey=Eby8vdM02xNOcqFlqUwJPLlmEtlCDXJ1OUzFT50uSRZ6IFsuFq2UVErCz4I6tq/K1SZFPTOtr/KBHBeksoGMGw==;"
+            + "BlobEndpoint=http://127.0.0.1:10000/devstoreaccount1;";
+
+    private AzureStorageService azureStorageService;
+
+    @BeforeEach
+    void setUp() {
+        azureStorageService = new AzureStorageService();
+        ReflectionTestUtils.setField(azureStorageService, "containerClient",
+                new BlobServiceClientBuilder().connectionString(AZURITE).buildClient().getBlobContainerClient("upply-files"));
+    }
+
+    @Test
+    @DisplayName("signedDownloadUrl should sign a read-only URL that expires and sets the response headers")
+    void signedDownloadUrl_SignsReadOnlyUrl() {
+        Instant expiresAt = Instant.parse("2030-01-01T00:05:00Z");
+
+        String url = azureStorageService.signedDownloadUrl("1/resume", "inline; filename=\"cv.pdf\"", expiresAt)
+                .orElseThrow();
+
+        String decoded = URLDecoder.decode(url, StandardCharsets.UTF_8);
+        String query = decoded.substring(decoded.indexOf('?') + 1);
+        assertTrue(decoded.startsWith("http://127.0.0.1:10000/devstoreaccount1/upply-files/1/resume?"));
+        assertTrue(query.contains("sp=r&"));
+        assertTrue(query.contains("se=2030-01-01T00:05:00Z"));
+        assertTrue(query.contains("rscd=inline; filename=\"cv.pdf\""));
+        assertTrue(query.contains("rsct=application/pdf"));
+        assertTrue(query.contains("sig="));
+    }
+
+    @Test
+    @DisplayName("signedDownloadUrl should return empty when the client holds no account key")
+    void signedDownloadUrl_NoAccountKey_ReturnsEmpty() {
+        ReflectionTestUtils.setField(azureStorageService, "containerClient", new BlobServiceClientBuilder()
+                .connectionString("BlobEndpoint=http://127.0.0.1:10000/devstoreaccount1;SharedAccessSignature=sv=2021-08-06&sig=abc")
+                .buildClient().getBlobContainerClient("upply-files"));
+
+        assertTrue(azureStorageService.signedDownloadUrl(
+                "1/resume", "inline; filename=\"cv.pdf\"", Instant.parse("2030-01-01T00:05:00Z")).isEmpty());
+    }
+}
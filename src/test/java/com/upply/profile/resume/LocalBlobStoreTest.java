@@ -0,0 +1,108 @@
+package com.upply.profile.resume;
+
+import com.upply.exception.custom.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LocalBlobStore unit tests")
+class LocalBlobStoreTest {
+
+    private static final byte[] CONTENT = "%PDF-1.7 resume content".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new LocalBlobStore(root);
+    }
+
+    private String upload() {
+        return blobStore.uploadFile(1L, new ByteArrayInputStream(CONTENT));
+    }
+
+    @Test
+    @DisplayName("uploadFile should store the blob in a directory sharded by user and uuid prefix")
+    void uploadFile_StoresShardedFile() throws IOException {
+        String blobName = upload();
+
+        String uuid = blobName.substring(blobName.indexOf('/') + 1);
+        Path stored = root.resolve("1").resolve(uuid.substring(0, 2)).resolve(uuid);
+        assertTrue(blobName.startsWith("1/"));
+        assertArrayEquals(CONTENT, Files.readAllBytes(stored));
+        try (var files = Files.list(stored.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("openStream should read the requested range from the mapped file")
+    void openStream_Range_ReadsSlice() throws IOException {
+        StoredBlob blob = blobStore.getBlob(upload());
+
+        try (InputStream in = blobStore.openStream(blob, 9, 6)) {
+            assertEquals("resume", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+        assertEquals(CONTENT.length, blob.size());
+    }
+
+    @Test
+    @DisplayName("downloadToFile should copy the whole blob")
+    void downloadToFile_CopiesBlob() throws IOException {
+        String blobName = upload();
+        Path target = Files.writeString(root.resolve("existing.pdf"), "older and longer content than the blob");
+
+        blobStore.downloadToFile(blobName, target);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+    }
+
+    @Test
+    @DisplayName("openStream should refuse a blob that changed since it was looked up")
+    void openStream_ChangedBlob_Throws() throws IOException {
+        String blobName = upload();
+        StoredBlob blob = blobStore.getBlob(blobName);
+        Files.setLastModifiedTime(blobStore.path(blobName), FileTime.fromMillis(0));
+
+        assertThrows(IllegalStateException.class, () -> blobStore.openStream(blob, 0, blob.size()));
+    }
+
+    @Test
+    @DisplayName("deleteFile should remove the blob and ignore one that is already gone")
+    void deleteFile_RemovesBlob() {
+        String blobName = upload();
+
+        blobStore.deleteFile(blobName);
+
+        assertFalse(Files.exists(blobStore.path(blobName)));
+        assertDoesNotThrow(() -> blobStore.deleteFile(blobName));
+    }
+
+    @Test
+    @DisplayName("getBlob should report missing blobs as not found")
+    void getBlob_Missing_NotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> blobStore.getBlob("1/0f8fad5b-d9cb-469f-a165-70867728950e"));
+    }
+
+    @Test
+    @DisplayName("path should reject names that escape the store root")
+    void path_Traversal_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> blobStore.path("../etc"));
+        assertThrows(IllegalArgumentException.class, () -> blobStore.path("1/../../passwd"));
+        assertThrows(IllegalArgumentException.class, () -> blobStore.path("../../x"));
+    }
+}
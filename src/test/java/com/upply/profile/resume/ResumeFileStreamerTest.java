@@ -0,0 +1,125 @@
+package com.upply.profile.resume;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ResumeFileStreamer unit tests")
+class ResumeFileStreamerTest {
+
+    private static final byte[] CONTENT = "%PDF-1.7 resume content".getBytes(StandardCharsets.US_ASCII);
+    private static final StoredBlob BLOB = new StoredBlob("1/resume", "\"0x8DC\"", CONTENT.length);
+
+    @Mock
+    private BlobStore blobStore;
+
+    @InjectMocks
+    private ResumeFileStreamer resumeFileStreamer;
+
+    private final HttpHeaders requestHeaders = new HttpHeaders();
+
+    @BeforeEach
+    void setUp() {
+        when(blobStore.getBlob("1/resume")).thenReturn(BLOB);
+        when(blobStore.openStream(eq(BLOB), anyLong(), anyLong())).thenAnswer(invocation -> {
+            int offset = Math.toIntExact(invocation.getArgument(1, Long.class));
+            int count = Math.toIntExact(invocation.getArgument(2, Long.class));
+            return new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, offset, offset + count));
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream() {
+        return resumeFileStreamer.stream("1/resume", ContentDisposition.inline().build(), requestHeaders);
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    @DisplayName("stream should send the whole file with its ETag")
+    void stream_NoConditions_SendsWholeFile() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = stream();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"0x8DC\"", response.getHeaders().getETag());
+        assertEquals(CONTENT.length, response.getHeaders().getContentLength());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("%PDF-1.7 resume content", body(response));
+    }
+
+    @Test
+    @DisplayName("stream should answer 304 without opening the blob when the ETag matches")
+    void stream_MatchingIfNoneMatch_NotModified() {
+        requestHeaders.setIfNoneMatch("\"0x8DC\"");
+
+        ResponseEntity<StreamingResponseBody> response = stream();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(blobStore, never()).openStream(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("stream should serve a single range as partial content")
+    void stream_Range_PartialContent() throws IOException {
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=9-14");
+
+        ResponseEntity<StreamingResponseBody> response = stream();
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 9-14/" + CONTENT.length, response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(6, response.getHeaders().getContentLength());
+        assertEquals("resume", body(response));
+        verify(blobStore).openStream(BLOB, 9, 6);
+    }
+
+    @Test
+    @DisplayName("stream should ignore the range when If-Range names an older version")
+    void stream_StaleIfRange_SendsWholeFile() throws IOException {
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=9-14");
+        requestHeaders.set(HttpHeaders.IF_RANGE, "\"0x8DB\"");
+
+        ResponseEntity<StreamingResponseBody> response = stream();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("%PDF-1.7 resume content", body(response));
+    }
+
+    @Test
+    @DisplayName("stream should reject ranges past the end of the file")
+    void stream_RangePastEnd_NotSatisfiable() {
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=500-600");
+
+        ResponseEntity<StreamingResponseBody> response = stream();
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */" + CONTENT.length, response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+}
@@ -0,0 +1,291 @@
+package com.upply.profile.resume.analysis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.ai.LlmGateway;
+import com.upply.exception.custom.ResourceNotFoundException;
+import com.upply.job.Job;
+import com.upply.job.JobRepository;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.dto.ResumeAnalysisResponse;
+import com.upply.profile.resume.dto.ResumeAnalysisStatusResponse;
+import com.upply.profile.resume.enums.ResumeAnalysisStatus;
+import com.upply.profile.resume.enums.ResumeTextStatus;
+import com.upply.profile.resume.text.ExtractedResumeText;
+import com.upply.profile.resume.text.ResumeTextService;
+import com.upply.profile.skill.Skill;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ResumeAnalysisService unit tests")
+class ResumeAnalysisServiceTest {
+
+    @Mock
+    private ChatClient geminiChatClient;
+
+    @Mock
+    private ChatClient groqChatClient;
+
+    @Mock
+    private LlmGateway llmGateway;
+
+    @Mock
+    private ResumeRepository resumeRepository;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private ResumeTextService resumeTextService;
+
+    @Mock
+    private ResumeAnalysisRepository resumeAnalysisRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ResumeAnalysisResponse result = new ResumeAnalysisResponse("Strong backend fit", null, null, null,
+            List.of("Spring"), null, 82, List.of("Java"), List.of("Kafka"), "Mention Kafka", "high", null);
+
+    // the repository keeps the last saved row, like the table would
+    private final AtomicReference<ResumeAnalysis> stored = new AtomicReference<>();
+
+    private Job job;
+    private ResumeAnalysisService service;
+
+    @BeforeEach
+    void setUp() {
+        Resume resume = Resume.builder().id(1L).blobName("1/resume").build();
+        job = Job.builder().id(10L).title("Backend Engineer").description("Build APIs")
+                .skills(Set.of(Skill.builder().name("Java").build())).build();
+        when(resumeRepository.getResumeById(1L)).thenReturn(Optional.of(resume));
+        when(jobRepository.findById(10L)).thenAnswer(invocation -> Optional.of(job));
+        when(resumeTextService.getText(resume)).thenReturn(new ExtractedResumeText(ResumeTextStatus.EXTRACTED, "Java developer"));
+        when(resumeAnalysisRepository.findByResumeIdAndJobId(1L, 10L)).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        when(resumeAnalysisRepository.save(any(ResumeAnalysis.class))).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(resumeAnalysisRepository.saveAndFlush(any(ResumeAnalysis.class))).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        // conditional update against the updatedAt the caller read
+        when(resumeAnalysisRepository.claim(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            ResumeAnalysis row = stored.get();
+            if (row == null || !row.getUpdatedAt().equals(invocation.getArgument(1))) {
+                return 0;
+            }
+            row.setStatus(ResumeAnalysisStatus.QUEUED);
+            row.setJobVersion(invocation.getArgument(2));
+            row.setAnalyzerVersion(invocation.getArgument(3));
+            row.setResultJson(null);
+            row.setError(null);
+            row.setUpdatedAt(invocation.getArgument(4));
+            return 1;
+        });
+        doReturn(result).when(llmGateway).call(eq("resume-analysis"), anyList(), any());
+
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    private ResumeAnalysisStatusResponse awaitFinished() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ResumeAnalysisStatusResponse status = service.getStatus(10L, 1L);
+            if (status.status().isFinished()) {
+                return status;
+            }
+            Thread.sleep(5);
+        }
+        return fail("analysis did not finish");
+    }
+
+    @Test
+    @DisplayName("submit should queue the analysis and store the result for polling")
+    void submit_NoStoredResult_AnalyzesInBackground() throws InterruptedException {
+        ResumeAnalysisStatusResponse submitted = service.submit(10L, 1L);
+
+        assertEquals(ResumeAnalysisStatus.QUEUED, submitted.status());
+        ResumeAnalysisStatusResponse finished = awaitFinished();
+        assertEquals(ResumeAnalysisStatus.COMPLETED, finished.status());
+        assertEquals(result, finished.result());
+        assertEquals(ResumeAnalysisStatus.COMPLETED, stored.get().getStatus());
+    }
+
+    @Test
+    @DisplayName("submit should return the stored result without calling the model again")
+    void submit_CurrentResultStored_ReusesIt() throws InterruptedException {
+        service.submit(10L, 1L);
+        awaitFinished();
+
+        ResumeAnalysisStatusResponse again = service.submit(10L, 1L);
+
+        assertEquals(ResumeAnalysisStatus.COMPLETED, again.status());
+        assertEquals(result, again.result());
+        verify(llmGateway, times(1)).call(eq("resume-analysis"), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("submit should analyze again once the job posting changed")
+    void submit_JobChanged_AnalyzesAgain() throws InterruptedException {
+        service.submit(10L, 1L);
+        awaitFinished();
+        job.setDescription("Build APIs and data pipelines");
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getStatus(10L, 1L));
+        service.submit(10L, 1L);
+        awaitFinished();
+
+        verify(llmGateway, times(2)).call(eq("resume-analysis"), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("submit should join an analysis that is already running")
+    void submit_AlreadyRunning_JoinsIt() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return result;
+        }).when(llmGateway).call(eq("resume-analysis"), anyList(), any());
+
+        service.submit(10L, 1L);
+        ResumeAnalysisStatusResponse second = service.submit(10L, 1L);
+        release.countDown();
+
+        assertFalse(second.status().isFinished());
+        assertEquals(ResumeAnalysisStatus.COMPLETED, awaitFinished().status());
+        verify(llmGateway, times(1)).call(eq("resume-analysis"), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("submit should record a failed analysis so it can be retried")
+    void submit_ModelFails_StoresFailure() throws InterruptedException {
+        doThrow(new IllegalStateException("provider down"))
+                .when(llmGateway).call(eq("resume-analysis"), anyList(), any());
+
+        service.submit(10L, 1L);
+        ResumeAnalysisStatusResponse finished = awaitFinished();
+
+        assertEquals(ResumeAnalysisStatus.FAILED, finished.status());
+        assertEquals("Analysis failed: provider down", finished.error());
+    }
+
+    @Test
+    @DisplayName("getStatus should keep reporting a failed analysis until submit retries it")
+    void getStatus_Failed_DoesNotRetry() throws InterruptedException {
+        doThrow(new IllegalStateException("provider down"))
+                .when(llmGateway).call(eq("resume-analysis"), anyList(), any());
+        service.submit(10L, 1L);
+        awaitFinished();
+
+        ResumeAnalysisStatusResponse polled = service.getStatus(10L, 1L);
+        assertEquals(ResumeAnalysisStatus.FAILED, polled.status());
+        assertEquals("Analysis failed: provider down", polled.error());
+        verify(llmGateway, times(1)).call(eq("resume-analysis"), anyList(), any());
+
+        assertEquals(ResumeAnalysisStatus.QUEUED, service.submit(10L, 1L).status());
+        awaitFinished();
+        verify(llmGateway, times(2)).call(eq("resume-analysis"), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("submit should not start a second run while another instance is analyzing")
+    void submit_FreshRowInProgress_ReturnsIt() throws InterruptedException {
+        CountDownLatch analyzing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            analyzing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return result;
+        }).when(llmGateway).call(eq("resume-analysis"), anyList(), any());
+        ResumeAnalysisService otherInstance = newService();
+
+        try {
+            otherInstance.submit(10L, 1L);
+            assertTrue(analyzing.await(5, TimeUnit.SECONDS));
+            ResumeAnalysisStatusResponse submitted = service.submit(10L, 1L);
+
+            assertEquals(ResumeAnalysisStatus.ANALYZING, submitted.status());
+            verify(llmGateway, times(1)).call(eq("resume-analysis"), anyList(), any());
+        } finally {
+            release.countDown();
+            otherInstance.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("submit should take over an unfinished row whose run stopped updating it")
+    void submit_StaleRow_ClaimsAndAnalyzes() throws InterruptedException {
+        service.submit(10L, 1L);
+        awaitFinished();
+        ResumeAnalysis row = stored.get();
+        row.setStatus(ResumeAnalysisStatus.ANALYZING);
+        row.setUpdatedAt(Instant.now().minus(Duration.ofHours(1)));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getStatus(10L, 1L));
+        assertEquals(ResumeAnalysisStatus.QUEUED, service.submit(10L, 1L).status());
+        assertEquals(ResumeAnalysisStatus.COMPLETED, awaitFinished().status());
+        verify(llmGateway, times(2)).call(eq("resume-analysis"), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("submit should leave the run to the instance that claimed the row first")
+    void submit_ClaimLost_DoesNotAnalyze() {
+        ResumeAnalysis row = ResumeAnalysis.builder().id(5L).resumeId(1L).jobId(10L).jobVersion("old")
+                .analyzerVersion("old").status(ResumeAnalysisStatus.COMPLETED).updatedAt(Instant.now()).build();
+        stored.set(row);
+        when(resumeAnalysisRepository.claim(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            // another instance won the race and is analyzing
+            ResumeAnalysis claimed = ResumeAnalysis.builder().id(5L).resumeId(1L).jobId(10L)
+                    .jobVersion(invocation.getArgument(2)).analyzerVersion(invocation.getArgument(3))
+                    .status(ResumeAnalysisStatus.EXTRACTING).updatedAt(Instant.now()).build();
+            stored.set(claimed);
+            return 0;
+        });
+
+        ResumeAnalysisStatusResponse submitted = service.submit(10L, 1L);
+
+        assertEquals(ResumeAnalysisStatus.EXTRACTING, submitted.status());
+        verifyNoInteractions(llmGateway);
+    }
+
+    private ResumeAnalysisService newService() {
+        return new ResumeAnalysisService(groqChatClient, geminiChatClient, llmGateway, resumeRepository,
+                jobRepository, resumeTextService, resumeAnalysisRepository, new ObjectMapper(), transactionManager,
+                new ByteArrayResource("You review resumes.".getBytes(StandardCharsets.UTF_8)), 60_000, 600_000);
+    }
+}
@@ -0,0 +1,95 @@
+package com.upply.profile.resume.chunks;
+
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.dto.ParsedResumeResponse;
+import com.upply.profile.resume.parse.ResumeParserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ResumeVectorService unit tests")
+class ResumeVectorServiceTest {
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private ResumeParserService resumeParserService;
+
+    @Mock
+    private ResumeRepository resumeRepository;
+
+    @InjectMocks
+    private ResumeVectorService resumeVectorService;
+
+    private Resume resume;
+
+    @BeforeEach
+    void setUp() {
+        resume = Resume.builder().id(7L).build();
+        when(resumeRepository.findById(7L)).thenReturn(Optional.of(resume));
+        when(resumeParserService.parse(7L, "resume text")).thenReturn(new ParsedResumeResponse(
+                "Cairo University", "Sara", "Adel", List.of(), List.of(), List.of("Java", "Spring"),
+                List.of(), false, "high", null));
+    }
+
+    @Test
+    @DisplayName("storeResumeEmbedding should embed resume-level chunks and record their hash")
+    @SuppressWarnings("unchecked")
+    void storeResumeEmbedding_EmbedsResumeChunks() {
+        resumeVectorService.storeResumeEmbedding(7L, 3L, "resume text");
+
+        ArgumentCaptor<List<Document>> documents = ArgumentCaptor.forClass(List.class);
+        verify(vectorStore).add(documents.capture());
+        assertEquals(List.of("7-0", "7-1"), documents.getValue().stream().map(Document::getId).toList());
+        Document first = documents.getValue().get(0);
+        assertEquals("7", first.getMetadata().get("resumeId"));
+        assertEquals("3", first.getMetadata().get("userId"));
+        assertFalse(first.getMetadata().containsKey("jobId"));
+        verify(resumeRepository).updateChunksState(eq(7L), anyString(), eq(2));
+    }
+
+    @Test
+    @DisplayName("storeResumeEmbedding should skip resumes whose chunks are already embedded")
+    void storeResumeEmbedding_UnchangedChunks_Skips() {
+        resumeVectorService.storeResumeEmbedding(7L, 3L, "resume text");
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(resumeRepository).updateChunksState(eq(7L), hash.capture(), eq(2));
+        resume.setChunksContentHash(hash.getValue());
+        clearInvocations(vectorStore);
+
+        resumeVectorService.storeResumeEmbedding(7L, 4L, "resume text");
+
+        verifyNoInteractions(vectorStore);
+    }
+
+    @Test
+    @DisplayName("storeResumeEmbedding should delete chunks left over from a longer version")
+    void storeResumeEmbedding_FewerChunks_DeletesTrailing() {
+        resume.setChunksContentHash("previous");
+        resume.setChunkCount(4);
+
+        resumeVectorService.storeResumeEmbedding(7L, 3L, "resume text");
+
+        verify(vectorStore).delete(List.of("7-2", "7-3"));
+    }
+}
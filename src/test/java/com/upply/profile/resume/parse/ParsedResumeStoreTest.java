@@ -0,0 +1,100 @@
+package com.upply.profile.resume.parse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.profile.experience.dto.ExperienceRequest;
+import com.upply.profile.resume.dto.ParsedResumeResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ParsedResumeStore unit tests")
+class ParsedResumeStoreTest {
+
+    @Mock
+    private ParsedResumeRepository parsedResumeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ParsedResumeStore store;
+
+    private final ParsedResumeResponse parsed = new ParsedResumeResponse(
+            "Cairo University", "Sara", "Adel",
+            List.of(new ExperienceRequest("Engineer", "Upply", new Date(0), null, "Built APIs")),
+            List.of(), List.of("Java", "Spring"), List.of(), false, "high", null);
+
+    @BeforeEach
+    void setUp() {
+        store = storeWithPrompt("You extract resumes.");
+    }
+
+    private ParsedResumeStore storeWithPrompt(String prompt) {
+        return new ParsedResumeStore(parsedResumeRepository, new ObjectMapper(), transactionManager,
+                new ByteArrayResource(prompt.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private ParsedResume saved() {
+        store.save(7L, "resume text", parsed);
+        ArgumentCaptor<ParsedResume> captor = ArgumentCaptor.forClass(ParsedResume.class);
+        verify(parsedResumeRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("find should return the stored parse for the same text and parser version")
+    void find_SameTextAndVersion_ReturnsStoredParse() {
+        ParsedResume entity = saved();
+        when(parsedResumeRepository.findById(7L)).thenReturn(Optional.of(entity));
+
+        Optional<ParsedResumeResponse> found = store.find(7L, "resume text");
+
+        assertEquals(Optional.of(parsed), found);
+    }
+
+    @Test
+    @DisplayName("find should miss when the resume text changed")
+    void find_DifferentText_Misses() {
+        ParsedResume entity = saved();
+        when(parsedResumeRepository.findById(7L)).thenReturn(Optional.of(entity));
+
+        assertTrue(store.find(7L, "updated resume text").isEmpty());
+    }
+
+    @Test
+    @DisplayName("find should miss after the parser prompt changed")
+    void find_PromptChanged_Misses() {
+        ParsedResume entity = saved();
+        ParsedResumeStore newPrompt = storeWithPrompt("You extract resumes, now with certificates.");
+        when(parsedResumeRepository.findById(7L)).thenReturn(Optional.of(entity));
+
+        assertNotEquals(store.parserVersion(), newPrompt.parserVersion());
+        assertTrue(newPrompt.find(7L, "resume text").isEmpty());
+    }
+
+    @Test
+    @DisplayName("save should not propagate repository failures")
+    void save_RepositoryFails_DoesNotThrow() {
+        when(parsedResumeRepository.save(any(ParsedResume.class))).thenThrow(new RuntimeException("db down"));
+
+        assertDoesNotThrow(() -> store.save(7L, "resume text", parsed));
+    }
+}
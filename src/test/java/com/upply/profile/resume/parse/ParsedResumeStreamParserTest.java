@@ -0,0 +1,130 @@
+package com.upply.profile.resume.parse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.profile.experience.dto.ExperienceRequest;
+import com.upply.profile.project.dto.ProjectRequest;
+import com.upply.profile.resume.dto.ParsedResumeResponse;
+import com.upply.profile.resume.dto.ParsedResumeSection;
+import com.upply.profile.socialLink.SocialType;
+import com.upply.profile.socialLink.dto.SocialLinkRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParsedResumeStreamParser unit tests")
+class ParsedResumeStreamParserTest {
+
+    private static final String JSON = """
+            ```json
+            {
+              "university": "Cairo University",
+              "firstName": "Sara",
+              "lastName": "Adel",
+              "experiences": [
+                {"title": "Engineer", "organization": "Upply", "startDate": "2022-01-01T00:00:00Z",
+                 "endDate": null, "description": "Built {streaming} APIs"},
+                {"title": "Intern", "organization": "Acme", "startDate": "2021-06-01T00:00:00Z",
+                 "endDate": "2021-09-01T00:00:00Z", "description": "Tests"}
+              ],
+              "projects": [
+                {"title": "Upply", "description": "Job board", "projectUrl": null,
+                 "startDate": "2023-01-01T00:00:00Z", "endDate": null, "technologies": "Java, Spring"}
+              ],
+              "skills": ["Java", "", "Spring"],
+              "socialLinks": [{"url": "https://github.com/sara", "socialType": "GITHUB"}],
+              "partialExtraction": false,
+              "extractionQuality": "clean",
+              "extractionWarning": null
+            }
+            ```
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static List<String> chunks(String text, int size) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += size) {
+            chunks.add(text.substring(i, Math.min(text.length(), i + size)));
+        }
+        return chunks;
+    }
+
+    private static List<String> names(List<ParsedResumeSection> sections) {
+        return sections.stream().map(ParsedResumeSection::name).toList();
+    }
+
+    @Test
+    @DisplayName("feed should return each section once it is closed, in stream order")
+    void feed_SmallChunks_ReturnsSectionsInOrder() {
+        ParsedResumeStreamParser parser = new ParsedResumeStreamParser(objectMapper);
+        List<ParsedResumeSection> sections = new ArrayList<>();
+
+        chunks(JSON, 7).forEach(chunk -> sections.addAll(parser.feed(chunk)));
+
+        assertEquals(List.of("personal", "experience", "experience", "project", "skills", "socialLinks"),
+                names(sections));
+        assertEquals(new ParsedResumeSection.Personal("Cairo University", "Sara", "Adel"), sections.get(0).data());
+        ExperienceRequest first = (ExperienceRequest) sections.get(1).data();
+        assertEquals("Built {streaming} APIs", first.description());
+        assertNull(first.endDate());
+        assertEquals("Java, Spring", ((ProjectRequest) sections.get(3).data()).technologies());
+        assertEquals(List.of("Java", "Spring"), sections.get(4).data());
+        assertEquals(List.of(new SocialLinkRequest("https://github.com/sara", SocialType.GITHUB)),
+                sections.get(5).data());
+    }
+
+    @Test
+    @DisplayName("feed should send an experience before the rest of the response has arrived")
+    void feed_ExperienceClosed_SentBeforeRest() {
+        ParsedResumeStreamParser parser = new ParsedResumeStreamParser(objectMapper);
+        int firstExperienceEnd = JSON.indexOf("APIs\"}") + "APIs\"}".length();
+
+        List<ParsedResumeSection> sections = new ArrayList<>(parser.feed(JSON.substring(0, firstExperienceEnd)));
+
+        assertEquals(List.of("personal", "experience"), names(sections));
+        assertEquals(List.of("experience"),
+                names(parser.feed(JSON.substring(firstExperienceEnd, JSON.indexOf("\"projects\"")))));
+    }
+
+    @Test
+    @DisplayName("finish should return the whole parse, including the quality fields")
+    void finish_CompleteStream_ReturnsResponse() {
+        ParsedResumeStreamParser parser = new ParsedResumeStreamParser(objectMapper);
+        chunks(JSON, 11).forEach(parser::feed);
+
+        ParsedResumeResponse parsed = parser.finish();
+
+        assertEquals("Sara", parsed.firstName());
+        assertEquals(2, parsed.experiences().size());
+        assertEquals(List.of("Java", "Spring"), parsed.skills());
+        assertEquals("clean", parsed.extractionQuality());
+        assertFalse(parsed.partialExtraction());
+    }
+
+    @Test
+    @DisplayName("finish should fail when the stream stopped inside the JSON")
+    void finish_TruncatedStream_Throws() {
+        ParsedResumeStreamParser parser = new ParsedResumeStreamParser(objectMapper);
+        parser.feed(JSON.substring(0, JSON.indexOf("\"projects\"")));
+
+        assertThrows(IllegalStateException.class, parser::finish);
+    }
+
+    @Test
+    @DisplayName("sections should replay a stored parse in the streamed event order")
+    void sections_StoredParse_MatchesStreamedEvents() {
+        ParsedResumeStreamParser parser = new ParsedResumeStreamParser(objectMapper);
+        chunks(JSON, 13).forEach(parser::feed);
+        ParsedResumeResponse parsed = parser.finish();
+
+        List<ParsedResumeSection> sections = ParsedResumeStreamParser.sections(parsed);
+
+        assertEquals(List.of("personal", "experience", "experience", "project", "skills", "socialLinks", "complete"),
+                names(sections));
+        assertSame(parsed, sections.get(sections.size() - 1).data());
+    }
+}
@@ -0,0 +1,116 @@
+package com.upply.profile.resume.text;
+
+import com.upply.profile.resume.enums.ResumeTextStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ResumeTextExtractor unit tests")
+class ResumeTextExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ResumeTextExtractor extractor(int maxPages, int maxChars, long timeoutMs) {
+        return new ResumeTextExtractor(1 << 20, maxPages, maxChars, timeoutMs, meterRegistry);
+    }
+
+    private static byte[] pdf(String... pages) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (String text : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    content.newLineAtOffset(50, 700);
+                    content.showText(text);
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private Path file(byte[] pdf) throws IOException {
+        return Files.write(tempDir.resolve("resume.pdf"), pdf);
+    }
+
+    @Test
+    @DisplayName("extract should read a PDF from disk")
+    void extract_File_ReadsText() throws IOException {
+        ExtractedResumeText extracted = extractor(20, 100_000, 10_000).extract(file(pdf("Senior Java Developer")));
+
+        assertEquals(new ExtractedResumeText(ResumeTextStatus.EXTRACTED, "Senior Java Developer"), extracted);
+    }
+
+    @Test
+    @DisplayName("extract should stop at the page budget")
+    void extract_PageBudget_SkipsLaterPages() throws IOException {
+        ExtractedResumeText extracted = extractor(2, 100_000, 10_000).extract(file(pdf("One", "Two", "Three")));
+
+        assertTrue(extracted.text().contains("Two"));
+        assertFalse(extracted.text().contains("Three"));
+    }
+
+    @Test
+    @DisplayName("extract should truncate text at the character budget")
+    void extract_CharBudget_Truncates() throws IOException {
+        ExtractedResumeText extracted = extractor(20, 6, 10_000).extract(file(pdf("Senior Java Developer")));
+
+        assertEquals(new ExtractedResumeText(ResumeTextStatus.EXTRACTED, "Senior"), extracted);
+    }
+
+    @Test
+    @DisplayName("extract should give up once the timeout has passed")
+    void extract_Timeout_ReturnsTimedOut() throws IOException {
+        ExtractedResumeText extracted = extractor(20, 100_000, 0).extract(file(pdf("Senior Java Developer")));
+
+        assertEquals(ExtractedResumeText.of(ResumeTextStatus.TIMED_OUT), extracted);
+    }
+
+    @Test
+    @DisplayName("extract should record time by outcome and sizes")
+    void extract_RecordsMetrics() throws IOException {
+        byte[] pdf = pdf("Senior Java Developer");
+
+        extractor(20, 100_000, 10_000).extract(file(pdf));
+
+        assertEquals(1, meterRegistry.get("upply.resume.text.extraction").tag("status", "EXTRACTED").timer().count());
+        assertEquals(pdf.length, meterRegistry.get("upply.resume.text.pdf.size").summary().totalAmount());
+        assertEquals(21, meterRegistry.get("upply.resume.text.extracted.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("extract should report unreadable files instead of throwing")
+    void extract_NotAPdf_ReturnsUnreadable() throws IOException {
+        ExtractedResumeText extracted = extractor(20, 100_000, 10_000).extract(file(new byte[]{1, 2, 3}));
+
+        assertEquals(ResumeTextStatus.UNREADABLE, extracted.status());
+        assertEquals("", extracted.text());
+    }
+
+    @Test
+    @DisplayName("extract should report a missing file as unreadable")
+    void extract_MissingFile_ReturnsUnreadable() {
+        ExtractedResumeText extracted = extractor(20, 100_000, 10_000).extract(tempDir.resolve("missing.pdf"));
+
+        assertEquals(ExtractedResumeText.of(ResumeTextStatus.UNREADABLE), extracted);
+    }
+}
@@ -0,0 +1,179 @@
+package com.upply.profile.resume.text;
+
+import com.upply.profile.resume.BlobStore;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.enums.ResumeTextStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ResumeTextService unit tests")
+class ResumeTextServiceTest {
+
+    @Mock
+    private ResumeTextRepository resumeTextRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ResumeTextService resumeTextService;
+    private Resume resume;
+
+    @BeforeEach
+    void setUp() {
+        resumeTextService = new ResumeTextService(
+                resumeTextRepository, extractor(), blobStore, transactionManager);
+        resume = Resume.builder().id(7L).blobName("1/resume").build();
+    }
+
+    private static ResumeTextExtractor extractor() {
+        return new ResumeTextExtractor(1 << 20, 20, 100_000, 10_000, new SimpleMeterRegistry());
+    }
+
+    private void blob(byte[] pdf) {
+        doAnswer(invocation -> Files.write(invocation.getArgument(1, Path.class), pdf))
+                .when(blobStore).downloadToFile(eq("1/resume"), any(Path.class));
+    }
+
+    private static byte[] pdf(String text) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                content.newLineAtOffset(50, 700);
+                content.showText(text);
+                content.endText();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    @Test
+    @DisplayName("store should save compressed text with the upload hash and format version")
+    void store_SavesCompressedText() throws IOException {
+        byte[] pdf = pdf("Senior Java Developer");
+
+        ExtractedResumeText extracted = resumeTextService.store(resume, "pdf-hash", new ByteArrayInputStream(pdf));
+
+        ArgumentCaptor<ResumeText> saved = ArgumentCaptor.forClass(ResumeText.class);
+        verify(resumeTextRepository).save(saved.capture());
+        assertEquals("Senior Java Developer", extracted.text());
+        assertEquals(7L, saved.getValue().getResumeId());
+        assertEquals("pdf-hash", saved.getValue().getContentHash());
+        assertEquals(ResumeTextExtractor.FORMAT_VERSION, saved.getValue().getFormatVersion());
+        assertEquals("Senior Java Developer", ResumeTextService.decompress(saved.getValue().getCompressedText()));
+    }
+
+    @Test
+    @DisplayName("storeAfterCommit should extract only once the upload transaction committed")
+    void storeAfterCommit_WaitsForCommit() throws IOException {
+        byte[] pdf = pdf("Senior Java Developer");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            resumeTextService.storeAfterCommit(resume, "pdf-hash", new ByteArrayResource(pdf));
+
+            verifyNoInteractions(resumeTextRepository);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<ResumeText> saved = ArgumentCaptor.forClass(ResumeText.class);
+        verify(resumeTextRepository).save(saved.capture());
+        assertEquals("Senior Java Developer", ResumeTextService.decompress(saved.getValue().getCompressedText()));
+    }
+
+    @Test
+    @DisplayName("getText should serve stored text without downloading the PDF")
+    void getText_Stored_SkipsDownload() {
+        when(resumeTextRepository.findById(7L)).thenReturn(Optional.of(ResumeText.builder()
+                .resumeId(7L)
+                .formatVersion(ResumeTextExtractor.FORMAT_VERSION)
+                .status(ResumeTextStatus.EXTRACTED)
+                .compressedText(ResumeTextService.compress("stored text"))
+                .build()));
+
+        ExtractedResumeText extracted = resumeTextService.getText(resume);
+
+        assertEquals("stored text", extracted.text());
+        verifyNoInteractions(blobStore);
+    }
+
+    @Test
+    @DisplayName("getText should re-extract when the stored text has an older format version")
+    void getText_OutdatedVersion_ReExtracts() throws IOException {
+        when(resumeTextRepository.findById(7L)).thenReturn(Optional.of(ResumeText.builder()
+                .resumeId(7L)
+                .formatVersion(ResumeTextExtractor.FORMAT_VERSION - 1)
+                .status(ResumeTextStatus.EXTRACTED)
+                .compressedText(ResumeTextService.compress("old text"))
+                .build()));
+        blob(pdf("New Text"));
+
+        ExtractedResumeText extracted = resumeTextService.getText(resume);
+
+        assertEquals("New Text", extracted.text());
+        verify(resumeTextRepository).save(any(ResumeText.class));
+    }
+
+    @Test
+    @DisplayName("getText should return the extracted text even when saving it fails")
+    void getText_SaveFails_StillReturnsText() throws IOException {
+        when(resumeTextRepository.findById(7L)).thenReturn(Optional.empty());
+        blob(pdf("Backend Engineer"));
+        when(resumeTextRepository.save(any(ResumeText.class))).thenThrow(new RuntimeException("duplicate key"));
+
+        ExtractedResumeText extracted = resumeTextService.getText(resume);
+
+        assertEquals("Backend Engineer", extracted.text());
+    }
+
+    @Test
+    @DisplayName("getText should delete the downloaded temp file")
+    void getText_DeletesTempFile() throws IOException {
+        when(resumeTextRepository.findById(7L)).thenReturn(Optional.empty());
+        blob(pdf("Backend Engineer"));
+
+        resumeTextService.getText(resume);
+
+        ArgumentCaptor<Path> downloaded = ArgumentCaptor.forClass(Path.class);
+        verify(blobStore).downloadToFile(eq("1/resume"), downloaded.capture());
+        assertFalse(Files.exists(downloaded.getValue()));
+    }
+}
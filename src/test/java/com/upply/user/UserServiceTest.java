@@ -8,6 +8,13 @@ import com.upply.profile.project.*;
 import com.upply.profile.project.dto.ProjectMapper;
 import com.upply.profile.project.dto.ProjectRequest;
 import com.upply.profile.project.dto.ProjectResponse;
+import com.upply.exception.custom.BusinessLogicException;
+import com.upply.exception.custom.OperationNotPermittedException;
+import com.upply.profile.resume.BlobStore;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.dto.ResumeMapper;
+import com.upply.profile.resume.text.ResumeTextService;
 import com.upply.profile.skill.*;
 import com.upply.profile.skill.dto.SkillMapper;
 import com.upply.profile.skill.dto.SkillRequest;
@@ -20,22 +27,32 @@ import com.upply.user.dto.UserMapper;
 import com.upply.user.dto.UserRequest;
 import com.upply.user.dto.UserResponse;
 import com.upply.user.dto.SkillEvent;
+import com.upply.vector.ContentHash;
 import com.upply.exception.custom.ResourceNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -75,6 +92,18 @@ class UserServiceTest {
     @Mock
     private KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate;
 
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private ResumeRepository resumeRepository;
+
+    @Mock
+    private ResumeMapper resumeMapper;
+
+    @Mock
+    private ResumeTextService resumeTextService;
+
     @InjectMocks
     private UserService userService;
 
@@ -1048,5 +1077,70 @@ class UserServiceTest {
 
         verify(socialLinkRepository).deleteSocialLinkById(999L);
     }
-}
 
+    @Test
+    @DisplayName("addUserResume should upload the stream and store text under its SHA-256")
+    void shouldUploadResumeWithContentHash() throws IOException {
+        byte[] pdf = "%PDF-1.7 resume".getBytes(StandardCharsets.US_ASCII);
+        when(userRepository.getCurrentUser()).thenReturn(Optional.of(testUser));
+        when(blobStore.uploadFile(eq(1L), any(InputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, InputStream.class).readAllBytes();
+            return "1/resume";
+        });
+
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/octet-stream", pdf);
+        userService.addUserResume(file);
+
+        ArgumentCaptor<Resume> saved = ArgumentCaptor.forClass(Resume.class);
+        verify(resumeRepository).saveAndFlush(saved.capture());
+        assertEquals(ContentHash.sha256(pdf), saved.getValue().getContentHash());
+        verify(resumeTextService).storeAfterCommit(any(Resume.class), eq(ContentHash.sha256(pdf)), eq(file));
+    }
+
+    @Test
+    @DisplayName("addUserResume should reuse the user's resume with the same content instead of uploading")
+    void shouldReuseResumeWithSameContent() throws IOException {
+        byte[] pdf = "%PDF-1.7 resume".getBytes(StandardCharsets.US_ASCII);
+        Instant uploadedAt = Instant.parse("2025-01-01T00:00:00Z");
+        Resume existing = Resume.builder().id(7L).blobName("1/resume").fileName("old.pdf")
+                .createdAt(uploadedAt).isDeleted(true).build();
+        when(userRepository.getCurrentUser()).thenReturn(Optional.of(testUser));
+        when(resumeRepository.findUserResumeByContentHash(1L, ContentHash.sha256(pdf))).thenReturn(Optional.of(existing));
+
+        userService.addUserResume(new MockMultipartFile("file", "cv.pdf", "application/pdf", pdf));
+
+        assertEquals("old.pdf", existing.getFileName());
+        assertTrue(existing.getCreatedAt().isAfter(uploadedAt));
+        assertFalse(existing.getIsDeleted());
+        verify(resumeRepository).save(existing);
+        verifyNoInteractions(blobStore, resumeTextService);
+    }
+
+    @Test
+    @DisplayName("addUserResume should reject the upload when a concurrent one stored the same content first")
+    void shouldRejectConcurrentUploadOfSameContent() throws IOException {
+        byte[] pdf = "%PDF-1.7 resume".getBytes(StandardCharsets.US_ASCII);
+        when(userRepository.getCurrentUser()).thenReturn(Optional.of(testUser));
+        when(blobStore.uploadFile(eq(1L), any(InputStream.class))).thenReturn("1/resume");
+        when(resumeRepository.saveAndFlush(any(Resume.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_user_content_hash"));
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", pdf);
+
+        assertThrows(BusinessLogicException.class, () -> userService.addUserResume(file));
+
+        verify(blobStore).deleteFile("1/resume");
+        verifyNoInteractions(resumeTextService);
+    }
+
+    @Test
+    @DisplayName("addUserResume should reject files without the PDF signature before uploading")
+    void shouldRejectResumeWithoutPdfSignature() {
+        when(userRepository.getCurrentUser()).thenReturn(Optional.of(testUser));
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf",
+                "PK\u0003\u0004 not a pdf".getBytes(StandardCharsets.US_ASCII));
+
+        assertThrows(OperationNotPermittedException.class, () -> userService.addUserResume(file));
+
+        verifyNoInteractions(blobStore, resumeRepository, resumeTextService);
+    }
+}
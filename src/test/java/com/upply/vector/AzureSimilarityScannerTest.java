@@ -0,0 +1,82 @@
+package com.upply.vector;
+
+import com.azure.core.util.Context;
+import com.azure.search.documents.SearchClient;
+import com.azure.search.documents.SearchDocument;
+import com.azure.search.documents.models.SearchOptions;
+import com.azure.search.documents.models.SearchResult;
+import com.azure.search.documents.util.SearchPagedIterable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("AzureSimilarityScanner unit tests")
+class AzureSimilarityScannerTest {
+
+    @Mock
+    private SearchClient searchClient;
+
+    private final List<List<SimilarityScanner.ScoredId>> pages = new ArrayList<>();
+
+    private static SearchPagedIterable results(double... scores) {
+        List<SearchResult> results = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            SearchResult result = mock(SearchResult.class);
+            when(result.getScore()).thenReturn(scores[i]);
+            when(result.getDocument(SearchDocument.class)).thenReturn(new SearchDocument(Map.of("id", "u" + i)));
+            results.add(result);
+        }
+        SearchPagedIterable iterable = mock(SearchPagedIterable.class);
+        when(iterable.iterator()).thenAnswer(invocation -> results.iterator());
+        return iterable;
+    }
+
+    @Test
+    @DisplayName("scan should ask for one page of neighbours per request and stop below the threshold")
+    void scan_PagesUntilBelowThreshold() {
+        SearchPagedIterable first = results(0.9, 0.8);
+        SearchPagedIterable second = results(0.7, 0.5);
+        when(searchClient.search(isNull(), any(SearchOptions.class), eq(Context.NONE))).thenReturn(first, second);
+
+        long delivered = new AzureSimilarityScanner(searchClient, 100).scan(new float[]{1f}, 0.6, 2, pages::add);
+
+        assertEquals(3, delivered);
+        assertEquals(List.of(2, 1), pages.stream().map(List::size).toList());
+        ArgumentCaptor<SearchOptions> options = ArgumentCaptor.forClass(SearchOptions.class);
+        verify(searchClient, times(2)).search(isNull(), options.capture(), eq(Context.NONE));
+        SearchOptions secondPage = options.getAllValues().get(1);
+        assertEquals(2, secondPage.getSkip());
+        assertEquals(2, secondPage.getTop());
+        assertEquals(4, secondPage.getVectorSearchOptions().getQueries().get(0).getKNearestNeighborsCount());
+    }
+
+    @Test
+    @DisplayName("scan should never read past the candidate cap")
+    void scan_StopsAtMaxCandidates() {
+        SearchPagedIterable first = results(0.9, 0.9);
+        SearchPagedIterable second = results(0.9);
+        when(searchClient.search(isNull(), any(SearchOptions.class), eq(Context.NONE))).thenReturn(first, second);
+
+        long delivered = new AzureSimilarityScanner(searchClient, 3).scan(new float[]{1f}, 0.6, 2, pages::add);
+
+        assertEquals(3, delivered);
+        verify(searchClient, times(2)).search(isNull(), any(SearchOptions.class), eq(Context.NONE));
+    }
+}
@@ -0,0 +1,116 @@
+package com.upply.vector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CachingEmbeddingModel unit tests")
+class CachingEmbeddingModelTest {
+
+    @Mock
+    private EmbeddingModel delegate;
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingEmbeddingModel cachingEmbeddingModel;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cachingEmbeddingModel = new CachingEmbeddingModel(
+                delegate, redisTemplate, meterRegistry, "test", 100, Duration.ofHours(1));
+    }
+
+    private void delegateReturns(float[]... vectors) {
+        when(delegate.call(any(EmbeddingRequest.class))).thenAnswer(invocation -> {
+            EmbeddingRequest request = invocation.getArgument(0);
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vectors[i], i));
+            }
+            return new EmbeddingResponse(embeddings);
+        });
+    }
+
+    @Test
+    @DisplayName("embed should serve repeated text from the local cache")
+    void embed_RepeatedTextHitsLocalCache() {
+        delegateReturns(new float[]{1f, 2f});
+
+        float[] first = cachingEmbeddingModel.embed("User Skills: Java, Spring.");
+        float[] second = cachingEmbeddingModel.embed("  User Skills:   Java, Spring. ");
+
+        assertArrayEquals(first, second);
+        verify(delegate, times(1)).call(any(EmbeddingRequest.class));
+        assertEquals(1.0, meterRegistry.get("upply.embedding.cache").tag("result", "local_hit").counter().count());
+        verify(valueOperations).set(anyString(), any(byte[].class), eq(Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("embed should skip inference for a vector found in Redis")
+    void embed_RedisHitSkipsInference() {
+        when(valueOperations.get(anyString())).thenReturn(VectorCodec.encode(new float[]{0.5f, 0.25f}));
+
+        float[] vector = cachingEmbeddingModel.embed("Job Title: Backend Engineer.");
+
+        assertArrayEquals(new float[]{0.5f, 0.25f}, vector);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("call should only send cache misses to the delegate and embed duplicates once")
+    void call_OnlyMissesReachDelegate() {
+        delegateReturns(new float[]{3f});
+        cachingEmbeddingModel.embed("cached");
+        reset(delegate);
+        delegateReturns(new float[]{7f});
+
+        EmbeddingResponse response = cachingEmbeddingModel.call(
+                new EmbeddingRequest(List.of("cached", "fresh", "fresh"), null));
+
+        ArgumentCaptor<EmbeddingRequest> captor = ArgumentCaptor.forClass(EmbeddingRequest.class);
+        verify(delegate).call(captor.capture());
+        assertEquals(List.of("fresh"), captor.getValue().getInstructions());
+        assertEquals(3, response.getResults().size());
+        assertArrayEquals(new float[]{3f}, response.getResults().get(0).getOutput());
+        assertArrayEquals(new float[]{7f}, response.getResults().get(2).getOutput());
+    }
+
+    @Test
+    @DisplayName("embed should fall back to inference when Redis fails")
+    void embed_RedisFailureFallsBackToDelegate() {
+        when(valueOperations.get(anyString())).thenThrow(new RuntimeException("Redis down"));
+        delegateReturns(new float[]{1f});
+
+        assertArrayEquals(new float[]{1f}, cachingEmbeddingModel.embed("text"));
+    }
+}
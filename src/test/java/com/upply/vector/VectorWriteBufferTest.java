@@ -0,0 +1,198 @@
+package com.upply.vector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("VectorWriteBuffer unit tests")
+class VectorWriteBufferTest {
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private VectorMetadataWriter metadataWriter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VectorWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new VectorWriteBuffer("jobs-index", vectorStore, metadataWriter, meterRegistry,
+                100, 10, 3, Duration.ofMillis(1), Duration.ofMillis(200), Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buffer.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Document doc(String id, String text) {
+        return new Document(id, text, Map.of("jobId", id));
+    }
+
+    @Test
+    @DisplayName("upsert should coalesce writes for the same id into one batched add")
+    @SuppressWarnings("unchecked")
+    void upsert_CoalescesPerDocumentIntoOneBatch() {
+        buffer.upsert(doc("1", "first"));
+        buffer.upsert(doc("2", "other"));
+        buffer.upsert(doc("1", "latest"));
+
+        ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass(List.class);
+        verify(vectorStore, timeout(2000)).add(captor.capture());
+        List<Document> written = captor.getValue();
+        assertEquals(List.of("2", "1"), written.stream().map(Document::getId).toList());
+        assertEquals("latest", written.get(1).getText());
+        verify(vectorStore, never()).delete(anyList());
+    }
+
+    @Test
+    @DisplayName("delete should win over an upsert queued before it for the same id")
+    void delete_SupersedesQueuedUpsert() {
+        buffer.upsert(doc("1", "content"));
+        buffer.delete("1");
+
+        verify(vectorStore, timeout(2000)).delete(List.of("1"));
+        verify(vectorStore, never()).add(anyList());
+    }
+
+    @Test
+    @DisplayName("updateMetadata should merge without re-adding the document")
+    void updateMetadata_UsesMetadataWriter() {
+        buffer.updateMetadata("1", Map.of("status", "PAUSED"));
+
+        verify(metadataWriter, timeout(2000)).updateMetadata(Map.of("1", Map.of("status", "PAUSED")));
+        verify(vectorStore, never()).add(anyList());
+    }
+
+    @Test
+    @DisplayName("updateMetadata should fold into a still queued upsert")
+    @SuppressWarnings("unchecked")
+    void updateMetadata_FoldsIntoQueuedUpsert() {
+        buffer.upsert(doc("1", "content"));
+        buffer.updateMetadata("1", Map.of("status", "PAUSED"));
+
+        ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass(List.class);
+        verify(vectorStore, timeout(2000)).add(captor.capture());
+        assertEquals("content", captor.getValue().get(0).getText());
+        assertEquals("PAUSED", captor.getValue().get(0).getMetadata().get("status"));
+        verify(metadataWriter, never()).updateMetadata(anyMap());
+    }
+
+    @Test
+    @DisplayName("flush should retry failed batches and record latency")
+    void flush_RetriesFailedBatch() throws InterruptedException {
+        doThrow(new RuntimeException("search unavailable"))
+                .doNothing()
+                .when(vectorStore).add(anyList());
+
+        buffer.upsert(doc("1", "content"));
+
+        verify(vectorStore, timeout(2000).times(2)).add(anyList());
+        buffer.destroy();
+        assertEquals(1, meterRegistry.get("upply.vector.write.lag").timer().count());
+        assertEquals(0.0, meterRegistry.get("upply.vector.write.failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("upsert should run the callback once the store accepted the write")
+    void upsert_CallbackRunsAfterWrite() {
+        CountDownLatch applied = new CountDownLatch(1);
+
+        buffer.upsert(doc("1", "content"), applied::countDown);
+
+        verify(vectorStore, timeout(2000)).add(anyList());
+        assertDoesNotThrow(() -> assertTrue(applied.await(2, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    @DisplayName("upsert should not run the callback for a write that was given up on or superseded")
+    void upsert_CallbackSkippedWhenNotWritten() throws InterruptedException {
+        AtomicInteger applied = new AtomicInteger();
+        doThrow(new RuntimeException("search unavailable")).when(vectorStore).add(anyList());
+
+        buffer.upsert(doc("1", "content"), applied::incrementAndGet);
+        buffer.upsert(doc("2", "content"), applied::incrementAndGet);
+        buffer.delete("2");
+
+        verify(vectorStore, timeout(2000).times(3)).add(anyList());
+        buffer.destroy();
+        assertEquals(0, applied.get());
+    }
+
+    @Test
+    @DisplayName("upsert should drop the write instead of blocking when the queue stays full")
+    void upsert_QueueFull_DropsAfterBoundedWait() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(vectorStore).add(anyList());
+        VectorWriteBuffer small = new VectorWriteBuffer("small-index", vectorStore, null, meterRegistry,
+                1, 1, 1, Duration.ofMillis(1), Duration.ZERO, Duration.ofMillis(50));
+        AtomicInteger applied = new AtomicInteger();
+        try {
+            small.upsert(doc("1", "in flight"));
+            assertTrue(writing.await(2, TimeUnit.SECONDS));
+            small.upsert(doc("2", "queued"));
+
+            long start = System.nanoTime();
+            small.upsert(doc("3", "no room"), applied::incrementAndGet);
+
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            assertEquals(1.0, meterRegistry.get("upply.vector.write.dropped").tag("store", "small-index")
+                    .counter().count());
+        } finally {
+            release.countDown();
+            small.destroy();
+        }
+        assertEquals(0, applied.get());
+    }
+
+    @Test
+    @DisplayName("upsert should queue nothing before commit inside a transaction")
+    void upsert_DeferredUntilAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        buffer.upsert(doc("1", "content"));
+
+        verify(vectorStore, after(300).never()).add(anyList());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(vectorStore, timeout(2000)).add(anyList());
+    }
+}
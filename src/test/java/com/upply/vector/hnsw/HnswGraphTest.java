@@ -0,0 +1,38 @@
+package com.upply.vector.hnsw;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HnswGraph unit tests")
+class HnswGraphTest {
+
+    @Test
+    @DisplayName("maxCapacity should keep both direct buffers within 2 GB")
+    void maxCapacity_BoundedByLargestBuffer() {
+        int capacity = HnswGraph.maxCapacity(1536, 32);
+
+        assertEquals(Integer.MAX_VALUE / (1536L * Float.BYTES), capacity);
+        assertTrue((long) capacity * 1536 * Float.BYTES <= Integer.MAX_VALUE);
+        assertTrue((long) (capacity + 1) * 1536 * Float.BYTES > Integer.MAX_VALUE);
+        assertEquals(0, HnswGraph.maxCapacity(Integer.MAX_VALUE / 2, 32));
+    }
+
+    @Test
+    @DisplayName("copy should not see later writes to the original")
+    void copy_IndependentOfOriginal() {
+        HnswGraph graph = new HnswGraph(2, 4, 16);
+        graph.add(new float[]{1f, 0f});
+        graph.add(new float[]{0f, 1f});
+
+        HnswGraph copy = graph.copy();
+        graph.add(new float[]{1f, 1f});
+        graph.markDeleted(0);
+
+        assertEquals(2, copy.size());
+        assertEquals(0, copy.deletedCount());
+        assertArrayEquals(new float[]{0f, 1f}, copy.vector(1));
+        assertEquals(0, copy.search(new float[]{1f, 0f}, 1, 10, null).get(0).node());
+    }
+}
@@ -0,0 +1,206 @@
+package com.upply.vector.hnsw;
+
+import com.upply.vector.SimilarityScanner;
+import com.upply.vector.VectorMath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HnswVectorStore unit tests")
+class HnswVectorStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FixedEmbeddingModel embeddingModel;
+    private HnswVectorStore vectorStore;
+
+    @BeforeEach
+    void setUp() {
+        embeddingModel = new FixedEmbeddingModel();
+        vectorStore = newStore(tempDir.resolve("jobs.hnsw"));
+    }
+
+    private HnswVectorStore newStore(Path snapshot) {
+        return new HnswVectorStore("jobs-index", embeddingModel, Set.of("jobId", "status"),
+                snapshot, 8, 100, 50);
+    }
+
+    private Document job(String id, String text, float[] vector, String status) {
+        embeddingModel.vectors.put(text, vector);
+        return new Document(id, text, Map.of("jobId", id, "status", status));
+    }
+
+    @Test
+    @DisplayName("similaritySearch should return nearest documents with Azure-scale scores")
+    void similaritySearch_ReturnsNearestWithSearchScores() {
+        vectorStore.add(List.of(
+                job("1", "java backend", new float[]{1f, 0f, 0f}, "OPEN"),
+                job("2", "java fullstack", new float[]{0.8f, 0.6f, 0f}, "OPEN"),
+                job("3", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        embeddingModel.vectors.put("query", new float[]{1f, 0f, 0f});
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder()
+                .query("query").topK(2).build());
+
+        assertEquals(List.of("1", "2"), results.stream().map(Document::getId).toList());
+        assertEquals(1.0, results.get(0).getScore(), 1e-6);
+        assertEquals(VectorMath.toSearchScore(0.8), results.get(1).getScore(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("similaritySearch should apply metadata filter and similarity threshold")
+    void similaritySearch_AppliesFilterAndThreshold() {
+        vectorStore.add(List.of(
+                job("1", "java backend", new float[]{1f, 0f, 0f}, "CLOSED"),
+                job("2", "java fullstack", new float[]{0.8f, 0.6f, 0f}, "OPEN"),
+                job("3", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        embeddingModel.vectors.put("query", new float[]{1f, 0f, 0f});
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder()
+                .query("query").topK(5).similarityThreshold(0.6)
+                .filterExpression("status == 'OPEN'").build());
+
+        assertEquals(List.of("2"), results.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    @DisplayName("similaritySearch should reject filters on undeclared metadata fields")
+    void similaritySearch_RejectsUndeclaredFilterField() {
+        SearchRequest request = SearchRequest.builder()
+                .query("query").filterExpression("title == 'x'").build();
+
+        assertThrows(IllegalArgumentException.class, () -> vectorStore.similaritySearch(request));
+    }
+
+    @Test
+    @DisplayName("add should replace the document with the same id and delete should remove it")
+    void addAndDelete_ReplaceAndRemoveById() {
+        vectorStore.add(List.of(job("1", "java backend", new float[]{1f, 0f, 0f}, "OPEN")));
+        vectorStore.add(List.of(job("1", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        embeddingModel.vectors.put("query", new float[]{0f, 0f, 1f});
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder().query("query").build());
+        assertEquals(1, results.size());
+        assertEquals("graphic design", results.get(0).getText());
+
+        vectorStore.delete(List.of("1"));
+        assertTrue(vectorStore.similaritySearch(SearchRequest.builder().query("query").build()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("snapshot should restore documents and graph from the mapped file")
+    void snapshot_RoundTripsThroughFile() {
+        vectorStore.add(List.of(
+                job("1", "java backend", new float[]{1f, 0f, 0f}, "OPEN"),
+                job("2", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        vectorStore.delete(List.of("2"));
+        vectorStore.snapshot();
+
+        HnswVectorStore restored = newStore(tempDir.resolve("jobs.hnsw"));
+        restored.afterPropertiesSet();
+        embeddingModel.vectors.put("query", new float[]{1f, 0f, 0f});
+
+        List<Document> results = restored.similaritySearch(SearchRequest.builder().query("query").build());
+        assertEquals(List.of("1"), results.stream().map(Document::getId).toList());
+        assertEquals("OPEN", results.get(0).getMetadata().get("status"));
+    }
+
+    @Test
+    @DisplayName("similaritySearch should return approximate results that agree with exact search")
+    void similaritySearch_HighRecallAgainstBruteForce() {
+        Random random = new Random(7);
+        List<Document> documents = new ArrayList<>();
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            float[] vector = randomVector(random, 32);
+            vectors.add(vector);
+            documents.add(job(String.valueOf(i), "doc-" + i, vector, "OPEN"));
+        }
+        vectorStore.add(documents);
+
+        int hits = 0;
+        int queries = 20;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(random, 32);
+            embeddingModel.vectors.put("q-" + q, query);
+            Set<String> expected = IntStream.range(0, vectors.size()).boxed()
+                    .sorted(Comparator.comparingDouble(i -> -VectorMath.cosine(vectors.get(i), query)))
+                    .limit(10)
+                    .map(String::valueOf)
+                    .collect(Collectors.toSet());
+            hits += (int) vectorStore.similaritySearch(SearchRequest.builder().query("q-" + q).topK(10).build())
+                    .stream().filter(document -> expected.contains(document.getId())).count();
+        }
+
+        assertTrue(hits >= queries * 10 * 0.9, "recall too low: " + hits);
+    }
+
+    @Test
+    @DisplayName("scan should page every live document above the threshold")
+    void scan_PagesAllMatchesAboveThreshold() {
+        vectorStore.add(List.of(
+                job("1", "java backend", new float[]{1f, 0f, 0f}, "OPEN"),
+                job("2", "java fullstack", new float[]{0.8f, 0.6f, 0f}, "OPEN"),
+                job("3", "kotlin backend", new float[]{0.9f, 0.1f, 0f}, "OPEN"),
+                job("4", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        vectorStore.delete(List.of("3"));
+
+        List<List<SimilarityScanner.ScoredId>> pages = new ArrayList<>();
+        long delivered = vectorStore.scan(new float[]{1f, 0f, 0f}, VectorMath.toSearchScore(0.5), 1, pages::add);
+
+        assertEquals(2, delivered);
+        assertEquals(List.of("1", "2"), pages.stream().flatMap(List::stream).map(SimilarityScanner.ScoredId::id).toList());
+        assertTrue(pages.stream().allMatch(page -> page.size() == 1));
+        assertEquals(VectorMath.toSearchScore(0.8), pages.get(1).get(0).score(), 1e-6);
+    }
+
+    private static float[] randomVector(Random random, int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    /**
+     * Embedding model that returns pre-registered vectors per text.
+     */
+    private static final class FixedEmbeddingModel implements EmbeddingModel {
+        private final Map<String, float[]> vectors = new HashMap<>();
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vectors.get(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vectors.get(document.getText());
+        }
+    }
+}
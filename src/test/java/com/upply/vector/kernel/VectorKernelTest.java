@@ -0,0 +1,127 @@
+package com.upply.vector.kernel;
+
+import com.upply.vector.VectorMath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("VectorKernel unit tests")
+class VectorKernelTest {
+
+    private final Random random = new Random(42);
+    private VectorKernel scalar;
+    private VectorKernel simd;
+
+    @BeforeEach
+    void setUp() {
+        scalar = VectorKernels.scalar();
+        simd = VectorKernels.simd();
+    }
+
+    // only the comparisons need the incubator module; the scalar tests always run
+    private void assumeSimd() {
+        assumeTrue(simd != null, "jdk.incubator.vector not on the module path");
+    }
+
+    private float[] floats(int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = (float) random.nextGaussian();
+        }
+        return values;
+    }
+
+    private byte[] bytes(int length) {
+        byte[] values = new byte[length];
+        random.nextBytes(values);
+        return values;
+    }
+
+    // 384 is the embedding size; the odd sizes exercise the scalar tail after the vector loop
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 384, 389})
+    @DisplayName("dot and cosine should match scalar with SIMD")
+    void dotAndCosine_SimdMatchesScalar(int dimensions) {
+        assumeSimd();
+        float[] a = floats(dimensions);
+        float[] b = floats(dimensions);
+
+        assertEquals(scalar.dot(a, 0, b, 0, dimensions), simd.dot(a, 0, b, 0, dimensions), 1e-3);
+        assertEquals(scalar.cosine(a, 0, b, 0, dimensions), simd.cosine(a, 0, b, 0, dimensions), 1e-5);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 384, 389})
+    @DisplayName("dotBatch and cosineBatch should match scalar with SIMD for every row")
+    void batches_SimdMatchScalar(int dimensions) {
+        assumeSimd();
+        int count = 11;
+        float[] query = floats(dimensions);
+        float[] block = floats(dimensions * count);
+        float[] expected = new float[count];
+        float[] actual = new float[count];
+
+        scalar.dotBatch(query, block, count, expected);
+        simd.dotBatch(query, block, count, actual);
+        assertArrayEquals(expected, actual, 1e-3f);
+
+        scalar.cosineBatch(query, block, count, expected);
+        simd.cosineBatch(query, block, count, actual);
+        assertArrayEquals(expected, actual, 1e-5f);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 384, 389})
+    @DisplayName("int8 dot should match scalar exactly with SIMD")
+    void int8Dot_SimdMatchesScalar(int dimensions) {
+        assumeSimd();
+        int count = 5;
+        byte[] query = bytes(dimensions);
+        byte[] block = bytes(dimensions * count);
+        int[] expected = new int[count];
+        int[] actual = new int[count];
+
+        scalar.dotBatch(query, block, count, expected);
+        simd.dotBatch(query, block, count, actual);
+
+        assertArrayEquals(expected, actual);
+        assertEquals(expected[0], simd.dot(query, 0, block, 0, dimensions));
+    }
+
+    @Test
+    @DisplayName("scalar kernel should compute dot, cosine and int8 dot on known values")
+    void scalar_KnownValues() {
+        float[] a = {1f, 2f, 3f};
+        float[] b = {4f, -5f, 6f};
+
+        assertEquals(12f, scalar.dot(a, 0, b, 0, 3), 1e-6);
+        assertEquals(12f / (float) (Math.sqrt(14) * Math.sqrt(77)), scalar.cosine(a, 0, b, 0, 3), 1e-6);
+        assertEquals(-128 * 127 + 3 * 4, scalar.dot(new byte[]{-128, 3}, 0, new byte[]{127, 4}, 0, 2));
+    }
+
+    @Test
+    @DisplayName("cosine should score zero vectors 0")
+    void cosine_ZeroVectorScoresZero() {
+        float[] zero = new float[384];
+        float[] other = floats(384);
+
+        assertEquals(0f, scalar.cosine(zero, 0, other, 0, 384));
+        assumeSimd();
+        assertEquals(0f, simd.cosine(zero, 0, other, 0, 384));
+    }
+
+    @Test
+    @DisplayName("VectorMath.cosineBatch should reject a block that is not whole vectors")
+    void cosineBatch_RejectsRaggedBlock() {
+        assertThrows(IllegalArgumentException.class, () -> VectorMath.cosineBatch(new float[4], new float[10]));
+        assertArrayEquals(new float[]{1f, 0f},
+                VectorMath.cosineBatch(new float[]{1f, 0f}, new float[]{2f, 0f, 0f, 3f}), 1e-6f);
+    }
+}
@@ -0,0 +1,165 @@
+package com.upply.vector.quantized;
+
+import com.upply.vector.SimilarityScanner;
+import com.upply.vector.VectorMath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QuantizedDocumentStore unit tests")
+class QuantizedDocumentStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FixedEmbeddingModel embeddingModel;
+    private QuantizedDocumentStore vectorStore;
+
+    @BeforeEach
+    void setUp() {
+        embeddingModel = new FixedEmbeddingModel();
+        vectorStore = newStore();
+        vectorStore.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        vectorStore.destroy();
+    }
+
+    private QuantizedDocumentStore newStore() {
+        return new QuantizedDocumentStore("jobs-index", embeddingModel, Set.of("jobId", "status"),
+                tempDir, 4, false);
+    }
+
+    private Document job(String id, String text, float[] vector, String status) {
+        embeddingModel.vectors.put(text, vector);
+        return new Document(id, text, Map.of("jobId", id, "status", status));
+    }
+
+    @Test
+    @DisplayName("similaritySearch should return nearest documents with Azure-scale scores")
+    void similaritySearch_ReturnsNearestWithSearchScores() {
+        vectorStore.add(List.of(
+                job("1", "java backend", new float[]{1f, 0f, 0f}, "OPEN"),
+                job("2", "java fullstack", new float[]{0.8f, 0.6f, 0f}, "OPEN"),
+                job("3", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        embeddingModel.vectors.put("query", new float[]{1f, 0f, 0f});
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder()
+                .query("query").topK(2).build());
+
+        assertEquals(List.of("1", "2"), results.stream().map(Document::getId).toList());
+        assertEquals(1.0, results.get(0).getScore(), 1e-6);
+        assertEquals(VectorMath.toSearchScore(0.8), results.get(1).getScore(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("similaritySearch should filter before ranking and apply the similarity threshold")
+    void similaritySearch_AppliesFilterAndThreshold() {
+        vectorStore.add(List.of(
+                job("1", "java backend", new float[]{1f, 0f, 0f}, "CLOSED"),
+                job("2", "java fullstack", new float[]{0.8f, 0.6f, 0f}, "OPEN"),
+                job("3", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        embeddingModel.vectors.put("query", new float[]{1f, 0f, 0f});
+
+        // topK 1 would only ever see the closed job if the filter ran after ranking
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder()
+                .query("query").topK(1).similarityThreshold(0.6)
+                .filterExpression("status == 'OPEN'").build());
+
+        assertEquals(List.of("2"), results.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    @DisplayName("add should replace the document with the same id and delete should remove it")
+    void addAndDelete_ReplaceAndRemoveById() {
+        vectorStore.add(List.of(job("1", "java backend", new float[]{1f, 0f, 0f}, "OPEN")));
+        vectorStore.add(List.of(job("1", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        embeddingModel.vectors.put("query", new float[]{0f, 0f, 1f});
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder().query("query").build());
+        assertEquals(1, results.size());
+        assertEquals("graphic design", results.get(0).getText());
+
+        vectorStore.delete(List.of("1"));
+        assertTrue(vectorStore.similaritySearch(SearchRequest.builder().query("query").build()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("snapshot should restore documents and vectors from the directory")
+    void snapshot_RoundTripsThroughFiles() throws IOException {
+        vectorStore.add(List.of(
+                job("1", "java backend", new float[]{1f, 0f, 0f}, "OPEN"),
+                job("2", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        vectorStore.delete(List.of("2"));
+        vectorStore.updateMetadata(Map.of("1", Map.of("jobId", "1", "status", "CLOSED")));
+        vectorStore.destroy();
+
+        vectorStore = newStore();
+        vectorStore.afterPropertiesSet();
+        embeddingModel.vectors.put("query", new float[]{1f, 0f, 0f});
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder().query("query").build());
+        assertEquals(List.of("1"), results.stream().map(Document::getId).toList());
+        assertEquals("CLOSED", results.get(0).getMetadata().get("status"));
+    }
+
+    @Test
+    @DisplayName("scan should page every live document above the threshold")
+    void scan_PagesAllMatchesAboveThreshold() {
+        vectorStore.add(List.of(
+                job("1", "java backend", new float[]{1f, 0f, 0f}, "OPEN"),
+                job("2", "java fullstack", new float[]{0.8f, 0.6f, 0f}, "OPEN"),
+                job("3", "kotlin backend", new float[]{0.9f, 0.1f, 0f}, "OPEN"),
+                job("4", "graphic design", new float[]{0f, 0f, 1f}, "OPEN")));
+        vectorStore.delete(List.of("3"));
+
+        List<List<SimilarityScanner.ScoredId>> pages = new ArrayList<>();
+        long delivered = vectorStore.scan(new float[]{1f, 0f, 0f}, VectorMath.toSearchScore(0.5), 1, pages::add);
+
+        assertEquals(2, delivered);
+        assertEquals(List.of("1", "2"), pages.stream().flatMap(List::stream).map(SimilarityScanner.ScoredId::id).toList());
+        assertTrue(pages.stream().allMatch(page -> page.size() == 1));
+        assertEquals(VectorMath.toSearchScore(0.8), pages.get(1).get(0).score(), 1e-6);
+    }
+
+    /**
+     * Embedding model that returns pre-registered vectors per text.
+     */
+    private static final class FixedEmbeddingModel implements EmbeddingModel {
+        private final Map<String, float[]> vectors = new HashMap<>();
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vectors.get(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vectors.get(document.getText());
+        }
+    }
+}
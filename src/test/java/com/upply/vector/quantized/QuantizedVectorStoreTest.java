@@ -0,0 +1,166 @@
+package com.upply.vector.quantized;
+
+import com.upply.vector.VectorMath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QuantizedVectorStore unit tests")
+class QuantizedVectorStoreTest {
+    private static final int DIMENSIONS = 384;
+
+    @TempDir
+    Path tempDir;
+
+    private final Random random = new Random(11);
+    private QuantizedVectorStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new QuantizedVectorStore("jobs", DIMENSIONS, tempDir, 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    private float[] gaussian() {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    /**
+     * Points scattered around a few centroids, closer to how skill embeddings cluster than pure noise.
+     */
+    private List<float[]> clustered(int count, int clusters, float spread) {
+        List<float[]> centroids = IntStream.range(0, clusters).mapToObj(i -> gaussian()).toList();
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] centroid = centroids.get(random.nextInt(clusters));
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = centroid[d] + spread * (float) random.nextGaussian();
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    @Test
+    @DisplayName("search should return exact cosine scores best first")
+    void search_ReturnsExactScoresBestFirst() {
+        float[] query = gaussian();
+        float[] near = query.clone();
+        near[0] += 0.5f;
+        store.put("1", gaussian());
+        store.put("2", near);
+        store.put("3", query);
+
+        List<QuantizedVectorStore.Match> matches = store.search(query, 2);
+
+        assertEquals(List.of("3", "2"), matches.stream().map(QuantizedVectorStore.Match::id).toList());
+        assertEquals(1.0, matches.get(0).score(), 1e-5);
+        assertEquals(VectorMath.cosine(query, near), matches.get(1).score(), 1e-5);
+    }
+
+    @Test
+    @DisplayName("put should overwrite the same id and remove should free slots for reuse")
+    void putAndRemove_OverwriteAndReuseSlots() {
+        float[] first = gaussian();
+        float[] second = gaussian();
+        store.put("job-1", first);
+        store.put("job-1", second);
+        assertEquals(1, store.size());
+        assertArrayEquals(second, store.get("job-1").orElseThrow());
+
+        store.remove("job-1");
+        assertTrue(store.get("job-1").isEmpty());
+        assertTrue(store.search(second, 5).isEmpty());
+
+        store.put("job-2", first);
+        assertEquals(1, store.size());
+        assertEquals(Float.BYTES + DIMENSIONS, store.footprint().searchBytes());
+    }
+
+    @Test
+    @DisplayName("put should reject wrong dimensions")
+    void put_WrongDimensions_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> store.put("1", new float[3]));
+        assertThrows(IllegalArgumentException.class, () -> store.search(new float[3], 1));
+    }
+
+    @Test
+    @DisplayName("flush should let a reopened directory restore every vector")
+    void flush_ReopenRestoresVectors() throws IOException {
+        List<float[]> vectors = clustered(3000, 10, 0.5f);
+        for (int i = 0; i < vectors.size(); i++) {
+            store.put(String.valueOf(i), vectors.get(i));
+        }
+        store.remove("7");
+        store.close();
+
+        store = new QuantizedVectorStore("jobs", DIMENSIONS, tempDir, 1024);
+
+        assertEquals(2999, store.size());
+        assertArrayEquals(vectors.get(2999), store.get("2999").orElseThrow());
+        assertEquals("42", store.search(vectors.get(42), 1).get(0).id());
+    }
+
+    @Test
+    @DisplayName("search should keep recall at 10 against exact search per quantization mode")
+    void search_RecallVersusMemory() {
+        List<float[]> vectors = clustered(5000, 40, 0.6f);
+        for (int i = 0; i < vectors.size(); i++) {
+            store.put(String.valueOf(i), vectors.get(i));
+        }
+        List<float[]> queries = clustered(50, 40, 0.6f);
+
+        double int8Only = recall(vectors, queries, 10, false);
+        double int8Rescored = recall(vectors, queries, 40, false);
+        // sign bits alone are coarse on clustered data, so the pre-filter needs a wider candidate pool
+        double binaryRescored = recall(vectors, queries, 100, true);
+
+        QuantizedVectorStore.Footprint footprint = store.footprint();
+        long float32PerVector = footprint.float32Bytes() / footprint.vectors();
+        long int8PerVector = footprint.searchBytes() / footprint.vectors();
+
+        assertTrue(int8Only >= 0.9, "int8 recall@10 too low: " + int8Only);
+        assertTrue(int8Rescored >= 0.98, "int8 + re-score recall@10 too low: " + int8Rescored);
+        assertTrue(binaryRescored >= 0.8, "sign + int8 + re-score recall@10 too low: " + binaryRescored);
+        assertTrue(int8PerVector * 3 < float32PerVector,
+                "int8 bytes/vector " + int8PerVector + " not under a third of float32 " + float32PerVector);
+    }
+
+    private double recall(List<float[]> vectors, List<float[]> queries, int rescoreCandidates, boolean binary) {
+        int hits = 0;
+        for (float[] query : queries) {
+            Set<String> expected = IntStream.range(0, vectors.size()).boxed()
+                    .sorted(Comparator.comparingDouble(i -> -VectorMath.cosine(vectors.get(i), query)))
+                    .limit(10)
+                    .map(String::valueOf)
+                    .collect(Collectors.toSet());
+            hits += (int) store.search(query, 10, rescoreCandidates, binary).stream()
+                    .filter(match -> expected.contains(match.id()))
+                    .count();
+        }
+        return hits / (queries.size() * 10.0);
+    }
+}